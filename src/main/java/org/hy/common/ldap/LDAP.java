@@ -1,15 +1,28 @@
 package org.hy.common.ldap;
 
-import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 import org.apache.directory.api.ldap.model.cursor.Cursor;
 import org.apache.directory.api.ldap.model.cursor.EntryCursor;
+import org.apache.directory.api.ldap.model.constants.SchemaConstants;
+import org.apache.directory.api.ldap.model.cursor.SearchCursor;
 import org.apache.directory.api.ldap.model.entry.Attribute;
 import org.apache.directory.api.ldap.model.entry.DefaultEntry;
 import org.apache.directory.api.ldap.model.entry.DefaultModification;
@@ -17,6 +30,8 @@ import org.apache.directory.api.ldap.model.entry.Entry;
 import org.apache.directory.api.ldap.model.entry.ModificationOperation;
 import org.apache.directory.api.ldap.model.entry.Value;
 import org.apache.directory.api.ldap.model.exception.LdapException;
+import org.apache.directory.api.ldap.model.exception.LdapOperationException;
+import org.apache.directory.api.ldap.model.filter.FilterEncoder;
 import org.apache.directory.api.ldap.model.message.AddRequest;
 import org.apache.directory.api.ldap.model.message.AddRequestImpl;
 import org.apache.directory.api.ldap.model.message.AddResponse;
@@ -26,19 +41,41 @@ import org.apache.directory.api.ldap.model.message.DeleteResponse;
 import org.apache.directory.api.ldap.model.message.ModifyRequest;
 import org.apache.directory.api.ldap.model.message.ModifyRequestImpl;
 import org.apache.directory.api.ldap.model.message.ModifyResponse;
+import org.apache.directory.api.ldap.model.message.Response;
 import org.apache.directory.api.ldap.model.message.ResultCodeEnum;
 import org.apache.directory.api.ldap.model.message.ResultResponse;
+import org.apache.directory.api.ldap.model.message.SearchRequest;
+import org.apache.directory.api.ldap.model.message.SearchRequestImpl;
+import org.apache.directory.api.ldap.model.message.SearchResultDone;
+import org.apache.directory.api.ldap.model.message.SearchResultEntry;
 import org.apache.directory.api.ldap.model.message.SearchScope;
+import org.apache.directory.api.ldap.model.message.controls.ChangeType;
 import org.apache.directory.api.ldap.model.message.controls.ManageDsaITImpl;
+import org.apache.directory.api.ldap.model.message.controls.PagedResults;
+import org.apache.directory.api.ldap.model.message.controls.PagedResultsImpl;
 import org.apache.directory.api.ldap.model.name.Dn;
+import org.apache.directory.api.ldap.model.name.Rdn;
+import org.apache.directory.ldap.client.api.LdapAsyncConnection;
 import org.apache.directory.ldap.client.api.LdapConnection;
+import org.apache.directory.ldap.client.api.LdapConnectionConfig;
 import org.apache.directory.ldap.client.api.LdapConnectionPool;
+import org.apache.directory.ldap.client.api.future.SearchFuture;
 import org.hy.common.Help;
 import org.hy.common.Return;
 import org.hy.common.StringHelp;
 import org.hy.common.ldap.annotation.LdapAnnotation;
 import org.hy.common.ldap.annotation.LdapEntry;
-import org.hy.common.xml.XJava;
+import org.hy.common.ldap.annotation.LdapEntryRegistry;
+import org.hy.common.ldap.annotation.LdapEntryResolver;
+import org.hy.common.ldap.annotation.LdapSnapshot;
+import org.hy.common.ldap.batch.LdapBatchModifier;
+import org.hy.common.ldap.batch.LdapBatchReport;
+import org.hy.common.ldap.batch.LdapBatchResult;
+import org.hy.common.ldap.batch.LdapParallelLoader;
+import org.hy.common.ldap.batch.LdapPipeline;
+import org.hy.common.ldap.batch.LdapResultType;
+import org.hy.common.ldap.batch.LdapTreeDeleter;
+import org.hy.common.ldap.batch.LdapUpserter;
 
 
 
@@ -68,6 +105,30 @@ import org.hy.common.xml.XJava;
  *                                     LDAP中的属性类型一般都是字符，而此类可以翻译为"条目配置翻译官"类指定的成员类型。
  *              v3.0  2018-12-13  添加：searchEntrys()查询所有子及子子条目时，不包括Base DN自己。
  *              v4.0  2019-01-04  修改：delEntryTree()删除条目及子子条目的功能。
+ *              v5.0  2026-10-16  添加：基于 Simple Paged Results 控制（RFC 2696）的分页查询。每页翻译后交给监听器处理，再查询下一页。
+ *                                添加：懒加载的迭代器、Stream流的查询方法。迭代到某一条目时才翻译，关闭或迭代完成时释放连接。
+ *                                添加：查询时的属性投影。只要求LDAP服务返回被"条目翻译官"翻译的属性，也可按每次查询指定。
+ *                                添加：查询时的对象类下推。将"条目翻译官"的对象类约束加入到LDAP服务端的过滤条件中。
+ *                                优化：编译并缓存查询过滤条件的执行计划。添加：参数化的过滤条件模板的查询方法。
+ *                                优化：按对象类的位掩码识别条目的"条目翻译官"，不再为每个条目拼接对象类的ID。
+ *                                优化："条目翻译官"注册到无锁的注册中心 LdapEntryRegistry 中（ClassValue及不可变快照）。
+ *                                优化：流水线式的批量添加（LdapPipeline），不再预先逐个查询条目是否存在。添加：addEntrysPipeline() 返回每个条目的执行结果。
+ *                                添加：addEntrysParallel() 按DN深度分层、多连接并行的批量添加。
+ *                                优化：删除条目树时，LDAP服务支持树删除控制（Tree Delete）时携带此控制删除，
+ *                                     不支持时只查询DN（不翻译为Java值对象），由深至浅、多连接并行地删除（见 LdapTreeDeleter）。
+ *                                添加：变更跟踪。记录查询出的Java值对象的快照，修改条目时与快照对比，不用再查询旧值（见 LdapChangeTracker）。
+ *                                添加：modifyEntrysParallel() 流水线式地查询旧条目、并行地对比、多连接流水线式地修改的批量修改。
+ *                                添加：upsertEntry()、upsertEntrys() 先添加，条目已存在时只修改有差异的属性。
+ *                                添加：会话 openSession() 。会话期间，当前线程的所有操作均复用一个独占的连接（见 LdapSession）。
+ *                                添加：异步的查询、添加、修改方法（...Async()），返回可取消的 LdapAsyncFuture 。可通过 shutdownAsync() 关闭。
+ *                                添加：虚拟线程友好的执行模式 virtualThreads 。按信号量获取连接，并行的批量操作在虚拟线程上执行。
+ *                                添加：queryEntrys(Collection) 按多个DN批量查询。同一父节点的DN合并为'或'关系的过滤条件，所有查询请求流水线式地发送。
+ *                                添加：条目缓存 entryCache 。按DN的查询先从缓存中获取，通过本对象的写操作均移除相关的条目（见 LdapEntryCache）。
+ *                                添加：条目缓存以较短的存活时长缓存不存在的DN，queryEntry()、isExists() 反复查询不存在的DN时不再访问LDAP服务。
+ *                                添加：查询结果缓存 searchCache 。按Base DN、查询范围、过滤条件、属性投影缓存查询结果，写操作时按子树移除（见 LdapSearchCache）。
+ *                                添加：变更监视器 LdapChangeMonitor 。按持久查询推送的变更通知，移除条目缓存、查询结果缓存中相关的数据，并通知监听器。
+ *                                添加：本地副本 replica 。searchEntrys(Object) 按默认规则查询时，由内存中带属性索引的子树副本应答（见 LdapReplica）。
+ *                                     通过本对象的写操作后，本地副本直接应用写后的条目，不能确定写后的属性值时在后台线程上重新查询。
  */
 public class LDAP
 {
@@ -83,16 +144,126 @@ public class LDAP
     /** 过滤器中的'或'关系 */
     public static final String $Or          = "|";
     
+    /** 分页查询时，默认的每页条目数量 */
+    public static final int    $DefaultPageSize = 1000;
+    
+    /** 按多个DN批量查询时，合并为一个'或'关系过滤条件的最大DN数量 */
+    public static final int    $LookupChunkSize = 100;
+    
+    /** 查询时，返回所有的属性（不做属性投影） */
+    private static final String [] $AllAttributes = new String[0];
+    
+    /** 查询时，不返回任何属性（只返回条目的DN） */
+    private static final String [] $NoAttributes  = new String[] {SchemaConstants.NO_ATTRIBUTE};
+    
     
     
     /** LDAP的连接池 */
     private LdapConnectionPool connPool;
     
+    /** 分页查询时，每页的条目数量。小于等于0时，不分页（一页返回所有的条目） */
+    private int                pageSize;
+    
+    /** 查询时，是否只要求LDAP服务返回被"条目翻译官"翻译的属性（属性投影）。默认为：false */
+    private boolean            attributeProjection;
+    
+    /**
+     * 查询时，是否将对象类的约束下推到LDAP服务端的过滤条件中。默认为：false
+     * 
+     * 启用后，没有"条目翻译官"的条目将不再传输及解码。
+     * 按Java对象查询（searchEntrys(Object)等）时，只查询该Java类对应的条目，此时也只返回该Java类翻译的属性。
+     */
+    private boolean            objectClassPushDown;
+    
+    /** 流水线式批量操作时，同时在途的请求的最大数量。默认为：64 */
+    private int                pipelineWindow;
+    
+    /** 多连接并行的批量操作（如，删除条目树）时，并行的连接数量。默认为：4。连接池的最大连接数应不小于此值 */
+    private int                parallelConnCount;
+    
+    /** LDAP服务是否支持树删除控制（Tree Delete）。为NULL时表示还未从LDAP服务获取 */
+    private volatile Boolean   treeDeleteSupported;
+    
+    /**
+     * 是否跟踪Java值对象的变更。默认为：false
+     * 
+     * 启用后，查询出的Java值对象（按"条目翻译官"的属性投影查询的）将记录其属性值的快照。
+     * 修改条目时，与快照对比得出修改动作，不用再从LDAP服务中查询旧值。
+     */
+    private boolean            changeTracking;
+    
+    /** Java值对象的变更跟踪器 */
+    private LdapChangeTracker  changeTracker;
+    
+    /** 每个线程打开的会话。会话期间，线程的所有操作均复用会话独占的连接 */
+    private final ThreadLocal<LdapSession> sessions;
+    
+    /** 异步操作时，处理响应（如，将条目翻译为Java值对象）的执行器。默认为：ForkJoinPool.commonPool() */
+    private Executor           asyncExecutor;
+    
+    /** 异步操作的分派器 */
+    private final LdapAsyncDispatcher asyncDispatcher;
+    
+    /**
+     * 是否为虚拟线程友好的执行模式。默认为：false
+     * 
+     * 启用后：
+     *   1. 获取连接前，先获取公平信号量的许可（许可数量为连接池的最大连接数）。
+     *      信号量基于 LockSupport 阻塞，等待时不会钉住（Pin）虚拟线程的载体线程，且连接池内不再发生等待。
+     *   2. 多连接并行的批量操作（如，addEntrysParallel()、delEntrysParallel()）在虚拟线程上执行（JDK 21及以上版本）。
+     */
+    private boolean            virtualThreads;
+    
+    /** 虚拟线程友好的执行模式时，获取连接的许可。为NULL时，直接从连接池中获取连接 */
+    private volatile Semaphore connPermits;
+    
+    /** 持有许可的连接，及其许可所属的信号量。归还连接时归还许可（执行模式切换前获取的连接，仍归还到原信号量） */
+    private final Map<LdapConnection ,Semaphore> permitConns;
+    
+    /**
+     * 条目缓存。为NULL时不缓存（默认）
+     * 
+     * 启用后，按DN查询条目本身（queryEntry()、isExists()、modifyEntry()查询旧值）时，先从缓存中获取。
+     * LDAP服务应答为条目不存在的DN，也以较短的存活时长缓存。
+     * 通过本对象的写操作（添加、修改、删除）均移除相关的条目及不存在的DN。
+     */
+    private LdapEntryCache     entryCache;
+    
+    /**
+     * 查询结果缓存。为NULL时不缓存（默认）
+     * 
+     * 启用后，searchEntrys()、queryEntryChilds()、queryEntryTrees() 等返回集合的查询，先从缓存中获取。
+     * 通过本对象的写操作（添加、修改、删除）均按子树移除受影响的查询结果。
+     */
+    private LdapSearchCache    searchCache;
+    
+    /**
+     * 子树的本地副本。为NULL时不使用（默认）
+     * 
+     * 启用后，searchEntrys(Object) 按默认规则（SUBTREE、属性间'与'关系、多属性值间'或'关系、精确匹配、无属性投影）查询，
+     * 且Base DN在本地副本的子树内时，由本地副本应答。
+     * 通过本对象的写操作后，本地副本直接应用写后的条目（见 LdapReplica.put()、remove()），
+     * 不能确定写后的属性值时，在后台线程上重新查询被写的条目（见 LdapReplica.reloadLater()）。
+     */
+    private LdapReplica        replica;
+    
     
     
     public LDAP(LdapConnectionPool i_ConnPool ,String i_PackageName)
     {
         this.connPool = i_ConnPool;
+        this.pageSize            = $DefaultPageSize;
+        this.attributeProjection = false;
+        this.objectClassPushDown = false;
+        this.pipelineWindow      = LdapPipeline.$DefaultWindow;
+        this.parallelConnCount   = 4;
+        this.changeTracking      = false;
+        this.changeTracker       = new LdapChangeTracker();
+        this.sessions            = new ThreadLocal<LdapSession>();
+        this.asyncExecutor       = ForkJoinPool.commonPool();
+        this.asyncDispatcher     = new LdapAsyncDispatcher(this);
+        this.virtualThreads      = false;
+        this.permitConns         = new ConcurrentHashMap<LdapConnection ,Semaphore>();
         LdapAnnotation.parser();
         LdapAnnotation.parser(i_PackageName);
     }
@@ -105,13 +276,21 @@ public class LDAP
      * @author      ZhengWei(HY)
      * @createDate  2017-02-13
      * @version     v1.0
+     *              v2.0  2026-10-16  添加：当前线程打开了会话时，返回会话独占的连接，不再从连接池中获取
+     *                                添加：虚拟线程友好的执行模式时，先获取信号量的许可，再从连接池中获取连接
      *
      * @return      返回对象的具体实现类是：org.apache.directory.ldap.client.api.LdapNetworkConnection
      * @throws LdapException
      */
     public LdapConnection getConnection() throws LdapException
     {
-        return this.connPool.getConnection();
+        LdapSession v_Session = this.getOpenedSession();
+        if ( v_Session != null )
+        {
+            return v_Session.getConnection();
+        }
+        
+        return this.borrowConnection();
     }
     
     
@@ -122,27 +301,209 @@ public class LDAP
      * @author      ZhengWei(HY)
      * @createDate  2017-02-14
      * @version     v1.0
+     *              v2.0  2026-10-16  添加：会话独占的连接，只在会话关闭时才释放
      *
      * @param i_Conn
      */
     public void closeConnection(LdapConnection i_Conn)
     {
+        // 会话独占的连接只在会话关闭时释放（会话已在其它线程中关闭时，连接也已释放）
+        LdapSession v_Session = this.sessions.get();
+        if ( v_Session != null && v_Session.getConnection() == i_Conn )
+        {
+            return;
+        }
+        
         if ( i_Conn != null )
         {
-            try
-            {
-                this.connPool.releaseConnection(i_Conn);
-            }
-            catch (Exception exce)
+            this.returnConnection(i_Conn);
+            i_Conn = null;
+        }
+    }
+    
+    
+    
+    /**
+     * 从连接池中获取连接。虚拟线程友好的执行模式时，先获取信号量的许可
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @return
+     * @throws LdapException
+     */
+    private LdapConnection borrowConnection() throws LdapException
+    {
+        Semaphore v_Permits = this.connPermits;
+        if ( v_Permits == null )
+        {
+            return this.connPool.getConnection();
+        }
+        
+        try
+        {
+            v_Permits.acquire();
+        }
+        catch (InterruptedException exce)
+        {
+            Thread.currentThread().interrupt();
+            throw new LdapException("Interrupted while waiting for a connection." ,exce);
+        }
+        
+        try
+        {
+            LdapConnection v_Conn = this.connPool.getConnection();
+            this.permitConns.put(v_Conn ,v_Permits);
+            return v_Conn;
+        }
+        catch (LdapException | RuntimeException exce)
+        {
+            v_Permits.release();
+            throw exce;
+        }
+    }
+    
+    
+    
+    /**
+     * 将连接归还到连接池中。并归还获取此连接时的信号量的许可
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_Conn
+     */
+    private void returnConnection(LdapConnection i_Conn)
+    {
+        // 须在归还连接前移除。归还后，此连接可能立即被其它线程获取
+        Semaphore v_Permits = this.permitConns.isEmpty() ? null : this.permitConns.remove(i_Conn);
+        
+        try
+        {
+            this.connPool.releaseConnection(i_Conn);
+        }
+        catch (Exception exce)
+        {
+            // Nothing.
+        }
+        finally
+        {
+            if ( v_Permits != null )
             {
-                // Nothing.
+                v_Permits.release();
             }
-            i_Conn = null;
         }
     }
     
     
     
+    /**
+     * 打开会话。在会话关闭前，当前线程的所有操作均复用会话从连接池中独占的一个连接。
+     * 
+     * 当前线程已打开会话时，返回同一会话（嵌套打开），最外层的会话关闭时才释放连接。
+     * 
+     *   try (LdapSession v_Session = v_LDAP.openSession())
+     *   {
+     *       ...
+     *   }
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @return      获取连接异常时，返回NULL。此时各操作仍按原方式从连接池中获取连接
+     */
+    public LdapSession openSession()
+    {
+        LdapSession v_Session = this.getOpenedSession();
+        if ( v_Session != null )
+        {
+            return v_Session.reopen();
+        }
+        
+        try
+        {
+            v_Session = new LdapSession(this ,this.borrowConnection());
+            this.sessions.set(v_Session);
+            return v_Session;
+        }
+        catch (Exception exce)
+        {
+            exce.printStackTrace();
+        }
+        
+        return null;
+    }
+    
+    
+    
+    /**
+     * 获取当前线程打开的会话
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @return      未打开会话时，返回NULL
+     */
+    public LdapSession getSession()
+    {
+        return this.getOpenedSession();
+    }
+    
+    
+    
+    /**
+     * 获取当前线程打开的、未关闭的会话。
+     * 
+     * 会话在其它线程中被关闭时（其连接已被释放），清除当前线程残留的会话，之后的操作重新从连接池中获取连接。
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @return      未打开会话或会话已关闭时，返回NULL
+     */
+    private LdapSession getOpenedSession()
+    {
+        LdapSession v_Session = this.sessions.get();
+        
+        if ( v_Session != null && v_Session.isClosed() )
+        {
+            this.sessions.remove();
+            return null;
+        }
+        
+        return v_Session;
+    }
+    
+    
+    
+    /**
+     * 关闭会话，并释放会话独占的连接
+     * 
+     * 在其它线程中关闭时，无法清除打开会话的线程中的会话，由该线程下次获取连接时清除（见 getOpenedSession()）。
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_Session
+     */
+    void closeSession(LdapSession i_Session)
+    {
+        if ( this.sessions.get() == i_Session )
+        {
+            this.sessions.remove();
+        }
+        
+        this.returnConnection(i_Session.getConnection());
+    }
+    
+    
+    
     /**
      * 关闭游标
      * 
@@ -199,41 +560,41 @@ public class LDAP
     
     
     /**
-     * 获取XJava对象池中的"条目翻译官"。
+     * 获取"条目翻译官"。
      * 
      * 用于：将Java值对象翻译为LDAP条目
      * 
      * @author      ZhengWei(HY)
      * @createDate  2017-02-14
      * @version     v1.0
+     *              v2.0  2026-10-16  优化：从无锁的注册中心 LdapEntryRegistry 中获取，不再从XJava对象池中获取同步的Hashtable。
      *
      * @param i_Class  有 @Ldap 注解的Java元类型
      * @return
      */
-    @SuppressWarnings("unchecked")
     public static LdapEntry getLdapEntry(Class<?> i_Class)
     {
-        return ((Map<Class<?> ,LdapEntry>)XJava.getObject(LdapAnnotation.$LdapEntryClasses)).get(i_Class);
+        return LdapEntryRegistry.getLdapEntry(i_Class);
     }
     
     
     
     /**
-     * 获取XJava对象池中的"条目翻译官"。
+     * 获取"条目翻译官"。
      * 
      * 用于：将LDAP条目翻译为Java值对象的实例
      * 
      * @author      ZhengWei(HY)
      * @createDate  2017-02-15
      * @version     v1.0
+     *              v2.0  2026-10-16  优化：从无锁的注册中心 LdapEntryRegistry 中获取，不再从XJava对象池中获取同步的Hashtable。
      *
      * @param i_ObjectClassesID  在定义Java类名称前用 @Ldap 注解的LDAP ObjectClass名称组成的ID。
      * @return
      */
-    @SuppressWarnings("unchecked")
     public static LdapEntry getLdapEntry(String i_ObjectClassesID)
     {
-        LdapEntry v_LdapEntry = ((Map<String ,LdapEntry>)XJava.getObject(LdapAnnotation.$LdapEntryClassIDs)).get(i_ObjectClassesID);
+        LdapEntry v_LdapEntry = LdapEntryRegistry.getLdapEntry(i_ObjectClassesID);
         
         if ( v_LdapEntry == null )
         {
@@ -246,13 +607,14 @@ public class LDAP
     
     
     /**
-     * 获取XJava对象池中的"条目翻译官"。
+     * 获取"条目翻译官"。
      * 
      * 用于：将LDAP条目翻译为Java值对象的实例
      * 
      * @author      ZhengWei(HY)
      * @createDate  2017-02-15
      * @version     v1.0
+     *              v2.0  2026-10-16  优化：先用识别器 LdapEntryResolver 按对象类的位掩码识别，识别每个条目时不再生成临时对象。
      *
      * @param i_Entry  条目。将解释条目中的ObjectClass，并组合成ID，再获取"条目翻译官"。
      * @return
@@ -264,6 +626,17 @@ public class LDAP
             return null;
         }
         
+        // 优先用不产生临时对象的识别器。未识别出的，再按对象类的ID查找（并输出未找到的日志）
+        LdapEntryResolver v_Resolver = LdapAnnotation.getResolver();
+        if ( v_Resolver != null )
+        {
+            LdapEntry v_LdapEntry = v_Resolver.resolve(i_Entry);
+            if ( v_LdapEntry != null )
+            {
+                return v_LdapEntry;
+            }
+        }
+        
         Attribute       v_Attribute     = i_Entry.get(LDAP.$ObjectClass);
         Iterator<Value> v_Iter          = v_Attribute.iterator();
         List<String>    v_ObjectClasses = new ArrayList<String>();
@@ -332,7 +705,7 @@ public class LDAP
      */
     public Object queryEntry(String i_DN)
     {
-        List<?> v_Ret = this.queryEntrys(i_DN ,SearchScope.OBJECT);
+        List<?> v_Ret = this.queryEntrys(i_DN ,SearchScope.OBJECT ,this.getSearchAttributes(null));
         
         if ( Help.isNull(v_Ret) )
         {
@@ -347,1177 +720,3594 @@ public class LDAP
     
     
     /**
-     * 按DN查询条目。返回直接隶属于i_DN的子条目，不返回子子条目。
-     * 
-     * 只用于用 @Ldap 注解的Java对象。
-     * 
-     * @author      ZhengWei(HY)
-     * @createDate  2017-02-17
-     * @version     v1.0
-     *
-     * @param i_Values
-     * @return
-     */
-    public List<?> queryEntryChilds(Object i_Values)
-    {
-        return this.queryEntrys(i_Values ,SearchScope.ONELEVEL);
-    }
-    
-    
-    
-    /**
-     * 按DN查询条目。返回直接隶属于i_DN的子条目，不返回子子条目。
+     * 按DN查询条目。只返回条目本身。并指定要求LDAP服务返回的属性（属性投影）。
      * 
      * @author      ZhengWei(HY)
-     * @createDate  2017-02-16
+     * @createDate  2026-10-16
      * @version     v1.0
      *
      * @param i_DN           条目标识
+     * @param i_Attributes   要求LDAP服务返回的属性名称。objectClass 总会被返回。
+     *                       为空时，按 isAttributeProjection() 决定返回的属性
      * @return
      */
-    public List<?> queryEntryChilds(String i_DN)
-    {
-        return this.queryEntrys(i_DN ,SearchScope.ONELEVEL);
-    }
-    
-    
-    
-    /**
-     * 按DN查询所有子条目。返回直接或间接隶属于i_DN的子条目及子子条目。
-     * 
-     * 即将i_DN下面的树结构上的所有条目都返回。
-     * 
-     * 只用于用 @Ldap 注解的Java对象。
-     * 
-     * @author      ZhengWei(HY)
-     * @createDate  2017-02-16
-     * @version     v1.0
-     *
-     * @param i_Values
-     * @return
-     */
-    public List<?> queryEntryTrees(Object i_Values)
+    public Object queryEntry(String i_DN ,String ... i_Attributes)
     {
-        return this.queryEntrys(i_Values ,SearchScope.SUBTREE);
+        List<?> v_Ret = this.queryEntrys(i_DN ,SearchScope.OBJECT ,this.toSearchAttributes(null ,i_Attributes));
+        
+        if ( Help.isNull(v_Ret) )
+        {
+            return null;
+        }
+        else
+        {
+            return v_Ret.get(0);
+        }
     }
     
     
     
     /**
-     * 按DN查询所有子条目。返回直接或间接隶属于i_DN的子条目及子子条目。
-     * 
-     * 即将i_DN下面的树结构上的所有条目都返回。
+     * 按多个DN批量查询条目。只返回条目本身。
      * 
-     * @author      ZhengWei(HY)
-     * @createDate  2017-02-16
-     * @version     v1.0
-     *
-     * @param i_DN           条目标识
-     * @return
-     */
-    public List<?> queryEntryTrees(String i_DN)
-    {
-        return this.queryEntrys(i_DN ,SearchScope.SUBTREE);
-    }
-    
-    
-    
-    /**
-     * 按DN查询条目。
+     * 与逐个调用 queryEntry(String) 相比，不再每个DN一次阻塞的往返：
+     *   1. 同一父节点下、RDN属性名称相同的多个DN，每 $LookupChunkSize 个合并为一个'或'关系的过滤条件，
+     *      如 (|(uid=a)(uid=b)...) ，在父节点下按 SearchScope.ONELEVEL 查询。
+     *   2. 其它的DN，按 SearchScope.OBJECT 查询条目本身。
+     *   3. 以上所有的查询请求在一个连接上流水线式地发送，同时在途的请求数量不超过 pipelineWindow 。
+     *      连接不支持异步操作时，逐个同步地查询。
      * 
-     * 只用于用 @Ldap 注解的Java对象。
+     * 注1：不存在的DN、没有"条目翻译官"的条目，不在返回结果中。
+     * 注2：返回结果的Map.key为入参中的DN（原样），顺序与入参一致。重复的DN（不区分大小写）只查询一次。
+     * 注3：非法的DN被忽略。
      * 
      * @author      ZhengWei(HY)
-     * @createDate  2017-02-17
+     * @createDate  2026-10-16
      * @version     v1.0
      *
-     * @param i_Values       条目标识
-     * @param i_SearchScope  查询范围
-     *                       搜索范围01：SearchScope.OBJECT    返回输入给定DN，如果它存在的话。
-     *                       搜索范围02：SearchScope.ONELEVEL  返回低于目前DN的所有子元素，不包括当前DN，也不包括与当前DN无直接关系的DN，即树目录深度为1。
-     *                       搜索范围03：SearchScope.SUBTREE   返回所有元素从给出的DN，包括与DN相关的元素，无论树的深度。
-     * @return
+     * @param i_DNs  条目标识的集合
+     * @return       Map.key为条目标识，Map.value为Java值对象。异常时返回NULL
      */
-    private List<?> queryEntrys(Object i_Values ,SearchScope i_SearchScope)
+    public Map<String ,Object> queryEntrys(Collection<String> i_DNs)
     {
-        LdapEntry v_LdapEntry = getLdapEntry(i_Values.getClass());
+        Map<String ,Object> v_Ret = new LinkedHashMap<String ,Object>();
         
-        if ( v_LdapEntry == null )
+        if ( Help.isNull(i_DNs) )
         {
-            return new ArrayList<Object>();
+            return v_Ret;
         }
         
-        try
-        {
-            return this.queryEntrys(v_LdapEntry.getDNValue(i_Values) ,i_SearchScope);
-        }
-        catch (Exception exce)
+        Map<String ,String>   v_Keys   = new HashMap<String ,String>();
+        Map<String ,List<Dn>> v_Groups = new LinkedHashMap<String ,List<Dn>>();
+        
+        // 按父节点及RDN属性名称分组
+        for (String v_DN : i_DNs)
         {
-            exce.printStackTrace();
+            if ( Help.isNull(v_DN) )
+            {
+                continue;
+            }
+            
+            try
+            {
+                Dn     v_Dn  = new Dn(v_DN);
+                String v_Key = toLookupKey(v_Dn);
+                
+                if ( v_Dn.isEmpty() || v_Keys.containsKey(v_Key) )
+                {
+                    continue;
+                }
+                v_Keys.put(v_Key ,v_DN);
+                
+                String v_GroupKey = v_Key;
+                if ( v_Dn.size() >= 2 && v_Dn.getRdn().size() == 1 )
+                {
+                    v_GroupKey = v_Dn.getRdn().getNormType() + "=*," + toLookupKey(v_Dn.getParent());
+                }
+                
+                List<Dn> v_Group = v_Groups.get(v_GroupKey);
+                if ( v_Group == null )
+                {
+                    v_Group = new ArrayList<Dn>();
+                    v_Groups.put(v_GroupKey ,v_Group);
+                }
+                v_Group.add(v_Dn);
+            }
+            catch (Exception exce)
+            {
+                exce.printStackTrace();
+            }
         }
         
-        return new ArrayList<Object>();
-    }
-    
-    
-    
-    /**
-     * 按DN查询条目。
-     * 
-     * @author      ZhengWei(HY)
-     * @createDate  2017-02-16
-     * @version     v1.0
-     *
-     * @param i_DN           条目标识
-     * @param i_SearchScope  查询范围
-     *                       搜索范围01：SearchScope.OBJECT    返回输入给定DN，如果它存在的话。
-     *                       搜索范围02：SearchScope.ONELEVEL  返回低于目前DN的所有子元素，不包括当前DN，也不包括与当前DN无直接关系的DN，即树目录深度为1。
-     *                       搜索范围03：SearchScope.SUBTREE   返回所有元素从给出的DN，包括与DN相关的元素，无论树的深度。
-     * @return
-     */
-    private List<?> queryEntrys(String i_DN ,SearchScope i_SearchScope)
-    {
-        LdapConnection v_Conn   = null;
-        EntryCursor    v_Cursor = null;
-        List<Object>   v_Ret    = new ArrayList<Object>();
+        LdapConnection      v_Conn  = null;
+        Map<String ,Object> v_Datas = new HashMap<String ,Object>();
         
         try
         {
-            v_Conn   = this.getConnection();
-            v_Cursor = v_Conn.search(new Dn(i_DN) ,"(" + LDAP.$ObjectClass + "=*)" ,i_SearchScope);
+            String []           v_Attributes = this.getSearchAttributes(null);
+            List<SearchRequest> v_Requests   = new ArrayList<SearchRequest>();
             
-            while ( v_Cursor.next() )
+            for (List<Dn> v_Group : v_Groups.values())
             {
-                Entry     v_Entry     = v_Cursor.get();
-                LdapEntry v_LdapEntry = getLdapEntry(v_Entry);
+                if ( v_Group.size() == 1 )
+                {
+                    v_Requests.add(this.newSearchRequest(v_Group.get(0).getName() ,this.pushDownFilter(null ,"(" + LDAP.$ObjectClass + "=*)") ,SearchScope.OBJECT ,v_Attributes));
+                    continue;
+                }
                 
-                if ( v_LdapEntry != null )
+                for (int x=0; x<v_Group.size(); x+=$LookupChunkSize)
+                {
+                    StringBuilder v_Filter = new StringBuilder();
+                    
+                    v_Filter.append("(").append(LDAP.$Or);
+                    for (Dn v_Dn : v_Group.subList(x ,Math.min(x + $LookupChunkSize ,v_Group.size())))
+                    {
+                        v_Filter.append("(").append(v_Dn.getRdn().getNormType()).append("=").append(FilterEncoder.encodeFilterValue(v_Dn.getRdn().getValue())).append(")");
+                    }
+                    v_Filter.append(")");
+                    
+                    v_Requests.add(this.newSearchRequest(v_Group.get(0).getParent().getName() ,this.pushDownFilter(null ,v_Filter.toString()) ,SearchScope.ONELEVEL ,v_Attributes));
+                }
+            }
+            
+            v_Conn = this.getConnection();
+            
+            LdapAsyncConnection v_Async   = LdapPipeline.toAsync(v_Conn);
+            long                v_Timeout = v_Async == null || v_Async.getConfig().getTimeout() <= 0L ? LdapConnectionConfig.DEFAULT_TIMEOUT : v_Async.getConfig().getTimeout();
+            List<SearchFuture>  v_Futures = new ArrayList<SearchFuture>(this.pipelineWindow);
+            List<Entry>         v_Entrys  = new ArrayList<Entry>();
+            
+            for (int x=0; x<v_Requests.size(); x+=this.pipelineWindow)
+            {
+                List<SearchRequest> v_Window = v_Requests.subList(x ,Math.min(x + this.pipelineWindow ,v_Requests.size()));
+                
+                v_Entrys.clear();
+                if ( v_Async != null )
+                {
+                    // 一次发送一窗口的查询请求，再逐个接收
+                    int v_Received = 0;
+                    v_Futures.clear();
+                    try
+                    {
+                        for (SearchRequest v_Request : v_Window)
+                        {
+                            v_Futures.add(v_Async.searchAsync(v_Request));
+                        }
+                        
+                        for (; v_Received<v_Futures.size(); v_Received++)
+                        {
+                            receiveEntrys(v_Futures.get(v_Received) ,v_Timeout ,v_Entrys);
+                        }
+                    }
+                    finally
+                    {
+                        // 异常时，放弃还未接收完成的查询请求
+                        for (int y=v_Received; y<v_Futures.size(); y++)
+                        {
+                            v_Futures.get(y).cancel(true);
+                        }
+                    }
+                }
+                else
+                {
+                    for (SearchRequest v_Request : v_Window)
+                    {
+                        SearchCursor v_Cursor = null;
+                        try
+                        {
+                            v_Cursor = v_Conn.search(v_Request);
+                            while ( v_Cursor.next() )
+                            {
+                                if ( v_Cursor.isEntry() )
+                                {
+                                    v_Entrys.add(v_Cursor.getEntry());
+                                }
+                            }
+                        }
+                        finally
+                        {
+                            LDAP.closeCursor(v_Cursor);
+                        }
+                    }
+                }
+                
+                for (Entry v_Entry : v_Entrys)
                 {
-                    v_Ret.add(v_LdapEntry.toObject(v_Entry));
+                    // '或'关系的过滤条件也可能匹配到非RDN属性值相同的条目，只保留请求的条目
+                    String    v_DN        = v_Keys.get(toLookupKey(v_Entry.getDn()));
+                    LdapEntry v_LdapEntry = v_DN == null ? null : getLdapEntry(v_Entry);
+                    
+                    if ( v_LdapEntry != null )
+                    {
+                        v_Datas.put(v_DN ,this.toObject(v_LdapEntry ,v_Entry ,v_Attributes));
+                    }
                 }
             }
         }
         catch (Exception exce)
         {
             exce.printStackTrace();
+            return null;
         }
         finally
         {
-            LDAP.closeCursor(    v_Cursor);
             this.closeConnection(v_Conn);
         }
         
+        for (String v_DN : i_DNs)
+        {
+            if ( v_DN != null && v_Datas.containsKey(v_DN) && !v_Ret.containsKey(v_DN) )
+            {
+                v_Ret.put(v_DN ,v_Datas.get(v_DN));
+            }
+        }
+        
         return v_Ret;
     }
     
     
     
     /**
-     * 基于父节点Base DN，查询符合条件的条目。
+     * 接收一个查询请求的所有条目。条目不存在时（NO_SUCH_OBJECT），不算异常
      * 
      * @author      ZhengWei(HY)
-     * @createDate  2018-12-08
+     * @createDate  2026-10-16
      * @version     v1.0
      *
-     * @param i_Values  用@Ldap标记的Java对象实例（必要属性值DN、及其它过滤查询的属性值）
-     * @return          多属性间的过滤条件为'与'，同一属性的多属性值为'或'关系的精确查询。
+     * @param i_Future   查询请求
+     * @param i_Timeout  等待一个响应的超时时长（毫秒）
+     * @param io_Entrys  接收到的条目
+     * @throws LdapException
      */
-    public List<?> searchEntrys(Object i_Values)
+    private static void receiveEntrys(SearchFuture i_Future ,long i_Timeout ,List<Entry> io_Entrys) throws LdapException
     {
-        return this.searchEntrys(i_Values ,SearchScope.SUBTREE ,true ,false ,false ,false);
+        try
+        {
+            while ( true )
+            {
+                Response v_Response = i_Future.get(i_Timeout ,TimeUnit.MILLISECONDS);
+                
+                if ( v_Response == null )
+                {
+                    throw new LdapException(i_Future.getCause() != null ? i_Future.getCause().getMessage() : "No response within " + i_Timeout + "ms.");
+                }
+                else if ( v_Response instanceof SearchResultEntry )
+                {
+                    io_Entrys.add(((SearchResultEntry)v_Response).getEntry());
+                }
+                else if ( v_Response instanceof SearchResultDone )
+                {
+                    ResultCodeEnum v_Code = ((SearchResultDone)v_Response).getLdapResult().getResultCode();
+                    if ( v_Code != ResultCodeEnum.SUCCESS && v_Code != ResultCodeEnum.NO_SUCH_OBJECT )
+                    {
+                        throw new LdapException(v_Code + " " + ((SearchResultDone)v_Response).getLdapResult().getDiagnosticMessage());
+                    }
+                    return;
+                }
+            }
+        }
+        catch (InterruptedException exce)
+        {
+            Thread.currentThread().interrupt();
+            throw new LdapException(exce);
+        }
     }
     
     
     
     /**
-     * 基于父节点Base DN，查询符合条件的条目。
+     * 生成批量查询时匹配条目、条目缓存时识别条目的键值：属性名称统一为小写、属性值转义后不区分大小写
+     * 
+     * 也用于批量操作时识别重复的条目、父子条目（见 LdapPipeline）。同一条目的DN书写不同（如大小写、空格）时，键值相同。
      * 
      * @author      ZhengWei(HY)
-     * @createDate  2018-12-08
+     * @createDate  2026-10-16
      * @version     v1.0
      *
-     * @param i_Values            用@Ldap标记的Java对象实例（必要属性值DN、及其它过滤查询的属性值）
-     *                              1. 当没有DN时，返回null
-     *                              2. 当只有DN时，按DN查询，这就与LDAP.query...()开头的方法相同了。
-     * @param i_SearchScope       查询范围（注：查询的Base DN为 i_Values 的DN）
-     *                            搜索范围01：SearchScope.OBJECT    返回输入给定DN，如果它存在的话。
-     *                            搜索范围02：SearchScope.ONELEVEL  返回低于目前DN的所有子元素，不包括当前DN，也不包括与当前DN无直接关系的DN，即树目录深度为1。
-     *                            搜索范围03：SearchScope.SUBTREE   返回所有元素从给出的DN，包括与DN相关的元素，无论树的深度。
-     * @param i_IsAnd             不属性间的属性值的过滤关系，是'与'、'或'关系？
-     * @param i_IsAndByMultValue  同一属性的多个属性值间的过滤关系，是'与'、'或'关系？
-     * @param i_IsLikeBefore      属性值的前缀是否为模糊匹配
-     * @param i_IsLikeAfter       属性值的后缀是否为模糊匹配
+     * @param i_Dn  条目标识
      * @return
      */
-    public List<?> searchEntrys(Object i_Values ,SearchScope i_SearchScope ,boolean i_IsAnd ,boolean i_IsAndByMultValue ,boolean i_IsLikeBefore ,boolean i_IsLikeAfter)
+    public static String toLookupKey(Dn i_Dn)
     {
-        List<?> v_Ret = null;
-        
-        if ( i_Values == null )
-        {
-            return v_Ret;
-        }
-        
-        LdapEntry v_LdapEntry = getLdapEntry(i_Values.getClass());
-        if ( v_LdapEntry == null )
-        {
-            return v_Ret;
-        }
+        StringBuilder v_Key = new StringBuilder();
         
-        try
+        for (Rdn v_Rdn : i_Dn.getRdns())
         {
-            String v_BaseDN = v_LdapEntry.getDNValue(i_Values);
-            if ( Help.isNull(v_BaseDN) )
+            if ( v_Key.length() > 0 )
             {
-                return v_Ret;
+                v_Key.append(",");
             }
             
-            String v_Filter = makeSearchFilter(i_Values ,i_IsAnd ,i_IsAndByMultValue ,i_IsLikeBefore ,i_IsLikeAfter);
-            if ( Help.isNull(v_Filter) )
+            if ( v_Rdn.size() == 1 )
             {
-                if ( !Help.isNull(v_LdapEntry.getRdn()) )
-                {
-                    // ApacheDS的DN属性名称为：entryDN
-                    v_Filter = "(!(" + v_LdapEntry.getRdn() + "=" + v_BaseDN + "))";
-                    v_Filter = "(" + LDAP.$ObjectClass + "=*)";
-                }
-                else
-                {
-                    v_Filter = "(" + LDAP.$ObjectClass + "=*)";
-                }
+                v_Key.append(v_Rdn.getNormType()).append("=").append(Rdn.escapeValue(v_Rdn.getValue()));
+            }
+            else
+            {
+                v_Key.append(v_Rdn.getEscaped());
             }
-            
-            v_Ret = this.searchEntrys(v_BaseDN ,v_Filter ,i_SearchScope);
-        }
-        catch (Exception exce)
-        {
-            exce.printStackTrace();
         }
         
-        return v_Ret;
+        return v_Key.toString().toLowerCase();
     }
     
     
     
     /**
-     * 基于父节点Base DN，查询符合条件的条目。
+     * 按DN查询条目。返回直接隶属于i_DN的子条目，不返回子子条目。
+     * 
+     * 只用于用 @Ldap 注解的Java对象。
      * 
      * @author      ZhengWei(HY)
-     * @createDate  2018-12-08
+     * @createDate  2017-02-17
      * @version     v1.0
      *
-     * @param i_BaseDN       父节点标识
-     * @param i_Filter       过滤条件
-     * @param i_SearchScope  查询范围
-     *                       搜索范围01：SearchScope.OBJECT    返回输入给定DN，如果它存在的话。
-     *                       搜索范围02：SearchScope.ONELEVEL  返回低于目前DN的所有子元素，不包括当前DN，也不包括与当前DN无直接关系的DN，即树目录深度为1。
-     *                       搜索范围03：SearchScope.SUBTREE   返回所有元素从给出的DN，包括与DN相关的元素，无论树的深度。
+     * @param i_Values
      * @return
      */
-    private List<?> searchEntrys(String i_BaseDN ,String i_Filter ,SearchScope i_SearchScope)
+    public List<?> queryEntryChilds(Object i_Values)
     {
-        LdapConnection v_Conn   = null;
-        EntryCursor    v_Cursor = null;
-        List<Object>   v_Ret    = new ArrayList<Object>();
-        
-        try
-        {
-            v_Conn   = this.getConnection();
-            v_Cursor = v_Conn.search(new Dn(i_BaseDN) ,i_Filter ,i_SearchScope);
-            
-            while ( v_Cursor.next() )
-            {
-                Entry     v_Entry     = v_Cursor.get();
-                LdapEntry v_LdapEntry = getLdapEntry(v_Entry);
-                
-                if ( v_LdapEntry != null )
-                {
-                    v_Ret.add(v_LdapEntry.toObject(v_Entry));
-                }
-            }
-        }
-        catch (Exception exce)
-        {
-            exce.printStackTrace();
-        }
-        finally
-        {
-            LDAP.closeCursor(    v_Cursor);
-            this.closeConnection(v_Conn);
-        }
-        
-        return v_Ret;
+        return this.queryEntrys(i_Values ,SearchScope.ONELEVEL);
     }
     
     
     
     /**
-     * 用Java对象(@Ldap)生成查询的过滤器条件。
-     * 
-     * Java对象的成员属性name和pwd，属性值为HY和123456，对应LDAP属性名cn和gn。
-     * 
-     * 与关系时生成：(&(cn=HY)(gn=123456))
-     * 或关系时生成：(|(cn=HY)(gn=123456))
-     * 
-     * 与关系带前缀模糊匹配：(&(cn=*HY )(gn=*123456))
-     * 与关系带后缀模糊匹配：(&(cn= HY*)(gn= 123456*))
-     * 与关系带全模糊匹配：  (&(cn=*HY*)(gn=*123456*))
+     * 按DN查询条目。返回直接隶属于i_DN的子条目，不返回子子条目。
      * 
-     * 当同一属性有多个属性值时，要符合上面的规则。
+     * @author      ZhengWei(HY)
+     * @createDate  2017-02-16
+     * @version     v1.0
+     *
+     * @param i_DN           条目标识
+     * @return
+     */
+    public List<?> queryEntryChilds(String i_DN)
+    {
+        return this.queryEntrys(i_DN ,SearchScope.ONELEVEL ,this.getSearchAttributes(null));
+    }
+    
+    
+    
+    /**
+     * 按DN查询条目。返回直接隶属于i_DN的子条目。并指定要求LDAP服务返回的属性（属性投影）。
      * 
      * @author      ZhengWei(HY)
-     * @createDate  2018-12-08
+     * @createDate  2026-10-16
      * @version     v1.0
      *
-     * @param i_Values            用@Ldap注解过的Java对象
-     * @param i_IsAnd             不属性间的属性值的过滤关系，是'与'、'或'关系？
-     * @param i_IsAndByMultValue  同一属性的多个属性值间的过滤关系，是'与'、'或'关系？
-     * @param i_IsLikeBefore      属性值的前缀是否为模糊匹配
-     * @param i_IsLikeAfter       属性值的后缀是否为模糊匹配
+     * @param i_DN           条目标识
+     * @param i_Attributes   要求LDAP服务返回的属性名称。objectClass 总会被返回。
+     *                       为空时，按 isAttributeProjection() 决定返回的属性
      * @return
      */
-    public static String makeSearchFilter(Object i_Values ,boolean i_IsAnd ,boolean i_IsAndByMultValue ,boolean i_IsLikeBefore ,boolean i_IsLikeAfter)
+    public List<?> queryEntryChilds(String i_DN ,String ... i_Attributes)
     {
-        LdapEntry     v_LdapEntry = getLdapEntry(i_Values.getClass());
-        StringBuilder v_Filter    = new StringBuilder();
-        
-        for (Map.Entry<String ,Map<String ,Method>> v_Item : v_LdapEntry.getElementsToLDAP().entrySet())
-        {
-            for (Map.Entry<String ,Method> v_ItemMethod : v_Item.getValue().entrySet())
-            {
-                try
-                {
-                    Object v_Value = v_ItemMethod.getValue().invoke(i_Values);
-                    if ( v_Value == null )
-                    {
-                        continue;
-                    }
-                    
-                    List<String> v_FilterValues = new ArrayList<String>();
-                    if ( v_Value instanceof List )
-                    {
-                        for (Object v_VItem : (List<?>)v_Value)
-                        {
-                            if ( v_VItem != null && !Help.isNull(v_VItem.toString()) )
-                            {
-                                v_FilterValues.add(v_VItem.toString());
-                            }
-                        }
-                    }
-                    else if ( v_Value instanceof Set )
-                    {
-                        for (Object v_VItem : (Set<?>)v_Value)
-                        {
-                            if ( v_VItem != null && !Help.isNull(v_VItem.toString()) )
-                            {
-                                v_FilterValues.add(v_VItem.toString());
-                            }
-                        }
-                    }
-                    else if ( v_Value instanceof Object [] )
-                    {
-                        for (Object v_VItem : (Object [])v_Value)
-                        {
-                            if ( v_VItem != null && !Help.isNull(v_VItem.toString()) )
-                            {
-                                v_FilterValues.add(v_VItem.toString());
-                            }
-                        }
-                    }
-                    else if ( v_Value instanceof Map )
-                    {
-                        ////////////////////////////////////
-                    }
-                    else
-                    {
-                        if ( !Help.isNull(v_Value.toString()) )
-                        {
-                            v_FilterValues.add(v_Value.toString());
-                        }
-                    }
-                    
-                    if ( Help.isNull(v_FilterValues) )
-                    {
-                        continue;
-                    }
-                    
-                    if ( v_FilterValues.size() >= 2 )
-                    {
-                        v_Filter.append("(").append(i_IsAndByMultValue ? $And : $Or);
-                    }
-                    
-                    for (String v_FilterValue : v_FilterValues)
-                    {
-                        v_Filter.append("(").append(v_Item.getKey()).append("=");
-                        if ( i_IsLikeBefore )
-                        {
-                            v_Filter.append("*");
-                        }
-                        v_Filter.append(v_FilterValue);
-                        if ( i_IsLikeAfter )
-                        {
-                            v_Filter.append("*");
-                        }
-                        v_Filter.append(")");
-                    }
-                    
-                    if ( v_FilterValues.size() >= 2 )
-                    {
-                        v_Filter.append(")");
-                    }
-                }
-                catch (Exception exce)
-                {
-                    exce.printStackTrace();
-                }
-            }
-        }
-        
-        String v_Ret = v_Filter.toString();
-        if ( !Help.isNull(v_Ret) )
-        {
-            v_Ret = "(" + (i_IsAnd ? $And : $Or) + v_Ret + ")";
-        }
-        
-        return v_Ret;
+        return this.queryEntrys(i_DN ,SearchScope.ONELEVEL ,this.toSearchAttributes(null ,i_Attributes));
     }
     
     
     
     /**
-     * 批量添加条目。i_ValuesMap集合中的每个元素可以是不同类型的，对应不同类型的LDAP类。
+     * 按DN查询所有子条目。返回直接或间接隶属于i_DN的子条目及子子条目。
      * 
-     * 注1：有顺序的添加。这样可以实现先添加父条目，再添加子条目的功能。
-     * 注2：没有事务机构，这不是LDAP的长项。不要指望LDAP可以作到。
-     *      某个元素执行异常后，前面的不回滚，其后的不再执行添加。
-     * 注3：批量添加时只占用一个连接。
+     * 即将i_DN下面的树结构上的所有条目都返回。
      * 
      * 只用于用 @Ldap 注解的Java对象。
      * 
-     * 注：不存时，才新增写入条目。
+     * @author      ZhengWei(HY)
+     * @createDate  2017-02-16
+     * @version     v1.0
+     *
+     * @param i_Values
+     * @return
+     */
+    public List<?> queryEntryTrees(Object i_Values)
+    {
+        return this.queryEntrys(i_Values ,SearchScope.SUBTREE);
+    }
+    
+    
+    
+    /**
+     * 按DN查询所有子条目。返回直接或间接隶属于i_DN的子条目及子子条目。
+     * 
+     * 即将i_DN下面的树结构上的所有条目都返回。
      * 
      * @author      ZhengWei(HY)
      * @createDate  2017-02-16
      * @version     v1.0
      *
-     * @param i_ValuesMap
-     * @return   返回实际新增的条目数量。小于0，表示异常。
-     *           -3表示：入参i_ValuesMap中有重复的DN值。
+     * @param i_DN           条目标识
+     * @return
      */
-    public int addEntrys(List<?> i_ValuesMap)
+    public List<?> queryEntryTrees(String i_DN)
     {
-        if ( Help.isNull(i_ValuesMap) )
+        return this.queryEntrys(i_DN ,SearchScope.SUBTREE ,this.getSearchAttributes(null));
+    }
+    
+    
+    
+    /**
+     * 按DN查询所有子条目。并指定要求LDAP服务返回的属性（属性投影）。
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_DN           条目标识
+     * @param i_Attributes   要求LDAP服务返回的属性名称。objectClass 总会被返回。
+     *                       为空时，按 isAttributeProjection() 决定返回的属性
+     * @return
+     */
+    public List<?> queryEntryTrees(String i_DN ,String ... i_Attributes)
+    {
+        return this.queryEntrys(i_DN ,SearchScope.SUBTREE ,this.toSearchAttributes(null ,i_Attributes));
+    }
+    
+    
+    
+    /**
+     * 按DN查询条目。
+     * 
+     * 只用于用 @Ldap 注解的Java对象。
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2017-02-17
+     * @version     v1.0
+     *
+     * @param i_Values       条目标识
+     * @param i_SearchScope  查询范围
+     *                       搜索范围01：SearchScope.OBJECT    返回输入给定DN，如果它存在的话。
+     *                       搜索范围02：SearchScope.ONELEVEL  返回低于目前DN的所有子元素，不包括当前DN，也不包括与当前DN无直接关系的DN，即树目录深度为1。
+     *                       搜索范围03：SearchScope.SUBTREE   返回所有元素从给出的DN，包括与DN相关的元素，无论树的深度。
+     * @return
+     */
+    private List<?> queryEntrys(Object i_Values ,SearchScope i_SearchScope)
+    {
+        LdapEntry v_LdapEntry = getLdapEntry(i_Values.getClass());
+        
+        if ( v_LdapEntry == null )
         {
-            return -1;
+            return new ArrayList<Object>();
         }
         
-        int         v_AddCount = 0;
-        List<Entry> v_Entrys   = new ArrayList<Entry>();
-        Set<String> v_DNs      = new HashSet<String>();
-        
         try
         {
-            for (Object v_Values : i_ValuesMap)
-            {
-                if ( v_Values == null )
-                {
-                    continue;
-                }
-                
-                LdapEntry v_LdapEntry = getLdapEntry(v_Values.getClass());
-                if ( v_LdapEntry == null )
-                {
-                    return -2;
-                }
-                
-                String v_DN = v_LdapEntry.getDNValue(v_Values);
-                if ( v_DNs.contains(v_DN) )
-                {
-                    System.err.println("LDAP.addEntrys() DN[" + v_DN + "] is duplicate.");
-                    return -3;
-                }
-                v_DNs.add(v_DN);
-                
-                Object v_OldValues = this.queryEntry(v_DN);
-                if ( v_OldValues == null )  // 不存时，才新增写入条目
-                {
-                    Entry v_Entry = v_LdapEntry.toEntry(v_Values);
-                    if ( v_Entry == null )
-                    {
-                        return -4;
-                    }
-                    v_Entrys.add(v_Entry);
-                }
-            }
+            return this.queryEntrys(v_LdapEntry.getDNValue(i_Values) ,i_SearchScope ,this.getSearchAttributes(null));
         }
         catch (Exception exce)
         {
             exce.printStackTrace();
-            return -5;
         }
         
+        return new ArrayList<Object>();
+    }
+    
+    
+    
+    /**
+     * 按DN查询条目。
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2017-02-16
+     * @version     v1.0
+     *
+     * @param i_DN           条目标识
+     * @param i_SearchScope  查询范围
+     *                       搜索范围01：SearchScope.OBJECT    返回输入给定DN，如果它存在的话。
+     *                       搜索范围02：SearchScope.ONELEVEL  返回低于目前DN的所有子元素，不包括当前DN，也不包括与当前DN无直接关系的DN，即树目录深度为1。
+     *                       搜索范围03：SearchScope.SUBTREE   返回所有元素从给出的DN，包括与DN相关的元素，无论树的深度。
+     * @param i_Attributes   要求LDAP服务返回的属性名称（属性投影）。空数组时返回所有属性
+     * @return
+     */
+    private List<?> queryEntrys(String i_DN ,SearchScope i_SearchScope ,String [] i_Attributes)
+    {
+        LdapConnection v_Conn   = null;
+        EntryCursor    v_Cursor = null;
+        List<Object>   v_Ret    = new ArrayList<Object>();
         
-        v_DNs.clear();
-        v_DNs = null;
-        LdapConnection v_Conn = null;
+        if ( this.entryCache != null && i_SearchScope == SearchScope.OBJECT && i_Attributes == this.getSearchAttributes(null) )
+        {
+            // 只缓存按"条目翻译官"的属性投影查询的条目
+            Entry     v_Entry     = this.lookupEntry(i_DN ,i_Attributes);
+            LdapEntry v_LdapEntry = v_Entry == null ? null : getLdapEntry(v_Entry);
+            
+            if ( v_LdapEntry != null )
+            {
+                v_Ret.add(this.toObject(v_LdapEntry ,v_Entry ,i_Attributes));
+            }
+            return v_Ret;
+        }
+        else if ( this.searchCache != null && i_SearchScope != SearchScope.OBJECT )
+        {
+            return this.searchEntrysByCache(i_DN ,this.pushDownFilter(null ,"(" + LDAP.$ObjectClass + "=*)") ,i_SearchScope ,i_Attributes);
+        }
         
         try
         {
-            v_Conn = this.getConnection();
+            v_Conn   = this.getConnection();
+            v_Cursor = v_Conn.search(new Dn(i_DN) ,this.pushDownFilter(null ,"(" + LDAP.$ObjectClass + "=*)") ,i_SearchScope ,i_Attributes);
             
-            for (Entry v_Entry : v_Entrys)
+            while ( v_Cursor.next() )
             {
-                AddRequest  v_AddRequest = new AddRequestImpl();
-                AddResponse v_Response   = null;
-                
-                v_AddRequest.setEntry(  v_Entry);
-                v_AddRequest.addControl(new ManageDsaITImpl());
-                
-                v_Response = v_Conn.add(v_AddRequest);
+                Entry     v_Entry     = v_Cursor.get();
+                LdapEntry v_LdapEntry = getLdapEntry(v_Entry);
                 
-                if ( !LDAP.isSuccess(v_Response) )
+                if ( v_LdapEntry != null )
                 {
-                    return -6;
+                    v_Ret.add(this.toObject(v_LdapEntry ,v_Entry ,i_Attributes));
                 }
-                
-                v_AddCount++;
             }
         }
         catch (Exception exce)
         {
             exce.printStackTrace();
-            return -7;
         }
         finally
         {
+            LDAP.closeCursor(    v_Cursor);
             this.closeConnection(v_Conn);
         }
         
-        return v_AddCount;
+        return v_Ret;
     }
+
     
     
     
     /**
-     * 添加条目。
+     * 按DN查询条目本身（未翻译为Java值对象的）。先从条目缓存中获取，未命中时再从LDAP服务中查询，并放入缓存。
      * 
-     * 只用于用 @Ldap 注解的Java对象。
+     * LDAP服务应答为条目不存在（NO_SUCH_OBJECT）时，缓存不存在的DN。
+     * 注：启用对象类下推时，没有"条目翻译官"的条目也查询不到，但应答不是 NO_SUCH_OBJECT ，所以不会被误认为不存在。
      * 
      * @author      ZhengWei(HY)
-     * @createDate  2017-02-14
+     * @createDate  2026-10-16
      * @version     v1.0
      *
-     * @param i_Values
-     * @return
+     * @param i_DN          条目标识
+     * @param i_Attributes  要求LDAP服务返回的属性名称（属性投影）
+     * @return              条目不存在时，返回NULL
      */
-    public boolean addEntry(Object i_Values)
+    private Entry lookupEntry(String i_DN ,String [] i_Attributes)
     {
-        LdapEntry v_LdapEntry = getLdapEntry(i_Values.getClass());
+        if ( this.entryCache.isMissing(i_DN) )
+        {
+            return null;
+        }
         
-        if ( v_LdapEntry == null )
+        Entry v_Entry = this.entryCache.get(i_DN);
+        
+        if ( v_Entry != null )
         {
-            return false;
+            return v_Entry;
         }
         
-        Entry v_Entry = null;
+        LdapConnection v_Conn    = null;
+        EntryCursor    v_Cursor  = null;
+        long           v_Version = this.entryCache.getVersion();
         
         try
         {
-            v_Entry = v_LdapEntry.toEntry(i_Values);
+            v_Conn   = this.getConnection();
+            v_Cursor = v_Conn.search(new Dn(i_DN) ,this.pushDownFilter(null ,"(" + LDAP.$ObjectClass + "=*)") ,SearchScope.OBJECT ,i_Attributes);
             
-            return this.addEntry(v_Entry);
+            if ( v_Cursor.next() )
+            {
+                v_Entry = v_Cursor.get();
+                this.entryCache.put(v_Entry ,v_Version);
+            }
+            else if ( v_Cursor.getSearchResultDone() != null
+                   && v_Cursor.getSearchResultDone().getLdapResult().getResultCode() == ResultCodeEnum.NO_SUCH_OBJECT )
+            {
+                this.entryCache.putMissing(i_DN ,v_Version);
+            }
         }
         catch (Exception exce)
         {
             exce.printStackTrace();
         }
+        finally
+        {
+            LDAP.closeCursor(    v_Cursor);
+            this.closeConnection(v_Conn);
+        }
         
-        return false;
+        return v_Entry;
     }
     
     
     
     /**
-     * 添加条目
+     * 写操作后，从条目缓存中移除条目，从查询结果缓存中移除受影响的查询结果，并应用到本地副本
      * 
-     * Apache LDAP 主要提供三种添加条目的方法。当前用：同步的、服务器有返回响应的。
+     * 本地副本：删除的，移除条目；写后的属性值已知的，直接应用；否则在后台线程上重新查询条目。均不阻塞写操作的线程。
      * 
      * @author      ZhengWei(HY)
-     * @createDate  2017-02-14
+     * @createDate  2026-10-16
      * @version     v1.0
      *
-     * @param i_DN        条目标识
-     * @param i_Elements  条目属性
-     * @return            添加成功返回true。
+     * @param i_DN          条目标识
+     * @param i_ChangeType  成功的写操作类型。不能确定是否成功时为NULL
+     * @param i_Data        写后LDAP服务中的条目（Java值对象或 Entry ）。不能确定写后的属性值时为NULL
      */
-    public boolean addEntry(String i_DN ,Object ... i_Elements)
+    private void evictEntry(String i_DN ,ChangeType i_ChangeType ,Object i_Data)
     {
-        Entry v_Entry = null;
+        if ( i_DN == null )
+        {
+            return;
+        }
         
-        try
+        if ( this.entryCache != null )
         {
-            v_Entry = new DefaultEntry(i_DN ,i_Elements);
-            
-            return this.addEntry(v_Entry);
+            this.entryCache.remove(i_DN);
         }
-        catch (Exception exce)
+        if ( this.searchCache != null )
         {
-            exce.printStackTrace();
+            this.searchCache.remove(i_DN);
         }
-        
-        return false;
+        if ( this.replica != null )
+        {
+            if ( i_ChangeType == ChangeType.DELETE )
+            {
+                this.replica.remove(i_DN);
+            }
+            else if ( i_ChangeType == null || i_Data == null || !this.replica.put(i_Data) )
+            {
+                this.replica.reloadLater(Collections.singletonList(i_DN));
+            }
+        }
+    }
+    
+    
+    
+    /**
+     * 写操作后，从条目缓存中移除条目，从查询结果缓存中移除受影响的查询结果。
+     * 
+     * 注：不含本地副本。批量写操作后，本地副本按执行报告一次性地应用所有条目（见 evictEntrys()）。
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_Dn  条目标识
+     */
+    private void evictCaches(Dn i_Dn)
+    {
+        if ( this.entryCache != null )
+        {
+            this.entryCache.remove(i_Dn);
+        }
+        if ( this.searchCache != null )
+        {
+            this.searchCache.remove(i_Dn);
+        }
+    }
+    
+    
+    
+    /**
+     * 删除条目树后，从条目缓存中移除条目及其所有的子及子子条目，从查询结果缓存中移除受影响的查询结果，
+     * 本地副本按执行报告移除已删除的条目
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_DN      条目标识
+     * @param i_Report  执行报告。删除异常而没有执行报告时为NULL，此时本地副本在后台线程上重新加载
+     */
+    private void evictEntryTree(String i_DN ,LdapBatchReport i_Report)
+    {
+        if ( i_DN == null )
+        {
+            return;
+        }
+        
+        if ( this.entryCache != null )
+        {
+            this.entryCache.removeTree(i_DN);
+        }
+        if ( this.searchCache != null )
+        {
+            this.searchCache.removeTree(i_DN);
+        }
+        if ( this.replica != null )
+        {
+            if ( i_Report == null )
+            {
+                this.replica.loadLater();
+            }
+            else
+            {
+                this.applyReplica(i_Report ,false);
+            }
+        }
+    }
+    
+    
+    
+    /**
+     * 批量写操作后，从条目缓存中移除条目，从查询结果缓存中移除受影响的查询结果，本地副本在后台线程上重新查询条目
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_Datas  元素为条目标识DN、Apache LDAP API 的条目对象 Entry，或 @Ldap 注解的Java值对象
+     */
+    private void evictEntrys(List<?> i_Datas)
+    {
+        if ( (this.entryCache == null && this.searchCache == null && this.replica == null) || Help.isNull(i_Datas) )
+        {
+            return;
+        }
+        
+        List<String> v_DNs = new ArrayList<String>(i_Datas.size());
+        for (Object v_Data : i_Datas)
+        {
+            try
+            {
+                Dn v_Dn = null;
+                if ( v_Data instanceof String )
+                {
+                    v_Dn = new Dn((String)v_Data);
+                }
+                else if ( v_Data instanceof Entry )
+                {
+                    v_Dn = ((Entry)v_Data).getDn();
+                }
+                else if ( v_Data != null )
+                {
+                    LdapEntry v_LdapEntry = getLdapEntry(v_Data.getClass());
+                    if ( v_LdapEntry != null )
+                    {
+                        v_Dn = new Dn(v_LdapEntry.getDNValue(v_Data));
+                    }
+                }
+                
+                if ( v_Dn != null )
+                {
+                    this.evictCaches(v_Dn);
+                    v_DNs.add(v_Dn.getName());
+                }
+            }
+            catch (Exception exce)
+            {
+                // 非法的DN不能发送写请求，也不会被缓存，跳过
+                exce.printStackTrace();
+            }
+        }
+        
+        if ( this.replica != null )
+        {
+            this.replica.reloadLater(v_DNs);
+        }
+    }
+    
+    
+    
+    /**
+     * 批量写操作后，按执行报告从条目缓存中移除条目，从查询结果缓存中移除受影响的查询结果，并应用到本地副本
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_Report      执行报告
+     * @param i_IsModified  "已修改"（Modified）的执行结果数据，是否与写后LDAP服务中的属性值一致（见 applyReplica()）
+     * @return              原样返回执行报告
+     */
+    private LdapBatchReport evictEntrys(LdapBatchReport i_Report ,boolean i_IsModified)
+    {
+        if ( (this.entryCache != null || this.searchCache != null || this.replica != null) && i_Report != null && !Help.isNull(i_Report.getResults()) )
+        {
+            for (LdapBatchResult v_Result : i_Report.getResults())
+            {
+                if ( this.entryCache != null )
+                {
+                    this.entryCache.remove(v_Result.getDn());
+                }
+                if ( this.searchCache != null )
+                {
+                    this.searchCache.remove(v_Result.getDn());
+                }
+            }
+            
+            if ( this.replica != null )
+            {
+                this.applyReplica(i_Report ,i_IsModified);
+            }
+        }
+        
+        return i_Report;
+    }
+    
+    
+    
+    /**
+     * 按执行报告应用到本地副本。不阻塞写操作的线程
+     * 
+     *   1. 已添加（Added）的，直接放入执行结果数据。
+     *   2. 已删除（Deleted）的，直接移除。
+     *   3. 已修改（Modified）的，执行结果数据与写后的属性值一致时直接放入，否则在后台线程上重新查询。
+     *   4. 已跳过（Skipped）的，LDAP服务中的条目未变，不处理。
+     *   5. 执行失败（Failed）的，不能确定是否已写，在后台线程上重新查询。
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_Report      执行报告
+     * @param i_IsModified  "已修改"的执行结果数据，是否与写后LDAP服务中的属性值一致
+     */
+    private void applyReplica(LdapBatchReport i_Report ,boolean i_IsModified)
+    {
+        if ( Help.isNull(i_Report.getResults()) )
+        {
+            return;
+        }
+        
+        List<String> v_DNs = new ArrayList<String>();
+        for (LdapBatchResult v_Result : i_Report.getResults())
+        {
+            LdapResultType v_Type = v_Result.getType();
+            
+            if ( v_Result.getDn() == null || v_Type == LdapResultType.Skipped )
+            {
+                continue;
+            }
+            else if ( v_Type == LdapResultType.Deleted )
+            {
+                this.replica.remove(v_Result.getDn());
+            }
+            else if ( v_Type == LdapResultType.Failed
+                   || (v_Type == LdapResultType.Modified && !i_IsModified)
+                   || v_Result.getData() == null
+                   || !this.replica.put(v_Result.getData()) )
+            {
+                v_DNs.add(v_Result.getDn());
+            }
+        }
+        
+        this.replica.reloadLater(v_DNs);
+    }
+    
+    
+    
+    /**
+     * 基于父节点Base DN，查询符合条件的条目。
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2018-12-08
+     * @version     v1.0
+     *
+     * @param i_Values  用@Ldap标记的Java对象实例（必要属性值DN、及其它过滤查询的属性值）
+     * @return          多属性间的过滤条件为'与'，同一属性的多属性值为'或'关系的精确查询。
+     */
+    public List<?> searchEntrys(Object i_Values)
+    {
+        return this.searchEntrys(i_Values ,SearchScope.SUBTREE ,true ,false ,false ,false);
+    }
+    
+    
+    
+    /**
+     * 基于父节点Base DN，查询符合条件的条目。
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2018-12-08
+     * @version     v1.0
+     *
+     * @param i_Values            用@Ldap标记的Java对象实例（必要属性值DN、及其它过滤查询的属性值）
+     *                              1. 当没有DN时，返回null
+     *                              2. 当只有DN时，按DN查询，这就与LDAP.query...()开头的方法相同了。
+     * @param i_SearchScope       查询范围（注：查询的Base DN为 i_Values 的DN）
+     *                            搜索范围01：SearchScope.OBJECT    返回输入给定DN，如果它存在的话。
+     *                            搜索范围02：SearchScope.ONELEVEL  返回低于目前DN的所有子元素，不包括当前DN，也不包括与当前DN无直接关系的DN，即树目录深度为1。
+     *                            搜索范围03：SearchScope.SUBTREE   返回所有元素从给出的DN，包括与DN相关的元素，无论树的深度。
+     * @param i_IsAnd             不属性间的属性值的过滤关系，是'与'、'或'关系？
+     * @param i_IsAndByMultValue  同一属性的多个属性值间的过滤关系，是'与'、'或'关系？
+     * @param i_IsLikeBefore      属性值的前缀是否为模糊匹配
+     * @param i_IsLikeAfter       属性值的后缀是否为模糊匹配
+     * @return
+     */
+    public List<?> searchEntrys(Object i_Values ,SearchScope i_SearchScope ,boolean i_IsAnd ,boolean i_IsAndByMultValue ,boolean i_IsLikeBefore ,boolean i_IsLikeAfter)
+    {
+        return this.searchEntrys(i_Values ,i_SearchScope ,i_IsAnd ,i_IsAndByMultValue ,i_IsLikeBefore ,i_IsLikeAfter ,(String [])null);
+    }
+    
+    
+    
+    /**
+     * 基于父节点Base DN，查询符合条件的条目。并指定要求LDAP服务返回的属性（属性投影）。
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_Values            用@Ldap标记的Java对象实例（必要属性值DN、及其它过滤查询的属性值）
+     * @param i_SearchScope       查询范围（注：查询的Base DN为 i_Values 的DN）
+     * @param i_IsAnd             不属性间的属性值的过滤关系，是'与'、'或'关系？
+     * @param i_IsAndByMultValue  同一属性的多个属性值间的过滤关系，是'与'、'或'关系？
+     * @param i_IsLikeBefore      属性值的前缀是否为模糊匹配
+     * @param i_IsLikeAfter       属性值的后缀是否为模糊匹配
+     * @param i_Attributes        要求LDAP服务返回的属性名称。objectClass 总会被返回。
+     *                            为空时，按 isAttributeProjection() 决定返回的属性
+     * @return
+     */
+    public List<?> searchEntrys(Object i_Values ,SearchScope i_SearchScope ,boolean i_IsAnd ,boolean i_IsAndByMultValue ,boolean i_IsLikeBefore ,boolean i_IsLikeAfter ,String [] i_Attributes)
+    {
+        List<?> v_Ret = null;
+        
+        if ( i_Values == null )
+        {
+            return v_Ret;
+        }
+        
+        LdapEntry v_LdapEntry = getLdapEntry(i_Values.getClass());
+        if ( v_LdapEntry == null )
+        {
+            return v_Ret;
+        }
+        
+        if ( this.replica != null && i_SearchScope == SearchScope.SUBTREE && i_IsAnd && !i_IsAndByMultValue && !i_IsLikeBefore && !i_IsLikeAfter && Help.isNull(i_Attributes) )
+        {
+            v_Ret = this.replica.search(i_Values);
+            if ( v_Ret != null )
+            {
+                return v_Ret;
+            }
+        }
+        
+        try
+        {
+            String v_BaseDN = v_LdapEntry.getDNValue(i_Values);
+            if ( Help.isNull(v_BaseDN) )
+            {
+                return v_Ret;
+            }
+            
+            v_Ret = this.searchEntrys(v_BaseDN ,this.pushDownFilter(v_LdapEntry ,makeSearchFilter(v_LdapEntry ,i_Values ,i_IsAnd ,i_IsAndByMultValue ,i_IsLikeBefore ,i_IsLikeAfter)) ,i_SearchScope ,this.toSearchAttributes(v_LdapEntry ,i_Attributes));
+        }
+        catch (Exception exce)
+        {
+            exce.printStackTrace();
+        }
+        
+        return v_Ret;
+    }
+    
+    
+    
+    /**
+     * 基于父节点Base DN，按参数化的过滤条件模板查询符合条件的条目。
+     * 
+     * 无须通过Java对象的反射生成过滤条件，适用于登录验证等高频的查询。如，
+     *   private static final LdapFilterTemplate $UserLogin = new LdapFilterTemplate("(&(uid={0})(userPassword={1}))");
+     *   v_LDAP.searchEntrys("ou=users,dc=maxcrc,dc=com" ,$UserLogin ,SearchScope.ONELEVEL ,"ZhengWei" ,"123456");
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_BaseDN        父节点标识
+     * @param i_Template      过滤条件的模板
+     * @param i_SearchScope   查询范围
+     * @param i_Params        模板的参数值。将被转义
+     * @return
+     */
+    public List<?> searchEntrys(String i_BaseDN ,LdapFilterTemplate i_Template ,SearchScope i_SearchScope ,Object ... i_Params)
+    {
+        if ( Help.isNull(i_BaseDN) || i_Template == null )
+        {
+            return null;
+        }
+        
+        try
+        {
+            return this.searchEntrys(i_BaseDN ,this.pushDownFilter(null ,i_Template.format(i_Params)) ,i_SearchScope ,this.getSearchAttributes(null));
+        }
+        catch (Exception exce)
+        {
+            exce.printStackTrace();
+        }
+        
+        return null;
+    }
+    
+    
+    
+    /**
+     * 基于父节点Base DN，分页查询符合条件的条目。
+     * 
+     * 每查询到一页，翻译后交给监听器处理，再查询下一页。适用于大数据量的目录树。
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_Values    用@Ldap标记的Java对象实例（必要属性值DN、及其它过滤查询的属性值）
+     * @param i_Listener  分页查询的监听器
+     * @return            多属性间的过滤条件为'与'，同一属性的多属性值为'或'关系的精确查询。
+     *                    返回查询到的条目总数。小于0表示异常
+     */
+    public int searchEntrys(Object i_Values ,LdapPageListener i_Listener)
+    {
+        return this.searchEntrys(i_Values ,SearchScope.SUBTREE ,true ,false ,false ,false ,i_Listener);
+    }
+    
+    
+    
+    /**
+     * 基于父节点Base DN，分页查询符合条件的条目。
+     * 
+     * 每查询到一页，翻译后交给监听器处理，再查询下一页。适用于大数据量的目录树。
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_Values            用@Ldap标记的Java对象实例（必要属性值DN、及其它过滤查询的属性值）
+     * @param i_SearchScope       查询范围（注：查询的Base DN为 i_Values 的DN）
+     * @param i_IsAnd             不属性间的属性值的过滤关系，是'与'、'或'关系？
+     * @param i_IsAndByMultValue  同一属性的多个属性值间的过滤关系，是'与'、'或'关系？
+     * @param i_IsLikeBefore      属性值的前缀是否为模糊匹配
+     * @param i_IsLikeAfter       属性值的后缀是否为模糊匹配
+     * @param i_Listener          分页查询的监听器
+     * @return                    返回查询到的条目总数。小于0表示异常
+     */
+    public int searchEntrys(Object i_Values ,SearchScope i_SearchScope ,boolean i_IsAnd ,boolean i_IsAndByMultValue ,boolean i_IsLikeBefore ,boolean i_IsLikeAfter ,LdapPageListener i_Listener)
+    {
+        if ( i_Values == null || i_Listener == null )
+        {
+            return -1;
+        }
+        
+        LdapEntry v_LdapEntry = getLdapEntry(i_Values.getClass());
+        if ( v_LdapEntry == null )
+        {
+            return -1;
+        }
+        
+        try
+        {
+            String v_BaseDN = v_LdapEntry.getDNValue(i_Values);
+            if ( Help.isNull(v_BaseDN) )
+            {
+                return -1;
+            }
+            
+            return this.searchEntrys(v_BaseDN ,this.pushDownFilter(v_LdapEntry ,makeSearchFilter(v_LdapEntry ,i_Values ,i_IsAnd ,i_IsAndByMultValue ,i_IsLikeBefore ,i_IsLikeAfter)) ,i_SearchScope ,this.getSearchAttributes(v_LdapEntry) ,i_Listener);
+        }
+        catch (Exception exce)
+        {
+            exce.printStackTrace();
+        }
+        
+        return -1;
+    }
+    
+    
+    
+    /**
+     * 按DN分页查询所有子条目。返回直接或间接隶属于i_DN的子条目及子子条目。
+     * 
+     * 每查询到一页，翻译后交给监听器处理，再查询下一页。适用于大数据量的目录树。
+     * 
+     * 只用于用 @Ldap 注解的Java对象。
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_Values    用@Ldap标记的Java对象实例（必要属性值DN）
+     * @param i_Listener  分页查询的监听器
+     * @return            返回查询到的条目总数。小于0表示异常
+     */
+    public int queryEntryTrees(Object i_Values ,LdapPageListener i_Listener)
+    {
+        LdapEntry v_LdapEntry = getLdapEntry(i_Values.getClass());
+        
+        if ( v_LdapEntry == null )
+        {
+            return -1;
+        }
+        
+        try
+        {
+            return this.queryEntryTrees(v_LdapEntry.getDNValue(i_Values) ,i_Listener);
+        }
+        catch (Exception exce)
+        {
+            exce.printStackTrace();
+        }
+        
+        return -1;
+    }
+    
+    
+    
+    /**
+     * 按DN分页查询所有子条目。返回直接或间接隶属于i_DN的子条目及子子条目。
+     * 
+     * 每查询到一页，翻译后交给监听器处理，再查询下一页。适用于大数据量的目录树。
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_DN        条目标识
+     * @param i_Listener  分页查询的监听器
+     * @return            返回查询到的条目总数。小于0表示异常
+     */
+    public int queryEntryTrees(String i_DN ,LdapPageListener i_Listener)
+    {
+        return this.searchEntrys(i_DN ,this.pushDownFilter(null ,"(" + LDAP.$ObjectClass + "=*)") ,SearchScope.SUBTREE ,this.getSearchAttributes(null) ,i_Listener);
+    }
+    
+    
+    
+    /**
+     * 按DN查询子条目的迭代器（懒加载）。返回直接隶属于i_DN的子条目，不返回子子条目。
+     * 
+     * 只用于用 @Ldap 注解的Java对象。
+     * 
+     * 注：未迭代完成时，请务必调用迭代器的 close() 方法释放连接。
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_Values
+     * @return
+     */
+    public <T> LdapEntryIterator<T> iterateEntryChilds(Object i_Values)
+    {
+        return this.iterateEntrys(i_Values ,SearchScope.ONELEVEL);
+    }
+    
+    
+    
+    /**
+     * 按DN查询子条目的迭代器（懒加载）。返回直接隶属于i_DN的子条目，不返回子子条目。
+     * 
+     * 注：未迭代完成时，请务必调用迭代器的 close() 方法释放连接。
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_DN  条目标识
+     * @return
+     */
+    public <T> LdapEntryIterator<T> iterateEntryChilds(String i_DN)
+    {
+        return this.iterateEntrys(i_DN ,this.pushDownFilter(null ,"(" + LDAP.$ObjectClass + "=*)") ,SearchScope.ONELEVEL ,this.getSearchAttributes(null));
+    }
+    
+    
+    
+    /**
+     * 按DN查询所有子条目的迭代器（懒加载）。返回直接或间接隶属于i_DN的子条目及子子条目。
+     * 
+     * 只用于用 @Ldap 注解的Java对象。
+     * 
+     * 注：未迭代完成时，请务必调用迭代器的 close() 方法释放连接。
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_Values
+     * @return
+     */
+    public <T> LdapEntryIterator<T> iterateEntryTrees(Object i_Values)
+    {
+        return this.iterateEntrys(i_Values ,SearchScope.SUBTREE);
+    }
+    
+    
+    
+    /**
+     * 按DN查询所有子条目的迭代器（懒加载）。返回直接或间接隶属于i_DN的子条目及子子条目。
+     * 
+     * 注：未迭代完成时，请务必调用迭代器的 close() 方法释放连接。
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_DN  条目标识
+     * @return
+     */
+    public <T> LdapEntryIterator<T> iterateEntryTrees(String i_DN)
+    {
+        return this.iterateEntrys(i_DN ,this.pushDownFilter(null ,"(" + LDAP.$ObjectClass + "=*)") ,SearchScope.SUBTREE ,this.getSearchAttributes(null));
+    }
+    
+    
+    
+    /**
+     * 基于父节点Base DN，查询符合条件的条目的迭代器（懒加载）。
+     * 
+     * 注：未迭代完成时，请务必调用迭代器的 close() 方法释放连接。
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_Values  用@Ldap标记的Java对象实例（必要属性值DN、及其它过滤查询的属性值）
+     * @return          多属性间的过滤条件为'与'，同一属性的多属性值为'或'关系的精确查询。
+     */
+    public <T> LdapEntryIterator<T> iterateEntrys(Object i_Values)
+    {
+        return this.iterateEntrys(i_Values ,SearchScope.SUBTREE ,true ,false ,false ,false);
+    }
+    
+    
+    
+    /**
+     * 基于父节点Base DN，查询符合条件的条目的迭代器（懒加载）。
+     * 
+     * 注：未迭代完成时，请务必调用迭代器的 close() 方法释放连接。
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_Values            用@Ldap标记的Java对象实例（必要属性值DN、及其它过滤查询的属性值）
+     * @param i_SearchScope       查询范围（注：查询的Base DN为 i_Values 的DN）
+     * @param i_IsAnd             不属性间的属性值的过滤关系，是'与'、'或'关系？
+     * @param i_IsAndByMultValue  同一属性的多个属性值间的过滤关系，是'与'、'或'关系？
+     * @param i_IsLikeBefore      属性值的前缀是否为模糊匹配
+     * @param i_IsLikeAfter       属性值的后缀是否为模糊匹配
+     * @return
+     */
+    public <T> LdapEntryIterator<T> iterateEntrys(Object i_Values ,SearchScope i_SearchScope ,boolean i_IsAnd ,boolean i_IsAndByMultValue ,boolean i_IsLikeBefore ,boolean i_IsLikeAfter)
+    {
+        if ( i_Values == null )
+        {
+            return new LdapEntryIterator<T>(this);
+        }
+        
+        LdapEntry v_LdapEntry = getLdapEntry(i_Values.getClass());
+        if ( v_LdapEntry == null )
+        {
+            return new LdapEntryIterator<T>(this);
+        }
+        
+        try
+        {
+            String v_BaseDN = v_LdapEntry.getDNValue(i_Values);
+            if ( Help.isNull(v_BaseDN) )
+            {
+                return new LdapEntryIterator<T>(this);
+            }
+            
+            return this.iterateEntrys(v_BaseDN ,this.pushDownFilter(v_LdapEntry ,makeSearchFilter(v_LdapEntry ,i_Values ,i_IsAnd ,i_IsAndByMultValue ,i_IsLikeBefore ,i_IsLikeAfter)) ,i_SearchScope ,this.getSearchAttributes(v_LdapEntry));
+        }
+        catch (Exception exce)
+        {
+            exce.printStackTrace();
+        }
+        
+        return new LdapEntryIterator<T>(this);
+    }
+    
+    
+    
+    /**
+     * 按DN查询子条目的Stream流（懒加载）。返回直接隶属于i_DN的子条目，不返回子子条目。
+     * 
+     * 注：未消费完成时，请务必调用流的 close() 方法释放连接（推荐用 try-with-resources 语法）。
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_DN  条目标识
+     * @return
+     */
+    public <T> Stream<T> streamEntryChilds(String i_DN)
+    {
+        return this.<T>iterateEntryChilds(i_DN).stream();
+    }
+    
+    
+    
+    /**
+     * 按DN查询所有子条目的Stream流（懒加载）。返回直接或间接隶属于i_DN的子条目及子子条目。
+     * 
+     * 注：未消费完成时，请务必调用流的 close() 方法释放连接（推荐用 try-with-resources 语法）。
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_DN  条目标识
+     * @return
+     */
+    public <T> Stream<T> streamEntryTrees(String i_DN)
+    {
+        return this.<T>iterateEntryTrees(i_DN).stream();
+    }
+    
+    
+    
+    /**
+     * 基于父节点Base DN，查询符合条件的条目的Stream流（懒加载）。
+     * 
+     * 注：未消费完成时，请务必调用流的 close() 方法释放连接（推荐用 try-with-resources 语法）。
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_Values  用@Ldap标记的Java对象实例（必要属性值DN、及其它过滤查询的属性值）
+     * @return          多属性间的过滤条件为'与'，同一属性的多属性值为'或'关系的精确查询。
+     */
+    public <T> Stream<T> streamEntrys(Object i_Values)
+    {
+        return this.<T>iterateEntrys(i_Values).stream();
+    }
+    
+    
+    
+    /**
+     * 按DN查询条目的迭代器（懒加载）。
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_Values       条目标识
+     * @param i_SearchScope  查询范围
+     * @return
+     */
+    private <T> LdapEntryIterator<T> iterateEntrys(Object i_Values ,SearchScope i_SearchScope)
+    {
+        LdapEntry v_LdapEntry = getLdapEntry(i_Values.getClass());
+        
+        if ( v_LdapEntry == null )
+        {
+            return new LdapEntryIterator<T>(this);
+        }
+        
+        try
+        {
+            return this.iterateEntrys(v_LdapEntry.getDNValue(i_Values) ,this.pushDownFilter(null ,"(" + LDAP.$ObjectClass + "=*)") ,i_SearchScope ,this.getSearchAttributes(null));
+        }
+        catch (Exception exce)
+        {
+            exce.printStackTrace();
+        }
+        
+        return new LdapEntryIterator<T>(this);
+    }
+    
+    
+    
+    /**
+     * 基于父节点Base DN，查询符合条件的条目的迭代器（懒加载）。
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_BaseDN       父节点标识
+     * @param i_Filter       过滤条件
+     * @param i_SearchScope  查询范围
+     * @param i_Attributes   要求LDAP服务返回的属性名称（属性投影）。空数组时返回所有属性
+     * @return               异常时，返回一个空的迭代器
+     */
+    private <T> LdapEntryIterator<T> iterateEntrys(String i_BaseDN ,String i_Filter ,SearchScope i_SearchScope ,String [] i_Attributes)
+    {
+        try
+        {
+            return new LdapEntryIterator<T>(this ,i_BaseDN ,i_Filter ,i_SearchScope ,i_Attributes ,this.pageSize);
+        }
+        catch (Exception exce)
+        {
+            exce.printStackTrace();
+        }
+        
+        return new LdapEntryIterator<T>(this);
+    }
+    
+    
+    
+    /**
+     * 基于父节点Base DN，查询符合条件的条目。
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2018-12-08
+     * @version     v1.0
+     *
+     * @param i_BaseDN       父节点标识
+     * @param i_Filter       过滤条件
+     * @param i_SearchScope  查询范围
+     *                       搜索范围01：SearchScope.OBJECT    返回输入给定DN，如果它存在的话。
+     *                       搜索范围02：SearchScope.ONELEVEL  返回低于目前DN的所有子元素，不包括当前DN，也不包括与当前DN无直接关系的DN，即树目录深度为1。
+     *                       搜索范围03：SearchScope.SUBTREE   返回所有元素从给出的DN，包括与DN相关的元素，无论树的深度。
+     * @param i_Attributes   要求LDAP服务返回的属性名称（属性投影）。空数组时返回所有属性
+     * @return
+     */
+    private List<?> searchEntrys(String i_BaseDN ,String i_Filter ,SearchScope i_SearchScope ,String [] i_Attributes)
+    {
+        LdapConnection v_Conn   = null;
+        EntryCursor    v_Cursor = null;
+        List<Object>   v_Ret    = new ArrayList<Object>();
+        
+        if ( this.searchCache != null )
+        {
+            return this.searchEntrysByCache(i_BaseDN ,i_Filter ,i_SearchScope ,i_Attributes);
+        }
+        
+        try
+        {
+            v_Conn   = this.getConnection();
+            v_Cursor = v_Conn.search(new Dn(i_BaseDN) ,i_Filter ,i_SearchScope ,i_Attributes);
+            
+            while ( v_Cursor.next() )
+            {
+                Entry     v_Entry     = v_Cursor.get();
+                LdapEntry v_LdapEntry = getLdapEntry(v_Entry);
+                
+                if ( v_LdapEntry != null )
+                {
+                    v_Ret.add(this.toObject(v_LdapEntry ,v_Entry ,i_Attributes));
+                }
+            }
+        }
+        catch (Exception exce)
+        {
+            exce.printStackTrace();
+        }
+        finally
+        {
+            LDAP.closeCursor(    v_Cursor);
+            this.closeConnection(v_Conn);
+        }
+        
+        return v_Ret;
+    }
+    
+    
+    
+    /**
+     * 基于父节点Base DN，查询符合条件的条目。先从查询结果缓存中获取，未命中时再从LDAP服务中查询，并放入缓存。
+     * 
+     * 缓存的是条目本身（未翻译为Java值对象的），每次均翻译为新的Java值对象。
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_BaseDN       父节点标识
+     * @param i_Filter       过滤条件
+     * @param i_SearchScope  查询范围
+     * @param i_Attributes   要求LDAP服务返回的属性名称（属性投影）。空数组时返回所有属性
+     * @return
+     */
+    private List<?> searchEntrysByCache(String i_BaseDN ,String i_Filter ,SearchScope i_SearchScope ,String [] i_Attributes)
+    {
+        List<Object> v_Ret = new ArrayList<Object>();
+        
+        try
+        {
+            List<Entry> v_Entrys = this.searchCache.get(i_BaseDN ,i_SearchScope ,i_Filter ,i_Attributes
+                                                       ,() -> this.loadEntrys(i_BaseDN ,i_Filter ,i_SearchScope ,i_Attributes));
+            
+            for (Entry v_Entry : v_Entrys)
+            {
+                LdapEntry v_LdapEntry = getLdapEntry(v_Entry);
+                
+                if ( v_LdapEntry != null )
+                {
+                    v_Ret.add(this.toObject(v_LdapEntry ,v_Entry ,i_Attributes));
+                }
+            }
+        }
+        catch (Exception exce)
+        {
+            exce.printStackTrace();
+        }
+        
+        return v_Ret;
+    }
+    
+    
+    
+    /**
+     * 基于父节点Base DN，查询符合条件的条目本身（未翻译为Java值对象的）。只返回有"条目翻译官"的条目
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_BaseDN       父节点标识
+     * @param i_Filter       过滤条件
+     * @param i_SearchScope  查询范围
+     * @param i_Attributes   要求LDAP服务返回的属性名称（属性投影）。空数组时返回所有属性
+     * @return
+     * @throws Exception     查询异常时抛出，不返回部分的查询结果
+     */
+    private List<Entry> loadEntrys(String i_BaseDN ,String i_Filter ,SearchScope i_SearchScope ,String [] i_Attributes) throws Exception
+    {
+        LdapConnection v_Conn   = null;
+        EntryCursor    v_Cursor = null;
+        List<Entry>    v_Ret    = new ArrayList<Entry>();
+        
+        try
+        {
+            v_Conn   = this.getConnection();
+            v_Cursor = v_Conn.search(new Dn(i_BaseDN) ,i_Filter ,i_SearchScope ,i_Attributes);
+            
+            while ( v_Cursor.next() )
+            {
+                Entry v_Entry = v_Cursor.get();
+                
+                if ( getLdapEntry(v_Entry) != null )
+                {
+                    v_Ret.add(v_Entry);
+                }
+            }
+        }
+        finally
+        {
+            LDAP.closeCursor(    v_Cursor);
+            this.closeConnection(v_Conn);
+        }
+        
+        return v_Ret;
+    }
+    
+    
+    
+    /**
+     * 基于父节点Base DN，分页查询符合条件的条目（Simple Paged Results 控制，RFC 2696）。
+     * 
+     * 每页的条目翻译为Java值对象后，交给监听器处理。监听器处理完成后，才查询下一页。
+     * 分页期间只占用一个连接（分页Cookie与连接绑定）。
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_BaseDN       父节点标识
+     * @param i_Filter       过滤条件
+     * @param i_SearchScope  查询范围
+     * @param i_Attributes   要求LDAP服务返回的属性名称（属性投影）。空数组时返回所有属性
+     * @param i_Listener     分页查询的监听器
+     * @return               返回查询到的条目总数。小于0表示异常
+     */
+    private int searchEntrys(String i_BaseDN ,String i_Filter ,SearchScope i_SearchScope ,String [] i_Attributes ,LdapPageListener i_Listener)
+    {
+        LdapConnection v_Conn    = null;
+        SearchCursor   v_Cursor  = null;
+        byte []        v_Cookie  = null;
+        int            v_PageNo  = 0;
+        int            v_Count   = 0;
+        
+        if ( i_Listener == null )
+        {
+            return -1;
+        }
+        
+        try
+        {
+            v_Conn = this.getConnection();
+            
+            do
+            {
+                SearchRequest v_Request = this.newSearchRequest(i_BaseDN ,i_Filter ,i_SearchScope ,i_Attributes);
+                List<Object>  v_Datas   = new ArrayList<Object>(Math.max(this.pageSize ,0));
+                
+                if ( this.pageSize > 0 )
+                {
+                    PagedResults v_Paged = new PagedResultsImpl();
+                    v_Paged.setSize(  this.pageSize);
+                    v_Paged.setCookie(v_Cookie);
+                    v_Request.addControl(v_Paged);
+                }
+                
+                v_Cursor = v_Conn.search(v_Request);
+                while ( v_Cursor.next() )
+                {
+                    if ( !v_Cursor.isEntry() )
+                    {
+                        continue;
+                    }
+                    
+                    Entry     v_Entry     = v_Cursor.getEntry();
+                    LdapEntry v_LdapEntry = getLdapEntry(v_Entry);
+                    
+                    if ( v_LdapEntry != null )
+                    {
+                        v_Datas.add(this.toObject(v_LdapEntry ,v_Entry ,i_Attributes));
+                    }
+                }
+                
+                SearchResultDone v_Done = v_Cursor.getSearchResultDone();
+                LDAP.closeCursor(v_Cursor);
+                v_Cursor = null;
+                
+                if ( !LDAP.isSuccess(v_Done) )
+                {
+                    return -1;
+                }
+                
+                v_Cookie = null;
+                if ( this.pageSize > 0 )
+                {
+                    PagedResults v_PagedDone = (PagedResults)v_Done.getControl(PagedResults.OID);
+                    if ( v_PagedDone != null )
+                    {
+                        v_Cookie = v_PagedDone.getCookie();
+                    }
+                }
+                
+                v_Count += v_Datas.size();
+                if ( !i_Listener.onPage(++v_PageNo ,v_Datas) )
+                {
+                    // 提前结束时，通知服务端释放分页查询的上下文
+                    this.abandonPaged(v_Conn ,i_BaseDN ,i_Filter ,i_SearchScope ,v_Cookie);
+                    break;
+                }
+            }
+            while ( v_Cookie != null && v_Cookie.length > 0 );
+        }
+        catch (Exception exce)
+        {
+            exce.printStackTrace();
+            return -1;
+        }
+        finally
+        {
+            LDAP.closeCursor(    v_Cursor);
+            this.closeConnection(v_Conn);
+        }
+        
+        return v_Count;
+    }
+    
+    
+    
+    /**
+     * 放弃分页查询。按RFC 2696的要求，发送每页大小为0并携带Cookie的查询，通知服务端释放分页查询的上下文。
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_Conn         分页查询所用的连接
+     * @param i_BaseDN       父节点标识
+     * @param i_Filter       过滤条件
+     * @param i_SearchScope  查询范围
+     * @param i_Cookie       服务端返回的分页Cookie
+     */
+    private void abandonPaged(LdapConnection i_Conn ,String i_BaseDN ,String i_Filter ,SearchScope i_SearchScope ,byte [] i_Cookie)
+    {
+        if ( i_Cookie == null || i_Cookie.length <= 0 )
+        {
+            return;
+        }
+        
+        SearchCursor v_Cursor = null;
+        
+        try
+        {
+            SearchRequest v_Request = this.newSearchRequest(i_BaseDN ,i_Filter ,i_SearchScope ,$AllAttributes);
+            PagedResults  v_Paged   = new PagedResultsImpl();
+            
+            v_Paged.setSize(  0);
+            v_Paged.setCookie(i_Cookie);
+            v_Request.addControl(v_Paged);
+            
+            v_Cursor = i_Conn.search(v_Request);
+            while ( v_Cursor.next() )
+            {
+                // Nothing.
+            }
+        }
+        catch (Exception exce)
+        {
+            // Nothing. 释放失败时，服务端也会在超时后自动释放
+        }
+        finally
+        {
+            LDAP.closeCursor(v_Cursor);
+        }
+    }
+    
+    
+    
+    /**
+     * 基于父节点Base DN，分页查询所有条目的DN。
+     * 
+     * 不要求LDAP服务返回任何属性（属性名称为"1.1"），也不翻译为Java值对象。用于只关心条目标识的大批量操作，如删除条目树。
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_BaseDN       父节点标识
+     * @param i_SearchScope  查询范围
+     * @return               查询异常时，返回NULL
+     */
+    public List<Dn> queryDNs(String i_BaseDN ,SearchScope i_SearchScope)
+    {
+        LdapConnection v_Conn   = null;
+        SearchCursor   v_Cursor = null;
+        byte []        v_Cookie = null;
+        List<Dn>       v_Ret    = new ArrayList<Dn>();
+        String         v_Filter = "(" + $ObjectClass + "=*)";
+        
+        try
+        {
+            v_Conn = this.getConnection();
+            
+            do
+            {
+                SearchRequest v_Request = this.newSearchRequest(i_BaseDN ,v_Filter ,i_SearchScope ,$NoAttributes);
+                
+                if ( this.pageSize > 0 )
+                {
+                    PagedResults v_Paged = new PagedResultsImpl();
+                    v_Paged.setSize(  this.pageSize);
+                    v_Paged.setCookie(v_Cookie);
+                    v_Request.addControl(v_Paged);
+                }
+                
+                v_Cursor = v_Conn.search(v_Request);
+                while ( v_Cursor.next() )
+                {
+                    if ( v_Cursor.isEntry() )
+                    {
+                        v_Ret.add(v_Cursor.getEntry().getDn());
+                    }
+                }
+                
+                SearchResultDone v_Done = v_Cursor.getSearchResultDone();
+                LDAP.closeCursor(v_Cursor);
+                v_Cursor = null;
+                
+                if ( !LDAP.isSuccess(v_Done) )
+                {
+                    return null;
+                }
+                
+                v_Cookie = null;
+                if ( this.pageSize > 0 )
+                {
+                    PagedResults v_PagedDone = (PagedResults)v_Done.getControl(PagedResults.OID);
+                    if ( v_PagedDone != null )
+                    {
+                        v_Cookie = v_PagedDone.getCookie();
+                    }
+                }
+            }
+            while ( v_Cookie != null && v_Cookie.length > 0 );
+        }
+        catch (Exception exce)
+        {
+            exce.printStackTrace();
+            return null;
+        }
+        finally
+        {
+            LDAP.closeCursor(    v_Cursor);
+            this.closeConnection(v_Conn);
+        }
+        
+        return v_Ret;
+    }
+    
+    
+    
+    /**
+     * 将条目翻译为Java值对象。启用变更跟踪时，记录Java值对象的快照
+     * 
+     * 只跟踪按"条目翻译官"的属性投影查询的Java值对象。
+     * 按每次查询指定的属性查询的，其它属性未从LDAP服务中获取，快照不完整，所以不跟踪。
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_LdapEntry   条目的"条目翻译官"
+     * @param i_Entry       条目
+     * @param i_Attributes  查询时，要求LDAP服务返回的属性名称
+     * @return
+     */
+    Object toObject(LdapEntry i_LdapEntry ,Entry i_Entry ,String [] i_Attributes)
+    {
+        Object v_Values = i_LdapEntry.toObject(i_Entry);
+        
+        if ( this.changeTracking && v_Values != null )
+        {
+            if ( Help.isNull(i_Attributes)
+              || i_Attributes == LdapAnnotation.getAttributeNames()
+              || i_Attributes == i_LdapEntry.getAttributeNames() )
+            {
+                this.changeTracker.put(v_Values ,i_LdapEntry.toSnapshot(v_Values));
+            }
+        }
+        
+        return v_Values;
+    }
+    
+    
+    
+    /**
+     * 生成查询请求
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_BaseDN       父节点标识
+     * @param i_Filter       过滤条件
+     * @param i_SearchScope  查询范围
+     * @param i_Attributes   要求LDAP服务返回的属性名称（属性投影）。空数组时返回所有属性
+     * @return
+     * @throws LdapException
+     */
+    SearchRequest newSearchRequest(String i_BaseDN ,String i_Filter ,SearchScope i_SearchScope ,String [] i_Attributes) throws LdapException
+    {
+        SearchRequest v_Request = new SearchRequestImpl();
+        
+        v_Request.setBase(  new Dn(i_BaseDN));
+        v_Request.setFilter(i_Filter);
+        v_Request.setScope( i_SearchScope);
+        
+        if ( !Help.isNull(i_Attributes) )
+        {
+            v_Request.addAttributes(i_Attributes);
+        }
+        
+        return v_Request;
+    }
+    
+    
+    
+    /**
+     * 获取查询时，要求LDAP服务返回的属性名称（属性投影）。
+     * 
+     * 只查询被"条目翻译官"翻译的属性，减少传输及解码的数据量。
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_LdapEntry  查询条件的"条目翻译官"。启用对象类下推时，查询结果只有此一种条目类型，只取它的属性名称。
+     *                     为NULL或未启用对象类下推时，表示查询结果的条目类型不确定，取所有"条目翻译官"的属性名称的并集。
+     * @return             未启用属性投影时，返回空数组，表示返回所有属性
+     */
+    String [] getSearchAttributes(LdapEntry i_LdapEntry)
+    {
+        if ( !this.attributeProjection )
+        {
+            return $AllAttributes;
+        }
+        else if ( i_LdapEntry != null && this.objectClassPushDown )
+        {
+            return i_LdapEntry.getAttributeNames();
+        }
+        else
+        {
+            return LdapAnnotation.getAttributeNames();
+        }
+    }
+    
+    
+    
+    /**
+     * 将对象类的约束下推到LDAP服务端的过滤条件中（'与'关系）。未启用对象类下推时，原样返回过滤条件。
+     * 
+     * 下推后，没有"条目翻译官"的条目（最终也会在本地被丢弃的条目），将不再传输及解码。
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_LdapEntry  查询条件的"条目翻译官"，只查询此类条目。
+     *                     为NULL时，查询所有"条目翻译官"的条目（各条目翻译官间为'或'关系）。
+     * @param i_Filter     过滤条件
+     * @return
+     */
+    private String pushDownFilter(LdapEntry i_LdapEntry ,String i_Filter)
+    {
+        if ( !this.objectClassPushDown )
+        {
+            return i_Filter;
+        }
+        
+        String v_ClassFilter = i_LdapEntry != null ? i_LdapEntry.getObjectClassFilter() : LdapAnnotation.getObjectClassFilter();
+        
+        if ( Help.isNull(i_Filter) || ("(" + LDAP.$ObjectClass + "=*)").equals(i_Filter) )
+        {
+            return v_ClassFilter;
+        }
+        else
+        {
+            return "(" + LDAP.$And + v_ClassFilter + i_Filter + ")";
+        }
+    }
+    
+    
+    
+    /**
+     * 将每次查询时指定的属性名称，转为查询时的属性投影（总是包含 objectClass，用于识别"条目翻译官"）
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_LdapEntry   查询结果的"条目翻译官"。为NULL时，表示查询结果的条目类型不确定
+     * @param i_Attributes  指定的属性名称。为空时，按 isAttributeProjection() 决定返回的属性
+     * @return
+     */
+    private String [] toSearchAttributes(LdapEntry i_LdapEntry ,String [] i_Attributes)
+    {
+        if ( Help.isNull(i_Attributes) )
+        {
+            return this.getSearchAttributes(i_LdapEntry);
+        }
+        
+        return LdapEntry.toAttributeNames(Arrays.asList(i_Attributes));
+    }
+    
+    
+    
+    /**
+     * 用Java对象(@Ldap)生成查询的过滤器条件。当没有任何过滤条件时，返回查询所有条目的过滤器条件。
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_LdapEntry         条目翻译官
+     * @param i_Values            用@Ldap注解过的Java对象
+     * @param i_IsAnd             不属性间的属性值的过滤关系，是'与'、'或'关系？
+     * @param i_IsAndByMultValue  同一属性的多个属性值间的过滤关系，是'与'、'或'关系？
+     * @param i_IsLikeBefore      属性值的前缀是否为模糊匹配
+     * @param i_IsLikeAfter       属性值的后缀是否为模糊匹配
+     * @return
+     */
+    private static String makeSearchFilter(LdapEntry i_LdapEntry ,Object i_Values ,boolean i_IsAnd ,boolean i_IsAndByMultValue ,boolean i_IsLikeBefore ,boolean i_IsLikeAfter)
+    {
+        String v_Filter = i_LdapEntry.getFilterPlan(i_IsAnd ,i_IsAndByMultValue ,i_IsLikeBefore ,i_IsLikeAfter).makeFilter(i_Values);
+        
+        if ( Help.isNull(v_Filter) )
+        {
+            v_Filter = "(" + LDAP.$ObjectClass + "=*)";
+        }
+        
+        return v_Filter;
+    }
+    
+    
+    
+    /**
+     * 用Java对象(@Ldap)生成查询的过滤器条件。
+     * 
+     * Java对象的成员属性name和pwd，属性值为HY和123456，对应LDAP属性名cn和gn。
+     * 
+     * 与关系时生成：(&(cn=HY)(gn=123456))
+     * 或关系时生成：(|(cn=HY)(gn=123456))
+     * 
+     * 与关系带前缀模糊匹配：(&(cn=*HY )(gn=*123456))
+     * 与关系带后缀模糊匹配：(&(cn= HY*)(gn= 123456*))
+     * 与关系带全模糊匹配：  (&(cn=*HY*)(gn=*123456*))
+     * 
+     * 当同一属性有多个属性值时，要符合上面的规则。
+     * 
+     * 按"条目翻译官"及过滤关系的组合，编译并缓存过滤条件的执行计划，每次只填充属性值。
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2018-12-08
+     * @version     v1.0
+     *              v2.0  2026-10-16  优化：使用编译好的执行计划 LdapFilterPlan 生成过滤条件，不再每次遍历"条目翻译官"的属性集合。
+     *
+     * @param i_Values            用@Ldap注解过的Java对象
+     * @param i_IsAnd             不属性间的属性值的过滤关系，是'与'、'或'关系？
+     * @param i_IsAndByMultValue  同一属性的多个属性值间的过滤关系，是'与'、'或'关系？
+     * @param i_IsLikeBefore      属性值的前缀是否为模糊匹配
+     * @param i_IsLikeAfter       属性值的后缀是否为模糊匹配
+     * @return
+     */
+    public static String makeSearchFilter(Object i_Values ,boolean i_IsAnd ,boolean i_IsAndByMultValue ,boolean i_IsLikeBefore ,boolean i_IsLikeAfter)
+    {
+        return getLdapEntry(i_Values.getClass()).getFilterPlan(i_IsAnd ,i_IsAndByMultValue ,i_IsLikeBefore ,i_IsLikeAfter).makeFilter(i_Values);
+    }
+    
+    
+    
+    /**
+     * 批量添加条目。i_ValuesMap集合中的每个元素可以是不同类型的，对应不同类型的LDAP类。
+     * 
+     * 注1：有顺序的添加。这样可以实现先添加父条目，再添加子条目的功能。
+     * 注2：没有事务机构，这不是LDAP的长项。不要指望LDAP可以作到。
+     *      某个元素执行异常后，前面的不回滚，其后的不再执行添加（已在途的请求除外）。
+     * 注3：批量添加时只占用一个连接。流水线式地发送添加请求（见 LdapPipeline），不逐个等待响应。
+     * 
+     * 只用于用 @Ldap 注解的Java对象。
+     * 
+     * 注：不存时，才新增写入条目。不再预先逐个查询条目是否存在，而是由LDAP服务判定（ENTRY_ALREADY_EXISTS 时跳过）。
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2017-02-16
+     * @version     v1.0
+     *              v2.0  2026-10-16  优化：流水线式地批量添加，不再预先逐个查询条目是否存在
+     *
+     * @param i_ValuesMap
+     * @return   返回实际新增的条目数量。小于0，表示异常。
+     *           -3表示：入参i_ValuesMap中有重复的DN值。
+     */
+    public int addEntrys(List<?> i_ValuesMap)
+    {
+        if ( Help.isNull(i_ValuesMap) )
+        {
+            return -1;
+        }
+        
+        List<Entry> v_Entrys = new ArrayList<Entry>();
+        Set<String> v_DNs    = new HashSet<String>();
+        
+        try
+        {
+            for (Object v_Values : i_ValuesMap)
+            {
+                if ( v_Values == null )
+                {
+                    continue;
+                }
+                
+                LdapEntry v_LdapEntry = getLdapEntry(v_Values.getClass());
+                if ( v_LdapEntry == null )
+                {
+                    return -2;
+                }
+                
+                String v_DN = v_LdapEntry.getDNValue(v_Values);
+                if ( v_DNs.contains(v_DN) )
+                {
+                    System.err.println("LDAP.addEntrys() DN[" + v_DN + "] is duplicate.");
+                    return -3;
+                }
+                v_DNs.add(v_DN);
+                
+                Entry v_Entry = v_LdapEntry.toEntry(v_Values);
+                if ( v_Entry == null )
+                {
+                    return -4;
+                }
+                v_Entrys.add(v_Entry);
+            }
+        }
+        catch (Exception exce)
+        {
+            exce.printStackTrace();
+            return -5;
+        }
+        
+        
+        v_DNs.clear();
+        v_DNs = null;
+        LdapConnection  v_Conn   = null;
+        LdapBatchReport v_Report = null;
+        
+        try
+        {
+            v_Conn = this.getConnection();
+            
+            LdapPipeline v_Pipeline = new LdapPipeline(v_Conn ,this.pipelineWindow ,new LdapBatchReport());
+            
+            for (int x=0; x<v_Entrys.size() && !v_Pipeline.isFailed(); x++)
+            {
+                // 执行结果的数据为条目本身，以便本地副本直接应用已添加的条目
+                v_Pipeline.add(x ,v_Entrys.get(x) ,v_Entrys.get(x));
+            }
+            
+            v_Report = v_Pipeline.flush().finish();
+            if ( !v_Report.isSuccess() )
+            {
+                return -6;
+            }
+            
+            return v_Report.getCount(LdapResultType.Added);
+        }
+        catch (Exception exce)
+        {
+            exce.printStackTrace();
+            return -7;
+        }
+        finally
+        {
+            this.closeConnection(v_Conn);
+            
+            if ( v_Report != null )
+            {
+                this.evictEntrys(v_Report ,false);
+            }
+            else
+            {
+                this.evictEntrys(v_Entrys);
+            }
+        }
+    }
+    
+    
+    
+    /**
+     * 批量添加条目，并返回每个条目的执行结果。i_Datas集合中的每个元素可以是不同类型的，对应不同类型的LDAP类。
+     * 
+     * 与 addEntrys(List) 不同的是：
+     *   1. 某个元素执行失败后，其后的仍然继续添加。
+     *   2. 条目已存在时，执行结果为"已跳过"（Skipped）。
+     *   3. 重复的DN值、没有"条目翻译官"的元素，执行结果为"执行失败"（Failed），其它元素仍然继续添加。
+     * 
+     * 注1：有顺序的添加。父条目的请求还在途时，先等待其完成，再添加子条目。
+     * 注2：批量添加时只占用一个连接。流水线式地发送添加请求，同时在途的请求数量不超过 pipelineWindow 。
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_Datas  元素为 @Ldap 注解的Java值对象，或 Apache LDAP API 的条目对象 Entry
+     * @return         执行报告。LdapBatchResult.getIndex() 为元素在 i_Datas 中的下标
+     */
+    public LdapBatchReport addEntrysPipeline(List<?> i_Datas)
+    {
+        LdapBatchReport v_Report = new LdapBatchReport();
+        
+        if ( Help.isNull(i_Datas) )
+        {
+            return v_Report.finish();
+        }
+        
+        LdapConnection v_Conn = null;
+        
+        try
+        {
+            v_Conn = this.getConnection();
+            
+            LdapPipeline v_Pipeline = new LdapPipeline(v_Conn ,this.pipelineWindow ,v_Report);
+            Set<String>  v_DNs      = new HashSet<String>();
+            
+            for (int x=0; x<i_Datas.size(); x++)
+            {
+                Object v_Values = i_Datas.get(x);
+                if ( v_Values == null )
+                {
+                    continue;
+                }
+                
+                try
+                {
+                    Entry v_Entry = toEntry(v_Values);
+                    if ( v_Entry == null )
+                    {
+                        v_Pipeline.fail(x ,null ,v_Values ,"No LdapEntry of " + v_Values.getClass().getName());
+                    }
+                    else if ( !v_DNs.add(toLookupKey(v_Entry.getDn())) )
+                    {
+                        v_Pipeline.fail(x ,v_Entry.getDn().getName() ,v_Values ,"DN is duplicate.");
+                    }
+                    else
+                    {
+                        v_Pipeline.add(x ,v_Entry ,v_Values);
+                    }
+                }
+                catch (Exception exce)
+                {
+                    exce.printStackTrace();
+                    v_Pipeline.fail(x ,null ,v_Values ,exce.getMessage());
+                }
+            }
+            
+            v_Pipeline.flush();
+        }
+        catch (Exception exce)
+        {
+            exce.printStackTrace();
+        }
+        finally
+        {
+            this.closeConnection(v_Conn);
+        }
+        
+        return this.evictEntrys(v_Report.finish() ,false);
+    }
+    
+    
+    
+    /**
+     * 多连接并行地批量添加条目，并返回每个条目的执行结果。i_Datas集合中的每个元素可以是不同类型的，对应不同类型的LDAP类。
+     * 
+     * 按条目DN的深度分层，父条目所在的层先于子条目所在的层添加。
+     * 同一层的条目分给多个连接并行地、流水线式地添加，一层全部完成后，才开始添加下一层（见 LdapParallelLoader）。
+     * 
+     * 条目已存在时，执行结果为"已跳过"（Skipped）。
+     * 
+     * 注：并行的连接均从LDAP连接池中获取，连接池的最大连接数应不小于 i_ConnCount 。
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_Datas      元素为 @Ldap 注解的Java值对象，或 Apache LDAP API 的条目对象 Entry
+     * @param i_ConnCount  并行的连接数量
+     * @return             执行报告。LdapBatchResult.getIndex() 为元素在 i_Datas 中的下标
+     */
+    public LdapBatchReport addEntrysParallel(List<?> i_Datas ,int i_ConnCount)
+    {
+        return this.evictEntrys(new LdapParallelLoader(this ,i_ConnCount ,this.pipelineWindow).add(i_Datas) ,false);
+    }
+    
+    
+    
+    /**
+     * 将 @Ldap 注解的Java值对象翻译为条目。本身就是条目时，直接返回
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_Values
+     * @return          没有"条目翻译官"时，返回NULL
+     * @throws LdapException
+     */
+    public static Entry toEntry(Object i_Values) throws LdapException
+    {
+        if ( i_Values instanceof Entry )
+        {
+            return (Entry)i_Values;
+        }
+        
+        LdapEntry v_LdapEntry = getLdapEntry(i_Values.getClass());
+        if ( v_LdapEntry == null )
+        {
+            return null;
+        }
+        
+        return v_LdapEntry.toEntry(i_Values);
+    }
+    
+    
+    
+    /**
+     * 添加条目。
+     * 
+     * 只用于用 @Ldap 注解的Java对象。
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2017-02-14
+     * @version     v1.0
+     *
+     * @param i_Values
+     * @return
+     */
+    public boolean addEntry(Object i_Values)
+    {
+        LdapEntry v_LdapEntry = getLdapEntry(i_Values.getClass());
+        
+        if ( v_LdapEntry == null )
+        {
+            return false;
+        }
+        
+        Entry v_Entry = null;
+        
+        try
+        {
+            v_Entry = v_LdapEntry.toEntry(i_Values);
+            
+            return this.addEntry(v_Entry);
+        }
+        catch (Exception exce)
+        {
+            exce.printStackTrace();
+        }
+        
+        return false;
+    }
+    
+    
+    
+    /**
+     * 添加条目
+     * 
+     * Apache LDAP 主要提供三种添加条目的方法。当前用：同步的、服务器有返回响应的。
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2017-02-14
+     * @version     v1.0
+     *
+     * @param i_DN        条目标识
+     * @param i_Elements  条目属性
+     * @return            添加成功返回true。
+     */
+    public boolean addEntry(String i_DN ,Object ... i_Elements)
+    {
+        Entry v_Entry = null;
+        
+        try
+        {
+            v_Entry = new DefaultEntry(i_DN ,i_Elements);
+            
+            return this.addEntry(v_Entry);
+        }
+        catch (Exception exce)
+        {
+            exce.printStackTrace();
+        }
+        
+        return false;
+    }
+    
+    
+    
+    /**
+     * 添加条目
+     * 
+     * Apache LDAP 主要提供三种添加条目的方法。当前用：同步的、服务器有返回响应的。
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2017-02-14
+     * @version     v1.0
+     * 
+     * @param i_Entry
+     * @return            添加成功返回true。
+     */
+    public boolean addEntry(Entry i_Entry)
+    {
+        LdapConnection v_Conn       = null;
+        AddRequest     v_AddRequest = new AddRequestImpl();
+        AddResponse    v_Response   = null;
+        
+        try
+        {
+            v_AddRequest.setEntry(  i_Entry);
+            v_AddRequest.addControl(new ManageDsaITImpl());
+            
+            v_Conn = this.getConnection();
+            v_Response = v_Conn.add(v_AddRequest);
+        }
+        catch (Exception exce)
+        {
+            exce.printStackTrace();
+        }
+        finally
+        {
+            this.closeConnection(v_Conn);
+            this.evictEntry(i_Entry == null ? null : i_Entry.getDn().getName() ,LDAP.isSuccess(v_Response) ? ChangeType.ADD : null ,i_Entry);
+        }
+        
+        return LDAP.isSuccess(v_Response);
+    }
+    
+    
+    
+    /**
+     * 判断条目是否存在
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2017-02-15
+     * @version     v1.0
+     *
+     * @param i_DN  条目标识
+     * @return
+     */
+    public boolean isExists(String i_DN)
+    {
+        if ( this.entryCache != null )
+        {
+            return this.isExistsByCache(i_DN);
+        }
+        
+        LdapConnection v_Conn = null;
+        boolean        v_Ret  = false;
+        
+        try
+        {
+            v_Conn = this.getConnection();
+            v_Ret  = v_Conn.exists(i_DN);
+        }
+        catch (Exception exce)
+        {
+            exce.printStackTrace();
+        }
+        finally
+        {
+            this.closeConnection(v_Conn);
+        }
+        
+        return v_Ret;
+    }
+    
+    
+    
+    /**
+     * 启用条目缓存时，判断条目是否存在。
+     * 
+     * 先从条目缓存中判断，未命中时再从LDAP服务中查询（不返回任何属性）。
+     * LDAP服务应答为条目不存在（NO_SUCH_OBJECT）时，缓存不存在的DN。
+     * 
+     * 注：不用 LdapConnection.exists() 方法，因为它在无权访问时也返回false，不能据此认为条目不存在。
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_DN  条目标识
+     * @return
+     */
+    private boolean isExistsByCache(String i_DN)
+    {
+        if ( this.entryCache.isMissing(i_DN) )
+        {
+            return false;
+        }
+        else if ( this.entryCache.get(i_DN) != null )
+        {
+            return true;
+        }
+        
+        LdapConnection v_Conn    = null;
+        EntryCursor    v_Cursor  = null;
+        boolean        v_Ret     = false;
+        long           v_Version = this.entryCache.getVersion();
+        
+        try
+        {
+            v_Conn   = this.getConnection();
+            v_Cursor = v_Conn.search(new Dn(i_DN) ,"(" + LDAP.$ObjectClass + "=*)" ,SearchScope.OBJECT ,$NoAttributes);
+            v_Ret    = v_Cursor.next();
+            
+            if ( !v_Ret
+              && v_Cursor.getSearchResultDone() != null
+              && v_Cursor.getSearchResultDone().getLdapResult().getResultCode() == ResultCodeEnum.NO_SUCH_OBJECT )
+            {
+                this.entryCache.putMissing(i_DN ,v_Version);
+            }
+        }
+        catch (Exception exce)
+        {
+            exce.printStackTrace();
+        }
+        finally
+        {
+            LDAP.closeCursor(    v_Cursor);
+            this.closeConnection(v_Conn);
+        }
+        
+        return v_Ret;
+    }
+    
+    
+    
+    /**
+     * 批量删除条目。i_Datas集合中的每个元素可对应不同类型的LDAP类。
+     * 
+     * 注1：有顺序的删除。这样可以实现先删除子条目，再添加父条目的功能。
+     * 注2：没有事务机构，这不是LDAP的长项。不要指望LDAP可以作到。
+     *      某个元素执行异常后，前面的不回滚，其后的不再执行删除。
+     * 注3：批量删除时只占用一个连接。
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2019-01-04
+     * @version     v1.0
+     *
+     * @param i_Datas  支持三种大的分类：
+     *                 1. List<String> 形式的入参，这时集合元素应当 DN 含义，元素为 DN 的值。
+     *                 2. List<Object> 形式的入参，这时集合元素应当 @Ldap 注解的Java值对象。
+     *                                 并且每个元素的类型可以不一样。
+     *                 3. List<?>      混合的入参，元素可以是String、@Ldap 注解的Java值对象，并且每个元素的类型可以不一样。
+     * @return   >=0 表示删除的条目数量。小于0时，表示异常。
+     */
+    public int delEntrys(List<?> i_Datas)
+    {
+        LdapConnection v_Conn  = null;
+        int            v_Count = 0;
+        
+        if ( Help.isNull(i_Datas) )
+        {
+            return v_Count;
+        }
+        
+        try
+        {
+            v_Conn = this.getConnection();
+            
+            for (Object v_Data : i_Datas)
+            {
+                if ( v_Data == null )
+                {
+                    continue;
+                }
+                
+                DeleteRequest  v_Request  = new DeleteRequestImpl();
+                DeleteResponse v_Response = null;
+                
+                if ( v_Data instanceof String )
+                {
+                    v_Request.setName(new Dn(v_Data.toString()));
+                }
+                else
+                {
+                    LdapEntry v_LdapEntry = getLdapEntry(v_Data.getClass());
+                    v_Request.setName(new Dn(v_LdapEntry.getDNValue(v_Data)));
+                }
+                
+                v_Response = v_Conn.delete(v_Request);
+                
+                if ( !LDAP.isSuccess(v_Response) )
+                {
+                    v_Count = -1;
+                    break;
+                }
+                
+                v_Count++;
+            }
+        }
+        catch (Exception exce)
+        {
+            exce.printStackTrace();
+        }
+        finally
+        {
+            this.closeConnection(v_Conn);
+            this.evictEntrys(i_Datas);
+        }
+        
+        return v_Count;
+    }
+    
+    
+    
+    /**
+     * 多连接并行地批量删除条目，并返回每个条目的执行结果。i_Datas集合中的每个元素可以是不同类型的，对应不同类型的LDAP类。
+     * 
+     * 与 delEntrys() 不同的是：
+     *   1. 按DN的深度由深至浅分层，同一层的条目分给多个连接并行地、流水线式地删除（见 LdapParallelLoader）。
+     *   2. 某个元素执行失败后，其它元素仍然继续删除。条目不存在时，执行结果为"已跳过"（Skipped）。
+     * 
+     * 注：启用虚拟线程友好的执行模式（virtualThreads）时，在虚拟线程上并行执行。
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_Datas  元素为 @Ldap 注解的Java值对象，或条目标识DN字符串
+     * @return         执行报告。LdapBatchResult.getIndex() 为元素在 i_Datas 中的下标
+     */
+    public LdapBatchReport delEntrysParallel(List<?> i_Datas)
+    {
+        return this.evictEntrys(new LdapParallelLoader(this ,this.parallelConnCount ,this.pipelineWindow).delete(i_Datas) ,false);
+    }
+    
+    
+    
+    /**
+     * 删除条目
+     * 
+     * 只用于用 @Ldap 注解的Java对象。
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2019-01-04
+     * @version     v1.0
+     *
+     * @param i_Values
+     * @return
+     */
+    public boolean delEntry(Object i_Values)
+    {
+        LdapEntry v_LdapEntry = getLdapEntry(i_Values.getClass());
+        
+        if ( v_LdapEntry == null )
+        {
+            return false;
+        }
+        
+        try
+        {
+            String v_DN = v_LdapEntry.getDNValue(i_Values);
+            
+            return this.delEntry(v_DN);
+        }
+        catch (Exception exce)
+        {
+            exce.printStackTrace();
+        }
+        return false;
+    }
+    
+    
+    
+    /**
+     * 删除条目
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2017-02-15
+     * @version     v1.0
+     *
+     * @param i_DN  条目标识
+     * @return
+     */
+    public boolean delEntry(String i_DN)
+    {
+        LdapConnection v_Conn     = null;
+        DeleteRequest  v_Request  = new DeleteRequestImpl();
+        DeleteResponse v_Response = null;
+        
+        try
+        {
+            v_Request.setName(new Dn(i_DN));
+            
+            v_Conn = this.getConnection();
+            v_Response = v_Conn.delete(v_Request);
+        }
+        catch (Exception exce)
+        {
+            exce.printStackTrace();
+        }
+        finally
+        {
+            this.closeConnection(v_Conn);
+            this.evictEntry(i_DN ,LDAP.isSuccess(v_Response) ? ChangeType.DELETE : null ,null);
+        }
+        
+        return LDAP.isSuccess(v_Response);
+    }
+    
+    
+    
+    /**
+     * 删除条目树（递归删除条目）
+     * 
+     * LDAP服务支持树删除控制（Tree Delete，OID为 $ControlOID）时，携带此控制删除，由LDAP服务删除整棵条目树。
+     * 不支持时，只查询条目树中所有条目的DN，由深至浅、多连接并行地删除（见 LdapTreeDeleter）。
+     * 
+     * @see org.apache.directory.ldap.client.api.LdapNetworkConnection.deleteTree()
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2017-02-15
+     * @version     v1.0
+     *              v2.0  2026-10-16  优化：使用树删除控制，或只查询DN后由深至浅、多连接并行地删除。不再将子子条目翻译为Java值对象。
+     *
+     * @param i_DN  条目标识
+     * @return      >=0 表示删除的条目数量（携带树删除控制时，LDAP服务不返回删除的数量，此时为1）。小于0时，表示异常。
+     */
+    public int delEntryTree(String i_DN)
+    {
+        return this.delEntryTree(i_DN ,true);
+    }
+    
+    
+    
+    /**
+     * 删除条目树（递归删除条目），但不删除自己
+     * 
+     * LDAP服务支持树删除控制（Tree Delete，OID为 $ControlOID）时，携带此控制删除每个子条目。
+     * 不支持时，只查询条目树中所有条目的DN，由深至浅、多连接并行地删除（见 LdapTreeDeleter）。
+     * 
+     * @see org.apache.directory.ldap.client.api.LdapNetworkConnection.deleteTree()
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2019-01-04
+     * @version     v1.0
+     *              v2.0  2026-10-16  优化：使用树删除控制，或只查询DN后由深至浅、多连接并行地删除。不再将子子条目翻译为Java值对象。
+     *
+     * @param i_DN  条目标识
+     * @return      >=0 表示删除的条目数量（携带树删除控制时，为删除的子条目数量）。小于0时，表示异常。
+     */
+    public int delEntryChildTree(String i_DN)
+    {
+        return this.delEntryTree(i_DN ,false);
+    }
+    
+    
+    
+    /**
+     * 删除条目树，返回删除的条目数量
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_DN         条目标识
+     * @param i_IsDelSelf  是否删除自己
+     * @return             >=0 表示删除的条目数量。小于0时，表示异常。
+     */
+    private int delEntryTree(String i_DN ,boolean i_IsDelSelf)
+    {
+        LdapBatchReport v_Report = this.delEntryTreeParallel(i_DN ,i_IsDelSelf);
+        
+        if ( !v_Report.isSuccess() )
+        {
+            return -1;
+        }
+        
+        return v_Report.getCount(LdapResultType.Deleted);
+    }
+    
+    
+    
+    /**
+     * 删除条目树，并返回每个条目的执行结果。
+     * 
+     * LDAP服务支持树删除控制（Tree Delete，OID为 $ControlOID）时，携带此控制删除，由LDAP服务删除整棵条目树。
+     * 不支持时，只查询条目树中所有条目的DN（不翻译为Java值对象），按DN的深度分层，由深至浅地逐层删除。
+     * 同一层的条目分给多个连接并行地、流水线式地删除，并行的连接数量为 parallelConnCount 。
+     * 
+     * 条目不存在（如，已被他人删除）时，执行结果为"已跳过"（Skipped）。
+     * 
+     * 注：并行的连接均从LDAP连接池中获取，连接池的最大连接数应不小于 parallelConnCount 。
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_DN         条目标识
+     * @param i_IsDelSelf  是否删除自己。为false时，只删除所有的子及子子条目
+     * @return             执行报告。LdapBatchResult.getIndex() 为条目的删除顺序
+     */
+    public LdapBatchReport delEntryTreeParallel(String i_DN ,boolean i_IsDelSelf)
+    {
+        LdapBatchReport v_Report = null;
+        
+        try
+        {
+            v_Report = new LdapTreeDeleter(this ,this.parallelConnCount ,this.pipelineWindow).delete(i_DN ,i_IsDelSelf);
+            return v_Report;
+        }
+        finally
+        {
+            this.evictEntryTree(i_DN ,v_Report);
+        }
+    }
+    
+    
+    
+    /**
+     * LDAP服务是否支持树删除控制（Tree Delete，OID为 $ControlOID）。
+     * 
+     * 首次调用时从LDAP服务的根DSE中获取，之后使用缓存的结果。
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @return
+     */
+    public boolean isTreeDeleteSupported()
+    {
+        Boolean v_Supported = this.treeDeleteSupported;
+        if ( v_Supported != null )
+        {
+            return v_Supported;
+        }
+        
+        LdapConnection v_Conn = null;
+        try
+        {
+            v_Conn      = this.getConnection();
+            v_Supported = v_Conn.isControlSupported($ControlOID);
+            this.treeDeleteSupported = v_Supported;
+        }
+        catch (Exception exce)
+        {
+            // 获取异常时不缓存，下次再从LDAP服务获取
+            exce.printStackTrace();
+            v_Supported = false;
+        }
+        finally
+        {
+            this.closeConnection(v_Conn);
+        }
+        
+        return v_Supported;
+    }
+    
+    
+    
+    /**
+     * 对条目的添加多个属性。
+     * 
+     *   1. 自动识别要添加的多个属性
+     * 
+     * 只用于用 @Ldap 注解的Java对象。
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2017-02-17
+     * @version     v1.0
+     *
+     * @param i_NewValues
+     * @return   返回添加的属性个数。小于0表示异常
+     */
+    public int addAttributes(Object i_NewValues)
+    {
+        return modifyEntry(i_NewValues ,true ,false ,false);
+    }
+    
+    
+    
+    /**
+     * 条目添加属性
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2017-02-16
+     * @version     v1.0
+     *
+     * @param i_DN              DN标识
+     * @param i_AttributeName   属性名称
+     * @param i_AttributeValue  属性值(可为多个)
+     * @return
+     */
+    public boolean addAttribute(String i_DN ,String i_AttributeName ,String ... i_AttributeValue)
+    {
+        return this.modifyEntry(ModificationOperation.ADD_ATTRIBUTE ,i_DN ,i_AttributeName ,i_AttributeValue);
+    }
+    
+    
+    
+    /**
+     * 修改条目的多个属性值。（只修改属性，不添加属性，不删除属性）
+     * 
+     *   1. 自动识别要修改的多个属性
+     * 
+     * 只用于用 @Ldap 注解的Java对象。
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2017-02-17
+     * @version     v1.0
+     *
+     * @param i_NewValues
+     * @return  修改的属性个数。小于0表示异常
+     */
+    public int modifyAttributes(Object i_NewValues)
+    {
+        return modifyEntry(i_NewValues ,false ,true ,false);
+    }
+    
+    
+    
+    /**
+     * 修改条目的属性值
+     * 
+     * 注意：如果LDAP库中已有同一属性的多个属性值，旧值1、旧值2、旧值x，
+     *      执行此方法后，LDAP库中的属性值将改为，新值1、新值2、新值x
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2017-02-16
+     * @version     v1.0
+     *
+     * @param i_DN              DN标识
+     * @param i_AttributeName   属性名称
+     * @param i_AttributeValue  属性值(可为多个，新值1、新值2、新值x)
+     * @return
+     */
+    public boolean modifyAttribute(String i_DN ,String i_AttributeName ,String ... i_AttributeValue)
+    {
+        return this.modifyEntry(ModificationOperation.REPLACE_ATTRIBUTE ,i_DN ,i_AttributeName ,i_AttributeValue);
+    }
+    
+    
+    
+    /**
+     * 删除条目的多个属性。
+     * 
+     *   1. 自动识别要删除的多个属性
+     * 
+     * 只用于用 @Ldap 注解的Java对象。
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2017-02-17
+     * @version     v1.0
+     *
+     * @param i_NewValues
+     * @return   删除的属性个数。小于0表示异常
+     */
+    public int delAttributes(Object i_NewValues)
+    {
+        return modifyEntry(i_NewValues ,false ,false ,true);
+    }
+    
+    
+    
+    /**
+     * 删除条目的属性。
+     * 
+     * 有能力删除某一属性名称下多个属性值的某一项属性值（通过属性值匹配）。
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2018-12-14
+     * @version     v1.0
+     *
+     * @param i_DN              DN标识
+     * @param i_AttributeName   属性名称
+     * @param i_AttributeValue  属性值
+     * @return
+     */
+    public boolean delAttribute(String i_DN ,String i_AttributeName ,String ... i_AttributeValue)
+    {
+        return this.modifyEntry(ModificationOperation.REMOVE_ATTRIBUTE ,i_DN ,i_AttributeName ,i_AttributeValue);
     }
     
     
     
     /**
-     * 添加条目
+     * 删除条目的属性。
      * 
-     * Apache LDAP 主要提供三种添加条目的方法。当前用：同步的、服务器有返回响应的。
+     * 注：当同一属性有多个属性值时，将一起同被删除。
      * 
      * @author      ZhengWei(HY)
-     * @createDate  2017-02-14
+     * @createDate  2017-02-16
      * @version     v1.0
-     * 
-     * @param i_Entry
-     * @return            添加成功返回true。
+     *
+     * @param i_DN              DN标识
+     * @param i_AttributeName   属性名称
+     * @return
      */
-    public boolean addEntry(Entry i_Entry)
+    public boolean delAttribute(String i_DN ,String i_AttributeName)
     {
-        LdapConnection v_Conn       = null;
-        AddRequest     v_AddRequest = new AddRequestImpl();
-        AddResponse    v_Response   = null;
-        
-        try
-        {
-            v_AddRequest.setEntry(  i_Entry);
-            v_AddRequest.addControl(new ManageDsaITImpl());
-            
-            v_Conn = this.getConnection();
-            v_Response = v_Conn.add(v_AddRequest);
-        }
-        catch (Exception exce)
-        {
-            exce.printStackTrace();
-        }
-        finally
-        {
-            this.closeConnection(v_Conn);
-        }
-        
-        return LDAP.isSuccess(v_Response);
+        return this.modifyEntry(ModificationOperation.REMOVE_ATTRIBUTE ,i_DN ,i_AttributeName);
     }
     
     
     
     /**
-     * 判断条目是否存在
+     * 批量修改条目的多个属性。i_ValuesMap集合中的每个元素可以是不同类型的，对应不同类型的LDAP类。
+     * （只添加属性、或只修改属性，不删除属性）
+     * 
+     * 注1：有顺序的修改。这样可以实现先添加父条目，再添加子条目的功能。
+     * 注2：没有事务机构，这不是LDAP的长项。不要指望LDAP可以作到。
+     *      某个元素执行异常后，前面的不回滚，其后的不再执行添加。
+     * 注3：批量修改时占用多个连接。
+     * 
+     * 只用于用 @Ldap 注解的Java对象。
+     * 
+     *   1. 自动识别要添加的多个属性
+     *   2. 自动识别要修改的多个属性
+     * 
+     * 只用于用 @Ldap 注解的Java对象。
      * 
      * @author      ZhengWei(HY)
-     * @createDate  2017-02-15
+     * @createDate  2018-12-06
      * @version     v1.0
      *
-     * @param i_DN  条目标识
-     * @return
+     * @param i_ValuesMap
+     * @return             修改的条目的个数。小于0表示异常
      */
-    public boolean isExists(String i_DN)
+    public int modifyEntrys(List<?> i_ValuesMap)
     {
-        LdapConnection v_Conn = null;
-        boolean        v_Ret  = false;
-        
-        try
-        {
-            v_Conn = this.getConnection();
-            v_Ret  = v_Conn.exists(i_DN);
-        }
-        catch (Exception exce)
-        {
-            exce.printStackTrace();
-        }
-        finally
-        {
-            this.closeConnection(v_Conn);
-        }
-        
-        return v_Ret;
+        return modifyEntrys(i_ValuesMap ,true ,true ,false);
     }
     
     
     
     /**
-     * 批量删除条目。i_Datas集合中的每个元素可对应不同类型的LDAP类。
+     * 批量修改条目的多个属性。i_ValuesMap集合中的每个元素可以是不同类型的，对应不同类型的LDAP类。
      * 
-     * 注1：有顺序的删除。这样可以实现先删除子条目，再添加父条目的功能。
+     * 注1：有顺序的修改。这样可以实现先添加父条目，再添加子条目的功能。
      * 注2：没有事务机构，这不是LDAP的长项。不要指望LDAP可以作到。
-     *      某个元素执行异常后，前面的不回滚，其后的不再执行删除。
-     * 注3：批量删除时只占用一个连接。
+     *      某个元素执行异常后，前面的不回滚，其后的不再执行添加。
+     * 注3：批量修改时占用多个连接。
+     * 
+     * 只用于用 @Ldap 注解的Java对象。
+     * 
+     *   1. 自动识别要添加的多个属性
+     *   2. 自动识别要修改的多个属性
+     *   3. 自动识别要删除的多个属性
+     * 
+     * 只用于用 @Ldap 注解的Java对象。
      * 
      * @author      ZhengWei(HY)
-     * @createDate  2019-01-04
+     * @createDate  2018-12-06
      * @version     v1.0
      *
-     * @param i_Datas  支持三种大的分类：
-     *                 1. List<String> 形式的入参，这时集合元素应当 DN 含义，元素为 DN 的值。
-     *                 2. List<Object> 形式的入参，这时集合元素应当 @Ldap 注解的Java值对象。
-     *                                 并且每个元素的类型可以不一样。
-     *                 3. List<?>      混合的入参，元素可以是String、@Ldap 注解的Java值对象，并且每个元素的类型可以不一样。
-     * @return   >=0 表示删除的条目数量。小于0时，表示异常。
+     * @param i_ValuesMap
+     * @param i_IsAdd      当LDAP中没有时，是否新增LDAP属性
+     * @param i_IsUpdate   当新旧不同时，是否修改LDAP中对应的属性
+     * @param i_IsDel      当Java属性值为null时，是否删除LDAP中对应的属性
+     * @return             修改的条目的个数。小于0表示异常
      */
-    public int delEntrys(List<?> i_Datas)
+    public int modifyEntrys(List<?> i_ValuesMap ,boolean i_IsAdd ,boolean i_IsUpdate ,boolean i_IsDel)
     {
-        LdapConnection v_Conn  = null;
-        int            v_Count = 0;
-        
-        if ( Help.isNull(i_Datas) )
+        if ( Help.isNull(i_ValuesMap) )
         {
-            return v_Count;
+            return -1;
         }
         
+        int v_ModEntryCount = 0;
+        int v_ModAttrCount  = 0;
+        
         try
         {
-            v_Conn = this.getConnection();
-            
-            for (Object v_Data : i_Datas)
+            for (Object v_Values : i_ValuesMap)
             {
-                if ( v_Data == null )
+                if ( v_Values == null )
                 {
                     continue;
                 }
                 
-                DeleteRequest  v_Request  = new DeleteRequestImpl();
-                DeleteResponse v_Response = null;
+                v_ModAttrCount = this.modifyEntry(v_Values ,i_IsAdd ,i_IsUpdate ,i_IsDel);
                 
-                if ( v_Data instanceof String )
-                {
-                    v_Request.setName(new Dn(v_Data.toString()));
-                }
-                else
+                if ( v_ModAttrCount < 0 )
                 {
-                    LdapEntry v_LdapEntry = getLdapEntry(v_Data.getClass());
-                    v_Request.setName(new Dn(v_LdapEntry.getDNValue(v_Data)));
+                    System.err.println("LDAP.modifyEntrys() is error.\n" + v_Values.toString());
+                    return -1;
                 }
-                
-                v_Response = v_Conn.delete(v_Request);
-                
-                if ( !LDAP.isSuccess(v_Response) )
+                else if ( v_ModAttrCount > 0 )
                 {
-                    v_Count = -1;
-                    break;
+                    v_ModEntryCount++;
                 }
-                
-                v_Count++;
             }
         }
         catch (Exception exce)
         {
             exce.printStackTrace();
-        }
-        finally
-        {
-            this.closeConnection(v_Conn);
+            return -1;
         }
         
-        return v_Count;
+        return v_ModEntryCount;
     }
     
     
     
     /**
-     * 删除条目
+     * 多连接并行地批量修改条目的多个属性，并返回每个条目的执行结果。（只添加属性、或只修改属性，不删除属性）
      * 
      * 只用于用 @Ldap 注解的Java对象。
      * 
      * @author      ZhengWei(HY)
-     * @createDate  2019-01-04
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_ValuesMap
+     * @return             执行报告。LdapBatchResult.getIndex() 为元素在 i_ValuesMap 中的下标
+     */
+    public LdapBatchReport modifyEntrysParallel(List<?> i_ValuesMap)
+    {
+        return this.modifyEntrysParallel(i_ValuesMap ,true ,true ,false);
+    }
+    
+    
+    
+    /**
+     * 多连接并行地批量修改条目的多个属性，并返回每个条目的执行结果。i_ValuesMap集合中的每个元素可以是不同类型的，对应不同类型的LDAP类。
+     * 
+     * 与 modifyEntrys() 的修改规则相同，但不再逐个条目地"查询旧值、修改"两次往返：
+     *   1. 分成多份，每份占用一个连接，流水线式地查询旧条目（只查询"条目翻译官"翻译的属性）；
+     *   2. 多个线程并行地与Java新值对比得出修改动作；
+     *   3. 流水线式地发送修改请求，同时在途的请求数量不超过 pipelineWindow 。
+     * 
+     * 启用变更跟踪时，已被跟踪的Java值对象与其快照对比，不再查询旧条目。
+     * 
+     * 修改成功为"已修改"（Modified）；旧条目不存在、或无须修改时，为"已跳过"（Skipped）。
+     * 
+     * 注1：无序的修改。某个元素执行失败后，其它元素仍继续修改。
+     * 注2：并行的连接均从LDAP连接池中获取，连接池的最大连接数应不小于 parallelConnCount 。
+     * 
+     * 只用于用 @Ldap 注解的Java对象。
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_ValuesMap
+     * @param i_IsAdd      当LDAP中没有时，是否新增LDAP属性
+     * @param i_IsUpdate   当新旧不同时，是否修改LDAP中对应的属性
+     * @param i_IsDel      当Java属性值为null时，是否删除LDAP中对应的属性
+     * @return             执行报告。LdapBatchResult.getIndex() 为元素在 i_ValuesMap 中的下标
+     */
+    public LdapBatchReport modifyEntrysParallel(List<?> i_ValuesMap ,boolean i_IsAdd ,boolean i_IsUpdate ,boolean i_IsDel)
+    {
+        return this.evictEntrys(new LdapBatchModifier(this ,this.parallelConnCount ,this.pipelineWindow).modify(i_ValuesMap ,i_IsAdd ,i_IsUpdate ,i_IsDel) ,i_IsAdd && i_IsUpdate && i_IsDel);
+    }
+    
+    
+    
+    /**
+     * 添加或修改条目（Upsert）。条目已存在时，只修改有差异的属性（只添加属性、或只修改属性，不删除属性）
+     * 
+     * 只用于用 @Ldap 注解的Java对象。
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
      * @version     v1.0
      *
      * @param i_Values
-     * @return
+     * @return          添加成功为"已添加"；修改成功为"已修改"；已存在且无须修改时为"已跳过"；异常时为"失败"
      */
-    public boolean delEntry(Object i_Values)
+    public LdapResultType upsertEntry(Object i_Values)
     {
-        LdapEntry v_LdapEntry = getLdapEntry(i_Values.getClass());
-        
-        if ( v_LdapEntry == null )
-        {
-            return false;
-        }
-        
-        try
-        {
-            String v_DN = v_LdapEntry.getDNValue(i_Values);
-            
-            return this.delEntry(v_DN);
-        }
-        catch (Exception exce)
-        {
-            exce.printStackTrace();
-        }
-        return false;
+        return this.upsertEntry(i_Values ,false);
     }
     
     
     
     /**
-     * 删除条目
+     * 添加或修改条目（Upsert）。
+     * 
+     * 先发送添加请求，新条目只须一次往返。只有LDAP服务返回条目已存在时，才在同一连接上查询旧条目，
+     * 并与Java新值对比，只修改有差异的属性（见 LdapEntry.toModify()）。
+     * 
+     * 启用变更跟踪且Java值对象已被跟踪时，与其快照对比，不再查询旧条目。
+     * 
+     * 只用于用 @Ldap 注解的Java对象。
      * 
      * @author      ZhengWei(HY)
-     * @createDate  2017-02-15
+     * @createDate  2026-10-16
      * @version     v1.0
      *
-     * @param i_DN  条目标识
-     * @return
+     * @param i_Values
+     * @param i_IsDel   条目已存在时，Java属性值为null的，是否删除LDAP中对应的属性
+     * @return          添加成功为"已添加"；修改成功为"已修改"；已存在且无须修改时为"已跳过"；异常时为"失败"
      */
-    public boolean delEntry(String i_DN)
+    public LdapResultType upsertEntry(Object i_Values ,boolean i_IsDel)
     {
-        LdapConnection v_Conn     = null;
-        DeleteRequest  v_Request  = new DeleteRequestImpl();
-        DeleteResponse v_Response = null;
-        
-        try
-        {
-            v_Request.setName(new Dn(i_DN));
-            
-            v_Conn = this.getConnection();
-            v_Response = v_Conn.delete(v_Request);
-        }
-        catch (Exception exce)
+        if ( i_Values == null )
         {
-            exce.printStackTrace();
+            return LdapResultType.Failed;
         }
-        finally
+        
+        LdapBatchReport v_Report = this.upsertEntrys(Collections.singletonList(i_Values) ,i_IsDel);
+        if ( Help.isNull(v_Report.getResults()) )
         {
-            this.closeConnection(v_Conn);
+            return LdapResultType.Failed;
         }
         
-        return LDAP.isSuccess(v_Response);
+        return v_Report.getResults().get(0).getType();
+    }
+    
+    
+    
+    /**
+     * 批量添加或修改条目（Upsert），并返回每个条目的执行结果。条目已存在时，只添加属性、或只修改属性，不删除属性
+     * 
+     * 只用于用 @Ldap 注解的Java对象。
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_Datas
+     * @return         执行报告。LdapBatchResult.getIndex() 为元素在 i_Datas 中的下标
+     */
+    public LdapBatchReport upsertEntrys(List<?> i_Datas)
+    {
+        return this.upsertEntrys(i_Datas ,false);
     }
     
     
     
     /**
-     * 删除条目树（递归删除条目）
+     * 批量添加或修改条目（Upsert），并返回每个条目的执行结果。i_Datas集合中的每个元素可以是不同类型的，对应不同类型的LDAP类。
      * 
-     * LdapNetworkConnection类中是一个deleteTree()方法的，但没有返回值，真不知道开发者是怎么考虑的。
-     * 看过它的源码，发现它是通过delete()方法实现的，只是添加一个控制对象。所以本方法实现思路相同，如下。
+     * 替代"先删除、再添加"的全量同步方式：
+     *   1. 流水线式地发送添加请求，新条目只须一次往返；
+     *   2. LDAP服务返回条目已存在的，在同一连接上流水线式地查询旧条目，只修改有差异的属性。无差异时不修改。
      * 
-     * @see org.apache.directory.ldap.client.api.LdapNetworkConnection.deleteTree()
+     * 注：批量添加或修改时只占用一个连接。同时在途的请求数量不超过 pipelineWindow 。
+     * 
+     * 只用于用 @Ldap 注解的Java对象。
      * 
      * @author      ZhengWei(HY)
-     * @createDate  2017-02-15
+     * @createDate  2026-10-16
      * @version     v1.0
      *
-     * @param i_DN  条目标识
-     * @return
+     * @param i_Datas
+     * @param i_IsDel  条目已存在时，Java属性值为null的，是否删除LDAP中对应的属性
+     * @return         执行报告。LdapBatchResult.getIndex() 为元素在 i_Datas 中的下标
      */
-    public int delEntryTree(String i_DN)
+    public LdapBatchReport upsertEntrys(List<?> i_Datas ,boolean i_IsDel)
     {
-        // 下面的方法也不能删除带在子条目的父条目，官方好像没有出删除树的API
-        // LdapNetworkConnection v_ConnNetwork = (LdapNetworkConnection)((MonitoringLdapConnection)v_Conn).wrapped();
-        // v_ConnNetwork.deleteTree(i_DN);
-        
-        try
-        {
-            // ApacheDS的DN属性名称为：entryDN
-            int v_RetCount = this.delEntrys(this.searchEntrys(i_DN ,"(!(entryDN=" + i_DN + "))" ,SearchScope.SUBTREE));
-            if ( v_RetCount >= 0 )
-            {
-                if ( this.delEntry(i_DN) )
-                {
-                    return v_RetCount + 1;
-                }
-                else
-                {
-                    return -2;
-                }
-            }
-        }
-        catch (Exception exce)
-        {
-            exce.printStackTrace();
-        }
-        
-        return -1;
+        return this.evictEntrys(new LdapUpserter(this ,this.pipelineWindow).upsert(i_Datas ,i_IsDel) ,i_IsDel);
     }
     
     
     
     /**
-     * 删除条目树（递归删除条目），但不删除自己
+     * 异步地按DN查询条目。只返回条目本身。
      * 
-     * LdapNetworkConnection类中是一个deleteTree()方法的，但没有返回值，真不知道开发者是怎么考虑的。
-     * 看过它的源码，发现它是通过delete()方法实现的，只是添加一个控制对象。所以本方法实现思路相同，如下。
-     * 
-     * @see org.apache.directory.ldap.client.api.LdapNetworkConnection.deleteTree()
+     * 请求发送后立即返回，不阻塞当前线程。响应到达后，在 asyncExecutor 执行器上通过"条目翻译官"翻译为Java值对象。
+     * 取消执行结果时，向LDAP服务发送放弃请求（Abandon）。
      * 
      * @author      ZhengWei(HY)
-     * @createDate  2019-01-04
+     * @createDate  2026-10-16
      * @version     v1.0
      *
      * @param i_DN  条目标识
-     * @return
+     * @return      条目不存在时，执行结果为NULL
      */
-    public int delEntryChildTree(String i_DN)
+    public LdapAsyncFuture<Object> queryEntryAsync(String i_DN)
+    {
+        return this.searchAsync(i_DN ,this.pushDownFilter(null ,"(" + LDAP.$ObjectClass + "=*)") ,SearchScope.OBJECT ,this.getSearchAttributes(null)
+                               ,(i_Datas) -> Help.isNull(i_Datas) ? null : i_Datas.get(0));
+    }
+    
+    
+    
+    /**
+     * 异步地按Java对象的DN查询条目。只返回条目本身。
+     * 
+     * 只用于用 @Ldap 注解的Java对象。
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_Values
+     * @return          条目不存在时，执行结果为NULL
+     */
+    public LdapAsyncFuture<Object> queryEntryAsync(Object i_Values)
     {
-        // 下面的方法也不能删除带在子条目的父条目，官方好像没有出删除树的API
-        // LdapNetworkConnection v_ConnNetwork = (LdapNetworkConnection)((MonitoringLdapConnection)v_Conn).wrapped();
-        // v_ConnNetwork.deleteTree(i_DN);
+        LdapAsyncFuture<Object> v_Ret       = new LdapAsyncFuture<Object>();
+        LdapEntry               v_LdapEntry = getLdapEntry(i_Values.getClass());
+        
+        if ( v_LdapEntry == null )
+        {
+            v_Ret.complete(null);
+            return v_Ret;
+        }
         
         try
         {
-            // ApacheDS的DN属性名称为：entryDN
-            return this.delEntrys(this.searchEntrys(i_DN ,"(!(entryDN=" + i_DN + "))" ,SearchScope.SUBTREE));
+            return this.queryEntryAsync(v_LdapEntry.getDNValue(i_Values));
         }
         catch (Exception exce)
         {
-            exce.printStackTrace();
+            v_Ret.completeExceptionally(exce);
         }
         
-        return -1;
+        return v_Ret;
     }
     
     
     
     /**
-     * 对条目的添加多个属性。
-     * 
-     *   1. 自动识别要添加的多个属性
-     * 
-     * 只用于用 @Ldap 注解的Java对象。
+     * 异步地基于父节点Base DN，查询符合条件的条目。
      * 
      * @author      ZhengWei(HY)
-     * @createDate  2017-02-17
+     * @createDate  2026-10-16
      * @version     v1.0
      *
-     * @param i_NewValues
-     * @return   返回添加的属性个数。小于0表示异常
+     * @param i_Values  用@Ldap标记的Java对象实例（必要属性值DN、及其它过滤查询的属性值）
+     * @return          多属性间的过滤条件为'与'，同一属性的多属性值为'或'关系的精确查询。
      */
-    public int addAttributes(Object i_NewValues)
+    public LdapAsyncFuture<List<?>> searchEntrysAsync(Object i_Values)
     {
-        return modifyEntry(i_NewValues ,true ,false ,false);
+        return this.searchEntrysAsync(i_Values ,SearchScope.SUBTREE ,true ,false ,false ,false);
     }
     
     
     
     /**
-     * 条目添加属性
+     * 异步地基于父节点Base DN，查询符合条件的条目。
+     * 
+     * 过滤条件的规则与 searchEntrys() 相同。请求发送后立即返回，不阻塞当前线程。
      * 
      * @author      ZhengWei(HY)
-     * @createDate  2017-02-16
+     * @createDate  2026-10-16
      * @version     v1.0
      *
-     * @param i_DN              DN标识
-     * @param i_AttributeName   属性名称
-     * @param i_AttributeValue  属性值(可为多个)
-     * @return
+     * @param i_Values            用@Ldap标记的Java对象实例（必要属性值DN、及其它过滤查询的属性值）
+     * @param i_SearchScope       查询范围（注：查询的Base DN为 i_Values 的DN）
+     * @param i_IsAnd             不属性间的属性值的过滤关系，是'与'、'或'关系？
+     * @param i_IsAndByMultValue  同一属性的多个属性值间的过滤关系，是'与'、'或'关系？
+     * @param i_IsLikeBefore      属性值的前缀是否为模糊匹配
+     * @param i_IsLikeAfter       属性值的后缀是否为模糊匹配
+     * @return                    没有DN时，执行结果为NULL
      */
-    public boolean addAttribute(String i_DN ,String i_AttributeName ,String ... i_AttributeValue)
+    public LdapAsyncFuture<List<?>> searchEntrysAsync(Object i_Values ,SearchScope i_SearchScope ,boolean i_IsAnd ,boolean i_IsAndByMultValue ,boolean i_IsLikeBefore ,boolean i_IsLikeAfter)
     {
-        return this.modifyEntry(ModificationOperation.ADD_ATTRIBUTE ,i_DN ,i_AttributeName ,i_AttributeValue);
+        LdapAsyncFuture<List<?>> v_Ret       = new LdapAsyncFuture<List<?>>();
+        LdapEntry                v_LdapEntry = i_Values == null ? null : getLdapEntry(i_Values.getClass());
+        
+        if ( v_LdapEntry == null )
+        {
+            v_Ret.complete(null);
+            return v_Ret;
+        }
+        
+        try
+        {
+            String v_BaseDN = v_LdapEntry.getDNValue(i_Values);
+            if ( Help.isNull(v_BaseDN) )
+            {
+                v_Ret.complete(null);
+                return v_Ret;
+            }
+            
+            return this.searchAsync(v_BaseDN ,this.pushDownFilter(v_LdapEntry ,makeSearchFilter(v_LdapEntry ,i_Values ,i_IsAnd ,i_IsAndByMultValue ,i_IsLikeBefore ,i_IsLikeAfter)) ,i_SearchScope ,this.getSearchAttributes(v_LdapEntry)
+                                   ,(i_Datas) -> i_Datas);
+        }
+        catch (Exception exce)
+        {
+            v_Ret.completeExceptionally(exce);
+        }
+        
+        return v_Ret;
     }
     
     
     
     /**
-     * 修改条目的多个属性值。（只修改属性，不添加属性，不删除属性）
-     * 
-     *   1. 自动识别要修改的多个属性
-     * 
-     * 只用于用 @Ldap 注解的Java对象。
+     * 异步地基于父节点Base DN，按参数化的过滤条件模板查询符合条件的条目。
      * 
      * @author      ZhengWei(HY)
-     * @createDate  2017-02-17
+     * @createDate  2026-10-16
      * @version     v1.0
      *
-     * @param i_NewValues
-     * @return  修改的属性个数。小于0表示异常
+     * @param i_BaseDN        父节点标识
+     * @param i_Template      过滤条件的模板
+     * @param i_SearchScope   查询范围
+     * @param i_Params        模板的参数值。将被转义
+     * @return
      */
-    public int modifyAttributes(Object i_NewValues)
+    public LdapAsyncFuture<List<?>> searchEntrysAsync(String i_BaseDN ,LdapFilterTemplate i_Template ,SearchScope i_SearchScope ,Object ... i_Params)
     {
-        return modifyEntry(i_NewValues ,false ,true ,false);
+        if ( Help.isNull(i_BaseDN) || i_Template == null )
+        {
+            LdapAsyncFuture<List<?>> v_Ret = new LdapAsyncFuture<List<?>>();
+            v_Ret.complete(null);
+            return v_Ret;
+        }
+        
+        return this.searchAsync(i_BaseDN ,this.pushDownFilter(null ,i_Template.format(i_Params)) ,i_SearchScope ,this.getSearchAttributes(null) ,(i_Datas) -> i_Datas);
     }
     
     
     
     /**
-     * 修改条目的属性值
+     * 异步地添加条目
      * 
-     * 注意：如果LDAP库中已有同一属性的多个属性值，旧值1、旧值2、旧值x，
-     *      执行此方法后，LDAP库中的属性值将改为，新值1、新值2、新值x
+     * 只用于用 @Ldap 注解的Java对象。
      * 
      * @author      ZhengWei(HY)
-     * @createDate  2017-02-16
+     * @createDate  2026-10-16
      * @version     v1.0
      *
-     * @param i_DN              DN标识
-     * @param i_AttributeName   属性名称
-     * @param i_AttributeValue  属性值(可为多个，新值1、新值2、新值x)
-     * @return
+     * @param i_Values
+     * @return          添加成功的执行结果为true
      */
-    public boolean modifyAttribute(String i_DN ,String i_AttributeName ,String ... i_AttributeValue)
+    public LdapAsyncFuture<Boolean> addEntryAsync(Object i_Values)
     {
-        return this.modifyEntry(ModificationOperation.REPLACE_ATTRIBUTE ,i_DN ,i_AttributeName ,i_AttributeValue);
+        LdapAsyncFuture<Boolean> v_Ret       = new LdapAsyncFuture<Boolean>();
+        LdapEntry                v_LdapEntry = getLdapEntry(i_Values.getClass());
+        
+        if ( v_LdapEntry == null )
+        {
+            v_Ret.complete(Boolean.FALSE);
+            return v_Ret;
+        }
+        
+        try
+        {
+            AddRequest v_AddRequest = new AddRequestImpl();
+            v_AddRequest.setEntry(  v_LdapEntry.toEntry(i_Values));
+            v_AddRequest.addControl(new ManageDsaITImpl());
+            
+            this.asyncDispatcher.send(v_Ret
+                                     ,(i_Conn) -> i_Conn.addAsync(v_AddRequest)
+                                     ,(i_Result ,i_Entrys) ->
+            {
+                this.evictEntry(v_AddRequest.getEntry().getDn().getName() ,LDAP.isSuccess(i_Result) ? ChangeType.ADD : null ,v_AddRequest.getEntry());
+                v_Ret.complete(LDAP.isSuccess(i_Result));
+            });
+        }
+        catch (Exception exce)
+        {
+            v_Ret.completeExceptionally(exce);
+        }
+        
+        return v_Ret;
     }
     
     
     
     /**
-     * 删除条目的多个属性。
-     * 
-     *   1. 自动识别要删除的多个属性
+     * 异步地修改条目的多个属性。（只添加属性、或只修改属性，不删除属性）
      * 
      * 只用于用 @Ldap 注解的Java对象。
      * 
      * @author      ZhengWei(HY)
-     * @createDate  2017-02-17
+     * @createDate  2026-10-16
      * @version     v1.0
      *
      * @param i_NewValues
-     * @return   删除的属性个数。小于0表示异常
+     * @return             修改的属性个数。小于0表示异常
      */
-    public int delAttributes(Object i_NewValues)
+    public LdapAsyncFuture<Integer> modifyEntryAsync(Object i_NewValues)
     {
-        return modifyEntry(i_NewValues ,false ,false ,true);
+        return this.modifyEntryAsync(i_NewValues ,true ,true ,false);
     }
     
     
     
     /**
-     * 删除条目的属性。
+     * 异步地修改条目的多个属性。
      * 
-     * 有能力删除某一属性名称下多个属性值的某一项属性值（通过属性值匹配）。
+     * 修改规则与 modifyEntry() 相同：先异步地查询旧值（启用变更跟踪且Java值对象已被跟踪时，与快照对比，不再查询），
+     * 在 asyncExecutor 执行器上对比得出修改动作后，再异步地发送修改请求。
+     * 取消执行结果时，放弃正在执行的那一步的LDAP请求。
+     * 
+     * 只用于用 @Ldap 注解的Java对象。
      * 
      * @author      ZhengWei(HY)
-     * @createDate  2018-12-14
+     * @createDate  2026-10-16
      * @version     v1.0
      *
-     * @param i_DN              DN标识
-     * @param i_AttributeName   属性名称
-     * @param i_AttributeValue  属性值
-     * @return
+     * @param i_NewValues
+     * @param i_IsAdd      当LDAP中没有时，是否新增LDAP属性
+     * @param i_IsUpdate   当新旧不同时，是否修改LDAP中对应的属性
+     * @param i_IsDel      当Java属性值为null时，是否删除LDAP中对应的属性
+     * @return             修改的属性个数。小于0表示异常
      */
-    public boolean delAttribute(String i_DN ,String i_AttributeName ,String ... i_AttributeValue)
+    public LdapAsyncFuture<Integer> modifyEntryAsync(Object i_NewValues ,boolean i_IsAdd ,boolean i_IsUpdate ,boolean i_IsDel)
     {
-        return this.modifyEntry(ModificationOperation.REMOVE_ATTRIBUTE ,i_DN ,i_AttributeName ,i_AttributeValue);
+        LdapAsyncFuture<Integer> v_Ret       = new LdapAsyncFuture<Integer>();
+        LdapEntry                v_LdapEntry = getLdapEntry(i_NewValues.getClass());
+        
+        if ( v_LdapEntry == null )
+        {
+            v_Ret.complete(-1);
+            return v_Ret;
+        }
+        
+        try
+        {
+            LdapSnapshot v_Snapshot = this.changeTracking ? this.changeTracker.get(i_NewValues) : null;
+            if ( v_Snapshot != null )
+            {
+                // 与快照对比，不用再查询旧值。快照已过期时为NULL
+                Return<ModifyRequest> v_Request = v_LdapEntry.toModify(v_Snapshot ,i_NewValues ,i_IsAdd ,i_IsUpdate ,i_IsDel);
+                if ( v_Request != null )
+                {
+                    this.modifyAsync(v_Ret ,v_LdapEntry ,i_NewValues ,v_Request ,v_Snapshot ,i_IsAdd ,i_IsUpdate ,i_IsDel);
+                    return v_Ret;
+                }
+            }
+            
+            String [] v_Attributes = this.getSearchAttributes(null);
+            String    v_DN         = v_LdapEntry.getDNValue(i_NewValues);
+            
+            this.asyncDispatcher.send(v_Ret
+                                     ,(i_Conn) -> i_Conn.searchAsync(this.newSearchRequest(v_DN ,this.pushDownFilter(null ,"(" + LDAP.$ObjectClass + "=*)") ,SearchScope.OBJECT ,v_Attributes))
+                                     ,(i_Result ,i_Entrys) ->
+            {
+                LdapEntry v_OldLdapEntry = i_Entrys.isEmpty() ? null : getLdapEntry(i_Entrys.get(0));
+                if ( v_OldLdapEntry == null )
+                {
+                    // 没有旧对象，也算是修改成功
+                    v_Ret.complete(0);
+                    return;
+                }
+                
+                Object v_OldValues = this.toObject(v_OldLdapEntry ,i_Entrys.get(0) ,v_Attributes);
+                this.modifyAsync(v_Ret
+                                ,v_LdapEntry
+                                ,i_NewValues
+                                ,v_LdapEntry.toModify(v_OldValues ,i_NewValues ,i_IsAdd ,i_IsUpdate ,i_IsDel)
+                                ,this.changeTracking ? v_LdapEntry.toSnapshot(v_OldValues) : null
+                                ,i_IsAdd ,i_IsUpdate ,i_IsDel);
+            });
+        }
+        catch (Exception exce)
+        {
+            v_Ret.completeExceptionally(exce);
+        }
+        
+        return v_Ret;
     }
     
     
     
     /**
-     * 删除条目的属性。
+     * 关闭异步操作。放弃所有在途的异步请求（...Async()），并以异常完成，停止收取响应的线程，并释放异步请求共享的连接
      * 
-     * 注：当同一属性有多个属性值时，将一起同被删除。
+     * 关闭后仍可再发送异步请求，将重新获取连接、创建收取响应的线程。
      * 
      * @author      ZhengWei(HY)
-     * @createDate  2017-02-16
+     * @createDate  2026-10-16
      * @version     v1.0
-     *
-     * @param i_DN              DN标识
-     * @param i_AttributeName   属性名称
-     * @return
      */
-    public boolean delAttribute(String i_DN ,String i_AttributeName)
+    public void shutdownAsync()
     {
-        return this.modifyEntry(ModificationOperation.REMOVE_ATTRIBUTE ,i_DN ,i_AttributeName);
+        this.asyncDispatcher.shutdown();
     }
     
     
     
     /**
-     * 批量修改条目的多个属性。i_ValuesMap集合中的每个元素可以是不同类型的，对应不同类型的LDAP类。
-     * （只添加属性、或只修改属性，不删除属性）
-     * 
-     * 注1：有顺序的修改。这样可以实现先添加父条目，再添加子条目的功能。
-     * 注2：没有事务机构，这不是LDAP的长项。不要指望LDAP可以作到。
-     *      某个元素执行异常后，前面的不回滚，其后的不再执行添加。
-     * 注3：批量修改时占用多个连接。
-     * 
-     * 只用于用 @Ldap 注解的Java对象。
-     * 
-     *   1. 自动识别要添加的多个属性
-     *   2. 自动识别要修改的多个属性
-     * 
-     * 只用于用 @Ldap 注解的Java对象。
+     * 异步地发送修改请求
      * 
      * @author      ZhengWei(HY)
-     * @createDate  2018-12-06
+     * @createDate  2026-10-16
      * @version     v1.0
      *
-     * @param i_ValuesMap
-     * @return             修改的条目的个数。小于0表示异常
+     * @param io_Future    异步操作的执行结果
+     * @param i_LdapEntry  "条目翻译官"
+     * @param i_NewValues  Java新值
+     * @param i_Request    修改请求（见 LdapEntry.toModify()）
+     * @param i_Snapshot   旧值的快照。未启用变更跟踪时为NULL
+     * @param i_IsAdd      当LDAP中没有时，是否新增LDAP属性
+     * @param i_IsUpdate   当新旧不同时，是否修改LDAP中对应的属性
+     * @param i_IsDel      当Java属性值为null时，是否删除LDAP中对应的属性
      */
-    public int modifyEntrys(List<?> i_ValuesMap)
+    private void modifyAsync(LdapAsyncFuture<Integer> io_Future ,LdapEntry i_LdapEntry ,Object i_NewValues ,Return<ModifyRequest> i_Request ,LdapSnapshot i_Snapshot ,boolean i_IsAdd ,boolean i_IsUpdate ,boolean i_IsDel)
     {
-        return modifyEntrys(i_ValuesMap ,true ,true ,false);
+        if ( !i_Request.booleanValue() )
+        {
+            io_Future.complete(i_Request.paramInt <= 0 ? 0 : -1);
+            return;
+        }
+        
+        this.asyncDispatcher.send(io_Future
+                                 ,(i_Conn) -> i_Conn.modifyAsync(i_Request.getParamObj())
+                                 ,(i_Result ,i_Entrys) ->
+        {
+            this.evictEntry(i_Request.getParamObj().getName().getName()
+                           ,LDAP.isSuccess(i_Result) ? ChangeType.MODIFY : null
+                           ,i_IsAdd && i_IsUpdate && i_IsDel ? i_NewValues : null);
+            this.trackModify(i_LdapEntry ,i_NewValues ,i_Snapshot ,LDAP.isSuccess(i_Result) ,i_IsAdd ,i_IsUpdate ,i_IsDel);
+            io_Future.complete(LDAP.isSuccess(i_Result) ? i_Request.paramInt : -1);
+        });
     }
     
     
     
     /**
-     * 批量修改条目的多个属性。i_ValuesMap集合中的每个元素可以是不同类型的，对应不同类型的LDAP类。
-     * 
-     * 注1：有顺序的修改。这样可以实现先添加父条目，再添加子条目的功能。
-     * 注2：没有事务机构，这不是LDAP的长项。不要指望LDAP可以作到。
-     *      某个元素执行异常后，前面的不回滚，其后的不再执行添加。
-     * 注3：批量修改时占用多个连接。
-     * 
-     * 只用于用 @Ldap 注解的Java对象。
-     * 
-     *   1. 自动识别要添加的多个属性
-     *   2. 自动识别要修改的多个属性
-     *   3. 自动识别要删除的多个属性
+     * 异步地查询条目
      * 
-     * 只用于用 @Ldap 注解的Java对象。
+     * 条目不存在（NO_SUCH_OBJECT）时，按空的查询结果完成；LDAP服务返回其它错误时，以 LdapOperationException 异常完成。
      * 
      * @author      ZhengWei(HY)
-     * @createDate  2018-12-06
-     * @version     v1.0
-     *
-     * @param i_ValuesMap
-     * @param i_IsAdd      当LDAP中没有时，是否新增LDAP属性
-     * @param i_IsUpdate   当新旧不同时，是否修改LDAP中对应的属性
-     * @param i_IsDel      当Java属性值为null时，是否删除LDAP中对应的属性
-     * @return             修改的条目的个数。小于0表示异常
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_BaseDN       父节点标识
+     * @param i_Filter       过滤条件
+     * @param i_SearchScope  查询范围
+     * @param i_Attributes   要求LDAP服务返回的属性名称（属性投影）。空数组时返回所有属性
+     * @param i_Finisher     将翻译后的Java值对象的集合转为执行结果。在执行器上执行
+     * @return
      */
-    public int modifyEntrys(List<?> i_ValuesMap ,boolean i_IsAdd ,boolean i_IsUpdate ,boolean i_IsDel)
+    private <T> LdapAsyncFuture<T> searchAsync(String i_BaseDN ,String i_Filter ,SearchScope i_SearchScope ,String [] i_Attributes ,Function<List<Object> ,T> i_Finisher)
     {
-        if ( Help.isNull(i_ValuesMap) )
-        {
-            return -1;
-        }
-        
-        int v_ModEntryCount = 0;
-        int v_ModAttrCount  = 0;
+        LdapAsyncFuture<T> v_Ret = new LdapAsyncFuture<T>();
         
-        try
+        this.asyncDispatcher.send(v_Ret
+                                 ,(i_Conn) -> i_Conn.searchAsync(this.newSearchRequest(i_BaseDN ,i_Filter ,i_SearchScope ,i_Attributes))
+                                 ,(i_Result ,i_Entrys) ->
         {
-            for (Object v_Values : i_ValuesMap)
+            ResultCodeEnum v_Code = i_Result.getLdapResult().getResultCode();
+            if ( v_Code != ResultCodeEnum.SUCCESS && v_Code != ResultCodeEnum.NO_SUCH_OBJECT )
             {
-                if ( v_Values == null )
-                {
-                    continue;
-                }
-                
-                v_ModAttrCount = this.modifyEntry(v_Values ,i_IsAdd ,i_IsUpdate ,i_IsDel);
+                v_Ret.completeExceptionally(new LdapOperationException(v_Code ,i_Result.getLdapResult().getDiagnosticMessage()));
+                return;
+            }
+            
+            List<Object> v_Datas = new ArrayList<Object>(i_Entrys.size());
+            for (Entry v_Entry : i_Entrys)
+            {
+                LdapEntry v_LdapEntry = getLdapEntry(v_Entry);
                 
-                if ( v_ModAttrCount < 0 )
-                {
-                    System.err.println("LDAP.modifyEntrys() is error.\n" + v_Values.toString());
-                    return -1;
-                }
-                else if ( v_ModAttrCount > 0 )
+                if ( v_LdapEntry != null )
                 {
-                    v_ModEntryCount++;
+                    v_Datas.add(this.toObject(v_LdapEntry ,v_Entry ,i_Attributes));
                 }
             }
-        }
-        catch (Exception exce)
-        {
-            exce.printStackTrace();
-            return -1;
-        }
+            
+            v_Ret.complete(i_Finisher.apply(v_Datas));
+        });
         
-        return v_ModEntryCount;
+        return v_Ret;
     }
     
     
@@ -1564,6 +4354,9 @@ public class LDAP
      *                                     3. (!i_IsAdd &&  i_IsUpdate)为真时，没有插入、旧的删除：不存于i_NewValues的属性值，将被删除。并不向LDAP数据库中添加任何新属性值。
      * 
      *              v3.0  2018-12-14  添加：支Java对象用Map<Object ,Object>定义成员变量的类型，来支持多属性值情况下，旧值改为新值的场景。并且支持批量。
+     *              v4.0  2026-10-16  添加：启用变更跟踪时，与Java值对象的快照对比得出修改动作，不再查询旧值。
+     *                                     Java值对象未被跟踪时（如，不是查询出的），仍先查询旧值。
+     *                                     注：与快照对比时，条目已不存在时返回-1（查询旧值时返回0）。
      *
      * @param i_NewValues
      * @param i_IsAdd      当LDAP中没有时，是否新增LDAP属性
@@ -1583,17 +4376,29 @@ public class LDAP
         LdapConnection        v_Conn     = null;
         Return<ModifyRequest> v_Request  = null;
         ModifyResponse        v_Response = null;
+        LdapSnapshot          v_Snapshot = this.changeTracking ? this.changeTracker.get(i_NewValues) : null;
         
         try
         {
-            Object v_OldValues = this.queryEntry(v_LdapEntry.getDNValue(i_NewValues));
-            if ( v_OldValues == null )
+            if ( v_Snapshot != null )
+            {
+                // 与快照对比，不用再查询旧值。快照已过期时为NULL
+                v_Request = v_LdapEntry.toModify(v_Snapshot ,i_NewValues ,i_IsAdd ,i_IsUpdate ,i_IsDel);
+            }
+            
+            if ( v_Request == null )
             {
-                // 没有旧对象，也算是修改成功
-                return 0;
+                Object v_OldValues = this.queryEntry(v_LdapEntry.getDNValue(i_NewValues));
+                if ( v_OldValues == null )
+                {
+                    // 没有旧对象，也算是修改成功
+                    return 0;
+                }
+                
+                v_Request  = v_LdapEntry.toModify(v_OldValues ,i_NewValues ,i_IsAdd ,i_IsUpdate ,i_IsDel);
+                v_Snapshot = this.changeTracking ? v_LdapEntry.toSnapshot(v_OldValues) : null;
             }
             
-            v_Request = v_LdapEntry.toModify(v_OldValues ,i_NewValues ,i_IsAdd ,i_IsUpdate ,i_IsDel);
             if ( !v_Request.booleanValue() )
             {
                 return v_Request.paramInt <= 0 ? 0 : -1;
@@ -1609,10 +4414,55 @@ public class LDAP
         finally
         {
             this.closeConnection(v_Conn);
+            
+            if ( v_Conn != null )
+            {
+                this.evictEntry(v_Request.getParamObj().getName().getName()
+                               ,LDAP.isSuccess(v_Response) ? ChangeType.MODIFY : null
+                               ,i_IsAdd && i_IsUpdate && i_IsDel ? i_NewValues : null);
+            }
         }
         
+        this.trackModify(v_LdapEntry ,i_NewValues ,v_Snapshot ,LDAP.isSuccess(v_Response) ,i_IsAdd ,i_IsUpdate ,i_IsDel);
+        
         return LDAP.isSuccess(v_Response) ? v_Request.paramInt : -1;
     }
+    
+    
+    
+    /**
+     * 修改条目后，启用变更跟踪时，刷新或移除Java值对象的快照
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_LdapEntry  "条目翻译官"
+     * @param i_NewValues  Java新值
+     * @param i_Snapshot   旧值的快照
+     * @param i_IsSuccess  是否修改成功
+     * @param i_IsAdd      当LDAP中没有时，是否新增LDAP属性
+     * @param i_IsUpdate   当新旧不同时，是否修改LDAP中对应的属性
+     * @param i_IsDel      当Java属性值为null时，是否删除LDAP中对应的属性
+     */
+    private void trackModify(LdapEntry i_LdapEntry ,Object i_NewValues ,LdapSnapshot i_Snapshot ,boolean i_IsSuccess ,boolean i_IsAdd ,boolean i_IsUpdate ,boolean i_IsDel)
+    {
+        if ( !this.changeTracking )
+        {
+            return;
+        }
+        
+        if ( i_IsSuccess && i_IsAdd && i_IsUpdate )
+        {
+            // 修改后，LDAP服务中的属性值与Java值对象一致（未被删除的属性除外），刷新快照
+            this.changeTracker.put(i_NewValues ,i_LdapEntry.toSnapshot(i_NewValues ,i_IsDel ? null : i_Snapshot));
+        }
+        else
+        {
+            // 不能确定LDAP服务中的属性值，不再跟踪
+            this.changeTracker.remove(i_NewValues);
+        }
+    }
 
     
     
@@ -1653,9 +4503,279 @@ public class LDAP
         finally
         {
             this.closeConnection(v_Conn);
+            this.evictEntry(i_DN ,null ,null);
         }
         
         return LDAP.isSuccess(v_Response);
     }
     
+    
+    
+    /**
+     * 获取：分页查询时，每页的条目数量。小于等于0时，不分页（一页返回所有的条目）
+     */
+    public int getPageSize()
+    {
+        return pageSize;
+    }
+    
+    
+    
+    /**
+     * 设置：分页查询时，每页的条目数量。小于等于0时，不分页（一页返回所有的条目）
+     * 
+     * @param pageSize
+     */
+    public void setPageSize(int pageSize)
+    {
+        this.pageSize = pageSize;
+    }
+    
+    
+    
+    /**
+     * 获取：查询时，是否只要求LDAP服务返回被"条目翻译官"翻译的属性（属性投影）。默认为：false
+     */
+    public boolean isAttributeProjection()
+    {
+        return attributeProjection;
+    }
+    
+    
+    
+    /**
+     * 设置：查询时，是否只要求LDAP服务返回被"条目翻译官"翻译的属性（属性投影）。默认为：false
+     * 
+     * @param attributeProjection
+     */
+    public void setAttributeProjection(boolean attributeProjection)
+    {
+        this.attributeProjection = attributeProjection;
+    }
+    
+    
+    
+    /**
+     * 获取：查询时，是否将对象类的约束下推到LDAP服务端的过滤条件中。默认为：false
+     */
+    public boolean isObjectClassPushDown()
+    {
+        return objectClassPushDown;
+    }
+    
+    
+    
+    /**
+     * 设置：查询时，是否将对象类的约束下推到LDAP服务端的过滤条件中。默认为：false
+     * 
+     * @param objectClassPushDown
+     */
+    public void setObjectClassPushDown(boolean objectClassPushDown)
+    {
+        this.objectClassPushDown = objectClassPushDown;
+    }
+    
+    
+    
+    /**
+     * 获取：流水线式批量操作时，同时在途的请求的最大数量。默认为：64
+     */
+    public int getPipelineWindow()
+    {
+        return pipelineWindow;
+    }
+    
+    
+    
+    /**
+     * 设置：流水线式批量操作时，同时在途的请求的最大数量。默认为：64
+     * 
+     * @param pipelineWindow
+     */
+    public void setPipelineWindow(int pipelineWindow)
+    {
+        this.pipelineWindow = pipelineWindow;
+    }
+    
+    
+    
+    /**
+     * 获取：多连接并行的批量操作（如，删除条目树）时，并行的连接数量。默认为：4。连接池的最大连接数应不小于此值
+     */
+    public int getParallelConnCount()
+    {
+        return parallelConnCount;
+    }
+    
+    
+    
+    /**
+     * 设置：多连接并行的批量操作（如，删除条目树）时，并行的连接数量。默认为：4。连接池的最大连接数应不小于此值
+     * 
+     * @param parallelConnCount
+     */
+    public void setParallelConnCount(int parallelConnCount)
+    {
+        this.parallelConnCount = parallelConnCount;
+    }
+    
+    
+    
+    /**
+     * 获取：是否跟踪Java值对象的变更。默认为：false
+     * 
+     * 启用后，查询出的Java值对象（按"条目翻译官"的属性投影查询的）将记录其属性值的快照。
+     * 修改条目时，与快照对比得出修改动作，不用再从LDAP服务中查询旧值。
+     */
+    public boolean isChangeTracking()
+    {
+        return changeTracking;
+    }
+    
+    
+    
+    /**
+     * 设置：是否跟踪Java值对象的变更。默认为：false
+     * 
+     * 启用后，查询出的Java值对象（按"条目翻译官"的属性投影查询的）将记录其属性值的快照。
+     * 修改条目时，与快照对比得出修改动作，不用再从LDAP服务中查询旧值。
+     * 
+     * @param changeTracking
+     */
+    public void setChangeTracking(boolean changeTracking)
+    {
+        this.changeTracking = changeTracking;
+    }
+    
+    
+    
+    /**
+     * 获取：Java值对象的变更跟踪器
+     */
+    public LdapChangeTracker getChangeTracker()
+    {
+        return changeTracker;
+    }
+    
+    
+    
+    /**
+     * 获取：异步操作时，处理响应（如，将条目翻译为Java值对象）的执行器。默认为：ForkJoinPool.commonPool()
+     */
+    public Executor getAsyncExecutor()
+    {
+        return asyncExecutor;
+    }
+    
+    
+    
+    /**
+     * 设置：异步操作时，处理响应（如，将条目翻译为Java值对象）的执行器。为NULL时，为默认值
+     * 
+     * @param asyncExecutor
+     */
+    public void setAsyncExecutor(Executor asyncExecutor)
+    {
+        this.asyncExecutor = asyncExecutor == null ? ForkJoinPool.commonPool() : asyncExecutor;
+    }
+    
+    
+    
+    /**
+     * 获取：是否为虚拟线程友好的执行模式。默认为：false
+     */
+    public boolean isVirtualThreads()
+    {
+        return virtualThreads;
+    }
+    
+    
+    
+    /**
+     * 设置：是否为虚拟线程友好的执行模式。
+     * 
+     * 启用时，按连接池的最大连接数创建获取连接的信号量。连接池的最大连接数不限制（小于等于0）时，不创建信号量。
+     * 
+     * @param virtualThreads
+     */
+    public void setVirtualThreads(boolean virtualThreads)
+    {
+        this.virtualThreads = virtualThreads;
+        
+        if ( virtualThreads && this.connPool != null && this.connPool.getMaxTotal() > 0 )
+        {
+            this.connPermits = new Semaphore(this.connPool.getMaxTotal() ,true);
+        }
+        else
+        {
+            this.connPermits = null;
+        }
+    }
+    
+    
+    
+    /**
+     * 获取：条目缓存。为NULL时不缓存
+     */
+    public LdapEntryCache getEntryCache()
+    {
+        return entryCache;
+    }
+    
+    
+    
+    /**
+     * 设置：条目缓存。为NULL时不缓存
+     * 
+     * @param entryCache
+     */
+    public void setEntryCache(LdapEntryCache entryCache)
+    {
+        this.entryCache = entryCache;
+    }
+    
+    
+    
+    /**
+     * 获取：查询结果缓存。为NULL时不缓存
+     */
+    public LdapSearchCache getSearchCache()
+    {
+        return searchCache;
+    }
+    
+    
+    
+    /**
+     * 设置：查询结果缓存。为NULL时不缓存
+     * 
+     * @param searchCache
+     */
+    public void setSearchCache(LdapSearchCache searchCache)
+    {
+        this.searchCache = searchCache;
+    }
+    
+    
+    
+    /**
+     * 获取：子树的本地副本。为NULL时不使用
+     */
+    public LdapReplica getReplica()
+    {
+        return replica;
+    }
+    
+    
+    
+    /**
+     * 设置：子树的本地副本。为NULL时不使用
+     * 
+     * @param replica
+     */
+    public void setReplica(LdapReplica replica)
+    {
+        this.replica = replica;
+    }
+    
 }
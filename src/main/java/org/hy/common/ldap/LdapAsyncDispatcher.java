@@ -0,0 +1,621 @@
+package org.hy.common.ldap;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+
+import org.apache.directory.api.ldap.model.entry.Entry;
+import org.apache.directory.api.ldap.model.exception.LdapException;
+import org.apache.directory.api.ldap.model.message.Response;
+import org.apache.directory.api.ldap.model.message.ResultResponse;
+import org.apache.directory.api.ldap.model.message.SearchResultEntry;
+import org.apache.directory.ldap.client.api.LdapAsyncConnection;
+import org.apache.directory.ldap.client.api.LdapConnection;
+import org.apache.directory.ldap.client.api.LdapConnectionConfig;
+import org.apache.directory.ldap.client.api.future.MultipleResponseFuture;
+import org.apache.directory.ldap.client.api.future.ResponseFuture;
+import org.hy.common.ldap.batch.LdapPipeline;
+
+
+
+
+
+/**
+ * LDAP异步操作的分派器。
+ *
+ * 所有的异步请求复用同一个共享的连接（LDAP协议按消息ID区分同一连接上的多个在途请求），不再每个请求从连接池中获取一个连接。
+ * 发送请求的线程打开了会话（见 LdapSession）时，使用会话独占的连接。
+ *
+ * Apache LDAP API 的异步连接（LdapAsyncConnection）只返回阻塞式的 Future ，没有完成时的回调。
+ * 本类用单个读取线程，不阻塞地依次检查所有在途请求的 Future ，有响应时收取；都没有响应时短暂休眠（见 $MaxPark）。
+ * 请求完成后，在 LDAP.getAsyncExecutor() 执行器上处理响应（如，通过"条目翻译官"将条目翻译为Java值对象），再完成 LdapAsyncFuture 。
+ * 所以在途请求再多，也只占用一个读取线程，不再每个在途请求阻塞一个线程。
+ *
+ * 注1：共享的连接还未获取或已断开时，在本类的连接线程上从连接池中获取后再发送请求。
+ *      发送请求的线程（包括执行器上处理响应、再发送下一步请求的线程）不会因连接池耗尽而阻塞。
+ * 注2：超过连接配置的超时时长（LdapConnectionConfig.getTimeout()）仍无响应的，放弃请求，并以异常完成。
+ * 注3：取消 LdapAsyncFuture 时，放弃请求（Abandon），并以取消完成。
+ * 注4：关闭（shutdown()）时，放弃所有在途的、等待连接的请求，并以异常完成，停止读取线程、连接线程，并释放共享的连接。
+ *      关闭后再发送请求时，重新获取连接、创建线程。
+ *
+ * @author      ZhengWei(HY)
+ * @createDate  2026-10-16
+ * @version     v1.0
+ */
+class LdapAsyncDispatcher
+{
+
+    /** 读取线程都没有收到响应时，休眠的最短时长（单位：纳秒） */
+    private static final long $MinPark = 20L * 1000L;
+
+    /** 读取线程都没有收到响应时，休眠的最长时长（单位：纳秒）。连续没有响应时，休眠时长逐次翻倍，直到本值 */
+    private static final long $MaxPark = 1000L * 1000L;
+
+
+
+    /** LDAP目录服务的操作类。用于获取、释放连接 */
+    private final LDAP                       ldap;
+
+    /** 所有在途的请求 */
+    private final Set<Pending>               pendings;
+
+    /** 等待连接线程获取共享连接后再发送的请求 */
+    private final Set<LdapAsyncFuture<?>>    connectings;
+
+    /** 共享的连接。还未获取或关闭后为NULL */
+    private LdapConnection                   shared;
+
+    /** 读取线程。首次发送请求时创建，关闭后为NULL */
+    private Thread                           reader;
+
+    /** 获取共享连接的连接线程。首次须获取连接时创建，关闭后为NULL */
+    private ExecutorService                  connector;
+
+
+
+    /**
+     * 构造器
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_LDAP  LDAP目录服务的操作类
+     */
+    LdapAsyncDispatcher(LDAP i_LDAP)
+    {
+        this.ldap        = i_LDAP;
+        this.pendings    = ConcurrentHashMap.newKeySet();
+        this.connectings = ConcurrentHashMap.newKeySet();
+    }
+
+
+
+    /**
+     * 异步地发送请求。请求完成后，在执行器上处理响应
+     *
+     * 不阻塞调用者：共享的连接还未获取或已断开时，在连接线程上获取连接后再发送。
+     * 获取连接或发送请求异常时，以异常完成 io_Future 。
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param io_Future  异步操作的执行结果。由 i_Handler 完成
+     * @param i_Sender   发送请求
+     * @param i_Handler  处理响应
+     */
+    void send(LdapAsyncFuture<?> io_Future ,Sender i_Sender ,Handler i_Handler)
+    {
+        if ( io_Future.isDone() )
+        {
+            return;
+        }
+
+        LdapSession    v_Session = this.ldap.getSession();
+        LdapConnection v_Conn    = v_Session != null ? v_Session.getConnection() : this.getShared();
+
+        if ( v_Conn != null )
+        {
+            this.send(io_Future ,v_Conn ,i_Sender ,i_Handler);
+            return;
+        }
+
+        try
+        {
+            this.connectings.add(io_Future);
+            this.getConnector().execute(() ->
+            {
+                // 已被关闭放弃的，不再发送
+                if ( !this.connectings.remove(io_Future) )
+                {
+                    return;
+                }
+
+                try
+                {
+                    this.send(io_Future ,this.connect() ,i_Sender ,i_Handler);
+                }
+                catch (Exception exce)
+                {
+                    io_Future.completeExceptionally(exce);
+                }
+            });
+        }
+        catch (Exception exce)
+        {
+            this.connectings.remove(io_Future);
+            io_Future.completeExceptionally(exce);
+        }
+    }
+
+
+
+    /**
+     * 在指定的连接上发送请求，并登记为在途的请求，由读取线程收取响应
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param io_Future  异步操作的执行结果。由 i_Handler 完成
+     * @param i_Conn     共享的连接，或会话独占的连接
+     * @param i_Sender   发送请求
+     * @param i_Handler  处理响应
+     */
+    private void send(LdapAsyncFuture<?> io_Future ,LdapConnection i_Conn ,Sender i_Sender ,Handler i_Handler)
+    {
+        ResponseFuture<?> v_Request = null;
+        try
+        {
+            // 连接池返回的是包装后的连接，须解包
+            LdapAsyncConnection v_AsyncConn = LdapPipeline.toAsync(i_Conn);
+            if ( v_AsyncConn == null )
+            {
+                throw new LdapException("The connection does not support asynchronous operations.");
+            }
+
+            long v_Timeout = v_AsyncConn.getConfig().getTimeout() <= 0L ? LdapConnectionConfig.DEFAULT_TIMEOUT : v_AsyncConn.getConfig().getTimeout();
+
+            v_Request = i_Sender.send(v_AsyncConn);
+            io_Future.setRequest(v_Request);
+
+            Pending v_Pending = new Pending(io_Future ,v_Request ,i_Handler ,System.currentTimeMillis() + v_Timeout);
+            this.pendings.add(v_Pending);
+
+            // 取消时：不再收取响应
+            io_Future.setCanceller(() -> this.abort(v_Pending ,new CancellationException()));
+
+            LockSupport.unpark(this.getReader());
+        }
+        catch (Exception exce)
+        {
+            if ( v_Request != null )
+            {
+                v_Request.cancel(true);
+            }
+            io_Future.completeExceptionally(exce);
+        }
+    }
+
+
+
+    /**
+     * 关闭。放弃所有在途的请求，并以异常完成，停止读取线程、连接线程，并释放共享的连接
+     *
+     * 关闭后再发送请求时，重新获取连接、创建线程。
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     */
+    void shutdown()
+    {
+        Thread          v_Reader    = null;
+        ExecutorService v_Connector = null;
+        LdapConnection  v_Shared    = null;
+        synchronized ( this )
+        {
+            v_Reader       = this.reader;
+            v_Connector    = this.connector;
+            v_Shared       = this.shared;
+            this.reader    = null;
+            this.connector = null;
+            this.shared    = null;
+        }
+
+        for (Pending v_Pending : new ArrayList<Pending>(this.pendings))
+        {
+            v_Pending.request.cancel(true);
+            this.abort(v_Pending ,new LdapException("The asynchronous dispatcher is shut down."));
+        }
+        for (LdapAsyncFuture<?> v_Future : new ArrayList<LdapAsyncFuture<?>>(this.connectings))
+        {
+            if ( this.connectings.remove(v_Future) )
+            {
+                v_Future.completeExceptionally(new LdapException("The asynchronous dispatcher is shut down."));
+            }
+        }
+
+        if ( v_Reader != null )
+        {
+            LockSupport.unpark(v_Reader);
+        }
+        if ( v_Connector != null )
+        {
+            v_Connector.shutdownNow();
+        }
+        if ( v_Shared != null )
+        {
+            this.ldap.closeConnection(v_Shared);
+        }
+    }
+
+
+
+    /**
+     * 获取可用的共享连接
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @return  还未获取或已断开时，返回NULL
+     */
+    private synchronized LdapConnection getShared()
+    {
+        return this.shared != null && this.shared.isConnected() ? this.shared : null;
+    }
+
+
+
+    /**
+     * 获取共享的连接。还未获取或已断开时，从连接池中获取（可能阻塞，所以只在连接线程上调用）
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @return
+     * @throws LdapException
+     */
+    private synchronized LdapConnection connect() throws LdapException
+    {
+        if ( this.shared != null && this.shared.isConnected() )
+        {
+            return this.shared;
+        }
+
+        if ( this.shared != null )
+        {
+            // 已断开的连接，归还连接池（由连接池校验后丢弃）
+            this.ldap.closeConnection(this.shared);
+            this.shared = null;
+        }
+
+        this.shared = this.ldap.getConnection();
+        return this.shared;
+    }
+
+
+
+    /**
+     * 获取连接线程。没有时创建
+     *
+     * 单个守护线程，依次执行。空闲时回收线程。
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @return
+     */
+    private synchronized ExecutorService getConnector()
+    {
+        if ( this.connector == null )
+        {
+            ThreadPoolExecutor v_Connector = new ThreadPoolExecutor(1 ,1 ,60L ,TimeUnit.SECONDS ,new LinkedBlockingQueue<Runnable>() ,(i_Runnable) ->
+            {
+                Thread v_Thread = new Thread(i_Runnable ,"LDAP-Async-Connector");
+                v_Thread.setDaemon(true);
+                return v_Thread;
+            });
+            v_Connector.allowCoreThreadTimeOut(true);
+            this.connector = v_Connector;
+        }
+
+        return this.connector;
+    }
+
+
+
+    /**
+     * 获取读取线程。没有时创建并启动
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @return
+     */
+    private synchronized Thread getReader()
+    {
+        if ( this.reader == null )
+        {
+            this.reader = new Thread(this::read ,"LDAP-Async-Reader");
+            this.reader.setDaemon(true);
+            this.reader.start();
+        }
+
+        return this.reader;
+    }
+
+
+
+    /**
+     * 读取线程：依次收取所有在途请求的响应，直到被关闭
+     *
+     * 没有在途请求时，休眠到下次发送请求；有在途请求但都没有响应时，短暂休眠。
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     */
+    private void read()
+    {
+        long v_Park = $MinPark;
+
+        while ( this.isReader() )
+        {
+            boolean v_IsReceived = false;
+            for (Pending v_Pending : this.pendings)
+            {
+                v_IsReceived = this.receive(v_Pending) || v_IsReceived;
+            }
+
+            if ( v_IsReceived )
+            {
+                v_Park = $MinPark;
+            }
+            else if ( this.pendings.isEmpty() )
+            {
+                LockSupport.park(this);
+                v_Park = $MinPark;
+            }
+            else
+            {
+                LockSupport.parkNanos(this ,v_Park);
+                v_Park = Math.min(v_Park * 2L ,$MaxPark);
+            }
+        }
+    }
+
+
+
+    /**
+     * 当前线程是否仍为读取线程。关闭后，原读取线程退出
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @return
+     */
+    private synchronized boolean isReader()
+    {
+        return this.reader == Thread.currentThread();
+    }
+
+
+
+    /**
+     * 不阻塞地收取一个在途请求的响应。请求完成、取消或超时时，结束在途请求
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_Pending  在途请求
+     * @return           是否收到了响应，或结束了在途请求
+     */
+    private boolean receive(Pending i_Pending)
+    {
+        try
+        {
+            boolean v_IsReceived = false;
+
+            if ( i_Pending.request instanceof MultipleResponseFuture )
+            {
+                // 查询请求：逐个收取已到达的条目，直到最终的响应
+                Response v_Response = null;
+                while ( (v_Response = (Response)i_Pending.request.get(0L ,TimeUnit.MILLISECONDS)) != null )
+                {
+                    v_IsReceived = true;
+
+                    if ( v_Response instanceof SearchResultEntry )
+                    {
+                        i_Pending.entrys.add(((SearchResultEntry)v_Response).getEntry());
+                    }
+                    else if ( v_Response instanceof ResultResponse )
+                    {
+                        this.complete(i_Pending ,(ResultResponse)v_Response);
+                        return true;
+                    }
+                }
+            }
+            else if ( i_Pending.request.isDone() )
+            {
+                // 只有一个响应的请求：已完成时，get() 不再等待
+                Response v_Response = (Response)i_Pending.request.get();
+                if ( v_Response instanceof ResultResponse )
+                {
+                    this.complete(i_Pending ,(ResultResponse)v_Response);
+                    return true;
+                }
+            }
+
+            if ( i_Pending.request.isCancelled() )
+            {
+                Throwable v_Cause = i_Pending.request.getCause();
+                this.abort(i_Pending ,v_Cause != null ? v_Cause : new LdapException("The request was cancelled."));
+                return true;
+            }
+
+            if ( System.currentTimeMillis() >= i_Pending.deadline )
+            {
+                i_Pending.request.cancel(true);
+                this.abort(i_Pending ,new LdapException("No response within the timeout."));
+                return true;
+            }
+
+            return v_IsReceived;
+        }
+        catch (Exception exce)
+        {
+            this.abort(i_Pending ,exce);
+            return true;
+        }
+    }
+
+
+
+    /**
+     * 结束在途请求，并以异常完成。已结束的，不再处理
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_Pending  在途请求
+     * @param i_Cause    异常原因
+     */
+    private void abort(Pending i_Pending ,Throwable i_Cause)
+    {
+        if ( this.finish(i_Pending) )
+        {
+            i_Pending.future.completeExceptionally(i_Cause);
+        }
+    }
+
+
+
+    /**
+     * 结束在途请求
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_Pending  在途请求
+     * @return           是否为首次结束。已被结束过的返回false
+     */
+    private boolean finish(Pending i_Pending)
+    {
+        if ( !i_Pending.isFinished.compareAndSet(false ,true) )
+        {
+            return false;
+        }
+
+        this.pendings.remove(i_Pending);
+        return true;
+    }
+
+
+
+    /**
+     * 结束在途请求，并在执行器上处理响应
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_Pending  在途请求
+     * @param i_Result   最终的响应
+     */
+    private void complete(Pending i_Pending ,ResultResponse i_Result)
+    {
+        if ( !this.finish(i_Pending) )
+        {
+            return;
+        }
+
+        try
+        {
+            this.ldap.getAsyncExecutor().execute(() ->
+            {
+                try
+                {
+                    i_Pending.handler.handle(i_Result ,i_Pending.entrys);
+                }
+                catch (Throwable exce)
+                {
+                    i_Pending.future.completeExceptionally(exce);
+                }
+            });
+        }
+        catch (Exception exce)
+        {
+            i_Pending.future.completeExceptionally(exce);
+        }
+    }
+
+
+
+    /** 发送LDAP请求 */
+    interface Sender
+    {
+        public ResponseFuture<?> send(LdapAsyncConnection i_Conn) throws LdapException;
+    }
+
+
+
+    /** 处理LDAP请求的响应。在执行器上执行 */
+    interface Handler
+    {
+        /**
+         * 处理响应
+         *
+         * @param i_Result  最终的响应（包含结果码）
+         * @param i_Entrys  查询请求返回的条目。非查询请求时为空集合
+         * @throws Exception
+         */
+        public void handle(ResultResponse i_Result ,List<Entry> i_Entrys) throws Exception;
+    }
+
+
+
+    /** 在途的请求 */
+    private static final class Pending
+    {
+        private final LdapAsyncFuture<?> future;
+
+        private final ResponseFuture<?>  request;
+
+        private final Handler            handler;
+
+        private final long               deadline;
+
+        private final List<Entry>        entrys;
+
+        private final AtomicBoolean      isFinished;
+
+        private Pending(LdapAsyncFuture<?> i_Future ,ResponseFuture<?> i_Request ,Handler i_Handler ,long i_Deadline)
+        {
+            this.future     = i_Future;
+            this.request    = i_Request;
+            this.handler    = i_Handler;
+            this.deadline   = i_Deadline;
+            this.entrys     = new ArrayList<Entry>();
+            this.isFinished = new AtomicBoolean(false);
+        }
+    }
+
+}
@@ -0,0 +1,120 @@
+package org.hy.common.ldap;
+
+import java.util.concurrent.CompletableFuture;
+
+import org.apache.directory.ldap.client.api.future.ResponseFuture;
+
+
+
+
+
+/**
+ * LDAP异步操作的执行结果。
+ *
+ * 取消时（cancel()），向LDAP服务发送放弃请求（Abandon），LDAP服务将停止执行正在在途的请求。
+ * 同时不再收取其响应（见 LdapAsyncDispatcher）。
+ *
+ * 注：由 thenApply() 等方法派生出的新的执行结果，取消时不会放弃LDAP请求。应取消本对象。
+ *
+ * @author      ZhengWei(HY)
+ * @createDate  2026-10-16
+ * @version     v1.0
+ *
+ * @param <T>   执行结果的类型
+ */
+public class LdapAsyncFuture<T> extends CompletableFuture<T>
+{
+
+    /** 当前在途的LDAP请求。多步的操作（如，先查询、再修改），为正在执行的那一步 */
+    private volatile ResponseFuture<?> request;
+
+    /** 取消时的处理（不再收取响应）。多步的操作，为正在执行的那一步 */
+    private volatile Runnable          canceller;
+
+
+
+    /**
+     * 取消执行。并向LDAP服务发送放弃请求（Abandon）
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_MayInterruptIfRunning  无意义。只为与父类的方法签名一致
+     * @return
+     */
+    @Override
+    public boolean cancel(boolean i_MayInterruptIfRunning)
+    {
+        boolean           v_Ret       = super.cancel(i_MayInterruptIfRunning);
+        ResponseFuture<?> v_Request   = this.request;
+        Runnable          v_Canceller = this.canceller;
+
+        if ( v_Ret && v_Request != null )
+        {
+            v_Request.cancel(true);
+        }
+
+        if ( v_Ret && v_Canceller != null )
+        {
+            v_Canceller.run();
+        }
+
+        return v_Ret;
+    }
+
+
+
+    /**
+     * 获取：当前在途的LDAP请求
+     */
+    ResponseFuture<?> getRequest()
+    {
+        return request;
+    }
+
+
+
+    /**
+     * 设置：当前在途的LDAP请求。设置时已被取消的，立即放弃此LDAP请求
+     *
+     * @param request
+     */
+    void setRequest(ResponseFuture<?> request)
+    {
+        this.request = request;
+
+        if ( request != null && this.isCancelled() )
+        {
+            request.cancel(true);
+        }
+    }
+
+
+
+    /**
+     * 获取：取消时的处理
+     */
+    Runnable getCanceller()
+    {
+        return canceller;
+    }
+
+
+
+    /**
+     * 设置：取消时的处理。设置时已被取消的，立即执行
+     *
+     * @param canceller
+     */
+    void setCanceller(Runnable canceller)
+    {
+        this.canceller = canceller;
+
+        if ( canceller != null && this.isCancelled() )
+        {
+            canceller.run();
+        }
+    }
+
+}
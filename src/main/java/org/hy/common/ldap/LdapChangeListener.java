@@ -0,0 +1,52 @@
+package org.hy.common.ldap;
+
+import org.apache.directory.api.ldap.model.message.controls.ChangeType;
+
+
+
+
+
+/**
+ * LDAP条目变更的监听器。
+ *
+ * 由变更监视器（见 LdapChangeMonitor）在LDAP服务推送变更通知时触发。
+ * 无论变更是通过哪个客户端写入LDAP服务的，均会触发。
+ *
+ * 注：所有监听器均在变更监视器的一个线程上，按LDAP服务推送的顺序依次触发。本方法返回前，不会触发下一个变更。
+ *
+ * @author      ZhengWei(HY)
+ * @createDate  2026-10-16
+ * @version     v1.0
+ */
+public interface LdapChangeListener
+{
+
+    /**
+     * 监视的子树内的条目变更时触发
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_ChangeType  变更类型。ADD：添加；MODIFY：修改；DELETE：删除；MODDN：重命名或移动
+     * @param i_DN          条目标识。重命名或移动时，为新的条目标识
+     * @param i_PreviousDN  重命名或移动前的条目标识。其它变更类型时为NULL
+     * @param i_Data        变更后的条目，已通过"条目翻译官"翻译为 @Ldap 注解的Java值对象。
+     *                      删除时，为删除前的条目。没有对应的"条目翻译官"时为NULL
+     */
+    public void onChange(ChangeType i_ChangeType ,String i_DN ,String i_PreviousDN ,Object i_Data);
+
+
+
+    /**
+     * 与LDAP服务的连接断开并重新建立后触发
+     *
+     * 断开期间的变更没有通知，已被丢弃。本地缓存的数据应全部失效，或重新加载。
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     */
+    public void onReset();
+
+}
@@ -0,0 +1,611 @@
+package org.hy.common.ldap;
+
+import java.io.Closeable;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.directory.api.ldap.model.entry.Entry;
+import org.apache.directory.api.ldap.model.exception.LdapException;
+import org.apache.directory.api.ldap.model.exception.LdapOperationException;
+import org.apache.directory.api.ldap.model.message.LdapResult;
+import org.apache.directory.api.ldap.model.message.Response;
+import org.apache.directory.api.ldap.model.message.ResultCodeEnum;
+import org.apache.directory.api.ldap.model.message.SearchRequest;
+import org.apache.directory.api.ldap.model.message.SearchResultDone;
+import org.apache.directory.api.ldap.model.message.SearchResultEntry;
+import org.apache.directory.api.ldap.model.message.SearchScope;
+import org.apache.directory.api.ldap.model.message.controls.ChangeType;
+import org.apache.directory.api.ldap.model.message.controls.EntryChange;
+import org.apache.directory.api.ldap.model.message.controls.PersistentSearch;
+import org.apache.directory.api.ldap.model.message.controls.PersistentSearchImpl;
+import org.apache.directory.api.ldap.model.name.Dn;
+import org.apache.directory.ldap.client.api.LdapAsyncConnection;
+import org.apache.directory.ldap.client.api.LdapConnection;
+import org.apache.directory.ldap.client.api.future.SearchFuture;
+import org.hy.common.ldap.annotation.LdapEntry;
+import org.hy.common.ldap.batch.LdapPipeline;
+
+
+
+
+
+/**
+ * LDAP条目的变更监视器。
+ *
+ * 用一个长期占用的连接，向LDAP服务发送持久查询（Persistent Search 控制，draft-ietf-ldapext-psearch）。
+ * 监视的Base DN下的任何条目被添加、修改、删除、重命名或移动时，无论是通过哪个客户端写入的，LDAP服务均推送变更通知。
+ *
+ * 收到变更通知后：
+ *   1. 从 LDAP 对象的条目缓存（LdapEntryCache）、查询结果缓存（LdapSearchCache）中移除相关的条目及查询结果。
+ *      重命名或移动时，按原DN的子树移除。
+ *   2. 通过"条目翻译官"将条目翻译为Java值对象，触发注册了该子树的监听器（LdapChangeListener）。
+ *
+ *   LdapChangeMonitor v_Monitor = new LdapChangeMonitor(v_LDAP ,"dc=wwww,dc=com");
+ *   v_Monitor.addListener("ou=users,dc=wwww,dc=com" ,v_Listener);
+ *   v_Monitor.start();
+ *   ...
+ *   v_Monitor.close();
+ *
+ * 注1：连接断开、或LDAP服务结束了持久查询时，每隔 retryInterval 毫秒重新建立。
+ *      重新建立后，因断开期间的变更已丢失，清空 LDAP 对象的所有缓存，并触发监听器的 onReset() 方法。
+ * 注2：变更监视器占用连接池中的一个连接，直到关闭。
+ * 注3：只通知开始监视之后的变更（changesOnly），不返回已有的条目。
+ *
+ * @author      ZhengWei(HY)
+ * @createDate  2026-10-16
+ * @version     v1.0
+ */
+public class LdapChangeMonitor implements Runnable ,Closeable
+{
+
+    /** 默认的重新建立持久查询的间隔时长（单位：毫秒） */
+    public static final long  $DefaultRetryInterval = 5L * 1000L;
+
+    /** 等待变更通知时，检查连接是否断开的间隔时长（单位：毫秒） */
+    private static final long $PollInterval         = 1000L;
+
+
+
+    /** LDAP目录服务的操作类 */
+    private final LDAP                     ldap;
+
+    /** 监视的Base DN */
+    private final String                   baseDN;
+
+    /** 注册的监听器 */
+    private final List<Registration>       registrations;
+
+    /** 重新建立持久查询的间隔时长（单位：毫秒） */
+    private long                           retryInterval;
+
+    /** 监视线程。停止监视后再开始时，原监视线程随即退出 */
+    private volatile Thread                thread;
+
+    /** 是否正在监视 */
+    private volatile boolean               running;
+
+    /** 当前的持久查询 */
+    private volatile SearchFuture          future;
+
+    /** 收到的变更通知的数量 */
+    private volatile long                  changeCount;
+
+    /** 重新建立持久查询的次数 */
+    private volatile long                  resetCount;
+
+
+
+    /**
+     * 构造器
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_LDAP    LDAP目录服务的操作类
+     * @param i_BaseDN  监视的Base DN。其下所有的子及子子条目的变更均被通知
+     */
+    public LdapChangeMonitor(LDAP i_LDAP ,String i_BaseDN)
+    {
+        this.ldap          = i_LDAP;
+        this.baseDN        = i_BaseDN;
+        this.registrations = new CopyOnWriteArrayList<Registration>();
+        this.retryInterval = $DefaultRetryInterval;
+    }
+
+
+
+    /**
+     * 注册监听器。监听器只被通知其子树内的条目变更
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_DN        监听的子树的标识（子树的根条目）。应在监视的Base DN之内
+     * @param i_Listener  监听器
+     * @return            非法的DN时，返回false
+     */
+    public boolean addListener(String i_DN ,LdapChangeListener i_Listener)
+    {
+        if ( i_Listener == null )
+        {
+            return false;
+        }
+
+        try
+        {
+            this.registrations.add(new Registration(LDAP.toLookupKey(new Dn(i_DN)) ,i_Listener));
+            return true;
+        }
+        catch (Exception exce)
+        {
+            exce.printStackTrace();
+        }
+
+        return false;
+    }
+
+
+
+    /**
+     * 移除监听器（及其注册的所有子树）
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_Listener  监听器
+     */
+    public void removeListener(LdapChangeListener i_Listener)
+    {
+        this.registrations.removeIf(v_Registration -> v_Registration.listener == i_Listener);
+    }
+
+
+
+    /**
+     * 开始监视。已开始时，不重复开始
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     */
+    public synchronized void start()
+    {
+        if ( this.running )
+        {
+            return;
+        }
+
+        this.running = true;
+        this.thread  = new Thread(this ,"LDAP-Change-Monitor");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+
+
+    /**
+     * 停止监视。放弃持久查询，并释放连接
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     */
+    @Override
+    public synchronized void close()
+    {
+        if ( !this.running )
+        {
+            return;
+        }
+
+        this.running = false;
+
+        SearchFuture v_Future = this.future;
+        if ( v_Future != null )
+        {
+            v_Future.cancel(true);
+        }
+
+        this.thread.interrupt();
+        this.thread = null;
+    }
+
+
+
+    /**
+     * 建立持久查询，并接收变更通知。持久查询结束后，间隔 retryInterval 毫秒后重新建立
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     */
+    @Override
+    public void run()
+    {
+        boolean v_IsReset = false;
+
+        while ( this.isAlive() )
+        {
+            LdapConnection v_Conn   = null;
+            SearchFuture   v_Future = null;
+
+            try
+            {
+                v_Conn = this.ldap.getConnection();
+
+                // 连接池返回的是包装后的连接，须解包
+                LdapAsyncConnection v_AsyncConn = LdapPipeline.toAsync(v_Conn);
+                if ( v_AsyncConn == null )
+                {
+                    throw new LdapException("The connection does not support asynchronous operations.");
+                }
+
+                v_Future    = v_AsyncConn.searchAsync(this.newSearchRequest());
+                this.future = v_Future;
+
+                if ( v_IsReset )
+                {
+                    this.reset();
+                }
+                v_IsReset = true;
+
+                this.receive(v_Conn ,v_Future);
+            }
+            catch (Exception exce)
+            {
+                if ( this.isAlive() )
+                {
+                    exce.printStackTrace();
+                }
+            }
+            finally
+            {
+                if ( this.future == v_Future )
+                {
+                    this.future = null;
+                }
+                this.ldap.closeConnection(v_Conn);
+            }
+
+            try
+            {
+                if ( this.isAlive() )
+                {
+                    Thread.sleep(this.retryInterval);
+                }
+            }
+            catch (InterruptedException exce)
+            {
+                // 被停止监视时中断
+            }
+        }
+    }
+
+
+
+    /**
+     * 当前线程是否仍为监视线程
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @return
+     */
+    private boolean isAlive()
+    {
+        return this.running && this.thread == Thread.currentThread();
+    }
+
+
+
+    /**
+     * 生成持久查询的请求。只通知变更（不返回已有的条目），并返回变更类型等信息（Entry Change Notification 控制）
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @return
+     * @throws LdapException
+     */
+    private SearchRequest newSearchRequest() throws LdapException
+    {
+        SearchRequest    v_Request = this.ldap.newSearchRequest(this.baseDN ,"(" + LDAP.$ObjectClass + "=*)" ,SearchScope.SUBTREE ,this.ldap.getSearchAttributes(null));
+        PersistentSearch v_PSearch = new PersistentSearchImpl();
+
+        v_PSearch.setChangesOnly(true);
+        v_PSearch.setReturnECs(true);
+        for (ChangeType v_ChangeType : ChangeType.values())
+        {
+            v_PSearch.enableNotification(v_ChangeType);
+        }
+        v_PSearch.setCritical(true);
+
+        v_Request.addControl(v_PSearch);
+        return v_Request;
+    }
+
+
+
+    /**
+     * 接收变更通知，直到停止监视、连接断开或LDAP服务结束了持久查询
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_Conn    持久查询的连接
+     * @param i_Future  持久查询
+     * @throws InterruptedException
+     * @throws LdapOperationException  LDAP服务以错误结束了持久查询（如，不支持持久查询控制）
+     */
+    private void receive(LdapConnection i_Conn ,SearchFuture i_Future) throws InterruptedException ,LdapOperationException
+    {
+        while ( this.isAlive() )
+        {
+            Response v_Response = i_Future.get($PollInterval ,TimeUnit.MILLISECONDS);
+
+            if ( v_Response == null )
+            {
+                if ( i_Future.isCancelled() || !i_Conn.isConnected() )
+                {
+                    return;
+                }
+            }
+            else if ( v_Response instanceof SearchResultEntry )
+            {
+                this.dispatch((SearchResultEntry)v_Response);
+            }
+            else if ( v_Response instanceof SearchResultDone )
+            {
+                LdapResult v_Result = ((SearchResultDone)v_Response).getLdapResult();
+                if ( v_Result.getResultCode() != ResultCodeEnum.SUCCESS )
+                {
+                    throw new LdapOperationException(v_Result.getResultCode() ,"The persistent search on " + this.baseDN + " ended: " + v_Result.getResultCode() + (v_Result.getDiagnosticMessage() == null ? "" : " " + v_Result.getDiagnosticMessage()));
+                }
+                return;
+            }
+        }
+    }
+
+
+
+    /**
+     * 处理一个变更通知：移除缓存中相关的数据，并触发注册了该子树的监听器
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_Response  变更通知
+     */
+    private void dispatch(SearchResultEntry i_Response)
+    {
+        Entry       v_Entry      = i_Response.getEntry();
+        EntryChange v_Change     = (EntryChange)i_Response.getControl(EntryChange.OID);
+        ChangeType  v_ChangeType = v_Change == null ? ChangeType.MODIFY : v_Change.getChangeType();
+        Dn          v_PreviousDn = v_Change == null ? null : v_Change.getPreviousDn();
+        Object      v_Data       = null;
+
+        this.changeCount++;
+        this.invalidate(v_Entry.getDn() ,v_PreviousDn);
+
+        if ( this.registrations.isEmpty() )
+        {
+            return;
+        }
+
+        try
+        {
+            LdapEntry v_LdapEntry = LDAP.getLdapEntry(v_Entry);
+            if ( v_LdapEntry != null )
+            {
+                v_Data = this.ldap.toObject(v_LdapEntry ,v_Entry ,this.ldap.getSearchAttributes(null));
+            }
+        }
+        catch (Exception exce)
+        {
+            exce.printStackTrace();
+        }
+
+        String v_Key         = LDAP.toLookupKey(v_Entry.getDn());
+        String v_PreviousKey = v_PreviousDn == null ? null : LDAP.toLookupKey(v_PreviousDn);
+
+        for (Registration v_Registration : this.registrations)
+        {
+            if ( v_Registration.isContains(v_Key) || (v_PreviousKey != null && v_Registration.isContains(v_PreviousKey)) )
+            {
+                try
+                {
+                    v_Registration.listener.onChange(v_ChangeType
+                                                    ,v_Entry.getDn().getName()
+                                                    ,v_PreviousDn == null ? null : v_PreviousDn.getName()
+                                                    ,v_Data);
+                }
+                catch (Exception exce)
+                {
+                    exce.printStackTrace();
+                }
+            }
+        }
+    }
+
+
+
+    /**
+     * 从条目缓存、查询结果缓存中移除变更的条目及受影响的查询结果
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_Dn          条目标识。重命名或移动时，新DN下之前缓存的不存在的子及子子条目也不再准确，所以也按子树移除
+     * @param i_PreviousDn  重命名或移动前的条目标识。其下的子及子子条目也随之变更，所以按子树移除
+     */
+    private void invalidate(Dn i_Dn ,Dn i_PreviousDn)
+    {
+        LdapEntryCache  v_EntryCache  = this.ldap.getEntryCache();
+        LdapSearchCache v_SearchCache = this.ldap.getSearchCache();
+
+        if ( v_EntryCache != null )
+        {
+            if ( i_PreviousDn != null )
+            {
+                v_EntryCache.removeTree(i_Dn.getName());
+                v_EntryCache.removeTree(i_PreviousDn.getName());
+            }
+            else
+            {
+                v_EntryCache.remove(i_Dn);
+            }
+        }
+
+        if ( v_SearchCache != null )
+        {
+            if ( i_PreviousDn != null )
+            {
+                v_SearchCache.removeTree(i_Dn.getName());
+                v_SearchCache.removeTree(i_PreviousDn.getName());
+            }
+            else
+            {
+                v_SearchCache.remove(i_Dn);
+            }
+        }
+    }
+
+
+
+    /**
+     * 重新建立持久查询后，清空所有缓存，并触发所有监听器的 onReset() 方法
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     */
+    private void reset()
+    {
+        LdapEntryCache  v_EntryCache  = this.ldap.getEntryCache();
+        LdapSearchCache v_SearchCache = this.ldap.getSearchCache();
+
+        this.resetCount++;
+
+        if ( v_EntryCache != null )
+        {
+            v_EntryCache.clear();
+        }
+        if ( v_SearchCache != null )
+        {
+            v_SearchCache.clear();
+        }
+
+        for (Registration v_Registration : this.registrations)
+        {
+            try
+            {
+                v_Registration.listener.onReset();
+            }
+            catch (Exception exce)
+            {
+                exce.printStackTrace();
+            }
+        }
+    }
+
+
+
+    /**
+     * 获取：监视的Base DN
+     */
+    public String getBaseDN()
+    {
+        return baseDN;
+    }
+
+
+
+    /**
+     * 获取：是否正在监视
+     */
+    public boolean isRunning()
+    {
+        return running;
+    }
+
+
+
+    /**
+     * 获取：收到的变更通知的数量
+     */
+    public long getChangeCount()
+    {
+        return changeCount;
+    }
+
+
+
+    /**
+     * 获取：重新建立持久查询的次数
+     */
+    public long getResetCount()
+    {
+        return resetCount;
+    }
+
+
+
+    /**
+     * 获取：重新建立持久查询的间隔时长（单位：毫秒）
+     */
+    public long getRetryInterval()
+    {
+        return retryInterval;
+    }
+
+
+
+    /**
+     * 设置：重新建立持久查询的间隔时长（单位：毫秒）
+     *
+     * @param retryInterval
+     */
+    public void setRetryInterval(long retryInterval)
+    {
+        this.retryInterval = retryInterval;
+    }
+
+
+
+
+
+    /** 监听器注册的子树 */
+    private static final class Registration
+    {
+        /** 子树的根条目的键值 */
+        private final String             key;
+
+        private final LdapChangeListener listener;
+
+        private Registration(String i_Key ,LdapChangeListener i_Listener)
+        {
+            this.key      = i_Key;
+            this.listener = i_Listener;
+        }
+
+        /**
+         * 条目是否在子树内
+         *
+         * @param i_Key  条目标识的键值
+         */
+        private boolean isContains(String i_Key)
+        {
+            return this.key.isEmpty() || this.key.equals(i_Key) || i_Key.endsWith("," + this.key);
+        }
+    }
+
+}
@@ -0,0 +1,188 @@
+package org.hy.common.ldap;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.hy.common.ldap.annotation.LdapSnapshot;
+
+
+
+
+
+/**
+ * Java值对象的变更跟踪器。记录从LDAP服务中查询出的Java值对象的属性值的快照。
+ *
+ * 修改条目时，与快照对比得出修改动作，不用再从LDAP服务中查询旧值。
+ *
+ * 按Java值对象的内存地址（而不是equals()方法）识别同一个对象，修改Java值对象的属性值不影响识别。
+ * 只弱引用Java值对象，Java值对象被垃圾回收后，其快照也随之移除。
+ *
+ * 注：线程安全。
+ *
+ * @author      ZhengWei(HY)
+ * @createDate  2026-10-16
+ * @version     v1.0
+ */
+public class LdapChangeTracker
+{
+
+    /** Java值对象及其快照 */
+    private final Map<Key ,LdapSnapshot>  snapshots;
+
+    /** 已被垃圾回收的Java值对象的弱引用 */
+    private final ReferenceQueue<Object>  queue;
+
+
+
+    public LdapChangeTracker()
+    {
+        this.snapshots = new ConcurrentHashMap<Key ,LdapSnapshot>();
+        this.queue     = new ReferenceQueue<Object>();
+    }
+
+
+
+    /**
+     * 记录Java值对象的快照
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_Values    Java值对象
+     * @param i_Snapshot  快照
+     */
+    public void put(Object i_Values ,LdapSnapshot i_Snapshot)
+    {
+        this.expunge();
+        this.snapshots.put(new Key(i_Values ,this.queue) ,i_Snapshot);
+    }
+
+
+
+    /**
+     * 获取Java值对象的快照
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_Values  Java值对象
+     * @return          未被跟踪时，返回NULL
+     */
+    public LdapSnapshot get(Object i_Values)
+    {
+        this.expunge();
+        return this.snapshots.get(new Key(i_Values ,null));
+    }
+
+
+
+    /**
+     * 不再跟踪Java值对象
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_Values  Java值对象
+     * @return          原快照
+     */
+    public LdapSnapshot remove(Object i_Values)
+    {
+        this.expunge();
+        return this.snapshots.remove(new Key(i_Values ,null));
+    }
+
+
+
+    /**
+     * 获取被跟踪的Java值对象的数量
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @return
+     */
+    public int size()
+    {
+        this.expunge();
+        return this.snapshots.size();
+    }
+
+
+
+    /**
+     * 不再跟踪所有的Java值对象
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     */
+    public void clear()
+    {
+        this.snapshots.clear();
+        this.expunge();
+    }
+
+
+
+    /**
+     * 移除已被垃圾回收的Java值对象的快照
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     */
+    private void expunge()
+    {
+        Reference<?> v_Ref = null;
+        while ( (v_Ref = this.queue.poll()) != null )
+        {
+            this.snapshots.remove(v_Ref);
+        }
+    }
+
+
+
+
+
+    /** 按内存地址识别Java值对象的弱引用 */
+    private static final class Key extends WeakReference<Object>
+    {
+        private final int hash;
+
+        private Key(Object i_Values ,ReferenceQueue<Object> i_Queue)
+        {
+            super(i_Values ,i_Queue);
+            this.hash = System.identityHashCode(i_Values);
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return this.hash;
+        }
+
+        @Override
+        public boolean equals(Object i_Other)
+        {
+            if ( this == i_Other )
+            {
+                return true;
+            }
+            else if ( !(i_Other instanceof Key) )
+            {
+                return false;
+            }
+
+            Object v_Values = this.get();
+            return v_Values != null && v_Values == ((Key)i_Other).get();
+        }
+    }
+
+}
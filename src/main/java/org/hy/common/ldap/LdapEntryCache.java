@@ -0,0 +1,666 @@
+package org.hy.common.ldap;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+import org.apache.directory.api.ldap.model.entry.Entry;
+import org.apache.directory.api.ldap.model.name.Dn;
+
+
+
+
+
+/**
+ * 条目缓存。按DN缓存从LDAP服务中查询出的条目（未翻译为Java值对象的），供按DN的查询（如，queryEntry()、isExists()）直接使用。
+ *
+ * 同时以较短的存活时长（missingTimeToLive）缓存不存在的DN（LDAP服务应答为 NO_SUCH_OBJECT 的），
+ * 反复查询不存在的DN时（如，批量同步前探测条目是否存在），不再每次都访问LDAP服务。
+ *
+ * 每次命中时，都由"条目翻译官"重新翻译为新的Java值对象，调用者修改Java值对象不影响缓存。
+ *
+ *   1. 按规范化的DN识别条目：属性名称不区分大小写、属性值不区分大小写、忽略多余的空格。
+ *   2. 按条目数量限定缓存的大小（maxSize），超出时淘汰最近最少使用的条目（LRU）。
+ *   3. 条目放入缓存超过存活时长（timeToLive）后过期，再次查询时从LDAP服务中获取。
+ *   4. 通过同一 LDAP 对象的写操作（添加、修改、删除），均将移除相关的条目及不存在的DN。
+ *
+ * 注1：其它客户端或其它 LDAP 对象对LDAP服务的修改，在条目过期前不可见。应按可接受的陈旧程度设置存活时长。
+ * 注2：查询的同时发生了写操作时，查询出的条目不再放入缓存（见 getVersion()），防止写操作之前的旧条目被放入缓存。
+ * 注3：线程安全。
+ *
+ * @author      ZhengWei(HY)
+ * @createDate  2026-10-16
+ * @version     v1.0
+ *              v2.0  2026-10-16  添加：缓存不存在的DN（否定缓存）。
+ */
+public class LdapEntryCache
+{
+
+    /** 默认的最大条目数量 */
+    public static final int  $DefaultMaxSize           = 10000;
+
+    /** 默认的存活时长（单位：毫秒） */
+    public static final long $DefaultTimeToLive        = 60L * 1000L;
+
+    /** 默认的不存在的DN的存活时长（单位：毫秒） */
+    public static final long $DefaultMissingTimeToLive = 5L * 1000L;
+
+
+
+    /** 缓存的条目。按访问顺序排序，最先的为最近最少使用的 */
+    private final LinkedHashMap<String ,Item> items;
+
+    /** 最大条目数量 */
+    private int                               maxSize;
+
+    /** 条目的存活时长（单位：毫秒）。小于等于0时，永不过期 */
+    private long                              timeToLive;
+
+    /** 不存在的DN及其过期时间。按访问顺序排序，最先的为最近最少使用的。最大数量同 maxSize */
+    private final LinkedHashMap<String ,Long> missings;
+
+    /** 不存在的DN的存活时长（单位：毫秒）。小于等于0时，不缓存不存在的DN */
+    private long                              missingTimeToLive;
+
+    /** 写操作的版本号。每次移除条目时递增 */
+    private long                              version;
+
+    /** 命中次数 */
+    private long                              hitCount;
+
+    /** 未命中次数 */
+    private long                              missCount;
+
+    /** 命中不存在的DN的次数 */
+    private long                              missingHitCount;
+
+    /** 因超出最大条目数量、或过期而被淘汰的条目数量 */
+    private long                              evictionCount;
+
+
+
+    public LdapEntryCache()
+    {
+        this($DefaultMaxSize ,$DefaultTimeToLive);
+    }
+
+
+
+    /**
+     * 构造器
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_MaxSize     最大条目数量
+     * @param i_TimeToLive  条目的存活时长（单位：毫秒）。小于等于0时，永不过期
+     */
+    public LdapEntryCache(int i_MaxSize ,long i_TimeToLive)
+    {
+        this.items             = new LinkedHashMap<String ,Item>(16 ,0.75f ,true);
+        this.missings          = new LinkedHashMap<String ,Long>(16 ,0.75f ,true);
+        this.maxSize           = i_MaxSize;
+        this.timeToLive        = i_TimeToLive;
+        this.missingTimeToLive = $DefaultMissingTimeToLive;
+    }
+
+
+
+    /**
+     * 获取缓存的条目
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_DN  条目标识
+     * @return      未缓存、已过期或非法的DN时，返回NULL
+     */
+    public Entry get(String i_DN)
+    {
+        try
+        {
+            return this.get(new Dn(i_DN));
+        }
+        catch (Exception exce)
+        {
+            return null;
+        }
+    }
+
+
+
+    /**
+     * 获取缓存的条目
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_Dn  条目标识
+     * @return      未缓存或已过期时，返回NULL
+     */
+    public synchronized Entry get(Dn i_Dn)
+    {
+        String v_Key  = LDAP.toLookupKey(i_Dn);
+        Item   v_Item = this.items.get(v_Key);
+
+        if ( v_Item != null && v_Item.expireTime > 0L && v_Item.expireTime <= System.currentTimeMillis() )
+        {
+            this.items.remove(v_Key);
+            this.evictionCount++;
+            v_Item = null;
+        }
+
+        if ( v_Item == null )
+        {
+            this.missCount++;
+            return null;
+        }
+
+        this.hitCount++;
+        return v_Item.entry;
+    }
+
+
+
+    /**
+     * 是否为已缓存的不存在的DN
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_DN  条目标识
+     * @return      非法的DN时，返回false
+     */
+    public boolean isMissing(String i_DN)
+    {
+        try
+        {
+            return this.isMissing(new Dn(i_DN));
+        }
+        catch (Exception exce)
+        {
+            return false;
+        }
+    }
+
+
+
+    /**
+     * 是否为已缓存的不存在的DN
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_Dn  条目标识
+     * @return
+     */
+    public synchronized boolean isMissing(Dn i_Dn)
+    {
+        if ( this.missings.isEmpty() )
+        {
+            return false;
+        }
+
+        String v_Key        = LDAP.toLookupKey(i_Dn);
+        Long   v_ExpireTime = this.missings.get(v_Key);
+
+        if ( v_ExpireTime == null )
+        {
+            return false;
+        }
+        else if ( v_ExpireTime.longValue() <= System.currentTimeMillis() )
+        {
+            this.missings.remove(v_Key);
+            this.evictionCount++;
+            return false;
+        }
+
+        this.missingHitCount++;
+        return true;
+    }
+
+
+
+    /**
+     * 缓存不存在的DN。只应在LDAP服务应答为 NO_SUCH_OBJECT 时调用
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_DN       条目标识
+     * @param i_Version  查询前的写操作的版本号。期间发生了写操作时（版本号已变化），不放入缓存
+     * @return           是否放入了缓存
+     */
+    public boolean putMissing(String i_DN ,long i_Version)
+    {
+        try
+        {
+            return this.putMissing(new Dn(i_DN) ,i_Version);
+        }
+        catch (Exception exce)
+        {
+            return false;
+        }
+    }
+
+
+
+    /**
+     * 缓存不存在的DN。只应在LDAP服务应答为 NO_SUCH_OBJECT 时调用
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_Dn       条目标识
+     * @param i_Version  查询前的写操作的版本号。期间发生了写操作时（版本号已变化），不放入缓存
+     * @return           是否放入了缓存
+     */
+    public synchronized boolean putMissing(Dn i_Dn ,long i_Version)
+    {
+        if ( i_Dn == null || i_Version != this.version || this.maxSize <= 0 || this.missingTimeToLive <= 0L )
+        {
+            return false;
+        }
+
+        this.missings.put(LDAP.toLookupKey(i_Dn) ,System.currentTimeMillis() + this.missingTimeToLive);
+
+        Iterator<Long> v_Iter = this.missings.values().iterator();
+        while ( this.missings.size() > this.maxSize && v_Iter.hasNext() )
+        {
+            v_Iter.next();
+            v_Iter.remove();
+            this.evictionCount++;
+        }
+
+        return true;
+    }
+
+
+
+    /**
+     * 获取写操作的版本号。
+     *
+     * 应在向LDAP服务发送查询请求前获取，并在放入缓存时传入 put()、putMissing() 方法。
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @return
+     */
+    public synchronized long getVersion()
+    {
+        return this.version;
+    }
+
+
+
+    /**
+     * 放入缓存
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_Entry    条目
+     * @param i_Version  查询前的写操作的版本号。期间发生了写操作时（版本号已变化），不放入缓存
+     * @return           是否放入了缓存
+     */
+    public synchronized boolean put(Entry i_Entry ,long i_Version)
+    {
+        if ( i_Entry == null || i_Entry.getDn() == null || i_Version != this.version || this.maxSize <= 0 )
+        {
+            return false;
+        }
+
+        this.items.put(LDAP.toLookupKey(i_Entry.getDn()) ,new Item(i_Entry ,this.timeToLive > 0L ? System.currentTimeMillis() + this.timeToLive : 0L));
+
+        Iterator<Item> v_Iter = this.items.values().iterator();
+        while ( this.items.size() > this.maxSize && v_Iter.hasNext() )
+        {
+            v_Iter.next();
+            v_Iter.remove();
+            this.evictionCount++;
+        }
+
+        return true;
+    }
+
+
+
+    /**
+     * 移除条目。条目被添加、修改、删除后调用
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_DN  条目标识。非法的DN时，移除所有的条目
+     */
+    public void remove(String i_DN)
+    {
+        try
+        {
+            this.remove(new Dn(i_DN));
+        }
+        catch (Exception exce)
+        {
+            this.clear();
+        }
+    }
+
+
+
+    /**
+     * 移除条目。条目被添加、修改、删除后调用
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_Dn  条目标识
+     */
+    public synchronized void remove(Dn i_Dn)
+    {
+        String v_Key = LDAP.toLookupKey(i_Dn);
+
+        this.version++;
+        this.items.remove(v_Key);
+        this.missings.remove(v_Key);
+    }
+
+
+
+    /**
+     * 移除条目及其所有的子及子子条目，及此条目树下的不存在的DN。条目树被删除、或被移动后调用
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_DN  条目标识。非法的DN时，移除所有的条目
+     */
+    public synchronized void removeTree(String i_DN)
+    {
+        String v_Key = null;
+        try
+        {
+            v_Key = LDAP.toLookupKey(new Dn(i_DN));
+        }
+        catch (Exception exce)
+        {
+            this.clear();
+            return;
+        }
+
+        this.version++;
+        for (Iterator<String> v_Iter = this.items.keySet().iterator(); v_Iter.hasNext();)
+        {
+            String v_ItemKey = v_Iter.next();
+            if ( v_ItemKey.equals(v_Key) || v_ItemKey.endsWith("," + v_Key) )
+            {
+                v_Iter.remove();
+            }
+        }
+
+        // 条目树被移动到此DN下时，之前缓存的不存在的DN已不再准确
+        for (Iterator<String> v_Iter = this.missings.keySet().iterator(); v_Iter.hasNext();)
+        {
+            String v_MissingKey = v_Iter.next();
+            if ( v_MissingKey.equals(v_Key) || v_MissingKey.endsWith("," + v_Key) )
+            {
+                v_Iter.remove();
+            }
+        }
+    }
+
+
+
+    /**
+     * 移除所有的条目
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     */
+    public synchronized void clear()
+    {
+        this.version++;
+        this.items.clear();
+        this.missings.clear();
+    }
+
+
+
+    /**
+     * 获取缓存的条目数量（含已过期、还未被淘汰的）
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @return
+     */
+    public synchronized int size()
+    {
+        return this.items.size();
+    }
+
+
+
+    /**
+     * 获取缓存的不存在的DN的数量（含已过期、还未被淘汰的）
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @return
+     */
+    public synchronized int getMissingSize()
+    {
+        return this.missings.size();
+    }
+
+
+
+    /**
+     * 获取命中率（不含命中不存在的DN）。还未查询过时为0
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @return  0.0 ~ 1.0
+     */
+    public synchronized double getHitRate()
+    {
+        long v_Total = this.hitCount + this.missCount;
+        return v_Total <= 0L ? 0D : (double)this.hitCount / v_Total;
+    }
+
+
+
+    /**
+     * 清零命中、未命中、淘汰的统计数据
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     */
+    public synchronized void resetStatistics()
+    {
+        this.hitCount        = 0L;
+        this.missCount       = 0L;
+        this.missingHitCount = 0L;
+        this.evictionCount   = 0L;
+    }
+
+
+
+    /**
+     * 获取：命中次数
+     */
+    public synchronized long getHitCount()
+    {
+        return hitCount;
+    }
+
+
+
+    /**
+     * 获取：未命中次数
+     */
+    public synchronized long getMissCount()
+    {
+        return missCount;
+    }
+
+
+
+    /**
+     * 获取：命中不存在的DN的次数
+     */
+    public synchronized long getMissingHitCount()
+    {
+        return missingHitCount;
+    }
+
+
+
+    /**
+     * 获取：因超出最大条目数量、或过期而被淘汰的条目数量
+     */
+    public synchronized long getEvictionCount()
+    {
+        return evictionCount;
+    }
+
+
+
+    /**
+     * 获取：最大条目数量
+     */
+    public synchronized int getMaxSize()
+    {
+        return maxSize;
+    }
+
+
+
+    /**
+     * 设置：最大条目数量（不存在的DN的最大数量与之相同）。小于等于0时，不再缓存
+     *
+     * @param maxSize
+     */
+    public synchronized void setMaxSize(int maxSize)
+    {
+        this.maxSize = maxSize;
+
+        Iterator<Item> v_Iter = this.items.values().iterator();
+        while ( this.items.size() > Math.max(this.maxSize ,0) && v_Iter.hasNext() )
+        {
+            v_Iter.next();
+            v_Iter.remove();
+            this.evictionCount++;
+        }
+
+        Iterator<Long> v_MissingIter = this.missings.values().iterator();
+        while ( this.missings.size() > Math.max(this.maxSize ,0) && v_MissingIter.hasNext() )
+        {
+            v_MissingIter.next();
+            v_MissingIter.remove();
+            this.evictionCount++;
+        }
+    }
+
+
+
+    /**
+     * 获取：条目的存活时长（单位：毫秒）。小于等于0时，永不过期
+     */
+    public synchronized long getTimeToLive()
+    {
+        return timeToLive;
+    }
+
+
+
+    /**
+     * 设置：条目的存活时长（单位：毫秒）。小于等于0时，永不过期。只对之后放入缓存的条目有效
+     *
+     * @param timeToLive
+     */
+    public synchronized void setTimeToLive(long timeToLive)
+    {
+        this.timeToLive = timeToLive;
+    }
+
+
+
+    /**
+     * 获取：不存在的DN的存活时长（单位：毫秒）。小于等于0时，不缓存不存在的DN
+     */
+    public synchronized long getMissingTimeToLive()
+    {
+        return missingTimeToLive;
+    }
+
+
+
+    /**
+     * 设置：不存在的DN的存活时长（单位：毫秒）。小于等于0时，不缓存不存在的DN。
+     *
+     * 应远小于 timeToLive ：其它客户端添加的条目，在此时长内仍被认为不存在。
+     *
+     * @param missingTimeToLive
+     */
+    public synchronized void setMissingTimeToLive(long missingTimeToLive)
+    {
+        this.missingTimeToLive = missingTimeToLive;
+
+        if ( missingTimeToLive <= 0L )
+        {
+            this.missings.clear();
+        }
+    }
+
+
+
+    @Override
+    public synchronized String toString()
+    {
+        return "size=" + this.items.size()
+             + " hits=" + this.hitCount
+             + " misses=" + this.missCount
+             + " missingHits=" + this.missingHitCount
+             + " evictions=" + this.evictionCount
+             + " hitRate=" + String.format("%.2f" ,this.getHitRate());
+    }
+
+
+
+
+
+    /** 缓存的条目 */
+    private static final class Item
+    {
+        private final Entry entry;
+
+        /** 过期时间。为0时，永不过期 */
+        private final long  expireTime;
+
+        private Item(Entry i_Entry ,long i_ExpireTime)
+        {
+            this.entry      = i_Entry;
+            this.expireTime = i_ExpireTime;
+        }
+    }
+
+}
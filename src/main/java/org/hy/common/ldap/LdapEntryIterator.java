@@ -0,0 +1,347 @@
+package org.hy.common.ldap;
+
+import java.io.Closeable;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.apache.directory.api.ldap.model.cursor.SearchCursor;
+import org.apache.directory.api.ldap.model.entry.Entry;
+import org.apache.directory.api.ldap.model.exception.LdapException;
+import org.apache.directory.api.ldap.model.message.SearchRequest;
+import org.apache.directory.api.ldap.model.message.SearchResultDone;
+import org.apache.directory.api.ldap.model.message.SearchScope;
+import org.apache.directory.api.ldap.model.message.controls.PagedResults;
+import org.apache.directory.api.ldap.model.message.controls.PagedResultsImpl;
+import org.apache.directory.ldap.client.api.LdapConnection;
+import org.hy.common.ldap.annotation.LdapEntry;
+
+
+
+
+
+/**
+ * LDAP查询结果的迭代器（懒加载）。
+ *
+ * 只在迭代到某一条目时，才通过"条目翻译官"将其翻译为Java值对象，内存中不保存整个查询结果。
+ *
+ * 注1：迭代期间独占一个连接池中的连接。迭代完成或调用 close() 方法时，自动关闭游标并释放连接。
+ *      未迭代完成时，请务必调用 close() 方法（推荐用 try-with-resources 语法）。
+ * 注2：当 LDAP.getPageSize() 大于0时，按 Simple Paged Results 控制（RFC 2696）分页查询，
+ *      一页迭代完成后，才查询下一页。
+ * 注3：非线程安全。
+ *
+ * @author      ZhengWei(HY)
+ * @createDate  2026-10-16
+ * @version     v1.0
+ *
+ * @param <T>   用 @Ldap 注解的Java值对象的类型
+ */
+public class LdapEntryIterator<T> implements Iterator<T> ,Closeable
+{
+
+    /** LDAP目录服务的操作类。用于释放连接 */
+    private final LDAP        ldap;
+
+    /** 父节点标识 */
+    private final String      baseDN;
+
+    /** 过滤条件 */
+    private final String      filter;
+
+    /** 查询范围 */
+    private final SearchScope searchScope;
+
+    /** 要求LDAP服务返回的属性名称（属性投影） */
+    private final String []   attributes;
+
+    /** 每页的条目数量。小于等于0时，不分页 */
+    private final int         pageSize;
+
+    /** 独占的连接 */
+    private LdapConnection    conn;
+
+    /** 当前页的游标 */
+    private SearchCursor      cursor;
+
+    /** 服务端返回的分页Cookie */
+    private byte []           cookie;
+
+    /** 预读取的下一个Java值对象 */
+    private T                 nextData;
+
+    /** 是否已关闭 */
+    private boolean           isClosed;
+
+
+
+    /**
+     * 空的迭代器。用于异常的情况
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_LDAP  LDAP目录服务的操作类
+     */
+    LdapEntryIterator(LDAP i_LDAP)
+    {
+        this.ldap        = i_LDAP;
+        this.baseDN      = null;
+        this.filter      = null;
+        this.searchScope = null;
+        this.attributes  = null;
+        this.pageSize    = 0;
+        this.isClosed    = true;
+    }
+
+
+
+    /**
+     * 构造器。构造时即获取连接并发起（第一页的）查询
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_LDAP         LDAP目录服务的操作类
+     * @param i_BaseDN       父节点标识
+     * @param i_Filter       过滤条件
+     * @param i_SearchScope  查询范围
+     * @param i_Attributes   要求LDAP服务返回的属性名称（属性投影）。空数组时返回所有属性
+     * @param i_PageSize     每页的条目数量。小于等于0时，不分页
+     * @throws LdapException
+     */
+    LdapEntryIterator(LDAP i_LDAP ,String i_BaseDN ,String i_Filter ,SearchScope i_SearchScope ,String [] i_Attributes ,int i_PageSize) throws LdapException
+    {
+        this.ldap        = i_LDAP;
+        this.baseDN      = i_BaseDN;
+        this.filter      = i_Filter;
+        this.searchScope = i_SearchScope;
+        this.attributes  = i_Attributes;
+        this.pageSize    = i_PageSize;
+        this.isClosed    = false;
+
+        try
+        {
+            this.conn = this.ldap.getConnection();
+            this.searchPage();
+        }
+        catch (LdapException exce)
+        {
+            this.close();
+            throw exce;
+        }
+    }
+
+
+
+    /**
+     * 发起一页的查询
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @throws LdapException
+     */
+    private void searchPage() throws LdapException
+    {
+        SearchRequest v_Request = this.ldap.newSearchRequest(this.baseDN ,this.filter ,this.searchScope ,this.attributes);
+
+        if ( this.pageSize > 0 )
+        {
+            PagedResults v_Paged = new PagedResultsImpl();
+            v_Paged.setSize(  this.pageSize);
+            v_Paged.setCookie(this.cookie);
+            v_Request.addControl(v_Paged);
+        }
+
+        this.cursor = this.conn.search(v_Request);
+    }
+
+
+
+    /**
+     * 预读取下一个Java值对象。游标中未能翻译的条目（无"条目翻译官"的）将被跳过。
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @return  没有更多的条目时返回false
+     */
+    @SuppressWarnings("unchecked")
+    private boolean fetch()
+    {
+        try
+        {
+            while ( true )
+            {
+                while ( this.cursor.next() )
+                {
+                    if ( !this.cursor.isEntry() )
+                    {
+                        continue;
+                    }
+
+                    Entry     v_Entry     = this.cursor.getEntry();
+                    LdapEntry v_LdapEntry = LDAP.getLdapEntry(v_Entry);
+
+                    if ( v_LdapEntry != null )
+                    {
+                        this.nextData = (T)this.ldap.toObject(v_LdapEntry ,v_Entry ,this.attributes);
+                        if ( this.nextData != null )
+                        {
+                            return true;
+                        }
+                    }
+                }
+
+                SearchResultDone v_Done = this.cursor.getSearchResultDone();
+                LDAP.closeCursor(this.cursor);
+                this.cursor = null;
+                this.cookie = null;
+
+                if ( !LDAP.isSuccess(v_Done) )
+                {
+                    break;
+                }
+
+                if ( this.pageSize > 0 )
+                {
+                    PagedResults v_PagedDone = (PagedResults)v_Done.getControl(PagedResults.OID);
+                    if ( v_PagedDone != null )
+                    {
+                        this.cookie = v_PagedDone.getCookie();
+                    }
+                }
+
+                if ( this.cookie == null || this.cookie.length <= 0 )
+                {
+                    break;
+                }
+
+                this.searchPage();
+            }
+        }
+        catch (Exception exce)
+        {
+            exce.printStackTrace();
+        }
+
+        // 迭代完成或异常时，自动释放连接
+        this.close();
+        return false;
+    }
+
+
+
+    /**
+     * 是否还有下一个Java值对象
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @return
+     */
+    @Override
+    public boolean hasNext()
+    {
+        if ( this.nextData != null )
+        {
+            return true;
+        }
+
+        if ( this.isClosed )
+        {
+            return false;
+        }
+
+        return this.fetch();
+    }
+
+
+
+    /**
+     * 获取下一个Java值对象。此时才翻译条目
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @return
+     */
+    @Override
+    public T next()
+    {
+        if ( !this.hasNext() )
+        {
+            throw new NoSuchElementException();
+        }
+
+        T v_Ret = this.nextData;
+        this.nextData = null;
+        return v_Ret;
+    }
+
+
+
+    /**
+     * 转为Stream流。流关闭时，本迭代器也将关闭。
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @return
+     */
+    public Stream<T> stream()
+    {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this ,Spliterator.ORDERED | Spliterator.NONNULL) ,false).onClose(this::close);
+    }
+
+
+
+    /**
+     * 关闭游标并释放连接。可重复调用。
+     *
+     * 未迭代完成时关闭，将放弃（Abandon）服务端正在执行的查询。
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     */
+    @Override
+    public void close()
+    {
+        if ( this.isClosed && this.conn == null )
+        {
+            return;
+        }
+
+        this.isClosed = true;
+        this.nextData = null;
+
+        LDAP.closeCursor(this.cursor);
+        this.cursor = null;
+
+        this.ldap.closeConnection(this.conn);
+        this.conn = null;
+    }
+
+
+
+    /**
+     * 是否已关闭
+     */
+    public boolean isClosed()
+    {
+        return this.isClosed;
+    }
+
+}
@@ -0,0 +1,175 @@
+package org.hy.common.ldap;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.directory.api.ldap.model.filter.FilterEncoder;
+
+
+
+
+
+/**
+ * 参数化的查询过滤条件模板。
+ *
+ * 模板中用 {0}、{1} ... {n} 表示参数的占位符，如，(&(uid={0})(userPassword={1}))。
+ * 构造时即编译模板（拆分出固定不变的部分及参数下标），每次查询只须填充参数值，无须通过Java对象的反射生成过滤条件。
+ *
+ * 参数值按 RFC 4515 转义（如，* ( ) \ 等特殊字符），防止LDAP注入。所以参数值不能用于模糊匹配，
+ * 模糊匹配的 * 号请直接写在模板中，如，(cn={0}*)。
+ *
+ * 注：线程安全。编译后不可变，可定义为静态常量后复用。
+ *
+ * @author      ZhengWei(HY)
+ * @createDate  2026-10-16
+ * @version     v1.0
+ */
+public class LdapFilterTemplate
+{
+
+    /** 原始的模板文本 */
+    private final String    template;
+
+    /** 模板中固定不变的部分。比参数下标多一个元素 */
+    private final String [] parts;
+
+    /** 每个占位符对应的参数下标 */
+    private final int    [] paramIndexes;
+
+    /** 参数的个数。即最大参数下标 + 1 */
+    private final int       paramCount;
+
+
+
+    /**
+     * 构造器，并编译模板
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_Template  过滤条件的模板。如，(&(uid={0})(userPassword={1}))
+     */
+    public LdapFilterTemplate(String i_Template)
+    {
+        if ( i_Template == null )
+        {
+            throw new NullPointerException("Filter template is null.");
+        }
+
+        List<String>  v_Parts        = new ArrayList<String>();
+        List<Integer> v_ParamIndexes = new ArrayList<Integer>();
+        int           v_ParamCount   = 0;
+        int           v_Start        = 0;
+        int           v_Index        = i_Template.indexOf('{');
+
+        while ( v_Index >= 0 )
+        {
+            int v_End = i_Template.indexOf('}' ,v_Index + 1);
+            if ( v_End < 0 )
+            {
+                break;
+            }
+
+            String v_Name = i_Template.substring(v_Index + 1 ,v_End).trim();
+            int    v_ParamIndex;
+            try
+            {
+                v_ParamIndex = Integer.parseInt(v_Name);
+            }
+            catch (NumberFormatException exce)
+            {
+                throw new IllegalArgumentException("Filter template[" + i_Template + "] has invalid placeholder {" + v_Name + "}.");
+            }
+
+            if ( v_ParamIndex < 0 )
+            {
+                throw new IllegalArgumentException("Filter template[" + i_Template + "] has invalid placeholder {" + v_Name + "}.");
+            }
+
+            v_Parts       .add(i_Template.substring(v_Start ,v_Index));
+            v_ParamIndexes.add(v_ParamIndex);
+            v_ParamCount = Math.max(v_ParamCount ,v_ParamIndex + 1);
+
+            v_Start = v_End + 1;
+            v_Index = i_Template.indexOf('{' ,v_Start);
+        }
+
+        v_Parts.add(i_Template.substring(v_Start));
+
+        this.template     = i_Template;
+        this.parts        = v_Parts.toArray(new String[v_Parts.size()]);
+        this.paramIndexes = new int[v_ParamIndexes.size()];
+        this.paramCount   = v_ParamCount;
+
+        for (int i=0; i<this.paramIndexes.length; i++)
+        {
+            this.paramIndexes[i] = v_ParamIndexes.get(i);
+        }
+    }
+
+
+
+    /**
+     * 填充参数值，生成过滤条件。参数值将被转义。
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_Params  参数值。按下标对应模板中的占位符。为NULL的参数值按空字符串处理
+     * @return
+     */
+    public String format(Object ... i_Params)
+    {
+        int v_Length = i_Params == null ? 0 : i_Params.length;
+        if ( v_Length < this.paramCount )
+        {
+            throw new IllegalArgumentException("Filter template[" + this.template + "] needs " + this.paramCount + " params, but " + v_Length + ".");
+        }
+
+        StringBuilder v_Filter = new StringBuilder(this.template.length() + 16 * this.paramIndexes.length);
+
+        for (int i=0; i<this.paramIndexes.length; i++)
+        {
+            Object v_Param = i_Params[this.paramIndexes[i]];
+
+            v_Filter.append(this.parts[i]);
+            if ( v_Param != null )
+            {
+                v_Filter.append(FilterEncoder.encodeFilterValue(v_Param.toString()));
+            }
+        }
+
+        return v_Filter.append(this.parts[this.parts.length - 1]).toString();
+    }
+
+
+
+    /**
+     * 获取：原始的模板文本
+     */
+    public String getTemplate()
+    {
+        return template;
+    }
+
+
+
+    /**
+     * 获取：参数的个数。即最大参数下标 + 1
+     */
+    public int getParamCount()
+    {
+        return paramCount;
+    }
+
+
+
+    @Override
+    public String toString()
+    {
+        return this.template;
+    }
+
+}
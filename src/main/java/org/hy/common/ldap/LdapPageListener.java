@@ -0,0 +1,35 @@
+package org.hy.common.ldap;
+
+import java.util.List;
+
+
+
+
+
+/**
+ * LDAP分页查询的监听器。
+ *
+ * 基于 Simple Paged Results 控制（RFC 2696）分页查询时，每查询并翻译完一页数据后触发一次。
+ * 在本方法返回前，不会查询下一页的数据，所以无论目录树多大，内存中只保存一页的数据。
+ *
+ * @author      ZhengWei(HY)
+ * @createDate  2026-10-16
+ * @version     v1.0
+ */
+public interface LdapPageListener
+{
+
+    /**
+     * 每查询到一页数据时触发
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_PageNo  页号。下标从1开始
+     * @param i_Datas   本页的数据。已通过"条目翻译官"翻译为 @Ldap 注解的Java值对象
+     * @return          返回false时，将停止后续页的查询
+     */
+    public boolean onPage(int i_PageNo ,List<?> i_Datas);
+
+}
@@ -0,0 +1,1366 @@
+package org.hy.common.ldap;
+
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TimeZone;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import org.apache.directory.api.ldap.model.entry.Entry;
+import org.apache.directory.api.ldap.model.message.SearchScope;
+import org.apache.directory.api.ldap.model.message.controls.ChangeType;
+import org.apache.directory.api.ldap.model.name.Dn;
+import org.hy.common.Help;
+import org.hy.common.ldap.annotation.LdapEntry;
+import org.hy.common.ldap.annotation.LdapProperty;
+
+
+
+
+
+/**
+ * LDAP子树的本地副本。将一个子树的所有条目一次性地分页查询、翻译为Java值对象后保存在内存中，并按指定的属性建立哈希索引。
+ *
+ * 如，登录时按账号、工号或手机号查询用户（见 JU_DBToLDAP.test_UserLogin），不再每次都向LDAP服务发送子树查询，
+ * 而是按索引在本地查找，只须微秒级的时间。
+ *
+ *   LdapReplica v_Replica = new LdapReplica(v_LDAP ,"ou=users,dc=wwww,dc=com" ,"givenName" ,"employeeNumber" ,"mobile");
+ *   v_Replica.load();
+ *   v_LDAP.setReplica(v_Replica);                             // searchEntrys(Object) 由本地副本应答
+ *   v_Monitor.addListener(v_Replica.getBaseDN() ,v_Replica);  // 增量地应用变更通知（见 LdapChangeMonitor）
+ *
+ * 本地查找的规则与 searchEntrys(Object) 的默认规则相同：不同属性间为'与'关系，同一属性的多个属性值间为'或'关系，精确匹配。
+ * 属性值按LDAP服务常用的相等匹配规则规范化后再比较（见 normalize()），有无索引均相同：
+ *   1. 电话号码类的属性（telephoneNumberMatch），如 telephoneNumber、mobile ，不区分大小写，并忽略空格和连字符。
+ *   2. 密码 userPassword（octetStringMatch），按原样比较。
+ *   3. 其它属性（caseIgnoreMatch、caseIgnoreIA5Match 等），如 uid、cn、mail ，不区分大小写，并忽略首尾的空格、合并连续的空格。
+ *   过滤条件中有多个索引属性时，先按候选条目最少的索引查找，再逐个核对其它属性。没有索引属性时，逐个核对所有条目。
+ *
+ * 增量地保持与LDAP服务一致：
+ *   1. 变更通知：本类实现了 LdapChangeListener ，注册到变更监视器后，添加、修改、删除、重命名均即时应用到本地副本。
+ *      重新建立持久查询后（期间的变更已丢失），本地副本不再应答，直到在后台线程上重新加载整个子树。
+ *   2. 轮询：定时调用 refresh() ，查询上次同步以来 modifyTimestamp 或 createTimestamp 变化了的条目。
+ *      轮询不能发现被删除的条目，应再定期地调用 load() 重新加载。
+ *   3. 本地写操作：设置为 LDAP.setReplica() 的本地副本，通过该 LDAP 对象的添加、修改、删除后，不用等待变更通知或轮询。
+ *      写后的属性值已知时，直接应用到本地副本（见 put()、remove()），不再向LDAP服务查询；
+ *      不能确定写后的属性值时（如，部分属性的修改），在后台线程上重新查询被写的条目（见 reloadLater()），不阻塞写操作的线程。
+ *
+ * 须重新加载整个子树时（如，移动了有子条目的条目、重新建立了持久查询），在后台线程上加载（见 loadLater()），
+ * 不阻塞变更监视器或写操作的线程。
+ *
+ * 注1：本地副本保存的是条目的副本（LDAP条目 Entry），每次查找均翻译出新的Java值对象。修改返回的Java值对象不影响本地副本。
+ * 注2：加载期间，本地副本仍用旧数据应答；加载期间收到的变更，在加载完成后重新应用到新数据上。
+ * 注3：线程安全。
+ * 注4：后台线程为单个守护线程，首次使用时创建，空闲时回收。排队期间的多次重新查询合并为一次。
+ *
+ * @author      ZhengWei(HY)
+ * @createDate  2026-10-16
+ * @version     v1.0
+ */
+public class LdapReplica implements LdapChangeListener
+{
+
+    /** 轮询时，按修改时间查询条目的过滤条件 */
+    private static final LdapFilterTemplate $ModifiedSince       = new LdapFilterTemplate("(|(modifyTimestamp>={0})(createTimestamp>={0}))");
+
+    /** 轮询时，向前多查询的时长（单位：毫秒）。容忍本机与LDAP服务的时钟偏差 */
+    private static final long               $PollOverlap         = 60L * 1000L;
+
+    /** 按原样比较的属性（octetStringMatch）。属性名称为小写 */
+    private static final Set<String>        $ExactAttributes     = new HashSet<String>(Arrays.asList("userpassword"));
+
+    /** 按 telephoneNumberMatch 比较的属性。属性名称为小写 */
+    private static final Set<String>        $TelephoneAttributes = new HashSet<String>(Arrays.asList("telephonenumber" ,"mobile" ,"mobiletelephonenumber" ,"homephone" ,"hometelephonenumber" ,"pager" ,"pagertelephonenumber" ,"facsimiletelephonenumber" ,"fax"));
+
+    /** 电话号码中不参与比较的字符：空格和连字符 */
+    private static final Pattern            $TelephoneIgnores    = Pattern.compile("[\\s\\-]+");
+
+    /** 连续的空格 */
+    private static final Pattern            $Spaces              = Pattern.compile("\\s+");
+
+
+
+    /** LDAP目录服务的操作类 */
+    private final LDAP                                   ldap;
+
+    /** 子树的标识（子树的根条目） */
+    private final String                                 baseDN;
+
+    /** 子树的根条目的键值 */
+    private final String                                 baseKey;
+
+    /** 建立索引的属性名称（小写） */
+    private final Set<String>                            indexAttributes;
+
+    /** 加载的锁。同时只有一个加载 */
+    private final Object                                 loadLock;
+
+    /** 本地副本的条目。Map.key为规范化的DN */
+    private Map<String ,Node>                            entrys;
+
+    /** 索引。Map.key为属性名称（小写），Map.value.key为属性值（小写），Map.value.value为规范化的DN */
+    private Map<String ,Map<String ,Set<String>>>        indexes;
+
+    /** 加载期间收到的变更。不在加载期间时为NULL */
+    private List<Change>                                 pendings;
+
+    /** 是否已加载 */
+    private boolean                                      loaded;
+
+    /** 上次同步的时间（加载或轮询开始的时间） */
+    private long                                         syncTime;
+
+    /** 后台加载、重新查询的执行器。首次使用时创建 */
+    private ThreadPoolExecutor                           background;
+
+    /** 等待在后台重新查询的条目。Map.key为规范化的DN。没有排队的重新查询时为NULL */
+    private Map<String ,String>                          reloadLaters;
+
+    /** 是否有排队的后台加载 */
+    private boolean                                      loadLater;
+
+
+
+    /**
+     * 构造器
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_LDAP             LDAP目录服务的操作类
+     * @param i_BaseDN           子树的标识（子树的根条目）
+     * @param i_IndexAttributes  建立索引的LDAP属性名称（即 @Ldap 注解的属性名称）
+     * @throws IllegalArgumentException  非法的DN时
+     */
+    public LdapReplica(LDAP i_LDAP ,String i_BaseDN ,String ... i_IndexAttributes)
+    {
+        this.ldap            = i_LDAP;
+        this.baseDN          = i_BaseDN;
+        this.indexAttributes = new HashSet<String>();
+        this.loadLock        = new Object();
+        this.entrys          = new HashMap<String ,Node>();
+        this.indexes         = new HashMap<String ,Map<String ,Set<String>>>();
+
+        try
+        {
+            this.baseKey = LDAP.toLookupKey(new Dn(i_BaseDN));
+        }
+        catch (Exception exce)
+        {
+            throw new IllegalArgumentException("Invalid base DN[" + i_BaseDN + "].");
+        }
+
+        if ( i_IndexAttributes != null )
+        {
+            for (String v_Attribute : i_IndexAttributes)
+            {
+                this.indexAttributes.add(v_Attribute.toLowerCase());
+            }
+        }
+    }
+
+
+
+    /**
+     * 分页查询子树的所有条目，重新加载本地副本
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @return  返回加载的条目数量。小于0表示异常，此时仍保留原数据
+     */
+    public int load()
+    {
+        synchronized ( this.loadLock )
+        {
+            Map<String ,Node>                     v_Entrys  = new HashMap<String ,Node>();
+            Map<String ,Map<String ,Set<String>>> v_Indexes = new HashMap<String ,Map<String ,Set<String>>>();
+            long                                  v_Time    = System.currentTimeMillis();
+
+            synchronized ( this )
+            {
+                this.pendings = new ArrayList<Change>();
+            }
+
+            int v_Count = this.ldap.queryEntryTrees(this.baseDN ,(i_PageNo ,i_Datas) ->
+            {
+                for (Object v_Data : i_Datas)
+                {
+                    this.put(v_Entrys ,v_Indexes ,v_Data);
+                }
+                return true;
+            });
+
+            synchronized ( this )
+            {
+                List<Change> v_Pendings = this.pendings;
+                this.pendings = null;
+
+                if ( v_Count < 0 )
+                {
+                    return v_Count;
+                }
+                else if ( v_Pendings == null )
+                {
+                    // 加载期间被置为不一致（见 invalidate()）
+                    return -1;
+                }
+
+                this.entrys   = v_Entrys;
+                this.indexes  = v_Indexes;
+                this.loaded   = true;
+                this.syncTime = v_Time;
+
+                for (Change v_Change : v_Pendings)
+                {
+                    this.apply(v_Change);
+                }
+
+                return this.entrys.size();
+            }
+        }
+    }
+
+
+
+    /**
+     * 轮询：查询上次同步以来 modifyTimestamp 或 createTimestamp 变化了的条目，并应用到本地副本
+     *
+     * 注：不能发现被删除的条目。
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @return  返回变化了的条目数量。还未加载时，先加载，并返回加载的条目数量
+     */
+    public int refresh()
+    {
+        long v_SyncTime;
+
+        synchronized ( this )
+        {
+            v_SyncTime = this.loaded ? this.syncTime : -1L;
+        }
+
+        if ( v_SyncTime < 0L )
+        {
+            return this.load();
+        }
+
+        SimpleDateFormat v_Format = new SimpleDateFormat("yyyyMMddHHmmss'Z'");
+        v_Format.setTimeZone(TimeZone.getTimeZone("UTC"));
+
+        long    v_Time  = System.currentTimeMillis();
+        List<?> v_Datas = this.ldap.searchEntrys(this.baseDN ,$ModifiedSince ,SearchScope.SUBTREE ,v_Format.format(new java.util.Date(v_SyncTime - $PollOverlap)));
+
+        if ( v_Datas == null )
+        {
+            return -1;
+        }
+
+        for (Object v_Data : v_Datas)
+        {
+            this.onChange(ChangeType.MODIFY ,null ,null ,v_Data);
+        }
+
+        synchronized ( this )
+        {
+            this.syncTime = Math.max(this.syncTime ,v_Time);
+        }
+
+        return v_Datas.size();
+    }
+
+
+
+    /**
+     * 应用变更通知
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_ChangeType  变更类型
+     * @param i_DN          条目标识。为NULL时，取 i_Data 的DN
+     * @param i_PreviousDN  重命名或移动前的条目标识
+     * @param i_Data        变更后的Java值对象
+     */
+    @Override
+    public void onChange(ChangeType i_ChangeType ,String i_DN ,String i_PreviousDN ,Object i_Data)
+    {
+        boolean v_IsReload = false;
+
+        try
+        {
+            String v_DN = i_DN;
+            if ( v_DN == null && i_Data != null )
+            {
+                LdapEntry v_LdapEntry = LDAP.getLdapEntry(i_Data.getClass());
+                v_DN = v_LdapEntry == null ? null : v_LdapEntry.getDNValue(i_Data);
+            }
+            if ( v_DN == null )
+            {
+                return;
+            }
+
+            v_IsReload = this.apply(Collections.singletonList(new Change(i_ChangeType
+                                                                        ,LDAP.toLookupKey(new Dn(v_DN))
+                                                                        ,i_PreviousDN == null ? null : LDAP.toLookupKey(new Dn(i_PreviousDN))
+                                                                        ,i_Data)));
+        }
+        catch (Exception exce)
+        {
+            exce.printStackTrace();
+        }
+
+        if ( v_IsReload )
+        {
+            // 子条目的新DN未知，本地副本不再应答，直到在后台重新加载完成
+            this.invalidate();
+            this.loadLater();
+        }
+    }
+
+
+
+    /**
+     * 应用写操作后的条目，不再向LDAP服务查询
+     *
+     * 通过 LDAP 对象的添加、修改后，写后LDAP服务中的属性值已知时，由 LDAP 对象调用（见 LDAP.setReplica()）。
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_Data  添加或修改后的Java值对象，或 Apache LDAP API 的条目对象 Entry 。不在本地副本的子树内的被忽略
+     * @return        没有"条目翻译官"或非法的DN时，返回false。此时应重新查询条目（见 reloadLater()）
+     */
+    public boolean put(Object i_Data)
+    {
+        try
+        {
+            Object v_Data = i_Data;
+            if ( v_Data instanceof Entry )
+            {
+                LdapEntry v_LdapEntry = LDAP.getLdapEntry((Entry)v_Data);
+                v_Data = v_LdapEntry == null ? null : v_LdapEntry.toObject((Entry)v_Data);
+            }
+
+            LdapEntry v_LdapEntry = v_Data == null ? null : LDAP.getLdapEntry(v_Data.getClass());
+            if ( v_LdapEntry == null )
+            {
+                return false;
+            }
+
+            this.apply(Collections.singletonList(new Change(ChangeType.MODIFY ,LDAP.toLookupKey(new Dn(v_LdapEntry.getDNValue(v_Data))) ,null ,v_Data)));
+            return true;
+        }
+        catch (Exception exce)
+        {
+            exce.printStackTrace();
+            return false;
+        }
+    }
+
+
+
+    /**
+     * 从本地副本中移除已删除的条目，不再向LDAP服务查询
+     *
+     * 通过 LDAP 对象的删除后，由 LDAP 对象调用（见 LDAP.setReplica()）。
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_DN  被删除的条目标识。不在本地副本的子树内的被忽略
+     */
+    public void remove(String i_DN)
+    {
+        try
+        {
+            this.apply(Collections.singletonList(new Change(ChangeType.DELETE ,LDAP.toLookupKey(new Dn(i_DN)) ,null ,null)));
+        }
+        catch (Exception exce)
+        {
+            exce.printStackTrace();
+        }
+    }
+
+
+
+    /**
+     * 在后台线程上重新查询条目，并应用到本地副本。不阻塞调用者
+     *
+     * 通过 LDAP 对象的写操作后，不能确定写后的属性值时，由 LDAP 对象调用（见 LDAP.setReplica()）。
+     * 排队期间再次要求重新查询的条目，合并为一次查询（见 reload()）。
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_DNs  被写的条目标识。不在本地副本的子树内的被忽略
+     */
+    public void reloadLater(Collection<String> i_DNs)
+    {
+        boolean v_IsNew = false;
+
+        synchronized ( this )
+        {
+            if ( Help.isNull(i_DNs) || (!this.loaded && this.pendings == null) )
+            {
+                return;
+            }
+
+            if ( this.reloadLaters == null )
+            {
+                this.reloadLaters = new LinkedHashMap<String ,String>();
+                v_IsNew           = true;
+            }
+
+            for (String v_DN : i_DNs)
+            {
+                try
+                {
+                    String v_Key = LDAP.toLookupKey(new Dn(v_DN));
+                    if ( this.isContains(v_Key) )
+                    {
+                        this.reloadLaters.putIfAbsent(v_Key ,v_DN);
+                    }
+                }
+                catch (Exception exce)
+                {
+                    exce.printStackTrace();
+                }
+            }
+
+            if ( v_IsNew && this.reloadLaters.isEmpty() )
+            {
+                this.reloadLaters = null;
+                return;
+            }
+        }
+
+        if ( v_IsNew )
+        {
+            this.getBackground().execute(() ->
+            {
+                Map<String ,String> v_DNs = null;
+                synchronized ( this )
+                {
+                    v_DNs             = this.reloadLaters;
+                    this.reloadLaters = null;
+                }
+
+                this.reload(v_DNs.values());
+            });
+        }
+    }
+
+
+
+    /**
+     * 在后台线程上重新加载本地副本。不阻塞调用者。已在排队的，不再重复加载
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     */
+    public void loadLater()
+    {
+        synchronized ( this )
+        {
+            if ( this.loadLater )
+            {
+                return;
+            }
+            this.loadLater = true;
+        }
+
+        this.getBackground().execute(() ->
+        {
+            synchronized ( this )
+            {
+                this.loadLater = false;
+            }
+
+            this.load();
+        });
+    }
+
+
+
+    /**
+     * 获取后台加载、重新查询的执行器。没有时创建
+     *
+     * 单个守护线程，依次执行。空闲时回收线程，所以无须关闭。
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @return
+     */
+    private synchronized ThreadPoolExecutor getBackground()
+    {
+        if ( this.background == null )
+        {
+            this.background = new ThreadPoolExecutor(1 ,1 ,60L ,TimeUnit.SECONDS ,new LinkedBlockingQueue<Runnable>() ,(i_Runnable) ->
+            {
+                Thread v_Thread = new Thread(i_Runnable ,"LDAP-Replica");
+                v_Thread.setDaemon(true);
+                return v_Thread;
+            });
+            this.background.allowCoreThreadTimeOut(true);
+        }
+
+        return this.background;
+    }
+
+
+
+    /**
+     * 重新查询条目，并应用到本地副本。已被删除的条目，从本地副本中移除
+     *
+     * 在调用者的线程上查询。通过 LDAP 对象的写操作后，在后台线程上调用（见 reloadLater()）。
+     * 查询异常时，本地副本不再应答（isLoaded() 为false），直到重新加载。
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_DNs  被写的条目标识。不在本地副本的子树内的被忽略
+     * @return       返回重新查询的条目数量。未加载时不查询，返回0。小于0表示异常
+     */
+    public int reload(Collection<String> i_DNs)
+    {
+        Map<String ,String> v_DNs = new LinkedHashMap<String ,String>();
+
+        synchronized ( this )
+        {
+            if ( !this.loaded && this.pendings == null )
+            {
+                return 0;
+            }
+        }
+
+        for (String v_DN : i_DNs)
+        {
+            try
+            {
+                String v_Key = LDAP.toLookupKey(new Dn(v_DN));
+                if ( this.isContains(v_Key) )
+                {
+                    v_DNs.putIfAbsent(v_Key ,v_DN);
+                }
+            }
+            catch (Exception exce)
+            {
+                exce.printStackTrace();
+            }
+        }
+
+        if ( v_DNs.isEmpty() )
+        {
+            return 0;
+        }
+
+        Map<String ,Object> v_Datas = this.ldap.queryEntrys(v_DNs.values());
+        if ( v_Datas == null )
+        {
+            this.invalidate();
+            return -1;
+        }
+
+        List<Change> v_Changes = new ArrayList<Change>(v_DNs.size());
+        for (Map.Entry<String ,String> v_Item : v_DNs.entrySet())
+        {
+            Object v_Data = v_Datas.get(v_Item.getValue());
+            v_Changes.add(new Change(v_Data == null ? ChangeType.DELETE : ChangeType.MODIFY ,v_Item.getKey() ,null ,v_Data));
+        }
+
+        if ( this.apply(v_Changes) )
+        {
+            this.invalidate();
+            this.loadLater();
+        }
+        return v_Changes.size();
+    }
+
+
+
+    /**
+     * 重新查询条目及其所有的子及子子条目，替换本地副本中的原条目。如，删除条目树后
+     *
+     * 查询异常时，本地副本不再应答（isLoaded() 为false），直到重新加载。
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_DN  子树的根条目的标识。可以是本地副本的上级条目
+     * @return      返回重新查询的条目数量。与本地副本无关或未加载时不查询，返回0。小于0表示异常
+     */
+    public int reloadTree(String i_DN)
+    {
+        String v_TreeKey = null;
+
+        synchronized ( this )
+        {
+            if ( !this.loaded && this.pendings == null )
+            {
+                return 0;
+            }
+        }
+
+        try
+        {
+            v_TreeKey = LDAP.toLookupKey(new Dn(i_DN));
+        }
+        catch (Exception exce)
+        {
+            exce.printStackTrace();
+            return 0;
+        }
+
+        // 本地副本的上级条目时，只重新查询本地副本的子树
+        String v_QueryDN = null;
+        if ( this.isContains(v_TreeKey) )
+        {
+            v_QueryDN = i_DN;
+        }
+        else if ( v_TreeKey.isEmpty() || this.baseKey.endsWith("," + v_TreeKey) )
+        {
+            v_QueryDN = this.baseDN;
+        }
+        else
+        {
+            return 0;
+        }
+
+        List<Object> v_Datas = new ArrayList<Object>();
+        int          v_Count = this.ldap.queryEntryTrees(v_QueryDN ,(i_PageNo ,i_Page) ->
+        {
+            v_Datas.addAll(i_Page);
+            return true;
+        });
+
+        // 子树的根条目不存在时，也返回小于0
+        if ( v_Count < 0 && this.ldap.isExists(v_QueryDN) )
+        {
+            this.invalidate();
+            return -1;
+        }
+
+        List<Change> v_Changes = new ArrayList<Change>();
+        synchronized ( this )
+        {
+            for (String v_Key : this.entrys.keySet())
+            {
+                if ( v_TreeKey.isEmpty() || v_TreeKey.equals(v_Key) || v_Key.endsWith("," + v_TreeKey) )
+                {
+                    v_Changes.add(new Change(ChangeType.DELETE ,v_Key ,null ,null));
+                }
+            }
+        }
+
+        for (Object v_Data : v_Datas)
+        {
+            try
+            {
+                v_Changes.add(new Change(ChangeType.ADD ,LDAP.toLookupKey(new Dn(LDAP.getLdapEntry(v_Data.getClass()).getDNValue(v_Data))) ,null ,v_Data));
+            }
+            catch (Exception exce)
+            {
+                exce.printStackTrace();
+            }
+        }
+
+        this.apply(v_Changes);
+        return v_Datas.size();
+    }
+
+
+
+    /**
+     * 在一次加锁内应用多个变更。加载期间，同时记录变更，加载完成后重新应用到新数据上
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_Changes  变更
+     * @return           是否须重新加载
+     */
+    private synchronized boolean apply(List<Change> i_Changes)
+    {
+        boolean v_IsReload = false;
+
+        if ( this.pendings != null )
+        {
+            this.pendings.addAll(i_Changes);
+        }
+
+        for (Change v_Change : i_Changes)
+        {
+            v_IsReload = this.apply(v_Change) || v_IsReload;
+        }
+
+        return v_IsReload;
+    }
+
+
+
+    /**
+     * 本地副本与LDAP服务可能不一致，且不能确定哪些条目时，不再应答，直到重新加载
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     */
+    private synchronized void invalidate()
+    {
+        this.loaded = false;
+
+        // 正在加载时，加载的数据也可能是旧的，所以放弃本次加载
+        this.pendings = null;
+    }
+
+
+
+    /**
+     * 重新建立持久查询后，期间的变更已丢失。本地副本不再应答，并在后台线程上重新加载（不阻塞变更监视器的线程）
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     */
+    @Override
+    public void onReset()
+    {
+        this.invalidate();
+        this.loadLater();
+    }
+
+
+
+    /**
+     * 将变更应用到本地副本。调用者须持有本对象的锁
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_Change  变更
+     * @return          是否须重新加载（移动的条目有子条目时，子条目的新DN未知）
+     */
+    private boolean apply(Change i_Change)
+    {
+        boolean v_IsReload = false;
+
+        if ( i_Change.previousKey != null && this.isContains(i_Change.previousKey) )
+        {
+            remove(this.entrys ,this.indexes ,i_Change.previousKey);
+
+            for (Iterator<String> v_Iter = this.entrys.keySet().iterator(); v_Iter.hasNext();)
+            {
+                if ( v_Iter.next().endsWith("," + i_Change.previousKey) )
+                {
+                    v_IsReload = true;
+                    break;
+                }
+            }
+        }
+
+        if ( !this.isContains(i_Change.key) )
+        {
+            return v_IsReload;
+        }
+
+        if ( i_Change.type == ChangeType.DELETE || i_Change.data == null )
+        {
+            remove(this.entrys ,this.indexes ,i_Change.key);
+        }
+        else
+        {
+            this.put(this.entrys ,this.indexes ,i_Change.data);
+        }
+
+        return v_IsReload;
+    }
+
+
+
+    /**
+     * 条目是否在本地副本的子树内
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_Key  规范化的DN
+     * @return
+     */
+    private boolean isContains(String i_Key)
+    {
+        return this.baseKey.isEmpty() || this.baseKey.equals(i_Key) || i_Key.endsWith("," + this.baseKey);
+    }
+
+
+
+    /**
+     * 放入条目的副本，并建立索引。同一DN已有条目时，先移除原条目及其索引
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param io_Entrys   条目
+     * @param io_Indexes  索引
+     * @param i_Data      Java值对象
+     */
+    private void put(Map<String ,Node> io_Entrys ,Map<String ,Map<String ,Set<String>>> io_Indexes ,Object i_Data)
+    {
+        LdapEntry v_LdapEntry = LDAP.getLdapEntry(i_Data.getClass());
+        if ( v_LdapEntry == null )
+        {
+            return;
+        }
+
+        try
+        {
+            String v_Key  = LDAP.toLookupKey(new Dn(v_LdapEntry.getDNValue(i_Data)));
+            Node   v_Node = new Node(v_LdapEntry ,v_LdapEntry.toEntry(i_Data) ,toValues(v_LdapEntry ,i_Data));
+
+            remove(io_Entrys ,io_Indexes ,v_Key);
+            io_Entrys.put(v_Key ,v_Node);
+
+            for (Map.Entry<String ,Set<String>> v_Item : v_Node.values.entrySet())
+            {
+                if ( this.indexAttributes.contains(v_Item.getKey()) )
+                {
+                    Map<String ,Set<String>> v_Index = io_Indexes.computeIfAbsent(v_Item.getKey() ,k -> new HashMap<String ,Set<String>>());
+                    for (String v_Value : v_Item.getValue())
+                    {
+                        v_Index.computeIfAbsent(v_Value ,k -> new HashSet<String>(2)).add(v_Key);
+                    }
+                }
+            }
+        }
+        catch (Exception exce)
+        {
+            exce.printStackTrace();
+        }
+    }
+
+
+
+    /**
+     * 移除条目，及其索引
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param io_Entrys   条目
+     * @param io_Indexes  索引
+     * @param i_Key       规范化的DN
+     */
+    private static void remove(Map<String ,Node> io_Entrys ,Map<String ,Map<String ,Set<String>>> io_Indexes ,String i_Key)
+    {
+        Node v_Node = io_Entrys.remove(i_Key);
+        if ( v_Node == null )
+        {
+            return;
+        }
+
+        for (Map.Entry<String ,Set<String>> v_Item : v_Node.values.entrySet())
+        {
+            Map<String ,Set<String>> v_Index = io_Indexes.get(v_Item.getKey());
+            if ( v_Index == null )
+            {
+                continue;
+            }
+
+            for (String v_Value : v_Item.getValue())
+            {
+                Set<String> v_Keys = v_Index.get(v_Value);
+                if ( v_Keys != null )
+                {
+                    v_Keys.remove(i_Key);
+                    if ( v_Keys.isEmpty() )
+                    {
+                        v_Index.remove(v_Value);
+                    }
+                }
+            }
+        }
+    }
+
+
+
+    /**
+     * 按DN获取本地副本中的条目，并翻译为新的Java值对象
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_DN  条目标识
+     * @return      不存在或非法的DN时，返回NULL
+     */
+    public Object get(String i_DN)
+    {
+        try
+        {
+            String v_Key  = LDAP.toLookupKey(new Dn(i_DN));
+            Node   v_Node = null;
+
+            synchronized ( this )
+            {
+                v_Node = this.entrys.get(v_Key);
+            }
+
+            return v_Node == null ? null : this.toObject(v_Node);
+        }
+        catch (Exception exce)
+        {
+            return null;
+        }
+    }
+
+
+
+    /**
+     * 按一个属性的属性值，查找本地副本中的条目，并翻译为新的Java值对象
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_Attribute  LDAP属性名称
+     * @param i_Value      属性值。按属性的相等匹配规则比较（见 normalize()）
+     * @return
+     */
+    public List<?> find(String i_Attribute ,String i_Value)
+    {
+        Map<String ,Set<String>> v_Query = new HashMap<String ,Set<String>>();
+        List<Node>               v_Nodes = null;
+
+        v_Query.put(i_Attribute.toLowerCase() ,Collections.singleton(normalize(i_Attribute.toLowerCase() ,i_Value)));
+
+        synchronized ( this )
+        {
+            v_Nodes = this.find(this.baseKey ,null ,v_Query);
+        }
+
+        return this.toObjects(v_Nodes);
+    }
+
+
+
+    /**
+     * 按Java对象的属性值查找本地副本中的条目，并翻译为新的Java值对象。规则与 LDAP.searchEntrys(Object) 的默认规则相同
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_Values  用@Ldap标记的Java对象实例（必要属性值DN、及其它过滤查询的属性值）
+     * @return          还未加载、或Java对象的DN不在本地副本的子树内时（不能由本地副本应答时），返回NULL
+     */
+    public List<?> search(Object i_Values)
+    {
+        if ( i_Values == null )
+        {
+            return null;
+        }
+
+        LdapEntry v_LdapEntry = LDAP.getLdapEntry(i_Values.getClass());
+        if ( v_LdapEntry == null )
+        {
+            return null;
+        }
+
+        try
+        {
+            String v_BaseDN = v_LdapEntry.getDNValue(i_Values);
+            if ( Help.isNull(v_BaseDN) )
+            {
+                return null;
+            }
+
+            String                   v_BaseKey = LDAP.toLookupKey(new Dn(v_BaseDN));
+            Map<String ,Set<String>> v_Query   = toValues(v_LdapEntry ,i_Values);
+            List<Node>               v_Nodes   = null;
+
+            synchronized ( this )
+            {
+                if ( !this.loaded || !this.isContains(v_BaseKey) )
+                {
+                    return null;
+                }
+
+                v_Nodes = this.find(v_BaseKey ,i_Values.getClass() ,v_Query);
+            }
+
+            return this.toObjects(v_Nodes);
+        }
+        catch (Exception exce)
+        {
+            exce.printStackTrace();
+        }
+
+        return null;
+    }
+
+
+
+    /**
+     * 查找本地副本中的条目。调用者须持有本对象的锁
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_BaseKey  查找范围的子树的根条目（规范化的DN）
+     * @param i_Class    Java值对象的类型。为NULL时不限定
+     * @param i_Query    过滤的属性名称（小写）及规范化的属性值
+     * @return
+     */
+    private List<Node> find(String i_BaseKey ,Class<?> i_Class ,Map<String ,Set<String>> i_Query)
+    {
+        Collection<String> v_Keys = null;
+
+        // 按候选条目最少的索引查找
+        for (Map.Entry<String ,Set<String>> v_Item : i_Query.entrySet())
+        {
+            if ( !this.indexAttributes.contains(v_Item.getKey()) )
+            {
+                continue;
+            }
+
+            Map<String ,Set<String>> v_Index      = this.indexes.get(v_Item.getKey());
+            Set<String>              v_Candidates = new HashSet<String>();
+
+            for (String v_Value : v_Item.getValue())
+            {
+                Set<String> v_IndexKeys = v_Index == null ? null : v_Index.get(v_Value);
+                if ( v_IndexKeys != null )
+                {
+                    v_Candidates.addAll(v_IndexKeys);
+                }
+            }
+
+            if ( v_Keys == null || v_Candidates.size() < v_Keys.size() )
+            {
+                v_Keys = v_Candidates;
+            }
+        }
+
+        if ( v_Keys == null )
+        {
+            v_Keys = this.entrys.keySet();
+        }
+
+        List<Node> v_Ret = new ArrayList<Node>();
+        for (String v_Key : v_Keys)
+        {
+            Node v_Node = this.entrys.get(v_Key);
+
+            if ( v_Node != null
+              && (i_Class == null || v_Node.ldapEntry.getMetaClass() == i_Class)
+              && (i_BaseKey.isEmpty() || i_BaseKey.equals(v_Key) || v_Key.endsWith("," + i_BaseKey))
+              && isMatch(v_Node ,i_Query) )
+            {
+                v_Ret.add(v_Node);
+            }
+        }
+
+        return v_Ret;
+    }
+
+
+
+    /**
+     * 条目是否符合过滤条件。不同属性间为'与'关系，同一属性的多个属性值间为'或'关系
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_Node   条目
+     * @param i_Query  过滤的属性名称（小写）及规范化的属性值
+     * @return
+     */
+    private static boolean isMatch(Node i_Node ,Map<String ,Set<String>> i_Query)
+    {
+        for (Map.Entry<String ,Set<String>> v_Item : i_Query.entrySet())
+        {
+            Set<String> v_Values  = i_Node.values.get(v_Item.getKey());
+            boolean     v_IsMatch = false;
+
+            if ( v_Values == null )
+            {
+                return false;
+            }
+
+            for (String v_Value : v_Item.getValue())
+            {
+                if ( v_Values.contains(v_Value) )
+                {
+                    v_IsMatch = true;
+                    break;
+                }
+            }
+
+            if ( !v_IsMatch )
+            {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+
+
+    /**
+     * 按属性的相等匹配规则规范化属性值。与LDAP服务常用的匹配规则一致：
+     *   1. 电话号码类的属性（telephoneNumberMatch），不区分大小写，并忽略空格和连字符。
+     *   2. 密码 userPassword（octetStringMatch），按原样比较。
+     *   3. 其它属性（caseIgnoreMatch 等），不区分大小写，并忽略首尾的空格、合并连续的空格。
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_Attribute  属性名称（小写）
+     * @param i_Value      属性值
+     * @return
+     */
+    private static String normalize(String i_Attribute ,String i_Value)
+    {
+        if ( $ExactAttributes.contains(i_Attribute) )
+        {
+            return i_Value;
+        }
+        else if ( $TelephoneAttributes.contains(i_Attribute) )
+        {
+            return $TelephoneIgnores.matcher(i_Value).replaceAll("").toLowerCase();
+        }
+        else
+        {
+            return $Spaces.matcher(i_Value.trim()).replaceAll(" ").toLowerCase();
+        }
+    }
+
+
+
+    /**
+     * 将条目的副本翻译为新的Java值对象。翻译在锁外执行，条目的副本放入后不再被修改
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_Node  条目
+     * @return
+     */
+    private Object toObject(Node i_Node)
+    {
+        return this.ldap.toObject(i_Node.ldapEntry ,i_Node.entry ,i_Node.ldapEntry.getAttributeNames());
+    }
+
+
+
+    /**
+     * 将多个条目的副本翻译为新的Java值对象
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_Nodes  条目
+     * @return
+     */
+    private List<Object> toObjects(List<Node> i_Nodes)
+    {
+        List<Object> v_Ret = new ArrayList<Object>(i_Nodes.size());
+
+        for (Node v_Node : i_Nodes)
+        {
+            v_Ret.add(this.toObject(v_Node));
+        }
+
+        return v_Ret;
+    }
+
+
+
+    /**
+     * 获取Java值对象的规范化的属性值（见 normalize()）。取值的规则与生成过滤条件的规则相同（见 LdapFilterPlan）：
+     * 集合、数组为多个属性值，Map类型的不参与过滤，空值不参与过滤
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_LdapEntry  条目翻译官
+     * @param i_Values     Java值对象
+     * @return             Map.key为属性名称（小写）
+     */
+    private static Map<String ,Set<String>> toValues(LdapEntry i_LdapEntry ,Object i_Values)
+    {
+        Map<String ,Set<String>> v_Ret = new LinkedHashMap<String ,Set<String>>();
+
+        for (LdapProperty v_Getter : i_LdapEntry.getGetters())
+        {
+            try
+            {
+                Object v_Value = v_Getter.getValue(i_Values);
+                if ( v_Value == null || v_Value instanceof Map )
+                {
+                    continue;
+                }
+
+                Object [] v_Items = v_Value instanceof Collection ? ((Collection<?>)v_Value).toArray()
+                                  : v_Value instanceof Object []  ? (Object [])v_Value
+                                  : new Object[] {v_Value};
+
+                String v_Name = v_Getter.getName().toLowerCase();
+                for (Object v_Item : v_Items)
+                {
+                    if ( v_Item != null && !Help.isNull(v_Item.toString()) )
+                    {
+                        v_Ret.computeIfAbsent(v_Name ,k -> new HashSet<String>(2)).add(normalize(v_Name ,v_Item.toString()));
+                    }
+                }
+            }
+            catch (Exception exce)
+            {
+                exce.printStackTrace();
+            }
+        }
+
+        return v_Ret;
+    }
+
+
+
+    /**
+     * 获取本地副本的条目数量
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @return
+     */
+    public synchronized int size()
+    {
+        return this.entrys.size();
+    }
+
+
+
+    /**
+     * 获取：子树的标识（子树的根条目）
+     */
+    public String getBaseDN()
+    {
+        return baseDN;
+    }
+
+
+
+    /**
+     * 获取：是否已加载
+     */
+    public synchronized boolean isLoaded()
+    {
+        return loaded;
+    }
+
+
+
+    /**
+     * 获取：上次同步的时间（加载或轮询开始的时间）
+     */
+    public synchronized long getSyncTime()
+    {
+        return syncTime;
+    }
+
+
+
+    @Override
+    public synchronized String toString()
+    {
+        return "baseDN=" + this.baseDN + " entrys=" + this.entrys.size() + " indexes=" + this.indexAttributes + " loaded=" + this.loaded;
+    }
+
+
+
+
+
+    /** 本地副本中的一个条目 */
+    private static final class Node
+    {
+        /** 条目翻译官 */
+        private final LdapEntry                ldapEntry;
+
+        /** 条目的副本。放入后不再被修改 */
+        private final Entry                    entry;
+
+        /** 参与过滤的规范化的属性值。Map.key为属性名称（小写） */
+        private final Map<String ,Set<String>> values;
+
+        private Node(LdapEntry i_LdapEntry ,Entry i_Entry ,Map<String ,Set<String>> i_Values)
+        {
+            this.ldapEntry = i_LdapEntry;
+            this.entry     = i_Entry;
+            this.values    = i_Values;
+        }
+    }
+
+
+
+    /** 一个变更 */
+    private static final class Change
+    {
+        private final ChangeType type;
+
+        /** 规范化的DN */
+        private final String     key;
+
+        /** 重命名或移动前的规范化的DN */
+        private final String     previousKey;
+
+        private final Object     data;
+
+        private Change(ChangeType i_Type ,String i_Key ,String i_PreviousKey ,Object i_Data)
+        {
+            this.type        = i_Type;
+            this.key         = i_Key;
+            this.previousKey = i_PreviousKey;
+            this.data        = i_Data;
+        }
+    }
+
+}
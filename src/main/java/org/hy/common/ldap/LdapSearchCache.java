@@ -0,0 +1,874 @@
+package org.hy.common.ldap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+
+import org.apache.directory.api.ldap.model.entry.Entry;
+import org.apache.directory.api.ldap.model.message.SearchScope;
+import org.apache.directory.api.ldap.model.name.Dn;
+
+
+
+
+
+/**
+ * 查询结果缓存。按（Base DN、查询范围、过滤条件、属性投影）缓存查询出的条目（未翻译为Java值对象的）。
+ *
+ * 同样的查询（如，看板反复查询部门的成员列表）直接使用缓存的条目，每次都由"条目翻译官"重新翻译为新的Java值对象。
+ *
+ *   1. Base DN按规范化的DN识别（同 LdapEntryCache），属性投影不区分大小写及顺序，过滤条件按原样识别。
+ *   2. 同时限定缓存的查询数量（maxSearches）与所有查询结果的条目总数量（maxEntrys），超出时淘汰最近最少使用的查询。
+ *      条目数量超过 maxEntrys 的查询结果不缓存。
+ *   3. 查询结果超过存活时长（timeToLive）后过期。
+ *      过期后的 staleTimeToLive 时长内，仍返回过期的查询结果，同时在本类专用的刷新线程上异步地重新查询、刷新缓存（Stale-While-Revalidate）。
+ *      刷新线程为守护线程（见 LdapThreads.newDaemonExecutor()），不占用 LDAP.getAsyncExecutor() 等公共的执行器。
+ *   4. 通过同一 LDAP 对象的写操作，按子树移除受影响的查询结果：
+ *        SearchScope.OBJECT   ：Base DN为被写的DN；
+ *        SearchScope.ONELEVEL ：Base DN为被写的DN，或其父节点；
+ *        SearchScope.SUBTREE  ：Base DN为被写的DN，或其任一上级节点。
+ *      删除条目树时，Base DN在被删除的条目树内的查询结果也被移除。
+ *
+ * 注1：其它客户端或其它 LDAP 对象对LDAP服务的修改，在查询结果过期前不可见。
+ * 注2：查询的同时发生了写操作时，查询出的结果不再放入缓存（同 LdapEntryCache.getVersion()）。
+ * 注3：同一查询同时未命中时，只由首个线程向LDAP服务查询，其它线程等待并共享其查询结果（Single-Flight）。
+ * 注4：线程安全。
+ *
+ * @author      ZhengWei(HY)
+ * @createDate  2026-10-16
+ * @version     v1.0
+ */
+public class LdapSearchCache
+{
+
+    /** 默认的最大查询数量 */
+    public static final int  $DefaultMaxSearches   = 1000;
+
+    /** 默认的所有查询结果的最大条目总数量 */
+    public static final int  $DefaultMaxEntrys     = 100000;
+
+    /** 默认的存活时长（单位：毫秒） */
+    public static final long $DefaultTimeToLive    = 30L * 1000L;
+
+    /** 默认的异步刷新的线程数量 */
+    public static final int  $DefaultRefreshThreads = 2;
+
+
+
+    /** 缓存的查询结果。按访问顺序排序，最先的为最近最少使用的 */
+    private final LinkedHashMap<String ,Item> items;
+
+    /** 正在向LDAP服务查询的未命中的查询。Map.key为查询的键值 */
+    private final Map<String ,CompletableFuture<List<Entry>>> loadings;
+
+    /** 异步刷新的执行器。首次刷新时创建 */
+    private ExecutorService                   refresher;
+
+    /** 异步刷新的线程数量 */
+    private int                               refreshThreads;
+
+    /** 最大查询数量 */
+    private int                               maxSearches;
+
+    /** 所有查询结果的最大条目总数量 */
+    private int                               maxEntrys;
+
+    /** 查询结果的存活时长（单位：毫秒）。小于等于0时，永不过期 */
+    private long                              timeToLive;
+
+    /** 过期后，仍可返回过期的查询结果（同时异步地刷新）的时长（单位：毫秒）。小于等于0时，过期后即重新查询 */
+    private long                              staleTimeToLive;
+
+    /** 所有查询结果的条目总数量 */
+    private int                               entryCount;
+
+    /** 写操作的版本号。每次移除查询结果时递增 */
+    private long                              version;
+
+    /** 命中次数（不含命中过期的查询结果） */
+    private long                              hitCount;
+
+    /** 命中过期的查询结果的次数 */
+    private long                              staleHitCount;
+
+    /** 未命中次数 */
+    private long                              missCount;
+
+    /** 因超出限定、或过期而被淘汰的查询数量 */
+    private long                              evictionCount;
+
+    /** 异步刷新的次数 */
+    private long                              refreshCount;
+
+
+
+    public LdapSearchCache()
+    {
+        this($DefaultMaxSearches ,$DefaultMaxEntrys ,$DefaultTimeToLive);
+    }
+
+
+
+    /**
+     * 构造器
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_MaxSearches  最大查询数量
+     * @param i_MaxEntrys    所有查询结果的最大条目总数量
+     * @param i_TimeToLive   查询结果的存活时长（单位：毫秒）。小于等于0时，永不过期
+     */
+    public LdapSearchCache(int i_MaxSearches ,int i_MaxEntrys ,long i_TimeToLive)
+    {
+        this.items          = new LinkedHashMap<String ,Item>(16 ,0.75f ,true);
+        this.loadings       = new HashMap<String ,CompletableFuture<List<Entry>>>();
+        this.refreshThreads = $DefaultRefreshThreads;
+        this.maxSearches    = i_MaxSearches;
+        this.maxEntrys      = i_MaxEntrys;
+        this.timeToLive     = i_TimeToLive;
+    }
+
+
+
+    /**
+     * 获取查询结果。未命中时，执行查询并放入缓存
+     *
+     * 命中过期（但还在 staleTimeToLive 时长内）的查询结果时，返回过期的查询结果，并在刷新线程上异步地重新查询。
+     * 同一查询同时只有一个异步刷新。同一查询同时未命中时，只执行一次查询，其它线程等待并共享其查询结果。
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_BaseDN       父节点标识
+     * @param i_SearchScope  查询范围
+     * @param i_Filter       过滤条件
+     * @param i_Attributes   要求LDAP服务返回的属性名称（属性投影）
+     * @param i_Loader       执行查询。异常时不放入缓存
+     * @return               只读的条目集合
+     * @throws Exception     未命中时，执行查询的异常
+     */
+    public List<Entry> get(String i_BaseDN ,SearchScope i_SearchScope ,String i_Filter ,String [] i_Attributes ,Callable<List<Entry>> i_Loader) throws Exception
+    {
+        Dn                             v_BaseDn   = new Dn(i_BaseDN);
+        String                         v_Key      = toKey(v_BaseDn ,i_SearchScope ,i_Filter ,i_Attributes);
+        long                           v_Version  = 0L;
+        Item                           v_Item     = null;
+        CompletableFuture<List<Entry>> v_Loading  = null;
+        boolean                        v_IsLoader = false;
+
+        synchronized ( this )
+        {
+            long v_Now = System.currentTimeMillis();
+
+            v_Item    = this.items.get(v_Key);
+            v_Version = this.version;
+
+            if ( v_Item != null && (v_Item.expireTime <= 0L || v_Now < v_Item.expireTime) )
+            {
+                this.hitCount++;
+                return v_Item.entrys;
+            }
+            else if ( v_Item != null && this.staleTimeToLive > 0L && v_Now < v_Item.expireTime + this.staleTimeToLive )
+            {
+                this.staleHitCount++;
+                if ( v_Item.refreshing )
+                {
+                    return v_Item.entrys;
+                }
+                v_Item.refreshing = true;
+            }
+            else
+            {
+                if ( v_Item != null )
+                {
+                    this.removeItem(v_Key);
+                    this.evictionCount++;
+                    v_Item = null;
+                }
+                this.missCount++;
+
+                v_Loading = this.loadings.get(v_Key);
+                if ( v_Loading == null )
+                {
+                    v_Loading  = new CompletableFuture<List<Entry>>();
+                    v_IsLoader = true;
+                    this.loadings.put(v_Key ,v_Loading);
+                }
+            }
+        }
+
+        if ( v_Item == null )
+        {
+            return v_IsLoader ? this.load(v_Key ,v_BaseDn ,i_SearchScope ,i_Loader ,v_Version ,v_Loading) : this.await(v_Loading);
+        }
+
+        // 返回过期的查询结果，同时异步地刷新
+        Item v_Stale   = v_Item;
+        long v_Refresh = v_Version;
+        try
+        {
+            this.getRefresher().execute(() ->
+            {
+                try
+                {
+                    this.put(v_Key ,v_BaseDn ,i_SearchScope ,i_Loader.call() ,v_Refresh);
+                    synchronized ( this )
+                    {
+                        this.refreshCount++;
+                    }
+                }
+                catch (Exception exce)
+                {
+                    exce.printStackTrace();
+                }
+                finally
+                {
+                    v_Stale.refreshing = false;
+                }
+            });
+        }
+        catch (Exception exce)
+        {
+            exce.printStackTrace();
+            v_Stale.refreshing = false;
+        }
+
+        return v_Stale.entrys;
+    }
+
+
+
+    /**
+     * 未命中时，执行查询并放入缓存，再将查询结果共享给同时等待的其它线程
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_Key          查询的键值
+     * @param i_BaseDn       父节点标识
+     * @param i_SearchScope  查询范围
+     * @param i_Loader       执行查询
+     * @param i_Version      查询前的写操作的版本号
+     * @param io_Loading     共享的查询结果
+     * @return               只读的条目集合
+     * @throws Exception     执行查询的异常。同时等待的其它线程也抛出此异常
+     */
+    private List<Entry> load(String i_Key ,Dn i_BaseDn ,SearchScope i_SearchScope ,Callable<List<Entry>> i_Loader ,long i_Version ,CompletableFuture<List<Entry>> io_Loading) throws Exception
+    {
+        try
+        {
+            List<Entry> v_Entrys = i_Loader.call();
+            v_Entrys = v_Entrys == null ? null : Collections.unmodifiableList(v_Entrys);
+
+            this.put(i_Key ,i_BaseDn ,i_SearchScope ,v_Entrys ,i_Version);
+            io_Loading.complete(v_Entrys);
+            return v_Entrys;
+        }
+        catch (Throwable exce)
+        {
+            io_Loading.completeExceptionally(exce);
+            throw exce;
+        }
+        finally
+        {
+            synchronized ( this )
+            {
+                this.loadings.remove(i_Key ,io_Loading);
+            }
+        }
+    }
+
+
+
+    /**
+     * 等待其它线程正在执行的同一查询的结果
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_Loading  共享的查询结果
+     * @return           只读的条目集合
+     * @throws Exception 执行查询的异常
+     */
+    private List<Entry> await(CompletableFuture<List<Entry>> i_Loading) throws Exception
+    {
+        try
+        {
+            return i_Loading.get();
+        }
+        catch (ExecutionException exce)
+        {
+            if ( exce.getCause() instanceof Exception )
+            {
+                throw (Exception)exce.getCause();
+            }
+            throw exce;
+        }
+    }
+
+
+
+    /**
+     * 获取异步刷新的执行器。没有时创建
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @return
+     */
+    private synchronized ExecutorService getRefresher()
+    {
+        if ( this.refresher == null )
+        {
+            this.refresher = LdapThreads.newDaemonExecutor(this.refreshThreads ,"LDAP-SearchCache-Refresher");
+        }
+
+        return this.refresher;
+    }
+
+
+
+    /**
+     * 放入缓存
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_Key          查询的键值
+     * @param i_BaseDn       父节点标识
+     * @param i_SearchScope  查询范围
+     * @param i_Entrys       查询结果
+     * @param i_Version      查询前的写操作的版本号。期间发生了写操作时（版本号已变化），不放入缓存
+     */
+    private synchronized void put(String i_Key ,Dn i_BaseDn ,SearchScope i_SearchScope ,List<Entry> i_Entrys ,long i_Version)
+    {
+        if ( i_Entrys == null || i_Version != this.version || this.maxSearches <= 0 || i_Entrys.size() > this.maxEntrys )
+        {
+            return;
+        }
+
+        this.removeItem(i_Key);
+
+        Item v_Item = new Item(LDAP.toLookupKey(i_BaseDn)
+                              ,i_BaseDn.isEmpty() ? null : LDAP.toLookupKey(i_BaseDn.getParent())
+                              ,i_SearchScope
+                              ,Collections.unmodifiableList(new ArrayList<Entry>(i_Entrys))
+                              ,this.timeToLive > 0L ? System.currentTimeMillis() + this.timeToLive : 0L);
+        this.items.put(i_Key ,v_Item);
+        this.entryCount += v_Item.entrys.size();
+
+        this.trim();
+    }
+
+
+
+    /**
+     * 淘汰最近最少使用的查询结果，直到查询数量、条目总数量均不超出限定
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     */
+    private void trim()
+    {
+        Iterator<Item> v_Iter = this.items.values().iterator();
+        while ( (this.items.size() > Math.max(this.maxSearches ,0) || this.entryCount > Math.max(this.maxEntrys ,0)) && v_Iter.hasNext() )
+        {
+            this.entryCount -= v_Iter.next().entrys.size();
+            v_Iter.remove();
+            this.evictionCount++;
+        }
+    }
+
+
+
+    /**
+     * 移除查询结果
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_Key  查询的键值
+     */
+    private void removeItem(String i_Key)
+    {
+        Item v_Old = this.items.remove(i_Key);
+        if ( v_Old != null )
+        {
+            this.entryCount -= v_Old.entrys.size();
+        }
+    }
+
+
+
+    /**
+     * 移除受写操作影响的查询结果。条目被添加、修改、删除后调用
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_DN  被写的条目标识。非法的DN时，移除所有的查询结果
+     */
+    public void remove(String i_DN)
+    {
+        try
+        {
+            this.remove(new Dn(i_DN));
+        }
+        catch (Exception exce)
+        {
+            this.clear();
+        }
+    }
+
+
+
+    /**
+     * 移除受写操作影响的查询结果。条目被添加、修改、删除后调用
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_Dn  被写的条目标识
+     */
+    public synchronized void remove(Dn i_Dn)
+    {
+        this.remove(i_Dn ,false);
+    }
+
+
+
+    /**
+     * 移除受删除条目树影响的查询结果。条目树被删除后调用
+     *
+     * 除受写操作影响的查询结果外，Base DN在被删除的条目树内的查询结果也被移除。
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_DN  被删除的条目树的标识。非法的DN时，移除所有的查询结果
+     */
+    public synchronized void removeTree(String i_DN)
+    {
+        try
+        {
+            this.remove(new Dn(i_DN) ,true);
+        }
+        catch (Exception exce)
+        {
+            this.clear();
+        }
+    }
+
+
+
+    /**
+     * 移除受写操作影响的查询结果
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_Dn      被写的条目标识
+     * @param i_IsTree  是否为删除条目树
+     */
+    private void remove(Dn i_Dn ,boolean i_IsTree)
+    {
+        String v_Key       = LDAP.toLookupKey(i_Dn);
+        String v_ParentKey = i_Dn.isEmpty() ? null : LDAP.toLookupKey(i_Dn.getParent());
+
+        this.version++;
+        for (Iterator<Item> v_Iter = this.items.values().iterator(); v_Iter.hasNext();)
+        {
+            Item v_Item = v_Iter.next();
+            if ( v_Item.isAffected(v_Key ,v_ParentKey ,i_IsTree) )
+            {
+                this.entryCount -= v_Item.entrys.size();
+                v_Iter.remove();
+            }
+        }
+    }
+
+
+
+    /**
+     * 移除所有的查询结果
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     */
+    public synchronized void clear()
+    {
+        this.version++;
+        this.items.clear();
+        this.entryCount = 0;
+    }
+
+
+
+    /**
+     * 生成查询的键值
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_BaseDn       父节点标识
+     * @param i_SearchScope  查询范围
+     * @param i_Filter       过滤条件
+     * @param i_Attributes   属性投影
+     * @return
+     */
+    private static String toKey(Dn i_BaseDn ,SearchScope i_SearchScope ,String i_Filter ,String [] i_Attributes)
+    {
+        StringBuilder v_Key = new StringBuilder();
+
+        v_Key.append(i_SearchScope.name()).append("|").append(LDAP.toLookupKey(i_BaseDn)).append("|").append(i_Filter).append("|");
+
+        if ( i_Attributes == null || i_Attributes.length <= 0 )
+        {
+            v_Key.append("*");
+        }
+        else
+        {
+            String [] v_Attributes = new String[i_Attributes.length];
+            for (int x=0; x<i_Attributes.length; x++)
+            {
+                v_Attributes[x] = i_Attributes[x].toLowerCase();
+            }
+            Arrays.sort(v_Attributes);
+            v_Key.append(String.join("," ,v_Attributes));
+        }
+
+        return v_Key.toString();
+    }
+
+
+
+    /**
+     * 获取缓存的查询数量
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @return
+     */
+    public synchronized int size()
+    {
+        return this.items.size();
+    }
+
+
+
+    /**
+     * 获取所有查询结果的条目总数量
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @return
+     */
+    public synchronized int getEntryCount()
+    {
+        return this.entryCount;
+    }
+
+
+
+    /**
+     * 获取命中率（含命中过期的查询结果）。还未查询过时为0
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @return  0.0 ~ 1.0
+     */
+    public synchronized double getHitRate()
+    {
+        long v_Total = this.hitCount + this.staleHitCount + this.missCount;
+        return v_Total <= 0L ? 0D : (double)(this.hitCount + this.staleHitCount) / v_Total;
+    }
+
+
+
+    /**
+     * 清零命中、未命中、淘汰、刷新的统计数据
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     */
+    public synchronized void resetStatistics()
+    {
+        this.hitCount      = 0L;
+        this.staleHitCount = 0L;
+        this.missCount     = 0L;
+        this.evictionCount = 0L;
+        this.refreshCount  = 0L;
+    }
+
+
+
+    /**
+     * 获取：命中次数（不含命中过期的查询结果）
+     */
+    public synchronized long getHitCount()
+    {
+        return hitCount;
+    }
+
+
+
+    /**
+     * 获取：命中过期的查询结果的次数
+     */
+    public synchronized long getStaleHitCount()
+    {
+        return staleHitCount;
+    }
+
+
+
+    /**
+     * 获取：未命中次数
+     */
+    public synchronized long getMissCount()
+    {
+        return missCount;
+    }
+
+
+
+    /**
+     * 获取：因超出限定、或过期而被淘汰的查询数量
+     */
+    public synchronized long getEvictionCount()
+    {
+        return evictionCount;
+    }
+
+
+
+    /**
+     * 获取：异步刷新的次数
+     */
+    public synchronized long getRefreshCount()
+    {
+        return refreshCount;
+    }
+
+
+
+    /**
+     * 获取：最大查询数量
+     */
+    public synchronized int getMaxSearches()
+    {
+        return maxSearches;
+    }
+
+
+
+    /**
+     * 设置：最大查询数量。小于等于0时，不再缓存
+     *
+     * @param maxSearches
+     */
+    public synchronized void setMaxSearches(int maxSearches)
+    {
+        this.maxSearches = maxSearches;
+        this.trim();
+    }
+
+
+
+    /**
+     * 获取：所有查询结果的最大条目总数量
+     */
+    public synchronized int getMaxEntrys()
+    {
+        return maxEntrys;
+    }
+
+
+
+    /**
+     * 设置：所有查询结果的最大条目总数量
+     *
+     * @param maxEntrys
+     */
+    public synchronized void setMaxEntrys(int maxEntrys)
+    {
+        this.maxEntrys = maxEntrys;
+        this.trim();
+    }
+
+
+
+    /**
+     * 获取：查询结果的存活时长（单位：毫秒）。小于等于0时，永不过期
+     */
+    public synchronized long getTimeToLive()
+    {
+        return timeToLive;
+    }
+
+
+
+    /**
+     * 设置：查询结果的存活时长（单位：毫秒）。小于等于0时，永不过期。只对之后放入缓存的查询结果有效
+     *
+     * @param timeToLive
+     */
+    public synchronized void setTimeToLive(long timeToLive)
+    {
+        this.timeToLive = timeToLive;
+    }
+
+
+
+    /**
+     * 获取：过期后，仍可返回过期的查询结果（同时异步地刷新）的时长（单位：毫秒）。小于等于0时，过期后即重新查询
+     */
+    public synchronized long getStaleTimeToLive()
+    {
+        return staleTimeToLive;
+    }
+
+
+
+    /**
+     * 设置：过期后，仍可返回过期的查询结果（同时异步地刷新）的时长（单位：毫秒）。小于等于0时，过期后即重新查询
+     *
+     * @param staleTimeToLive
+     */
+    public synchronized void setStaleTimeToLive(long staleTimeToLive)
+    {
+        this.staleTimeToLive = staleTimeToLive;
+    }
+
+
+
+    /**
+     * 获取：异步刷新的线程数量。默认为：2
+     */
+    public synchronized int getRefreshThreads()
+    {
+        return refreshThreads;
+    }
+
+
+
+    /**
+     * 设置：异步刷新的线程数量。须在首次刷新前设置
+     *
+     * @param refreshThreads
+     */
+    public synchronized void setRefreshThreads(int refreshThreads)
+    {
+        this.refreshThreads = refreshThreads;
+    }
+
+
+
+    @Override
+    public synchronized String toString()
+    {
+        return "searches=" + this.items.size()
+             + " entrys=" + this.entryCount
+             + " hits=" + this.hitCount
+             + " staleHits=" + this.staleHitCount
+             + " misses=" + this.missCount
+             + " refreshes=" + this.refreshCount
+             + " evictions=" + this.evictionCount
+             + " hitRate=" + String.format("%.2f" ,this.getHitRate());
+    }
+
+
+
+
+
+    /** 缓存的查询结果 */
+    private static final class Item
+    {
+        /** Base DN的键值 */
+        private final String      baseKey;
+
+        /** Base DN的父节点的键值。Base DN为根时为NULL */
+        private final String      baseParentKey;
+
+        private final SearchScope scope;
+
+        private final List<Entry> entrys;
+
+        /** 过期时间。为0时，永不过期 */
+        private final long        expireTime;
+
+        /** 是否正在异步地刷新 */
+        private volatile boolean  refreshing;
+
+        private Item(String i_BaseKey ,String i_BaseParentKey ,SearchScope i_Scope ,List<Entry> i_Entrys ,long i_ExpireTime)
+        {
+            this.baseKey       = i_BaseKey;
+            this.baseParentKey = i_BaseParentKey;
+            this.scope         = i_Scope;
+            this.entrys        = i_Entrys;
+            this.expireTime    = i_ExpireTime;
+        }
+
+        /**
+         * 查询结果是否受写操作的影响
+         *
+         * @param i_Key        被写的DN的键值
+         * @param i_ParentKey  被写的DN的父节点的键值
+         * @param i_IsTree     是否为删除条目树
+         */
+        private boolean isAffected(String i_Key ,String i_ParentKey ,boolean i_IsTree)
+        {
+            if ( this.baseKey.equals(i_Key) )
+            {
+                return true;
+            }
+            else if ( i_IsTree && (i_Key.isEmpty() || this.baseKey.endsWith("," + i_Key)) )
+            {
+                // Base DN在被删除的条目树内
+                return true;
+            }
+            else if ( this.scope == SearchScope.ONELEVEL )
+            {
+                return this.baseKey.equals(i_ParentKey);
+            }
+            else if ( this.scope == SearchScope.SUBTREE )
+            {
+                return this.baseKey.isEmpty() || i_Key.endsWith("," + this.baseKey);
+            }
+
+            return false;
+        }
+    }
+
+}
@@ -0,0 +1,129 @@
+package org.hy.common.ldap;
+
+import java.io.Closeable;
+
+import org.apache.directory.ldap.client.api.LdapConnection;
+
+
+
+
+
+/**
+ * LDAP会话。在一段代码块内，独占（钉住）连接池中的一个连接，当前线程在此期间执行的所有 LDAP 方法均复用此连接。
+ *
+ * 如，addEntrys() 逐个查询再添加、modifyEntry() 查询再修改、delEntryTree() 查询再删除等组合操作，
+ * 不再为每一步都从连接池中获取、校验、释放连接。
+ *
+ *   try (LdapSession v_Session = v_LDAP.openSession())
+ *   {
+ *       v_LDAP.addEntrys(v_Datas);
+ *       v_LDAP.modifyEntry(v_User);
+ *   }
+ *
+ * 注1：只对打开会话的线程有效。多连接并行的批量操作（如，addEntrysParallel()）的工作线程仍从连接池中获取连接。
+ * 注2：同一线程可嵌套地打开会话，内层会话与外层会话共用一个连接，最外层的会话关闭时才释放连接。
+ * 注3：非线程安全。应在打开会话的线程中关闭会话（推荐用 try-with-resources 语法）。
+ *      在其它线程中关闭时，连接立即释放，打开会话的线程在下次获取连接时不再使用此会话。
+ * 注4：会话期间不再由连接池校验连接。连接断开后，会话内的操作均将失败，应关闭会话后重新打开。
+ *
+ * @author      ZhengWei(HY)
+ * @createDate  2026-10-16
+ * @version     v1.0
+ */
+public class LdapSession implements Closeable
+{
+
+    /** LDAP目录服务的操作类。用于释放连接 */
+    private final LDAP           ldap;
+
+    /** 独占的连接 */
+    private final LdapConnection connection;
+
+    /** 嵌套打开的次数 */
+    private int                  depth;
+
+    /** 是否已关闭。可能在其它线程中关闭 */
+    private volatile boolean     isClosed;
+
+
+
+    /**
+     * 构造器
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_LDAP        LDAP目录服务的操作类
+     * @param i_Connection  独占的连接
+     */
+    LdapSession(LDAP i_LDAP ,LdapConnection i_Connection)
+    {
+        this.ldap       = i_LDAP;
+        this.connection = i_Connection;
+        this.depth      = 1;
+        this.isClosed   = false;
+    }
+
+
+
+    /**
+     * 嵌套地打开会话
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @return
+     */
+    LdapSession reopen()
+    {
+        this.depth++;
+        return this;
+    }
+
+
+
+    /**
+     * 关闭会话。最外层的会话关闭时，才释放连接
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     */
+    @Override
+    public void close()
+    {
+        if ( this.isClosed )
+        {
+            return;
+        }
+
+        if ( --this.depth <= 0 )
+        {
+            this.isClosed = true;
+            this.ldap.closeSession(this);
+        }
+    }
+
+
+
+    /**
+     * 获取：独占的连接
+     */
+    public LdapConnection getConnection()
+    {
+        return connection;
+    }
+
+
+
+    /**
+     * 是否已关闭
+     */
+    public boolean isClosed()
+    {
+        return this.isClosed;
+    }
+
+}
@@ -0,0 +1,136 @@
+package org.hy.common.ldap;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+
+
+
+
+/**
+ * 多线程并行的批量操作时，创建执行线程的工具类。也用于创建长期使用的后台线程（见 newDaemonExecutor()）。
+ *
+ * 运行在JDK 21及以上版本时，可创建虚拟线程（每个任务一个虚拟线程）；
+ * 低于JDK 21时，虚拟线程不可用，仍创建固定数量的平台线程。
+ *
+ * 注：本项目按JDK 17编译，所以通过反射调用 Executors.newVirtualThreadPerTaskExecutor() 方法。
+ *
+ * @author      ZhengWei(HY)
+ * @createDate  2026-10-16
+ * @version     v1.0
+ */
+public final class LdapThreads
+{
+
+    /** Executors.newVirtualThreadPerTaskExecutor() 方法。JDK 21以下时为NULL */
+    private static final Method $NewVirtualExecutor = findNewVirtualExecutor();
+
+
+
+    private LdapThreads()
+    {
+        // 工具类，不允许实例化
+    }
+
+
+
+    /**
+     * 查找 Executors.newVirtualThreadPerTaskExecutor() 方法
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @return  JDK 21以下时，返回NULL
+     */
+    private static Method findNewVirtualExecutor()
+    {
+        try
+        {
+            return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        }
+        catch (Exception exce)
+        {
+            return null;
+        }
+    }
+
+
+
+    /**
+     * 当前JDK是否支持虚拟线程
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @return
+     */
+    public static boolean isVirtualSupported()
+    {
+        return $NewVirtualExecutor != null;
+    }
+
+
+
+    /**
+     * 创建执行线程池
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_Threads    平台线程的数量
+     * @param i_IsVirtual  是否使用虚拟线程。为true且当前JDK支持时，每个任务一个虚拟线程，i_Threads 无效
+     * @return             使用完成后，应调用 shutdown() 方法
+     */
+    public static ExecutorService newExecutor(int i_Threads ,boolean i_IsVirtual)
+    {
+        if ( i_IsVirtual && $NewVirtualExecutor != null )
+        {
+            try
+            {
+                return (ExecutorService)$NewVirtualExecutor.invoke(null);
+            }
+            catch (Exception exce)
+            {
+                exce.printStackTrace();
+            }
+        }
+
+        return Executors.newFixedThreadPool(Math.max(i_Threads ,1));
+    }
+
+
+
+    /**
+     * 创建长期使用的后台线程池。如，查询结果缓存的异步刷新
+     *
+     * 线程均为守护线程，空闲时回收，所以无须关闭，也不阻止JVM退出。
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_Threads  最大的线程数量
+     * @param i_Name     线程的名称
+     * @return
+     */
+    public static ExecutorService newDaemonExecutor(int i_Threads ,String i_Name)
+    {
+        ThreadPoolExecutor v_Executor = new ThreadPoolExecutor(Math.max(i_Threads ,1) ,Math.max(i_Threads ,1) ,60L ,TimeUnit.SECONDS ,new LinkedBlockingQueue<Runnable>() ,(i_Runnable) ->
+        {
+            Thread v_Thread = new Thread(i_Runnable ,i_Name);
+            v_Thread.setDaemon(true);
+            return v_Thread;
+        });
+
+        v_Executor.allowCoreThreadTimeOut(true);
+        return v_Executor;
+    }
+
+}
@@ -3,9 +3,15 @@ package org.hy.common.ldap.annotation;
 import java.lang.annotation.ElementType;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.Hashtable;
 import java.util.List;
 import java.util.Map;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.Set;
 
 import org.hy.common.ClassInfo;
 import org.hy.common.ClassReflect;
@@ -13,6 +19,7 @@ import org.hy.common.Help;
 import org.hy.common.MethodReflect;
 import org.hy.common.PartitionMap;
 import org.hy.common.TablePartitionRID;
+import org.hy.common.ldap.LDAP;
 import org.hy.common.xml.XJava;
 
 
@@ -25,6 +32,11 @@ import org.hy.common.xml.XJava;
  * @author      ZhengWei(HY)
  * @createDate  2017-02-14
  * @version     v1.0
+ *              v2.0  2026-10-16  添加：getAttributeNames() 所有"条目翻译官"的属性名称的并集
+ *                                添加：getObjectClassFilter() 所有"条目翻译官"的对象类的过滤条件
+ *                                添加：getResolver() 按条目的对象类识别"条目翻译官"的识别器
+ *                                优化：解释的"条目翻译官"注册到无锁的注册中心 LdapEntryRegistry 中
+ *                                优化：优先加载编译时由 LdapProcessor 注解处理器生成的"条目翻译官"，扫描包路径时只解释其余的Java类。同一包路径也不重复扫描
  */
 public class LdapAnnotation
 {
@@ -33,6 +45,27 @@ public class LdapAnnotation
     
     public static final String $LdapEntryClassIDs = "LdapEntryClassIDs";
     
+    /** 所有"条目翻译官"的属性名称的并集。用于不确定返回条目类型时的查询属性投影。懒加载，解释新注解后重新生成 */
+    private static volatile String [] $AttributeNames;
+    
+    /** 所有"条目翻译官"的对象类的过滤条件（'或'关系）。懒加载，解释新注解后重新生成 */
+    private static volatile String    $ObjectClassFilter;
+    
+    /** 按条目的对象类识别"条目翻译官"的识别器。懒加载，解释新注解后重新生成 */
+    private static volatile LdapEntryResolver $Resolver;
+    
+    /** 识别器是否不可用（如，对象类名称的个数超过64个） */
+    private static volatile boolean   $ResolverDisabled;
+    
+    /** 已解释过的包路径。同一包路径不重复扫描 */
+    private static final Set<String>  $ParsedPackages = new HashSet<String>();
+    
+    /** 编译时已生成"条目翻译官"的Java类。扫描包路径时不再解释 */
+    private static final Set<Class<?>> $ProvidedClasses = new HashSet<Class<?>>();
+    
+    /** 是否已加载编译时生成的"条目翻译官" */
+    private static boolean            $ProvidersLoaded;
+    
     
     
     public static void parser()
@@ -51,27 +84,234 @@ public class LdapAnnotation
      *
      * @param i_PackageName  包路径
      */
-    @SuppressWarnings("unchecked")
     public synchronized static void parser(String i_PackageName)
     {
-        Map<Class<?> ,LdapEntry> v_LdapEntryClasses  = (Map<Class<?> ,LdapEntry>)XJava.getObject($LdapEntryClasses);
-        Map<String   ,LdapEntry> v_LdapEntryClassIDs = (Map<String   ,LdapEntry>)XJava.getObject($LdapEntryClassIDs);
-        
+        // 包路径下没有 @Ldap 注解时，也要保证XJava对象池中有"条目翻译官"的集合（兼容）
         if ( XJava.getObject($LdapEntryClasses) == null )
         {
-            v_LdapEntryClasses  = new Hashtable<Class<?> ,LdapEntry>();
-            v_LdapEntryClassIDs = new Hashtable<String   ,LdapEntry>();
+            XJava.putObject($LdapEntryClasses  ,new Hashtable<Class<?> ,LdapEntry>());
+            XJava.putObject($LdapEntryClassIDs ,new Hashtable<String   ,LdapEntry>());
+        }
+        
+        loadProviders();
+        
+        // 已解释过的包路径，不再扫描
+        if ( $ParsedPackages.contains(i_PackageName) )
+        {
+            return;
+        }
+        
+        List<LdapEntry> v_LdapEntrys = new ArrayList<LdapEntry>();
+        List<Class<?>>  v_Classes    = new ArrayList<Class<?>>();
+        
+        // 编译时已生成"条目翻译官"的Java类，不再解释。同一包路径下的其它Java类（如，未经注解处理器编译的）仍按运行时的方式解释
+        for (Class<?> v_Class : Help.getClasses(i_PackageName))
+        {
+            if ( !$ProvidedClasses.contains(v_Class) )
+            {
+                v_Classes.add(v_Class);
+            }
+        }
+        
+        parser(v_Classes ,v_LdapEntrys);
+        
+        LdapEntryRegistry.register(v_LdapEntrys);
+        $ParsedPackages.add(i_PackageName);
+    }
+    
+    
+    
+    /**
+     * 加载编译时由 LdapProcessor 注解处理器生成的"条目翻译官"。只加载一次
+     * 
+     * 加载异常的提供者（如，Java类在编译后被修改过），其Java类仍按运行时扫描的方式解释。
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     */
+    private static void loadProviders()
+    {
+        if ( $ProvidersLoaded )
+        {
+            return;
+        }
+        $ProvidersLoaded = true;
+        
+        ClassLoader v_ClassLoader = Help.NVL(Thread.currentThread().getContextClassLoader() ,LdapAnnotation.class.getClassLoader());
+        
+        try
+        {
+            for (LdapEntryProvider v_Provider : ServiceLoader.load(LdapEntryProvider.class ,v_ClassLoader))
+            {
+                try
+                {
+                    List<LdapEntry> v_LdapEntrys = new ArrayList<LdapEntry>();
+                    
+                    for (LdapEntry v_LdapEntry : v_Provider.getLdapEntrys())
+                    {
+                        if ( isValid(v_LdapEntry) )
+                        {
+                            v_LdapEntrys.add(v_LdapEntry);
+                        }
+                    }
+                    
+                    LdapEntryRegistry.register(v_LdapEntrys);
+                    
+                    for (LdapEntry v_LdapEntry : v_LdapEntrys)
+                    {
+                        $ProvidedClasses.add(v_LdapEntry.getMetaClass());
+                    }
+                }
+                catch (Exception exce)
+                {
+                    exce.printStackTrace();
+                }
+            }
+        }
+        catch (ServiceConfigurationError exce)
+        {
+            exce.printStackTrace();
+        }
+    }
+    
+    
+    
+    /**
+     * 清除由所有"条目翻译官"生成的缓存。注册新的"条目翻译官"后调用
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     */
+    static void clearCaches()
+    {
+        $AttributeNames    = null;
+        $ObjectClassFilter = null;
+        $Resolver          = null;
+        $ResolverDisabled  = false;
+    }
+    
+    
+    
+    /**
+     * 获取按条目的对象类识别"条目翻译官"的识别器
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @return  识别器不可用时（如，对象类名称的个数超过64个），返回NULL
+     */
+    public static LdapEntryResolver getResolver()
+    {
+        LdapEntryResolver v_Ret = $Resolver;
+        
+        if ( v_Ret == null && !$ResolverDisabled )
+        {
+            try
+            {
+                v_Ret = new LdapEntryResolver(LdapEntryRegistry.getLdapEntrys().values());
+                $Resolver = v_Ret;
+            }
+            catch (IllegalArgumentException exce)
+            {
+                $ResolverDisabled = true;
+            }
+        }
+        
+        return v_Ret;
+    }
+    
+    
+    
+    /**
+     * 获取所有"条目翻译官"的属性名称的并集（包含 objectClass）。
+     * 
+     * 用于查询结果的条目类型不确定时（如按DN查询子条目），查询时的属性投影。
+     * 
+     * 注：返回的是内部共享的数组，请不要修改它。
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @return
+     */
+    public static String [] getAttributeNames()
+    {
+        String [] v_Ret = $AttributeNames;
+        
+        if ( v_Ret == null )
+        {
+            List<String> v_Names = new ArrayList<String>();
+            
+            for (LdapEntry v_LdapEntry : LdapEntryRegistry.getLdapEntrys().values())
+            {
+                v_Names.addAll(Arrays.asList(v_LdapEntry.getAttributeNames()));
+            }
+            
+            v_Ret = LdapEntry.toAttributeNames(v_Names);
+            $AttributeNames = v_Ret;
+        }
+        
+        return v_Ret;
+    }
+    
+    
+    
+    /**
+     * 获取所有"条目翻译官"的对象类的过滤条件。各"条目翻译官"间为'或'关系。
+     * 
+     * 如，(|(&(objectClass=organizationalUnit)(objectClass=top))(&(objectClass=person)(objectClass=top)))
+     * 
+     * 用于查询结果的条目类型不确定时（如按DN查询子条目），将对象类的约束下推到LDAP服务端。
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @return  没有"条目翻译官"时，返回 (objectClass=*)
+     */
+    public static String getObjectClassFilter()
+    {
+        String v_Ret = $ObjectClassFilter;
+        
+        if ( v_Ret == null )
+        {
+            Map<String ,LdapEntry> v_LdapEntryClassIDs = LdapEntryRegistry.getLdapEntrys();
+            StringBuilder          v_Buffer            = new StringBuilder();
+            int                    v_Count             = 0;
             
-            XJava.putObject($LdapEntryClasses  ,v_LdapEntryClasses);
-            XJava.putObject($LdapEntryClassIDs ,v_LdapEntryClassIDs);
+            // 按对象类ID排序，使过滤条件稳定不变
+            for (String v_ID : Help.toSort(new ArrayList<String>(v_LdapEntryClassIDs.keySet())))
+            {
+                v_Buffer.append(v_LdapEntryClassIDs.get(v_ID).getObjectClassFilter());
+                v_Count++;
+            }
+            
+            if ( v_Count <= 0 )
+            {
+                v_Ret = "(" + LDAP.$ObjectClass + "=*)";
+            }
+            else if ( v_Count == 1 )
+            {
+                v_Ret = v_Buffer.toString();
+            }
+            else
+            {
+                v_Ret = "(" + LDAP.$Or + v_Buffer.toString() + ")";
+            }
+            
+            $ObjectClassFilter = v_Ret;
         }
         
-        parser(Help.getClasses(i_PackageName) ,v_LdapEntryClasses ,v_LdapEntryClassIDs);
+        return v_Ret;
     }
     
     
     
-    private static void parser(List<Class<?>> i_Classes ,Map<Class<?> ,LdapEntry> io_LdapEntryClasses ,Map<String ,LdapEntry> io_LdapEntryClassIDs)
+    private static void parser(List<Class<?>> i_Classes ,List<LdapEntry> io_LdapEntrys)
     {
         PartitionMap<ElementType ,ClassInfo> v_Annotations       = ClassReflect.getAnnotations(i_Classes ,Ldap.class);
         List<ClassInfo>                      v_ClassInfos        = null;
@@ -172,16 +412,32 @@ public class LdapAnnotation
                     }
                 }
                 
-                // 只保存有对象类和属性的LDAP条目信息
-                if (  !Help.isNull(v_LdapEntry.getObjectClasses()) 
-                  && (!Help.isNull(v_LdapEntry.getElementsToLDAP())
-                   || !Help.isNull(v_LdapEntry.getElementsToObject())) )
+                if ( isValid(v_LdapEntry) )
                 {
-                    io_LdapEntryClasses .put(v_LdapEntry.getMetaClass()       ,v_LdapEntry);
-                    io_LdapEntryClassIDs.put(v_LdapEntry.getObjectClassesID() ,v_LdapEntry);
+                    io_LdapEntrys.add(v_LdapEntry);
                 }
             }
         }
     }
     
+    
+    
+    /**
+     * 只保存有对象类和属性的LDAP条目信息
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_LdapEntry
+     * @return
+     */
+    private static boolean isValid(LdapEntry i_LdapEntry)
+    {
+        return i_LdapEntry != null
+            &&  !Help.isNull(i_LdapEntry.getObjectClasses()) 
+            && (!Help.isNull(i_LdapEntry.getElementsToLDAP())
+             || !Help.isNull(i_LdapEntry.getElementsToObject()));
+    }
+    
 }
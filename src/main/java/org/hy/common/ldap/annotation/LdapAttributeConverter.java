@@ -0,0 +1,316 @@
+package org.hy.common.ldap.annotation;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.directory.api.ldap.model.entry.Attribute;
+import org.apache.directory.api.ldap.model.entry.Value;
+import org.hy.common.Help;
+import org.hy.common.MethodReflect;
+
+
+
+
+
+/**
+ * LDAP属性值转为Java对象setter()方法入参值的转换策略。
+ *
+ * 在解释 @Ldap 注解时，按setter()方法的入参类型，一次性地确定容器类型（List、Set、数组、Map、简单类型）、
+ * 元素类型及元素的转换方式。翻译条目时直接执行，不再每次判定类型、解析泛型。
+ *
+ * 转换规则与 LdapEntry.toObject(...) 原有的规则完全相同：
+ *   1. List<E>、Set<E>、Map<E ,E>：元素类型取泛型，无泛型时为String。Map的Key与Value均为属性值。
+ *   2. E[]：元素类型为数组的元素类型。
+ *   3. 其它类型：随机取一个属性值转换。属性值为NULL时，为空字符串。
+ *
+ * 注：线程安全。构造后不可变。
+ *
+ * @author      ZhengWei(HY)
+ * @createDate  2026-10-16
+ * @version     v1.0
+ */
+public abstract class LdapAttributeConverter
+{
+
+    /** 元素的类型 */
+    protected final Class<?> itemClass;
+
+    /** 元素的类型是否为String。为String时，无须转换 */
+    protected final boolean  isString;
+
+
+
+    protected LdapAttributeConverter(Class<?> i_ItemClass)
+    {
+        this.itemClass = i_ItemClass;
+        this.isString  = i_ItemClass == String.class;
+    }
+
+
+
+    /**
+     * 按setter()方法的入参类型，生成转换策略
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_SetMethod  Java对象的setter()方法
+     * @return
+     */
+    public static LdapAttributeConverter of(Method i_SetMethod)
+    {
+        Class<?> v_ParamClass = i_SetMethod.getParameterTypes()[0];
+
+        if ( MethodReflect.isExtendImplement(v_ParamClass ,List.class) )
+        {
+            return new ListConverter(getGenerics(i_SetMethod));
+        }
+        else if ( MethodReflect.isExtendImplement(v_ParamClass ,Set.class) )
+        {
+            return new SetConverter(getGenerics(i_SetMethod));
+        }
+        else if ( v_ParamClass.isArray() )
+        {
+            return new ArrayConverter(Help.NVL(v_ParamClass.getComponentType() ,String.class));
+        }
+        else if ( MethodReflect.isExtendImplement(v_ParamClass ,Map.class) )
+        {
+            return new MapConverter(getGenerics(i_SetMethod));
+        }
+        else
+        {
+            return new ScalarConverter(v_ParamClass);
+        }
+    }
+
+
+
+    /**
+     * 获取setter()方法入参的第一个泛型。无泛型时为String
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_SetMethod
+     * @return
+     */
+    private static Class<?> getGenerics(Method i_SetMethod)
+    {
+        Class<?> v_ItemClass = null;
+
+        try
+        {
+            v_ItemClass = MethodReflect.getGenerics(i_SetMethod ,0 ,0);
+        }
+        catch (Exception exce)
+        {
+            // 无泛型时，按String处理
+        }
+
+        return Help.NVL(v_ItemClass ,String.class);
+    }
+
+
+
+    /**
+     * 将LDAP属性值转为元素类型的值
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_Value
+     * @return
+     */
+    protected Object toItem(Value i_Value)
+    {
+        if ( this.isString )
+        {
+            return i_Value.getString();
+        }
+        else
+        {
+            return Help.toObject(this.itemClass ,i_Value.getString());
+        }
+    }
+
+
+
+    /**
+     * 将LDAP属性转为Java对象setter()方法的入参值
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_Attribute  LDAP属性（不为NULL）
+     * @return
+     */
+    public abstract Object toValue(Attribute i_Attribute);
+
+
+
+    /**
+     * 获取：元素的类型
+     */
+    public Class<?> getItemClass()
+    {
+        return itemClass;
+    }
+
+
+
+
+
+    /** List<E> 类型的转换策略 */
+    static final class ListConverter extends LdapAttributeConverter
+    {
+        ListConverter(Class<?> i_ItemClass)
+        {
+            super(i_ItemClass);
+        }
+
+        @Override
+        public Object toValue(Attribute i_Attribute)
+        {
+            List<Object> v_Values = new ArrayList<Object>(i_Attribute.size());
+
+            for (Value v_Value : i_Attribute)
+            {
+                v_Values.add(this.toItem(v_Value));
+            }
+
+            return v_Values;
+        }
+    }
+
+
+
+
+
+    /** Set<E> 类型的转换策略 */
+    static final class SetConverter extends LdapAttributeConverter
+    {
+        SetConverter(Class<?> i_ItemClass)
+        {
+            super(i_ItemClass);
+        }
+
+        @Override
+        public Object toValue(Attribute i_Attribute)
+        {
+            Set<Object> v_Values = new HashSet<Object>();
+
+            for (Value v_Value : i_Attribute)
+            {
+                v_Values.add(this.toItem(v_Value));
+            }
+
+            return v_Values;
+        }
+    }
+
+
+
+
+
+    /** E[] 类型的转换策略 */
+    static final class ArrayConverter extends LdapAttributeConverter
+    {
+        ArrayConverter(Class<?> i_ItemClass)
+        {
+            super(i_ItemClass);
+        }
+
+        @Override
+        public Object toValue(Attribute i_Attribute)
+        {
+            Object          v_Values = Array.newInstance(this.itemClass ,i_Attribute.size());
+            Iterator<Value> v_Iter   = i_Attribute.iterator();
+            int             v_Index  = 0;
+
+            if ( this.isString )
+            {
+                String [] v_Strings = (String [])v_Values;
+                while ( v_Iter.hasNext() )
+                {
+                    v_Strings[v_Index++] = v_Iter.next().getString();
+                }
+            }
+            else
+            {
+                while ( v_Iter.hasNext() )
+                {
+                    Array.set(v_Values ,v_Index++ ,this.toItem(v_Iter.next()));
+                }
+            }
+
+            return v_Values;
+        }
+    }
+
+
+
+
+
+    /** Map<E ,E> 类型的转换策略。Key与Value均为属性值 */
+    static final class MapConverter extends LdapAttributeConverter
+    {
+        MapConverter(Class<?> i_ItemClass)
+        {
+            super(i_ItemClass);
+        }
+
+        @Override
+        public Object toValue(Attribute i_Attribute)
+        {
+            Map<Object ,Object> v_Values = new HashMap<Object ,Object>();
+
+            for (Value v_Value : i_Attribute)
+            {
+                Object v_AttrValue = this.toItem(v_Value);
+                v_Values.put(v_AttrValue ,v_AttrValue);
+            }
+
+            return v_Values;
+        }
+    }
+
+
+
+
+
+    /** 简单类型的转换策略。同一属性有多个属性值时，随机取一个 */
+    static final class ScalarConverter extends LdapAttributeConverter
+    {
+        ScalarConverter(Class<?> i_ItemClass)
+        {
+            super(i_ItemClass);
+        }
+
+        @Override
+        public Object toValue(Attribute i_Attribute)
+        {
+            Value v_Value = i_Attribute.get();
+
+            if ( v_Value != null )
+            {
+                return this.toItem(v_Value);
+            }
+            else
+            {
+                return "";
+            }
+        }
+    }
+
+}
@@ -1,29 +1,29 @@
 package org.hy.common.ldap.annotation;
 
-import java.lang.reflect.Array;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.HashSet;
+import java.util.Arrays;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 import org.apache.directory.api.ldap.model.entry.Attribute;
 import org.apache.directory.api.ldap.model.entry.DefaultEntry;
 import org.apache.directory.api.ldap.model.entry.DefaultModification;
 import org.apache.directory.api.ldap.model.entry.Entry;
 import org.apache.directory.api.ldap.model.entry.ModificationOperation;
-import org.apache.directory.api.ldap.model.entry.Value;
 import org.apache.directory.api.ldap.model.exception.LdapException;
 import org.apache.directory.api.ldap.model.message.ModifyRequest;
 import org.apache.directory.api.ldap.model.message.ModifyRequestImpl;
 import org.apache.directory.api.ldap.model.name.Dn;
 import org.hy.common.Date;
 import org.hy.common.Help;
-import org.hy.common.MethodReflect;
 import org.hy.common.Return;
 import org.hy.common.StringHelp;
 import org.hy.common.TablePartitionRID;
@@ -71,6 +71,14 @@ import org.hy.common.ldap.LDAP;
  *                                         private Map<String ,String> telMap;  // 用于多手机号有指定性修改的场景
  *                                                                              // Map.key   为旧属性值
  *                                                                              // Map.value 为新属性值
+ * 
+ *              v5.0  2026-10-16  添加：getAttributeNames() 查询时的属性投影。只查询被翻译的属性。
+ *                                添加：getObjectClassFilter() 对象类的过滤条件。用于将对象类的约束下推到LDAP服务端的过滤条件中。
+ *                                添加：getFilterPlan() 编译好的查询过滤条件的执行计划。
+ *                                优化：解释注解时将getter()、setter()方法生成为LambdaMetafactory函数（LdapProperty），翻译时不再反射调用。
+ *                                优化：解释注解时预先生成属性值的转换策略（LdapAttributeConverter），toObject() 翻译时不再每次判定类型、解析泛型。
+ *                                添加：putElement()、putDN() 支持编译时生成的、直接调用方法的函数（LdapProcessor 注解处理器）。
+ *                                添加：toSnapshot() 生成属性值的快照。toModify() 可与快照对比得出修改动作，不用再查询旧值。
  */
 public class LdapEntry
 {
@@ -120,6 +128,42 @@ public class LdapEntry
      * Map.value = Java属性对象的setter()方法
      */
     private TablePartitionRID<String ,Method>  elementsToObject;
+    
+    /**
+     * 查询时，要求LDAP服务返回的属性名称。即 elementsToObject 的属性名称，再加上 objectClass。
+     * 
+     * 用于属性投影，只查询被翻译的属性，减少传输及解码的数据量。懒加载，元素变化时重新生成。
+     */
+    private volatile String [] attributeNames;
+    
+    /**
+     * 对象类的过滤条件。如，(&(objectClass=top)(objectClass=person))。
+     * 
+     * 用于将对象类的约束下推到LDAP服务端，未被翻译的条目不用传输及解码。懒加载，对象类变化时重新生成。
+     */
+    private volatile String    objectClassFilter;
+    
+    /**
+     * 编译好的查询过滤条件的执行计划。
+     * 
+     * 下标为 isAnd、isAndByMultValue、isLikeBefore、isLikeAfter 四个过滤关系组合成的二进制位。懒加载，元素变化时重新编译。
+     */
+    private volatile LdapFilterPlan [] filterPlans;
+    
+    /** 获取DN值的访问器。由 dnGetMethod 生成 */
+    private LdapProperty       dnGetter;
+    
+    /** 设置DN值的访问器。由 dnSetMethod 生成 */
+    private LdapProperty       dnSetter;
+    
+    /** 属性的getter()访问器。与 elementsToLDAP 一一对应，用于翻译时的高速遍历 */
+    private volatile LdapProperty [] getters;
+    
+    /** 属性的setter()访问器。与 elementsToObject 一一对应，用于翻译时的高速遍历 */
+    private volatile LdapProperty [] setters;
+    
+    /** 构造Java值对象的函数。由编译时生成（见 LdapProcessor 注解处理器）。为NULL时反射构造 */
+    private Supplier<Object>         newInstance;
 
     
     
@@ -128,6 +172,8 @@ public class LdapEntry
         this.objectClasses    = new ArrayList<String>();
         this.elementsToLDAP   = new TablePartitionRID<String ,Method>();
         this.elementsToObject = new TablePartitionRID<String ,Method>();
+        this.getters          = new LdapProperty[0];
+        this.setters          = new LdapProperty[0];
     }
     
     
@@ -206,9 +252,9 @@ public class LdapEntry
      */
     public String getDNValue(Object i_Values) throws IllegalAccessException, IllegalArgumentException, InvocationTargetException
     {
-        if ( this.dnGetMethod != null )
+        if ( this.dnGetter != null )
         {
-            Object v_Value = this.dnGetMethod.invoke(i_Values);
+            Object v_Value = this.dnGetter.getValue(i_Values);
             if ( v_Value != null )
             {
                 return v_Value.toString();
@@ -362,26 +408,23 @@ public class LdapEntry
         }
         
         // 设置LDAP的属性
-        for (Map.Entry<String ,Map<String ,Method>> v_Item : this.elementsToLDAP.entrySet())
+        for (LdapProperty v_Getter : this.getters)
         {
-            for (Map.Entry<String ,Method> v_ItemMethod : v_Item.getValue().entrySet())
+            try
             {
-                try
-                {
-                    Object    v_Value      = v_ItemMethod.getValue().invoke(i_Values);
-                    String [] v_AttrValues = dataToLDAPAttributes(v_Value);
-                    
-                    if ( !Help.isNull(v_AttrValues) )
-                    {
-                        v_Entry.add(v_Item.getKey() ,v_AttrValues);
-                    }
-                }
-                catch (Exception exce)
+                Object    v_Value      = v_Getter.getValue(i_Values);
+                String [] v_AttrValues = dataToLDAPAttributes(v_Value);
+                
+                if ( !Help.isNull(v_AttrValues) )
                 {
-                    System.out.println(Date.getNowTime().getFull() + " LDAP Attribute name(" + v_Item.getKey() + ") get <" + v_ItemMethod.getKey() + "> method(" + v_ItemMethod.getValue().getName() + ") value is error.");
-                    exce.printStackTrace();
+                    v_Entry.add(v_Getter.getName() ,v_AttrValues);
                 }
             }
+            catch (Exception exce)
+            {
+                System.out.println(Date.getNowTime().getFull() + " LDAP Attribute name(" + v_Getter.getName() + ") get <" + v_Getter.getTypeName() + "> method(" + v_Getter.getMethod().getName() + ") value is error.");
+                exce.printStackTrace();
+            }
         }
         
         return v_Entry;
@@ -398,6 +441,7 @@ public class LdapEntry
      *              v2.0  2018-12-06  添加：支持同一属性多个属性值的LDAP特性。
      *                                     Java对象用List<Object>或Set<Object>或数组Object[]定义成员变量的类型，来支持多属性值的LDAP特性。
      *                                     当Java成员变量为String这样的简单时，LDAP中同一属性有多个属性值时，随机取一个给Java成员变量赋值。
+     *              v3.0  2026-10-16  优化：使用预先生成的转换策略（LdapAttributeConverter）转换属性值。
      *
      * @param i_Entry   条目对象
      * @return
@@ -412,12 +456,12 @@ public class LdapEntry
         }
         
         // 设置Java的DN
-        if ( this.dnSetMethod != null )
+        if ( this.dnSetter != null )
         {
             try
             {
                 Object v_MethodParam = Help.toObject(this.dnSetMethod.getParameterTypes()[0] ,i_Entry.getDn().toString());
-                this.dnSetMethod.invoke(v_Ret ,v_MethodParam);
+                this.dnSetter.setValue(v_Ret ,v_MethodParam);
             }
             catch (Exception exce)
             {
@@ -427,105 +471,21 @@ public class LdapEntry
         }
         
         // 设置Java的属性
-        for (Map.Entry<String ,Map<String ,Method>> v_Item : this.elementsToObject.entrySet())
+        for (LdapProperty v_Setter : this.setters)
         {
-            for (Map.Entry<String ,Method> v_ItemMethod : v_Item.getValue().entrySet())
+            try
             {
-                try
+                Attribute v_Attribute = i_Entry.get(v_Setter.getName());
+                if ( v_Attribute != null )
                 {
-                    Attribute v_Attribute = i_Entry.get(v_Item.getKey());
-                    if ( v_Attribute != null )
-                    {
-                        Object v_MPValue = null;
-                        
-                        if ( MethodReflect.isExtendImplement(v_ItemMethod.getValue().getParameterTypes()[0] ,List.class) )
-                        {
-                            Class<?>        v_ListItemClass = MethodReflect.getGenerics(v_ItemMethod.getValue() ,0 ,0);
-                            List<Object>    v_Values        = new ArrayList<Object>();
-                            Iterator<Value> v_Iter          = v_Attribute.iterator();
-                            
-                            v_ListItemClass = Help.NVL(v_ListItemClass ,String.class);
-                            while (v_Iter.hasNext())
-                            {
-                                Value v_Value = v_Iter.next();
-                                
-                                v_Values.add(Help.toObject(v_ListItemClass ,v_Value.getString()));
-                            }
-                            
-                            v_MPValue = v_Values;
-                        }
-                        else if ( MethodReflect.isExtendImplement(v_ItemMethod.getValue().getParameterTypes()[0] ,Set.class) )
-                        {
-                            Class<?>        v_SetItemClass = MethodReflect.getGenerics(v_ItemMethod.getValue() ,0 ,0);
-                            Set<Object>     v_Values       = new HashSet<Object>();
-                            Iterator<Value> v_Iter         = v_Attribute.iterator();
-                            
-                            v_SetItemClass = Help.NVL(v_SetItemClass ,String.class);
-                            while (v_Iter.hasNext())
-                            {
-                                Value v_Value = v_Iter.next();
-                                
-                                v_Values.add(Help.toObject(v_SetItemClass ,v_Value.getString()));
-                            }
-                            
-                            v_MPValue = v_Values;
-                        }
-                        else if ( v_ItemMethod.getValue().getParameterTypes()[0].isArray() )
-                        {
-                            Class<?>        v_ArrayItemClass = v_ItemMethod.getValue().getParameterTypes()[0].getComponentType();
-                            Iterator<Value> v_Iter           = v_Attribute.iterator();
-                            int             v_Index          = 0;
-                            
-                            v_ArrayItemClass = Help.NVL(v_ArrayItemClass ,String.class);
-                            v_MPValue = Array.newInstance(v_ArrayItemClass ,v_Attribute.size());
-                            
-                            while (v_Iter.hasNext())
-                            {
-                                Value v_Value = v_Iter.next();
-                                
-                                Array.set(v_MPValue ,v_Index++ ,Help.toObject(v_ArrayItemClass ,v_Value.getString()));
-                            }
-                        }
-                        else if ( MethodReflect.isExtendImplement(v_ItemMethod.getValue().getParameterTypes()[0] ,Map.class) )
-                        {
-                            Class<?>            v_MapItemClass = MethodReflect.getGenerics(v_ItemMethod.getValue() ,0 ,0);
-                            Map<Object ,Object> v_Values       = new HashMap<Object ,Object>();
-                            Iterator<Value>     v_Iter         = v_Attribute.iterator();
-                            
-                            v_MapItemClass = Help.NVL(v_MapItemClass ,String.class);
-                            while (v_Iter.hasNext())
-                            {
-                                Value v_Value = v_Iter.next();
-                                
-                                Object v_AttrValue = Help.toObject(v_MapItemClass ,v_Value.getString());
-                                v_Values.put(v_AttrValue ,v_AttrValue);
-                            }
-                            
-                            v_MPValue = v_Values;
-                        }
-                        else
-                        {
-                            Value v_Value = v_Attribute.get();
-                            if ( v_Value != null )
-                            {
-                                // 1.0.0版本中用的v_Value.getString()
-                                v_MPValue = Help.toObject(v_ItemMethod.getValue().getParameterTypes()[0] ,v_Value.getString());
-                            }
-                            else
-                            {
-                                v_MPValue = "";
-                            }
-                        }
-                        
-                        v_ItemMethod.getValue().invoke(v_Ret ,v_MPValue);
-                    }
-                }
-                catch (Exception exce)
-                {
-                    System.out.println(Date.getNowTime().getFull() + " LDAP Attribute name(" + v_Item.getKey() + ") set <" + v_ItemMethod.getKey() + "> method(" + v_ItemMethod.getValue().getName() + ") value is error.");
-                    exce.printStackTrace();
+                    v_Setter.setAttribute(v_Ret ,v_Attribute);
                 }
             }
+            catch (Exception exce)
+            {
+                System.out.println(Date.getNowTime().getFull() + " LDAP Attribute name(" + v_Setter.getName() + ") set <" + v_Setter.getTypeName() + "> method(" + v_Setter.getMethod().getName() + ") value is error.");
+                exce.printStackTrace();
+            }
         }
         
         return v_Ret;
@@ -550,6 +510,7 @@ public class LdapEntry
      *                                     3. (!i_IsAdd &&  i_IsUpdate)为真时，没有插入、旧的删除：不存于i_NewValues的属性值，将被删除。并不向LDAP数据库中添加任何新属性值。
      * 
      *              v3.0  2018-12-14  添加：支Java对象用Map<Object ,Object>定义成员变量的类型，来支持多属性值情况下，旧值改为新值的场景。并且支持批量。
+     *              v4.0  2026-10-16  修改：对比逻辑与快照的对比共用。
      *
      * @param i_OldValues  LDAP服务中的旧值
      * @param i_NewValues  Java对象中的新值
@@ -558,16 +519,75 @@ public class LdapEntry
      * @param i_IsDel      当Java属性值为null时，是否删除LDAP中对应的属性
      * @return
      */
-    @SuppressWarnings("unchecked")
     public Return<ModifyRequest> toModify(Object i_OldValues ,Object i_NewValues
                                  ,boolean i_IsAdd
                                  ,boolean i_IsUpdate
                                  ,boolean i_IsDel)
+    {
+        return this.toModify(i_OldValues ,null ,this.getters ,i_NewValues ,i_IsAdd ,i_IsUpdate ,i_IsDel);
+    }
+    
+    
+    
+    /**
+     * 与Java值对象的属性值的快照对比后，得出要执行修改动作。不用再从LDAP服务中查询旧值。
+     * 
+     * 对比规则与 toModify(Object ,Object ,...) 完全相同，快照中的属性值即是旧值。
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_Snapshot   LDAP服务中的旧值的快照（见 toSnapshot()）
+     * @param i_NewValues  Java对象中的新值
+     * @param i_IsAdd      当LDAP中没有时，是否新增LDAP属性
+     * @param i_IsUpdate   当新旧不同时，是否修改LDAP中对应的属性
+     * @param i_IsDel      当Java属性值为null时，是否删除LDAP中对应的属性
+     * @return             快照已过期（生成快照后，"条目翻译官"的属性有变化）时，返回NULL
+     */
+    public Return<ModifyRequest> toModify(LdapSnapshot i_Snapshot ,Object i_NewValues
+                                 ,boolean i_IsAdd
+                                 ,boolean i_IsUpdate
+                                 ,boolean i_IsDel)
+    {
+        LdapProperty [] v_Getters = this.getters;
+        
+        if ( i_Snapshot == null || i_Snapshot.getGetters() != v_Getters )
+        {
+            return null;
+        }
+        
+        return this.toModify(null ,i_Snapshot ,v_Getters ,i_NewValues ,i_IsAdd ,i_IsUpdate ,i_IsDel);
+    }
+    
+    
+    
+    /**
+     * 与旧值（Java值对象或快照）对比后，得出要执行修改动作
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_OldValues  LDAP服务中的旧值。使用快照时为NULL
+     * @param i_Snapshot   LDAP服务中的旧值的快照。为NULL时，使用 i_OldValues
+     * @param i_Getters    属性访问器
+     * @param i_NewValues  Java对象中的新值
+     * @param i_IsAdd      当LDAP中没有时，是否新增LDAP属性
+     * @param i_IsUpdate   当新旧不同时，是否修改LDAP中对应的属性
+     * @param i_IsDel      当Java属性值为null时，是否删除LDAP中对应的属性
+     * @return
+     */
+    @SuppressWarnings("unchecked")
+    private Return<ModifyRequest> toModify(Object i_OldValues ,LdapSnapshot i_Snapshot ,LdapProperty [] i_Getters ,Object i_NewValues
+                                  ,boolean i_IsAdd
+                                  ,boolean i_IsUpdate
+                                  ,boolean i_IsDel)
     {
         Return<ModifyRequest> v_Ret = new Return<ModifyRequest>();
         v_Ret.set(true).setParamInt(0);
         
-        if ( i_OldValues == null )
+        if ( i_OldValues == null && i_Snapshot == null )
         {
             return v_Ret;
         }
@@ -593,112 +613,110 @@ public class LdapEntry
         }
         
         // 设置LDAP的属性
-        for (Map.Entry<String ,Map<String ,Method>> v_Item : this.elementsToLDAP.entrySet())
+        for (int x=0; x<i_Getters.length; x++)
         {
-            for (Map.Entry<String ,Method> v_ItemMethod : v_Item.getValue().entrySet())
+            LdapProperty v_Getter = i_Getters[x];
+            try
             {
-                try
+                Object v_NewValue = v_Getter.getValue(i_NewValues);
+                if ( v_NewValue != null )
                 {
-                    Object v_NewValue = v_ItemMethod.getValue().invoke(i_NewValues);
-                    if ( v_NewValue != null )
+                    if ( i_IsAdd || i_IsUpdate )
                     {
-                        if ( i_IsAdd || i_IsUpdate )
+                        Object v_OldValue = i_Snapshot != null ? i_Snapshot.getValue(x) : v_Getter.getValue(i_OldValues);
+                        if ( v_OldValue != null )
                         {
-                            Object v_OldValue = v_ItemMethod.getValue().invoke(i_OldValues);
-                            if ( v_OldValue != null )
+                            String [] v_AttrValues = dataToLDAPAttributes(v_NewValue);
+                            if ( !Help.isNull(v_AttrValues) )
                             {
-                                String [] v_AttrValues = dataToLDAPAttributes(v_NewValue);
-                                if ( !Help.isNull(v_AttrValues) )
+                                if ( v_NewValue instanceof List
+                                 ||  v_NewValue instanceof Set
+                                 ||  v_NewValue instanceof Object [] )
                                 {
-                                    if ( v_NewValue instanceof List
-                                     ||  v_NewValue instanceof Set
-                                     ||  v_NewValue instanceof Object [] )
+                                    String []                  v_AttrOlds = dataToLDAPAttributes(v_OldValue);
+                                    ComparateResult<String []> v_CResult  = Comparate.comparate(v_AttrOlds ,v_AttrValues);
+                                    
+                                    if ( i_IsAdd && !Help.isNull(v_CResult.getNewData()) )
                                     {
-                                        String []                  v_AttrOlds = dataToLDAPAttributes(v_OldValue);
-                                        ComparateResult<String []> v_CResult  = Comparate.comparate(v_AttrOlds ,v_AttrValues);
-                                        
-                                        if ( i_IsAdd && !Help.isNull(v_CResult.getNewData()) )
-                                        {
-                                            // 多个属性值的情况下：添加新的属性值（当新增标记为真时）
-                                            v_Request.addModification(new DefaultModification(ModificationOperation.ADD_ATTRIBUTE    ,v_Item.getKey() ,v_CResult.getNewData()));
-                                            v_MCount++;
-                                        }
-                                        if ( i_IsUpdate && !Help.isNull(v_CResult.getDelData()) )
-                                        {
-                                            // 多个属性值的情况下：删除旧的属性值（当修改标记为真时）
-                                            // 注：多属性值的删除，相当于对属性的修改，而不属性删除
-                                            v_Request.addModification(new DefaultModification(ModificationOperation.REMOVE_ATTRIBUTE ,v_Item.getKey() ,v_CResult.getDelData()));
-                                            v_MCount++;
-                                        }
+                                        // 多个属性值的情况下：添加新的属性值（当新增标记为真时）
+                                        v_Request.addModification(new DefaultModification(ModificationOperation.ADD_ATTRIBUTE    ,v_Getter.getName() ,v_CResult.getNewData()));
+                                        v_MCount++;
                                     }
-                                    else if ( v_NewValue instanceof Map )
+                                    if ( i_IsUpdate && !Help.isNull(v_CResult.getDelData()) )
                                     {
-                                        ComparateResult<Map<Object ,Object>> v_CResult = Comparate.comparate((Map<Object ,Object>)v_OldValue ,(Map<Object ,Object>)v_NewValue);
-                                        
-                                        if ( i_IsAdd && !Help.isNull(v_CResult.getNewData()) )
-                                        {
-                                            v_AttrValues = dataToLDAPAttributes(Help.toListKeys(v_CResult.getNewData()));
-                                            // 多个属性值的情况下：添加新的属性值（当新增标记为真时）
-                                            v_Request.addModification(new DefaultModification(ModificationOperation.ADD_ATTRIBUTE ,v_Item.getKey() ,v_AttrValues));
-                                            v_MCount++;
-                                        }
-                                        if ( i_IsUpdate && !Help.isNull(v_CResult.getDelData()) )
-                                        {
-                                            v_AttrValues = dataToLDAPAttributes(Help.toListKeys(v_CResult.getDelData()));
-                                            // 多个属性值的情况下：删除旧的属性值（当修改标记为真时）
-                                            // 注：多属性值的删除，相当于对属性的修改，而不属性删除
-                                            v_Request.addModification(new DefaultModification(ModificationOperation.REMOVE_ATTRIBUTE ,v_Item.getKey() ,v_AttrValues));
-                                            v_MCount++;
-                                        }
-                                        if ( i_IsUpdate && !Help.isNull(v_CResult.getDiffData()) )
-                                        {
-                                            String [] v_AttrOlds = dataToLDAPAttributes(Help.toListKeys(v_CResult.getDiffData()));
-                                            v_AttrValues         = dataToLDAPAttributes(Help.toList(    v_CResult.getDiffData()));
-                                            // 多个属性值的情况下：修改旧的属性值（当修改标记为真时）
-                                            // 注：先删除，后添加，不能使用 ModificationOperation.REPLACE_ATTRIBUTE ，应为它是全部属性值替换
-                                            v_Request.addModification(new DefaultModification(ModificationOperation.REMOVE_ATTRIBUTE ,v_Item.getKey() ,v_AttrOlds));
-                                            v_Request.addModification(new DefaultModification(ModificationOperation.ADD_ATTRIBUTE    ,v_Item.getKey() ,v_AttrValues));
-                                            v_MCount++;
-                                        }
+                                        // 多个属性值的情况下：删除旧的属性值（当修改标记为真时）
+                                        // 注：多属性值的删除，相当于对属性的修改，而不属性删除
+                                        v_Request.addModification(new DefaultModification(ModificationOperation.REMOVE_ATTRIBUTE ,v_Getter.getName() ,v_CResult.getDelData()));
+                                        v_MCount++;
                                     }
-                                    else if ( i_IsUpdate && !v_NewValue.equals(v_OldValue) )
+                                }
+                                else if ( v_NewValue instanceof Map )
+                                {
+                                    ComparateResult<Map<Object ,Object>> v_CResult = Comparate.comparate((Map<Object ,Object>)v_OldValue ,(Map<Object ,Object>)v_NewValue);
+                                    
+                                    if ( i_IsAdd && !Help.isNull(v_CResult.getNewData()) )
+                                    {
+                                        v_AttrValues = dataToLDAPAttributes(Help.toListKeys(v_CResult.getNewData()));
+                                        // 多个属性值的情况下：添加新的属性值（当新增标记为真时）
+                                        v_Request.addModification(new DefaultModification(ModificationOperation.ADD_ATTRIBUTE ,v_Getter.getName() ,v_AttrValues));
+                                        v_MCount++;
+                                    }
+                                    if ( i_IsUpdate && !Help.isNull(v_CResult.getDelData()) )
                                     {
-                                        // 修改属性值
-                                        v_Request.addModification(new DefaultModification(ModificationOperation.REPLACE_ATTRIBUTE ,v_Item.getKey() ,v_AttrValues));
+                                        v_AttrValues = dataToLDAPAttributes(Help.toListKeys(v_CResult.getDelData()));
+                                        // 多个属性值的情况下：删除旧的属性值（当修改标记为真时）
+                                        // 注：多属性值的删除，相当于对属性的修改，而不属性删除
+                                        v_Request.addModification(new DefaultModification(ModificationOperation.REMOVE_ATTRIBUTE ,v_Getter.getName() ,v_AttrValues));
+                                        v_MCount++;
+                                    }
+                                    if ( i_IsUpdate && !Help.isNull(v_CResult.getDiffData()) )
+                                    {
+                                        String [] v_AttrOlds = dataToLDAPAttributes(Help.toListKeys(v_CResult.getDiffData()));
+                                        v_AttrValues         = dataToLDAPAttributes(Help.toList(    v_CResult.getDiffData()));
+                                        // 多个属性值的情况下：修改旧的属性值（当修改标记为真时）
+                                        // 注：先删除，后添加，不能使用 ModificationOperation.REPLACE_ATTRIBUTE ，应为它是全部属性值替换
+                                        v_Request.addModification(new DefaultModification(ModificationOperation.REMOVE_ATTRIBUTE ,v_Getter.getName() ,v_AttrOlds));
+                                        v_Request.addModification(new DefaultModification(ModificationOperation.ADD_ATTRIBUTE    ,v_Getter.getName() ,v_AttrValues));
                                         v_MCount++;
                                     }
                                 }
-                            }
-                            else if ( i_IsAdd )
-                            {
-                                String [] v_AttrValues = dataToLDAPAttributes(v_NewValue);
-                                if ( !Help.isNull(v_AttrValues) )
+                                else if ( i_IsUpdate && !v_NewValue.equals(v_OldValue) )
                                 {
-                                    // 添加属性
-                                    v_Request.addModification(new DefaultModification(ModificationOperation.ADD_ATTRIBUTE ,v_Item.getKey() ,v_AttrValues));
+                                    // 修改属性值
+                                    v_Request.addModification(new DefaultModification(ModificationOperation.REPLACE_ATTRIBUTE ,v_Getter.getName() ,v_AttrValues));
                                     v_MCount++;
                                 }
                             }
                         }
-                    }
-                    // 当Java属性值为null时，删除LDAP中对应的属性
-                    else if ( i_IsDel )
-                    {
-                        Object v_OldValue = v_ItemMethod.getValue().invoke(i_OldValues);
-                        if ( v_OldValue != null )
+                        else if ( i_IsAdd )
                         {
-                            // 删除属性
-                            v_Request.addModification(new DefaultModification(ModificationOperation.REMOVE_ATTRIBUTE ,v_Item.getKey()));
-                            v_MCount++;
+                            String [] v_AttrValues = dataToLDAPAttributes(v_NewValue);
+                            if ( !Help.isNull(v_AttrValues) )
+                            {
+                                // 添加属性
+                                v_Request.addModification(new DefaultModification(ModificationOperation.ADD_ATTRIBUTE ,v_Getter.getName() ,v_AttrValues));
+                                v_MCount++;
+                            }
                         }
                     }
                 }
-                catch (Exception exce)
+                // 当Java属性值为null时，删除LDAP中对应的属性
+                else if ( i_IsDel )
                 {
-                    System.out.println(Date.getNowTime().getFull() + " LDAP Attribute name(" + v_Item.getKey() + ") get <" + v_ItemMethod.getKey() + "> method(" + v_ItemMethod.getValue().getName() + ") value is error.");
-                    exce.printStackTrace();
+                    Object v_OldValue = i_Snapshot != null ? i_Snapshot.getValue(x) : v_Getter.getValue(i_OldValues);
+                    if ( v_OldValue != null )
+                    {
+                        // 删除属性
+                        v_Request.addModification(new DefaultModification(ModificationOperation.REMOVE_ATTRIBUTE ,v_Getter.getName()));
+                        v_MCount++;
+                    }
                 }
             }
+            catch (Exception exce)
+            {
+                System.out.println(Date.getNowTime().getFull() + " LDAP Attribute name(" + v_Getter.getName() + ") get <" + v_Getter.getTypeName() + "> method(" + v_Getter.getMethod().getName() + ") value is error.");
+                exce.printStackTrace();
+            }
         }
         
         v_Ret.setParamObj(v_Request);
@@ -710,6 +728,65 @@ public class LdapEntry
     
     
     
+    /**
+     * 生成Java值对象的属性值的快照。多属性值（List、Set、Map、数组）是复制的
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_Values  Java值对象
+     * @return
+     */
+    public LdapSnapshot toSnapshot(Object i_Values)
+    {
+        return this.toSnapshot(i_Values ,null);
+    }
+    
+    
+    
+    /**
+     * 生成Java值对象的属性值的快照。多属性值（List、Set、Map、数组）是复制的
+     * 
+     * 用于修改条目后，刷新快照：Java属性值为null、但LDAP中对应的属性未被删除时，保留旧快照中的属性值。
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_Values    Java值对象
+     * @param i_Snapshot  旧的快照。Java属性值为null时，取旧快照中的属性值。为NULL或已过期时，不取旧快照中的属性值
+     * @return
+     */
+    public LdapSnapshot toSnapshot(Object i_Values ,LdapSnapshot i_Snapshot)
+    {
+        LdapProperty [] v_Getters = this.getters;
+        Object []       v_Values  = new Object[v_Getters.length];
+        LdapSnapshot    v_Old     = i_Snapshot != null && i_Snapshot.getGetters() == v_Getters ? i_Snapshot : null;
+        
+        for (int x=0; x<v_Getters.length; x++)
+        {
+            try
+            {
+                v_Values[x] = LdapSnapshot.copy(v_Getters[x].getValue(i_Values));
+            }
+            catch (Exception exce)
+            {
+                System.out.println(Date.getNowTime().getFull() + " LDAP Attribute name(" + v_Getters[x].getName() + ") get <" + v_Getters[x].getTypeName() + "> method(" + v_Getters[x].getMethod().getName() + ") value is error.");
+                exce.printStackTrace();
+            }
+            
+            if ( v_Values[x] == null && v_Old != null )
+            {
+                v_Values[x] = v_Old.getValue(x);
+            }
+        }
+        
+        return new LdapSnapshot(v_Getters ,v_Values);
+    }
+    
+    
+    
     /**
      * 添加元素
      * 
@@ -722,20 +799,317 @@ public class LdapEntry
      * @param i_SetMethod
      */
     public void putElement(String i_Name ,Method i_GetMethod ,Method i_SetMethod)
+    {
+        this.putElement(i_Name ,i_GetMethod ,i_SetMethod ,null ,null);
+    }
+    
+    
+    
+    /**
+     * 添加元素。使用编译时生成的、直接调用方法的函数（见 LdapProcessor 注解处理器）。
+     * 
+     * 函数为NULL时，与 putElement(String ,Method ,Method) 相同。
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_Name
+     * @param i_GetMethod
+     * @param i_SetMethod
+     * @param i_Getter     getter()方法的函数
+     * @param i_Setter     setter()方法的函数
+     */
+    public void putElement(String i_Name ,Method i_GetMethod ,Method i_SetMethod ,Function<Object ,Object> i_Getter ,BiConsumer<Object ,Object> i_Setter)
     {
         if ( i_GetMethod != null )
         {
             this.elementsToLDAP.putRow(i_Name ,i_GetMethod.getReturnType().getName() ,i_GetMethod);
+            this.getters     = putProperty(this.getters ,new LdapProperty(i_Name ,i_GetMethod ,i_Getter ,null));
+            this.filterPlans = null;
         }
         
         if ( i_SetMethod != null )
         {
             this.elementsToObject.putRow(i_Name ,i_SetMethod.getParameterTypes()[0].getName() ,i_SetMethod);
+            this.setters        = putProperty(this.setters ,new LdapProperty(i_Name ,i_SetMethod ,null ,i_Setter));
+            this.attributeNames = null;
         }
     }
     
     
     
+    /**
+     * 设置DN值的getter、setter方法。使用编译时生成的、直接调用方法的函数（见 LdapProcessor 注解处理器）。
+     * 
+     * 函数为NULL时，与 setDnGetMethod(Method)、setDnSetMethod(Method) 相同。
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_GetMethod
+     * @param i_SetMethod
+     * @param i_Getter     getter()方法的函数
+     * @param i_Setter     setter()方法的函数
+     */
+    public void putDN(Method i_GetMethod ,Method i_SetMethod ,Function<Object ,Object> i_Getter ,BiConsumer<Object ,Object> i_Setter)
+    {
+        this.dnGetMethod = i_GetMethod;
+        this.dnGetter    = i_GetMethod == null ? null : new LdapProperty("dn" ,i_GetMethod ,i_Getter ,null);
+        this.dnSetMethod = i_SetMethod;
+        this.dnSetter    = i_SetMethod == null ? null : new LdapProperty("dn" ,i_SetMethod ,null ,i_Setter);
+    }
+    
+    
+    
+    /**
+     * 添加或替换（同属性名称、同类型的）访问器。与 TablePartitionRID.putRow() 的规则相同
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_Properties  原访问器
+     * @param i_Property    新访问器
+     * @return              新的访问器数组。原数组不变，以便并发翻译时的读取安全
+     */
+    private static LdapProperty [] putProperty(LdapProperty [] i_Properties ,LdapProperty i_Property)
+    {
+        LdapProperty [] v_Ret = null;
+        
+        for (int x=0; x<i_Properties.length; x++)
+        {
+            if ( i_Properties[x].getName()    .equals(i_Property.getName())
+              && i_Properties[x].getTypeName().equals(i_Property.getTypeName()) )
+            {
+                v_Ret    = i_Properties.clone();
+                v_Ret[x] = i_Property;
+                return v_Ret;
+            }
+        }
+        
+        v_Ret = Arrays.copyOf(i_Properties ,i_Properties.length + 1);
+        v_Ret[i_Properties.length] = i_Property;
+        return v_Ret;
+    }
+    
+    
+    
+    /**
+     * 将属性名称与方法的对应关系，生成访问器
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_Elements
+     * @return
+     */
+    private static LdapProperty [] toProperties(TablePartitionRID<String ,Method> i_Elements)
+    {
+        List<LdapProperty> v_Ret = new ArrayList<LdapProperty>();
+        
+        if ( i_Elements != null )
+        {
+            for (Map.Entry<String ,Map<String ,Method>> v_Item : i_Elements.entrySet())
+            {
+                for (Method v_Method : v_Item.getValue().values())
+                {
+                    v_Ret.add(new LdapProperty(v_Item.getKey() ,v_Method));
+                }
+            }
+        }
+        
+        return v_Ret.toArray(new LdapProperty[v_Ret.size()]);
+    }
+    
+    
+    
+    /**
+     * 获取属性的getter()访问器。用于翻译时的高速遍历
+     * 
+     * 注：返回的是内部共享的数组，请不要修改它。
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @return
+     */
+    public LdapProperty [] getGetters()
+    {
+        return this.getters;
+    }
+    
+    
+    
+    /**
+     * 获取属性的setter()访问器。用于翻译时的高速遍历
+     * 
+     * 注：返回的是内部共享的数组，请不要修改它。
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @return
+     */
+    public LdapProperty [] getSetters()
+    {
+        return this.setters;
+    }
+    
+    
+    
+    /**
+     * 获取查询时，要求LDAP服务返回的属性名称。即所有被翻译为Java值对象的属性名称，再加上 objectClass。
+     * 
+     * 注：返回的是内部共享的数组，请不要修改它。
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @return
+     */
+    public String [] getAttributeNames()
+    {
+        String [] v_Ret = this.attributeNames;
+        
+        if ( v_Ret == null )
+        {
+            v_Ret = toAttributeNames(this.elementsToObject.keySet());
+            this.attributeNames = v_Ret;
+        }
+        
+        return v_Ret;
+    }
+    
+    
+    
+    /**
+     * 获取编译好的查询过滤条件的执行计划。首次获取时编译，之后复用。
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_IsAnd             不属性间的属性值的过滤关系，是'与'、'或'关系？
+     * @param i_IsAndByMultValue  同一属性的多个属性值间的过滤关系，是'与'、'或'关系？
+     * @param i_IsLikeBefore      属性值的前缀是否为模糊匹配
+     * @param i_IsLikeAfter       属性值的后缀是否为模糊匹配
+     * @return
+     */
+    public LdapFilterPlan getFilterPlan(boolean i_IsAnd ,boolean i_IsAndByMultValue ,boolean i_IsLikeBefore ,boolean i_IsLikeAfter)
+    {
+        LdapFilterPlan [] v_Plans = this.filterPlans;
+        
+        if ( v_Plans == null )
+        {
+            v_Plans = new LdapFilterPlan[16];
+            this.filterPlans = v_Plans;
+        }
+        
+        int            v_Index = (i_IsAnd ? 8 : 0) | (i_IsAndByMultValue ? 4 : 0) | (i_IsLikeBefore ? 2 : 0) | (i_IsLikeAfter ? 1 : 0);
+        LdapFilterPlan v_Plan  = v_Plans[v_Index];
+        
+        if ( v_Plan == null )
+        {
+            // 并发时可能重复编译，但结果相同，无须加锁
+            v_Plan = new LdapFilterPlan(this ,i_IsAnd ,i_IsAndByMultValue ,i_IsLikeBefore ,i_IsLikeAfter);
+            v_Plans[v_Index] = v_Plan;
+        }
+        
+        return v_Plan;
+    }
+    
+    
+    
+    /**
+     * 获取对象类的过滤条件。所有对象类间为'与'关系。
+     * 
+     * 如，对象类为 top,person 时，返回 (&(objectClass=person)(objectClass=top))
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @return  没有对象类时，返回 (objectClass=*)
+     */
+    public String getObjectClassFilter()
+    {
+        String v_Ret = this.objectClassFilter;
+        
+        if ( v_Ret == null )
+        {
+            StringBuilder v_Buffer = new StringBuilder();
+            int           v_Count  = 0;
+            
+            if ( this.objectClasses != null )
+            {
+                for (String v_ObjectClass : this.objectClasses)
+                {
+                    if ( !Help.isNull(v_ObjectClass) )
+                    {
+                        v_Buffer.append("(").append(LDAP.$ObjectClass).append("=").append(v_ObjectClass.trim()).append(")");
+                        v_Count++;
+                    }
+                }
+            }
+            
+            if ( v_Count <= 0 )
+            {
+                v_Ret = "(" + LDAP.$ObjectClass + "=*)";
+            }
+            else if ( v_Count == 1 )
+            {
+                v_Ret = v_Buffer.toString();
+            }
+            else
+            {
+                v_Ret = "(" + LDAP.$And + v_Buffer.toString() + ")";
+            }
+            
+            this.objectClassFilter = v_Ret;
+        }
+        
+        return v_Ret;
+    }
+    
+    
+    
+    /**
+     * 将属性名称的集合，转为查询时的属性投影（去重，不区分大小写，并包含 objectClass）
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_Names  属性名称的集合
+     * @return
+     */
+    public static String [] toAttributeNames(Iterable<String> i_Names)
+    {
+        Map<String ,String> v_Names = new LinkedHashMap<String ,String>();
+        
+        v_Names.put(LDAP.$ObjectClass.toLowerCase() ,LDAP.$ObjectClass);
+        if ( i_Names != null )
+        {
+            for (String v_Name : i_Names)
+            {
+                if ( !Help.isNull(v_Name) )
+                {
+                    v_Names.putIfAbsent(v_Name.toLowerCase() ,v_Name);
+                }
+            }
+        }
+        
+        return v_Names.values().toArray(new String[v_Names.size()]);
+    }
+    
+    
+    
     /**
      * 构造Java值对象类
      * 
@@ -749,6 +1123,11 @@ public class LdapEntry
     {
         try
         {
+            if ( this.newInstance != null )
+            {
+                return this.newInstance.get();
+            }
+            
             return this.metaClass.getDeclaredConstructor().newInstance();
         }
         catch (Exception exce)
@@ -830,7 +1209,8 @@ public class LdapEntry
      */
     public void setObjectClasses(List<String> objectClasses)
     {
-        this.objectClasses = objectClasses;
+        this.objectClasses     = objectClasses;
+        this.objectClassFilter = null;
     }
 
     
@@ -853,6 +1233,7 @@ public class LdapEntry
     public void setDnGetMethod(Method dnGetMethod)
     {
         this.dnGetMethod = dnGetMethod;
+        this.dnGetter    = dnGetMethod == null ? null : new LdapProperty("dn" ,dnGetMethod);
     }
 
 
@@ -875,6 +1256,7 @@ public class LdapEntry
     public void setDnSetMethod(Method dnSetMethod)
     {
         this.dnSetMethod = dnSetMethod;
+        this.dnSetter    = dnSetMethod == null ? null : new LdapProperty("dn" ,dnSetMethod);
     }
 
 
@@ -903,6 +1285,8 @@ public class LdapEntry
     public void setElementsToLDAP(TablePartitionRID<String ,Method> elementsToLDAP)
     {
         this.elementsToLDAP = elementsToLDAP;
+        this.getters        = toProperties(elementsToLDAP);
+        this.filterPlans    = null;
     }
 
 
@@ -931,6 +1315,8 @@ public class LdapEntry
     public void setElementsToObject(TablePartitionRID<String ,Method> elementsToObject)
     {
         this.elementsToObject = elementsToObject;
+        this.setters          = toProperties(elementsToObject);
+        this.attributeNames   = null;
     }
 
 
@@ -954,5 +1340,28 @@ public class LdapEntry
     {
         this.rdn = rdn;
     }
+
+
+
+    
+    /**
+     * 获取：构造Java值对象的函数。由编译时生成（见 LdapProcessor 注解处理器）。为NULL时反射构造
+     */
+    public Supplier<Object> getNewInstance()
+    {
+        return newInstance;
+    }
+
+
+    
+    /**
+     * 设置：构造Java值对象的函数。由编译时生成（见 LdapProcessor 注解处理器）。为NULL时反射构造
+     * 
+     * @param newInstance
+     */
+    public void setNewInstance(Supplier<Object> newInstance)
+    {
+        this.newInstance = newInstance;
+    }
     
 }
@@ -0,0 +1,34 @@
+package org.hy.common.ldap.annotation;
+
+import java.util.List;
+
+
+
+
+
+/**
+ * "条目翻译官"的提供者。
+ *
+ * 由 LdapProcessor 注解处理器在编译时生成实现类，并登记在 META-INF/services/org.hy.common.ldap.annotation.LdapEntryProvider 中。
+ * LdapAnnotation 通过 ServiceLoader 加载它，直接获取"条目翻译官"，无须在运行时解释这些Java类的 @Ldap 注解。
+ *
+ * @author      ZhengWei(HY)
+ * @createDate  2026-10-16
+ * @version     v1.0
+ */
+public interface LdapEntryProvider
+{
+
+    /**
+     * 获取编译时生成的"条目翻译官"。LdapAnnotation.parser(包路径) 扫描包路径时，将按"条目翻译官"的Java类跳过已生成的
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @return
+     * @throws Exception  Java类的getter()、setter()方法在编译后被修改时
+     */
+    public List<LdapEntry> getLdapEntrys() throws Exception;
+
+}
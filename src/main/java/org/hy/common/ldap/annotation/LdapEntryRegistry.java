@@ -0,0 +1,234 @@
+package org.hy.common.ldap.annotation;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Hashtable;
+import java.util.Map;
+
+import org.hy.common.xml.XJava;
+
+
+
+
+
+/**
+ * "条目翻译官"的注册中心。
+ *
+ * 读取（查找"条目翻译官"）时无锁：
+ *   1. 按Java类查找时，用 ClassValue 缓存在Java类上，等同于读取一个字段。
+ *   2. 按对象类ID查找时，读取一个不可变的Map快照。
+ *
+ * 注册时加锁，并生成新的快照（写时复制）。注册也是不常发生的，一般只在启动时。
+ *
+ * 为了兼容，注册时也同步写入XJava对象池中的 LdapAnnotation.$LdapEntryClasses 及 LdapAnnotation.$LdapEntryClassIDs 。
+ *
+ * @author      ZhengWei(HY)
+ * @createDate  2026-10-16
+ * @version     v1.0
+ */
+public final class LdapEntryRegistry
+{
+
+    /** Java类与"条目翻译官"的对应关系的快照。不可变 */
+    private static volatile Map<Class<?> ,LdapEntry> $Classes   = Collections.emptyMap();
+
+    /** 对象类ID与"条目翻译官"的对应关系的快照。不可变 */
+    private static volatile Map<String   ,LdapEntry> $ClassIDs  = Collections.emptyMap();
+
+    /** 按Java类缓存的"条目翻译官"。未注册的Java类缓存为NULL */
+    private static final ClassValue<LdapEntry>       $ClassValue = new ClassValue<LdapEntry>()
+    {
+        @Override
+        protected LdapEntry computeValue(Class<?> i_Class)
+        {
+            return $Classes.get(i_Class);
+        }
+    };
+
+
+
+    private LdapEntryRegistry()
+    {
+        // 静态工具类
+    }
+
+
+
+    /**
+     * 注册一个"条目翻译官"。同一Java类或同一对象类ID的，将被替换。
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_LdapEntry
+     */
+    public static void register(LdapEntry i_LdapEntry)
+    {
+        if ( i_LdapEntry != null )
+        {
+            register(Collections.singletonList(i_LdapEntry));
+        }
+    }
+
+
+
+    /**
+     * 批量注册"条目翻译官"。同一Java类或同一对象类ID的，将被替换。
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_LdapEntrys
+     */
+    public static synchronized void register(Collection<LdapEntry> i_LdapEntrys)
+    {
+        if ( i_LdapEntrys == null || i_LdapEntrys.isEmpty() )
+        {
+            return;
+        }
+
+        Map<Class<?> ,LdapEntry> v_Classes  = new HashMap<Class<?> ,LdapEntry>($Classes);
+        Map<String   ,LdapEntry> v_ClassIDs = new HashMap<String   ,LdapEntry>($ClassIDs);
+
+        for (LdapEntry v_LdapEntry : i_LdapEntrys)
+        {
+            if ( v_LdapEntry == null )
+            {
+                continue;
+            }
+
+            v_Classes .put(v_LdapEntry.getMetaClass()       ,v_LdapEntry);
+            v_ClassIDs.put(v_LdapEntry.getObjectClassesID() ,v_LdapEntry);
+        }
+
+        $Classes  = Collections.unmodifiableMap(v_Classes);
+        $ClassIDs = Collections.unmodifiableMap(v_ClassIDs);
+
+        for (LdapEntry v_LdapEntry : i_LdapEntrys)
+        {
+            if ( v_LdapEntry != null )
+            {
+                $ClassValue.remove(v_LdapEntry.getMetaClass());
+            }
+        }
+
+        putXJava(i_LdapEntrys);
+        LdapAnnotation.clearCaches();
+    }
+
+
+
+    /**
+     * 同步写入XJava对象池中，兼容直接从XJava对象池中获取"条目翻译官"的使用方式
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_LdapEntrys
+     */
+    @SuppressWarnings("unchecked")
+    private static void putXJava(Collection<LdapEntry> i_LdapEntrys)
+    {
+        Map<Class<?> ,LdapEntry> v_LdapEntryClasses  = (Map<Class<?> ,LdapEntry>)XJava.getObject(LdapAnnotation.$LdapEntryClasses);
+        Map<String   ,LdapEntry> v_LdapEntryClassIDs = (Map<String   ,LdapEntry>)XJava.getObject(LdapAnnotation.$LdapEntryClassIDs);
+
+        if ( v_LdapEntryClasses == null || v_LdapEntryClassIDs == null )
+        {
+            v_LdapEntryClasses  = new Hashtable<Class<?> ,LdapEntry>();
+            v_LdapEntryClassIDs = new Hashtable<String   ,LdapEntry>();
+
+            XJava.putObject(LdapAnnotation.$LdapEntryClasses  ,v_LdapEntryClasses);
+            XJava.putObject(LdapAnnotation.$LdapEntryClassIDs ,v_LdapEntryClassIDs);
+        }
+
+        for (LdapEntry v_LdapEntry : i_LdapEntrys)
+        {
+            if ( v_LdapEntry != null )
+            {
+                v_LdapEntryClasses .put(v_LdapEntry.getMetaClass()       ,v_LdapEntry);
+                v_LdapEntryClassIDs.put(v_LdapEntry.getObjectClassesID() ,v_LdapEntry);
+            }
+        }
+    }
+
+
+
+    /**
+     * 按Java类获取"条目翻译官"。无锁
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_Class  有 @Ldap 注解的Java元类型
+     * @return         未注册时返回NULL
+     */
+    public static LdapEntry getLdapEntry(Class<?> i_Class)
+    {
+        if ( i_Class == null )
+        {
+            return null;
+        }
+
+        return $ClassValue.get(i_Class);
+    }
+
+
+
+    /**
+     * 按对象类ID获取"条目翻译官"。无锁
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_ObjectClassesID  对象类名称排序后，用逗号拼接成的ID。如，"person,top"
+     * @return                   未注册时返回NULL
+     */
+    public static LdapEntry getLdapEntry(String i_ObjectClassesID)
+    {
+        if ( i_ObjectClassesID == null )
+        {
+            return null;
+        }
+
+        return $ClassIDs.get(i_ObjectClassesID);
+    }
+
+
+
+    /**
+     * 获取所有的"条目翻译官"。按对象类ID区分
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @return  不可变的快照
+     */
+    public static Map<String ,LdapEntry> getLdapEntrys()
+    {
+        return $ClassIDs;
+    }
+
+
+
+    /**
+     * 是否有注册过的"条目翻译官"
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @return
+     */
+    public static boolean isEmpty()
+    {
+        return $ClassIDs.isEmpty();
+    }
+
+}
@@ -0,0 +1,173 @@
+package org.hy.common.ldap.annotation;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.directory.api.ldap.model.entry.Attribute;
+import org.apache.directory.api.ldap.model.entry.Entry;
+import org.apache.directory.api.ldap.model.entry.Value;
+import org.hy.common.ldap.LDAP;
+
+
+
+
+
+/**
+ * 按LDAP条目的对象类，识别"条目翻译官"的识别器。
+ *
+ * 识别每个条目时，无须再生成对象类的列表、排序并拼接成ID字符串，不产生临时对象。
+ *   1. 构造时，为所有"条目翻译官"的对象类名称分配一个二进制位（最多64个），每个"条目翻译官"的对象类组合为一个位掩码。
+ *   2. 识别时，将条目的对象类合成位掩码，与所有"条目翻译官"的位掩码比对。
+ *   3. 查询结果一般是同一类型的条目，所以记录上次识别的结果，相同时直接返回。
+ *
+ * 对象类名称区分大小写，与 LdapEntry.getObjectClassesID() 的规则相同。
+ *
+ * 注：线程安全。构造后不可变（上次识别的结果除外，它是原子替换的）。
+ *
+ * @author      ZhengWei(HY)
+ * @createDate  2026-10-16
+ * @version     v1.0
+ */
+public class LdapEntryResolver
+{
+
+    /** 最多支持的对象类名称的个数 */
+    public static final int $MaxObjectClasses = 64;
+
+
+
+    /** 对象类名称与二进制位下标的对应关系 */
+    private final Map<String ,Integer> objectClassIndexes;
+
+    /** 每个"条目翻译官"的对象类组合成的位掩码。与 ldapEntrys 一一对应 */
+    private final long []              masks;
+
+    /** 所有的"条目翻译官" */
+    private final LdapEntry []         ldapEntrys;
+
+    /** 上次识别的结果 */
+    private volatile LastHit           lastHit;
+
+
+
+    /**
+     * 构造器
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_LdapEntrys  所有的"条目翻译官"
+     * @throws IllegalArgumentException  对象类名称的个数超过64个时
+     */
+    public LdapEntryResolver(Iterable<LdapEntry> i_LdapEntrys)
+    {
+        Map<String ,Integer> v_Indexes = new HashMap<String ,Integer>();
+        Map<Long   ,LdapEntry> v_Masks = new HashMap<Long ,LdapEntry>();
+
+        for (LdapEntry v_LdapEntry : i_LdapEntrys)
+        {
+            long v_Mask = 0L;
+
+            for (String v_ObjectClass : v_LdapEntry.getObjectClasses())
+            {
+                Integer v_Index = v_Indexes.get(v_ObjectClass);
+                if ( v_Index == null )
+                {
+                    if ( v_Indexes.size() >= $MaxObjectClasses )
+                    {
+                        throw new IllegalArgumentException("LdapEntryResolver supports up to " + $MaxObjectClasses + " objectClass names.");
+                    }
+
+                    v_Index = v_Indexes.size();
+                    v_Indexes.put(v_ObjectClass ,v_Index);
+                }
+
+                v_Mask |= 1L << v_Index;
+            }
+
+            v_Masks.put(v_Mask ,v_LdapEntry);
+        }
+
+        this.objectClassIndexes = v_Indexes;
+        this.masks              = new long[v_Masks.size()];
+        this.ldapEntrys         = new LdapEntry[v_Masks.size()];
+
+        int v_Index = 0;
+        for (Map.Entry<Long ,LdapEntry> v_Item : v_Masks.entrySet())
+        {
+            this.masks     [v_Index] = v_Item.getKey();
+            this.ldapEntrys[v_Index] = v_Item.getValue();
+            v_Index++;
+        }
+    }
+
+
+
+    /**
+     * 识别条目的"条目翻译官"
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_Entry  条目
+     * @return         条目中有未知的对象类，或没有对应的"条目翻译官"时，返回NULL
+     */
+    public LdapEntry resolve(Entry i_Entry)
+    {
+        Attribute v_Attribute = i_Entry.get(LDAP.$ObjectClass);
+        if ( v_Attribute == null )
+        {
+            return null;
+        }
+
+        long v_Mask = 0L;
+        for (Value v_Value : v_Attribute)
+        {
+            Integer v_Index = this.objectClassIndexes.get(v_Value.getString());
+            if ( v_Index == null )
+            {
+                return null;
+            }
+
+            v_Mask |= 1L << v_Index;
+        }
+
+        LastHit v_LastHit = this.lastHit;
+        if ( v_LastHit != null && v_LastHit.mask == v_Mask )
+        {
+            return v_LastHit.ldapEntry;
+        }
+
+        for (int x=0; x<this.masks.length; x++)
+        {
+            if ( this.masks[x] == v_Mask )
+            {
+                this.lastHit = new LastHit(v_Mask ,this.ldapEntrys[x]);
+                return this.ldapEntrys[x];
+            }
+        }
+
+        return null;
+    }
+
+
+
+
+
+    /** 上次识别的结果 */
+    private static final class LastHit
+    {
+        private final long      mask;
+
+        private final LdapEntry ldapEntry;
+
+        private LastHit(long i_Mask ,LdapEntry i_LdapEntry)
+        {
+            this.mask      = i_Mask;
+            this.ldapEntry = i_LdapEntry;
+        }
+    }
+
+}
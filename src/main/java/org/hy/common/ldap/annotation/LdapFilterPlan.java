@@ -0,0 +1,219 @@
+package org.hy.common.ldap.annotation;
+
+import java.util.Collection;
+import java.util.Map;
+
+import org.hy.common.Help;
+import org.hy.common.ldap.LDAP;
+
+
+
+
+
+/**
+ * 编译好的查询过滤条件的执行计划。
+ *
+ * 按 "条目翻译官 + 过滤关系(isAnd、isAndByMultValue、isLikeBefore、isLikeAfter)" 的组合，
+ * 预先计算好属性的顺序、getter方法及过滤条件中固定不变的部分（如，"(uid=*"、"*)"）。
+ * 每次生成过滤条件时，只须填充属性值即可，不再遍历"条目翻译官"的属性集合。
+ *
+ * 生成的过滤条件与 LDAP.makeSearchFilter(...) 原有的生成规则完全相同。
+ *
+ * 注：线程安全。编译后不可变。
+ *
+ * @author      ZhengWei(HY)
+ * @createDate  2026-10-16
+ * @version     v1.0
+ */
+public class LdapFilterPlan
+{
+
+    /** 属性的getter()访问器。按过滤条件中的顺序排列 */
+    private final LdapProperty [] getters;
+
+    /** 每个属性值的前缀。如，"(uid=" 或 "(uid=*" */
+    private final String []       prefixs;
+
+    /** 每个属性值的后缀。如，")" 或 "*)" */
+    private final String          suffix;
+
+    /** 多个属性值时的开始部分。如，"(&" 或 "(|" */
+    private final String          multValueBegin;
+
+    /** 整个过滤条件的开始部分。如，"(&" 或 "(|" */
+    private final String          begin;
+
+
+
+    /**
+     * 编译过滤条件的执行计划
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_LdapEntry         条目翻译官
+     * @param i_IsAnd             不属性间的属性值的过滤关系，是'与'、'或'关系？
+     * @param i_IsAndByMultValue  同一属性的多个属性值间的过滤关系，是'与'、'或'关系？
+     * @param i_IsLikeBefore      属性值的前缀是否为模糊匹配
+     * @param i_IsLikeAfter       属性值的后缀是否为模糊匹配
+     */
+    LdapFilterPlan(LdapEntry i_LdapEntry ,boolean i_IsAnd ,boolean i_IsAndByMultValue ,boolean i_IsLikeBefore ,boolean i_IsLikeAfter)
+    {
+        this.getters        = i_LdapEntry.getGetters();
+        this.prefixs        = new String[this.getters.length];
+
+        for (int x=0; x<this.getters.length; x++)
+        {
+            this.prefixs[x] = "(" + this.getters[x].getName() + "=" + (i_IsLikeBefore ? "*" : "");
+        }
+
+        this.suffix         = (i_IsLikeAfter ? "*" : "") + ")";
+        this.multValueBegin = "(" + (i_IsAndByMultValue ? LDAP.$And : LDAP.$Or);
+        this.begin          = "(" + (i_IsAnd            ? LDAP.$And : LDAP.$Or);
+    }
+
+
+
+    /**
+     * 用Java对象(@Ldap)的属性值，生成查询的过滤器条件
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_Values  用@Ldap注解过的Java对象
+     * @return          没有任何过滤条件时，返回空字符串
+     */
+    public String makeFilter(Object i_Values)
+    {
+        StringBuilder v_Filter = null;
+
+        for (int x=0; x<this.getters.length; x++)
+        {
+            try
+            {
+                Object v_Value = this.getters[x].getValue(i_Values);
+                if ( v_Value == null )
+                {
+                    continue;
+                }
+
+                if ( v_Value instanceof Collection )
+                {
+                    v_Filter = this.appendValues(v_Filter ,this.prefixs[x] ,((Collection<?>)v_Value).toArray());
+                }
+                else if ( v_Value instanceof Object [] )
+                {
+                    v_Filter = this.appendValues(v_Filter ,this.prefixs[x] ,(Object [])v_Value);
+                }
+                else if ( v_Value instanceof Map )
+                {
+                    // Map类型用于修改属性值的场景，不参与过滤
+                    continue;
+                }
+                else
+                {
+                    String v_FilterValue = v_Value.toString();
+                    if ( !Help.isNull(v_FilterValue) )
+                    {
+                        v_Filter = this.newBuffer(v_Filter);
+                        v_Filter.append(this.prefixs[x]).append(v_FilterValue).append(this.suffix);
+                    }
+                }
+            }
+            catch (Exception exce)
+            {
+                exce.printStackTrace();
+            }
+        }
+
+        if ( v_Filter == null )
+        {
+            return "";
+        }
+
+        return v_Filter.append(")").toString();
+    }
+
+
+
+    /**
+     * 添加同一属性的多个属性值的过滤条件。只有一个有效属性值时，不加'与'、'或'关系的括号。
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param io_Filter  过滤条件。为NULL时新建
+     * @param i_Prefix   属性值的前缀
+     * @param i_Values   多个属性值
+     * @return
+     */
+    private StringBuilder appendValues(StringBuilder io_Filter ,String i_Prefix ,Object [] i_Values)
+    {
+        int v_Count = 0;
+
+        for (Object v_VItem : i_Values)
+        {
+            if ( v_VItem != null && !Help.isNull(v_VItem.toString()) )
+            {
+                v_Count++;
+            }
+        }
+
+        if ( v_Count <= 0 )
+        {
+            return io_Filter;
+        }
+
+        StringBuilder v_Filter = this.newBuffer(io_Filter);
+
+        if ( v_Count >= 2 )
+        {
+            v_Filter.append(this.multValueBegin);
+        }
+
+        for (Object v_VItem : i_Values)
+        {
+            if ( v_VItem != null )
+            {
+                String v_FilterValue = v_VItem.toString();
+                if ( !Help.isNull(v_FilterValue) )
+                {
+                    v_Filter.append(i_Prefix).append(v_FilterValue).append(this.suffix);
+                }
+            }
+        }
+
+        if ( v_Count >= 2 )
+        {
+            v_Filter.append(")");
+        }
+
+        return v_Filter;
+    }
+
+
+
+    /**
+     * 第一个过滤条件出现时，才创建缓存，并添加整个过滤条件的开始部分
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_Filter
+     * @return
+     */
+    private StringBuilder newBuffer(StringBuilder i_Filter)
+    {
+        if ( i_Filter != null )
+        {
+            return i_Filter;
+        }
+
+        return new StringBuilder(64).append(this.begin);
+    }
+
+}
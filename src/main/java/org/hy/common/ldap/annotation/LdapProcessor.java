@@ -0,0 +1,724 @@
+package org.hy.common.ldap.annotation;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.PrimitiveType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+
+
+
+
+/**
+ * @Ldap 注解的编译时处理器（JSR-269）。
+ *
+ * 编译时为每个有 @Ldap 注解的Java类，生成一个"条目翻译官"的生成类（类名为 "Java类名_LdapMapper"），
+ * 其中的getter()、setter()方法及构造器均为直接调用的代码（Lambda表达式），不再反射调用，也不再用 LambdaMetafactory 动态生成。
+ *
+ * 同时生成一个 LdapEntryProvider 的实现类，并登记在 META-INF/services/org.hy.common.ldap.annotation.LdapEntryProvider 中。
+ * 运行时 LdapAnnotation 通过 ServiceLoader 加载它，扫描包路径时不再解释这些Java类的 @Ldap 注解。
+ *
+ * 生成规则与 LdapAnnotation.parser(...) 完全相同：
+ *   1. getter()、setter()方法须成对出现（setter()方法的入参类型与getter()方法的返回类型相同），且为公开的非静态方法。
+ *   2. 属性名称为 @Ldap(name) 或 @Ldap(value) 或成员变量的名称。
+ *
+ * 无法生成的Java类（如，私有的内部类），编译时给出警告，在运行时仍按扫描的方式解释（按Java类判定，不影响同一包路径下的其它Java类）。
+ *
+ * 使用方式：本类已登记在 META-INF/services/javax.annotation.processing.Processor 中，
+ *         依赖本包编译Java类时，javac 将自动执行本处理器。
+ *
+ * @author      ZhengWei(HY)
+ * @createDate  2026-10-16
+ * @version     v1.0
+ */
+@SupportedAnnotationTypes("org.hy.common.ldap.annotation.Ldap")
+public class LdapProcessor extends AbstractProcessor
+{
+
+    /** 生成的"条目翻译官"生成类的类名后缀 */
+    public static final String $MapperSuffix = "_LdapMapper";
+
+    /** 生成的"条目翻译官"提供者的类名前缀 */
+    public static final String $ProviderName = "LdapEntryProvider_";
+
+    /** 提供者在ServiceLoader中的登记文件 */
+    public static final String $ServiceFile  = "META-INF/services/" + LdapEntryProvider.class.getName();
+
+
+
+    /** 本次编译生成的所有提供者的全类名 */
+    private final List<String> providers = new ArrayList<String>();
+
+
+
+    @Override
+    public SourceVersion getSupportedSourceVersion()
+    {
+        return SourceVersion.latestSupported();
+    }
+
+
+
+    @Override
+    public boolean process(Set<? extends TypeElement> i_Annotations ,RoundEnvironment i_RoundEnv)
+    {
+        if ( i_RoundEnv.processingOver() )
+        {
+            this.writeServiceFile();
+            return false;
+        }
+
+        Set<String> v_Mappers = new TreeSet<String>();
+
+        for (Element v_Element : i_RoundEnv.getElementsAnnotatedWith(Ldap.class))
+        {
+            if ( v_Element.getKind() != ElementKind.CLASS )
+            {
+                continue;
+            }
+
+            TypeElement v_Type    = (TypeElement)v_Element;
+            String      v_Package = this.processingEnv.getElementUtils().getPackageOf(v_Type).getQualifiedName().toString();
+
+            if ( !isAccessible(v_Type) )
+            {
+                this.processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING ,"@Ldap class is not accessible, the LdapEntry will be parsed at runtime." ,v_Type);
+                continue;
+            }
+
+            try
+            {
+                String v_MapperName = toMapperName(v_Type ,v_Package);
+                this.writeSource(v_MapperName ,this.makeMapper(v_Type ,v_Package ,v_MapperName) ,v_Type);
+                v_Mappers.add(v_MapperName);
+            }
+            catch (Exception exce)
+            {
+                this.processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING ,"Generate LdapEntry error: " + exce.getMessage() ,v_Type);
+            }
+        }
+
+        if ( !v_Mappers.isEmpty() )
+        {
+            try
+            {
+                String v_ProviderName = this.toProviderName(v_Mappers);
+                this.writeSource(v_ProviderName ,this.makeProvider(v_ProviderName ,v_Mappers));
+                this.providers.add(v_ProviderName);
+            }
+            catch (Exception exce)
+            {
+                this.processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING ,"Generate LdapEntryProvider error: " + exce.getMessage());
+            }
+        }
+
+        // 不独占 @Ldap 注解，其它处理器仍可处理
+        return false;
+    }
+
+
+
+    /**
+     * 生成一个Java类的"条目翻译官"生成类的源代码
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_Type        有 @Ldap 注解的Java类
+     * @param i_Package     Java类的包路径
+     * @param i_MapperName  生成类的全类名
+     * @return
+     */
+    private String makeMapper(TypeElement i_Type ,String i_Package ,String i_MapperName)
+    {
+        Map<String ,ExecutableElement> v_GetMethods = new LinkedHashMap<String ,ExecutableElement>();
+        Map<String ,ExecutableElement> v_SetMethods = new LinkedHashMap<String ,ExecutableElement>();
+        this.getGetSetMethods(i_Type ,v_GetMethods ,v_SetMethods);
+
+        String        v_TypeName = this.toTypeName(i_Type.asType());
+        Ldap          v_AnnoType = i_Type.getAnnotation(Ldap.class);
+        StringBuilder v_Code     = new StringBuilder();
+
+        v_Code.append("package ").append(i_Package).append(";\n\n");
+        v_Code.append(this.makeGenerated());
+        v_Code.append("public final class ").append(toSimpleName(i_MapperName)).append("\n{\n\n");
+        v_Code.append("    @SuppressWarnings({\"unchecked\" ,\"rawtypes\"})\n");
+        v_Code.append("    public static org.hy.common.ldap.annotation.LdapEntry newLdapEntry() throws NoSuchMethodException\n");
+        v_Code.append("    {\n");
+        v_Code.append("        Class<?> v_Class = ").append(v_TypeName).append(".class;\n");
+        v_Code.append("        org.hy.common.ldap.annotation.LdapEntry v_LdapEntry = new org.hy.common.ldap.annotation.LdapEntry(v_Class ,")
+              .append(toLiteral(nvl(v_AnnoType.objectClass() ,v_AnnoType.value()))).append(");\n\n");
+
+        if ( hasNewInstance(i_Type) )
+        {
+            v_Code.append("        v_LdapEntry.setNewInstance(() -> new ").append(v_TypeName).append("());\n\n");
+        }
+
+        for (Element v_Element : i_Type.getEnclosedElements())
+        {
+            Ldap v_AnnoAttr = v_Element.getAnnotation(Ldap.class);
+            if ( v_AnnoAttr == null || v_Element.getKind() != ElementKind.FIELD )
+            {
+                continue;
+            }
+
+            String v_FieldName = v_Element.getSimpleName().toString();
+            String v_Key       = v_FieldName.substring(0 ,1).toUpperCase() + v_FieldName.substring(1);
+
+            if ( v_AnnoAttr.type() == LdapType.DN )
+            {
+                this.makeDN(v_Code ,v_TypeName ,v_GetMethods.get(v_Key) ,v_SetMethods.get(v_Key));
+
+                String v_Name = nvl(v_AnnoAttr.name() ,v_AnnoAttr.value());
+                if ( !v_Name.isEmpty() )
+                {
+                    v_Code.append("        v_LdapEntry.setRdn(").append(toLiteral(v_Name)).append(");\n");
+                }
+            }
+            else
+            {
+                this.makeElement(v_Code ,v_TypeName ,nvl(v_AnnoAttr.name() ,nvl(v_AnnoAttr.value() ,v_FieldName)) ,v_GetMethods.get(v_Key) ,v_SetMethods.get(v_Key));
+            }
+        }
+
+        for (Element v_Element : i_Type.getEnclosedElements())
+        {
+            Ldap v_AnnoAttr = v_Element.getAnnotation(Ldap.class);
+            if ( v_AnnoAttr == null || v_Element.getKind() != ElementKind.METHOD )
+            {
+                continue;
+            }
+
+            String v_Name = nvl(v_AnnoAttr.name() ,v_AnnoAttr.value());
+            if ( v_Name.isEmpty() )
+            {
+                v_Name = v_Element.getSimpleName().toString();
+
+                if ( v_Name.startsWith("get") )
+                {
+                    v_Name = v_Name.substring(3);
+                }
+                else if ( v_Name.startsWith("is") )
+                {
+                    v_Name = v_Name.substring(2);
+                }
+            }
+            else
+            {
+                v_Name = v_Name.substring(0 ,1).toUpperCase() + v_Name.substring(1);
+            }
+
+            if ( v_AnnoAttr.type() == LdapType.DN )
+            {
+                this.makeDN(v_Code ,v_TypeName ,v_GetMethods.get(v_Name) ,v_SetMethods.get(v_Name));
+                v_Code.append("        v_LdapEntry.setRdn(").append(toLiteral(v_AnnoAttr.value())).append(");\n");
+            }
+            else
+            {
+                this.makeElement(v_Code ,v_TypeName ,v_Name ,v_GetMethods.get(v_Name) ,v_SetMethods.get(v_Name));
+            }
+        }
+
+        v_Code.append("\n        return v_LdapEntry;\n");
+        v_Code.append("    }\n\n}\n");
+
+        return v_Code.toString();
+    }
+
+
+
+    /**
+     * 生成DN的getter、setter方法的代码
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param io_Code
+     * @param i_TypeName
+     * @param i_GetMethod
+     * @param i_SetMethod
+     */
+    private void makeDN(StringBuilder io_Code ,String i_TypeName ,ExecutableElement i_GetMethod ,ExecutableElement i_SetMethod)
+    {
+        io_Code.append("        v_LdapEntry.putDN(");
+        this.makeMethods(io_Code ,i_TypeName ,i_GetMethod ,i_SetMethod ,"                         ");
+        io_Code.append(");\n");
+    }
+
+
+
+    /**
+     * 生成一个属性的getter、setter方法的代码
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param io_Code
+     * @param i_TypeName
+     * @param i_Name       LDAP中的"属性Attribute"的名称
+     * @param i_GetMethod
+     * @param i_SetMethod
+     */
+    private void makeElement(StringBuilder io_Code ,String i_TypeName ,String i_Name ,ExecutableElement i_GetMethod ,ExecutableElement i_SetMethod)
+    {
+        io_Code.append("        v_LdapEntry.putElement(").append(toLiteral(i_Name)).append("\n                              ,");
+        this.makeMethods(io_Code ,i_TypeName ,i_GetMethod ,i_SetMethod ,"                              ");
+        io_Code.append(");\n");
+    }
+
+
+
+    /**
+     * 生成 "getter方法 ,setter方法 ,getter函数 ,setter函数" 四个入参的代码
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param io_Code
+     * @param i_TypeName
+     * @param i_GetMethod
+     * @param i_SetMethod
+     * @param i_Indent     换行后的缩进
+     */
+    private void makeMethods(StringBuilder io_Code ,String i_TypeName ,ExecutableElement i_GetMethod ,ExecutableElement i_SetMethod ,String i_Indent)
+    {
+        String v_GetName   = i_GetMethod == null ? null : i_GetMethod.getSimpleName().toString();
+        String v_SetName   = i_SetMethod == null ? null : i_SetMethod.getSimpleName().toString();
+        String v_ParamType = null;
+
+        if ( i_SetMethod != null )
+        {
+            v_ParamType = this.toTypeName(i_SetMethod.getParameters().get(0).asType());
+        }
+
+        // getter方法 ,setter方法
+        io_Code.append(v_GetName == null ? "null" : "v_Class.getMethod(" + toLiteral(v_GetName) + ")");
+        io_Code.append("\n").append(i_Indent).append(",");
+        io_Code.append(v_SetName == null ? "null" : "v_Class.getMethod(" + toLiteral(v_SetName) + " ," + v_ParamType + ".class)");
+
+        // getter函数 ,setter函数
+        io_Code.append("\n").append(i_Indent).append(",");
+        io_Code.append(v_GetName == null ? "null" : "(i_Values) -> ((" + i_TypeName + ")i_Values)." + v_GetName + "()");
+        io_Code.append("\n").append(i_Indent).append(",");
+
+        if ( v_SetName == null )
+        {
+            io_Code.append("null");
+        }
+        else
+        {
+            TypeMirror v_Param     = i_SetMethod.getParameters().get(0).asType();
+            String     v_CastType  = v_Param.getKind().isPrimitive()
+                                   ? this.processingEnv.getTypeUtils().boxedClass((PrimitiveType)v_Param).getQualifiedName().toString()
+                                   : v_ParamType;
+
+            io_Code.append("(i_Values ,i_Value) -> ((" + i_TypeName + ")i_Values)." + v_SetName + "((" + v_CastType + ")i_Value)");
+        }
+    }
+
+
+
+    /**
+     * 获取Java类的getter、setter方法。与 MethodReflect.getGetSetMethods(...) 的规则相同：
+     *   1. 公开的非静态方法（含父类的）。
+     *   2. getter()、setter()方法须成对出现，setter()方法的入参类型与getter()方法的返回类型相同。
+     *   3. 同时有 getXxx() 和 isXxx() 方法时，取 getXxx() 方法。
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_Type
+     * @param io_GetMethods  Map.key 为去掉get、is、set前缀后的方法名称
+     * @param io_SetMethods  Map.key 为去掉get、is、set前缀后的方法名称
+     */
+    private void getGetSetMethods(TypeElement i_Type ,Map<String ,ExecutableElement> io_GetMethods ,Map<String ,ExecutableElement> io_SetMethods)
+    {
+        Map<String ,List<ExecutableElement>> v_SetMethods = new LinkedHashMap<String ,List<ExecutableElement>>();
+
+        for (Element v_Element : this.processingEnv.getElementUtils().getAllMembers(i_Type))
+        {
+            if ( v_Element.getKind() != ElementKind.METHOD
+              || !v_Element.getModifiers().contains(Modifier.PUBLIC)
+              ||  v_Element.getModifiers().contains(Modifier.STATIC) )
+            {
+                continue;
+            }
+
+            ExecutableElement v_Method = (ExecutableElement)v_Element;
+            String            v_Name   = v_Method.getSimpleName().toString();
+
+            if ( v_Method.getParameters().isEmpty() && v_Method.getReturnType().getKind() != TypeKind.VOID )
+            {
+                if ( v_Name.startsWith("get") && v_Name.length() > 3 )
+                {
+                    io_GetMethods.put(v_Name.substring(3) ,v_Method);
+                }
+                else if ( v_Name.startsWith("is") && v_Name.length() > 2 && !io_GetMethods.containsKey(v_Name.substring(2)) )
+                {
+                    io_GetMethods.put(v_Name.substring(2) ,v_Method);
+                }
+            }
+            else if ( v_Method.getParameters().size() == 1 && v_Name.startsWith("set") && v_Name.length() > 3 )
+            {
+                List<ExecutableElement> v_Methods = v_SetMethods.get(v_Name.substring(3));
+                if ( v_Methods == null )
+                {
+                    v_Methods = new ArrayList<ExecutableElement>();
+                    v_SetMethods.put(v_Name.substring(3) ,v_Methods);
+                }
+                v_Methods.add(v_Method);
+            }
+        }
+
+        for (String v_Key : new ArrayList<String>(io_GetMethods.keySet()))
+        {
+            TypeMirror        v_Return    = this.processingEnv.getTypeUtils().erasure(io_GetMethods.get(v_Key).getReturnType());
+            ExecutableElement v_SetMethod = null;
+
+            if ( v_SetMethods.containsKey(v_Key) )
+            {
+                for (ExecutableElement v_Method : v_SetMethods.get(v_Key))
+                {
+                    TypeMirror v_Param = this.processingEnv.getTypeUtils().erasure(v_Method.getParameters().get(0).asType());
+                    if ( this.processingEnv.getTypeUtils().isSameType(v_Return ,v_Param) )
+                    {
+                        v_SetMethod = v_Method;
+                        break;
+                    }
+                }
+            }
+
+            if ( v_SetMethod == null )
+            {
+                io_GetMethods.remove(v_Key);
+            }
+            else
+            {
+                io_SetMethods.put(v_Key ,v_SetMethod);
+            }
+        }
+    }
+
+
+
+    /**
+     * 生成"条目翻译官"提供者的源代码
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_ProviderName  提供者的全类名
+     * @param i_Mappers       "条目翻译官"生成类的全类名
+     * @return
+     */
+    private String makeProvider(String i_ProviderName ,Set<String> i_Mappers)
+    {
+        StringBuilder v_Code = new StringBuilder();
+
+        v_Code.append("package ").append(i_ProviderName.substring(0 ,i_ProviderName.lastIndexOf('.'))).append(";\n\n");
+        v_Code.append(this.makeGenerated());
+        v_Code.append("public final class ").append(toSimpleName(i_ProviderName)).append(" implements org.hy.common.ldap.annotation.LdapEntryProvider\n{\n\n");
+
+        v_Code.append("    @Override\n");
+        v_Code.append("    public java.util.List<org.hy.common.ldap.annotation.LdapEntry> getLdapEntrys() throws Exception\n");
+        v_Code.append("    {\n");
+        v_Code.append("        java.util.List<org.hy.common.ldap.annotation.LdapEntry> v_Ret = new java.util.ArrayList<org.hy.common.ldap.annotation.LdapEntry>();\n\n");
+        for (String v_Mapper : i_Mappers)
+        {
+            v_Code.append("        v_Ret.add(").append(v_Mapper).append(".newLdapEntry());\n");
+        }
+        v_Code.append("\n        return v_Ret;\n");
+        v_Code.append("    }\n\n}\n");
+
+        return v_Code.toString();
+    }
+
+
+
+    /**
+     * 生成 @Generated 注解。编译环境中没有此注解时，返回空字符串
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @return
+     */
+    private String makeGenerated()
+    {
+        if ( this.processingEnv.getElementUtils().getTypeElement("javax.annotation.processing.Generated") == null )
+        {
+            return "";
+        }
+
+        return "@javax.annotation.processing.Generated(\"" + LdapProcessor.class.getName() + "\")\n";
+    }
+
+
+
+    /**
+     * 生成源代码文件
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_ClassName  全类名
+     * @param i_Code       源代码
+     * @param i_Origins    与源代码相关的原始Java类（用于增量编译）
+     * @throws IOException
+     */
+    private void writeSource(String i_ClassName ,String i_Code ,Element ... i_Origins) throws IOException
+    {
+        try (Writer v_Writer = this.processingEnv.getFiler().createSourceFile(i_ClassName ,i_Origins).openWriter())
+        {
+            v_Writer.write(i_Code);
+        }
+    }
+
+
+
+    /**
+     * 所有编译轮次结束后，将提供者登记在ServiceLoader的登记文件中
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     */
+    private void writeServiceFile()
+    {
+        if ( this.providers.isEmpty() )
+        {
+            return;
+        }
+
+        try
+        {
+            FileObject v_File = this.processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT ,"" ,$ServiceFile);
+
+            try (Writer v_Writer = v_File.openWriter())
+            {
+                for (String v_Provider : this.providers)
+                {
+                    v_Writer.write(v_Provider);
+                    v_Writer.write("\n");
+                }
+            }
+        }
+        catch (IOException exce)
+        {
+            this.processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING ,"Write " + $ServiceFile + " error: " + exce.getMessage());
+        }
+    }
+
+
+
+    /**
+     * 生成提供者的全类名。放在第一个"条目翻译官"生成类的包路径下，类名中含所有生成类的哈希值，以防与其它模块的提供者重名
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_Mappers  "条目翻译官"生成类的全类名（已排序）
+     * @return
+     */
+    private String toProviderName(Set<String> i_Mappers)
+    {
+        String v_First = i_Mappers.iterator().next();
+        int    v_Hash  = String.join("," ,i_Mappers).hashCode();
+
+        return v_First.substring(0 ,v_First.lastIndexOf('.') + 1) + $ProviderName + Integer.toHexString(v_Hash) + "_" + this.providers.size();
+    }
+
+
+
+    /**
+     * 生成"条目翻译官"生成类的全类名。内部类的类名用下划线连接外部类的类名
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_Type
+     * @param i_Package
+     * @return
+     */
+    private static String toMapperName(TypeElement i_Type ,String i_Package)
+    {
+        String v_Name = i_Type.getQualifiedName().toString();
+
+        if ( !i_Package.isEmpty() )
+        {
+            v_Name = v_Name.substring(i_Package.length() + 1);
+        }
+
+        v_Name = v_Name.replace('.' ,'_') + $MapperSuffix;
+
+        return i_Package.isEmpty() ? v_Name : i_Package + "." + v_Name;
+    }
+
+
+
+    /**
+     * 获取类型在源代码中的名称（擦除泛型）。如，java.util.List、int、java.lang.String[]
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_Type
+     * @return
+     */
+    private String toTypeName(TypeMirror i_Type)
+    {
+        return this.processingEnv.getTypeUtils().erasure(i_Type).toString();
+    }
+
+
+
+    /**
+     * 生成的代码是否可以访问Java类。Java类及其外部类均不能是私有的，内部类须是静态的
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_Type
+     * @return
+     */
+    private static boolean isAccessible(TypeElement i_Type)
+    {
+        Element v_Element = i_Type;
+
+        while ( v_Element instanceof TypeElement )
+        {
+            TypeElement v_Type = (TypeElement)v_Element;
+
+            if ( v_Type.getModifiers().contains(Modifier.PRIVATE) )
+            {
+                return false;
+            }
+
+            if ( v_Type.getNestingKind() == NestingKind.LOCAL || v_Type.getNestingKind() == NestingKind.ANONYMOUS )
+            {
+                return false;
+            }
+
+            if ( v_Type.getNestingKind() == NestingKind.MEMBER && !v_Type.getModifiers().contains(Modifier.STATIC) )
+            {
+                return false;
+            }
+
+            v_Element = v_Type.getEnclosingElement();
+        }
+
+        return true;
+    }
+
+
+
+    /**
+     * Java类是否有可直接调用的无参构造器
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_Type
+     * @return
+     */
+    private static boolean hasNewInstance(TypeElement i_Type)
+    {
+        if ( i_Type.getModifiers().contains(Modifier.ABSTRACT) )
+        {
+            return false;
+        }
+
+        for (Element v_Element : i_Type.getEnclosedElements())
+        {
+            if ( v_Element.getKind() == ElementKind.CONSTRUCTOR
+              && ((ExecutableElement)v_Element).getParameters().isEmpty()
+              && !v_Element.getModifiers().contains(Modifier.PRIVATE) )
+            {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+
+
+    private static String toSimpleName(String i_ClassName)
+    {
+        return i_ClassName.substring(i_ClassName.lastIndexOf('.') + 1);
+    }
+
+
+
+    private static String nvl(String i_Value ,String i_Default)
+    {
+        return i_Value == null || i_Value.isEmpty() ? i_Default : i_Value;
+    }
+
+
+
+    /**
+     * 生成Java字符串的字面量
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_Value
+     * @return
+     */
+    private static String toLiteral(String i_Value)
+    {
+        StringBuilder v_Buffer = new StringBuilder(i_Value.length() + 2).append('"');
+
+        for (char v_Char : i_Value.toCharArray())
+        {
+            switch (v_Char)
+            {
+                case '"'  : v_Buffer.append("\\\""); break;
+                case '\\' : v_Buffer.append("\\\\"); break;
+                case '\n' : v_Buffer.append("\\n");  break;
+                case '\r' : v_Buffer.append("\\r");  break;
+                case '\t' : v_Buffer.append("\\t");  break;
+                default   : v_Buffer.append(v_Char);
+            }
+        }
+
+        return v_Buffer.append('"').toString();
+    }
+
+}
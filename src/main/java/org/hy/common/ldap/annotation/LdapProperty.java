@@ -0,0 +1,387 @@
+package org.hy.common.ldap.annotation;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+import org.apache.directory.api.ldap.model.entry.Attribute;
+
+
+
+
+
+/**
+ * "条目翻译官"中的一个属性的访问器。即 LDAP属性名称 与 Java对象的getter()或setter()方法 的对应关系。
+ *
+ * 在解释 @Ldap 注解时，一次性地将getter()、setter()方法生成为 LambdaMetafactory 的函数（等同于直接调用方法的代码），
+ * 翻译条目时不再使用 Method.invoke() 反射调用，可被JIT内联优化。
+ *
+ * setter()方法还预先生成了入参值的转换策略 LdapAttributeConverter，翻译时不再每次判定类型、解析泛型。
+ *
+ * 当 LambdaMetafactory 不可用时（如，Java类与本类不在同一模块，没有访问权限），
+ * 依次降级为 MethodHandle 调用、Method.invoke() 反射调用。
+ *
+ * 当Java类经过 LdapProcessor 注解处理器编译时，直接使用生成的函数（直接调用方法的代码）。
+ *
+ * 注：线程安全。构造后不可变。
+ *
+ * @author      ZhengWei(HY)
+ * @createDate  2026-10-16
+ * @version     v1.0
+ */
+public class LdapProperty
+{
+
+    /** LDAP中的"属性Attribute"的名称 */
+    private final String                       name;
+
+    /** Java对象的getter()方法的返回类型或setter()方法的入参类型的名称 */
+    private final String                       typeName;
+
+    /** Java对象的getter()或setter()方法 */
+    private final Method                       method;
+
+    /** getter()方法生成的函数。为setter()方法时为NULL */
+    private final Function<Object ,Object>     getter;
+
+    /** setter()方法生成的函数。为getter()方法时为NULL */
+    private final BiConsumer<Object ,Object>   setter;
+
+    /** setter()方法的入参值的转换策略。为getter()方法时为NULL */
+    private final LdapAttributeConverter       converter;
+
+
+
+    /**
+     * 构造器。无入参的方法按getter()方法处理，有一个入参的方法按setter()方法处理。
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_Name    LDAP中的"属性Attribute"的名称
+     * @param i_Method  Java对象的getter()或setter()方法
+     */
+    public LdapProperty(String i_Name ,Method i_Method)
+    {
+        this(i_Name ,i_Method ,null ,null);
+    }
+
+
+
+    /**
+     * 构造器。使用编译时生成的、直接调用方法的函数（见 LdapProcessor 注解处理器）。
+     *
+     * 函数为NULL时，与 LdapProperty(String ,Method) 相同，用 LambdaMetafactory 生成函数。
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_Name    LDAP中的"属性Attribute"的名称
+     * @param i_Method  Java对象的getter()或setter()方法
+     * @param i_Getter  getter()方法的函数。为setter()方法时不生效
+     * @param i_Setter  setter()方法的函数。为getter()方法时不生效
+     */
+    public LdapProperty(String i_Name ,Method i_Method ,Function<Object ,Object> i_Getter ,BiConsumer<Object ,Object> i_Setter)
+    {
+        this.name   = i_Name;
+        this.method = i_Method;
+
+        if ( i_Method.getParameterCount() == 0 )
+        {
+            this.typeName  = i_Method.getReturnType().getName();
+            this.getter    = i_Getter != null ? i_Getter : makeGetter(i_Method);
+            this.setter    = null;
+            this.converter = null;
+        }
+        else
+        {
+            this.typeName  = i_Method.getParameterTypes()[0].getName();
+            this.getter    = null;
+            this.setter    = i_Setter != null ? i_Setter : makeSetter(i_Method);
+            this.converter = LdapAttributeConverter.of(i_Method);
+        }
+    }
+
+
+
+    /**
+     * 生成getter()方法的函数
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_Method
+     * @return
+     */
+    @SuppressWarnings("unchecked")
+    private static Function<Object ,Object> makeGetter(Method i_Method)
+    {
+        MethodHandle v_Handle = null;
+
+        try
+        {
+            MethodHandles.Lookup v_Lookup = MethodHandles.privateLookupIn(i_Method.getDeclaringClass() ,MethodHandles.lookup());
+            v_Handle = v_Lookup.unreflect(i_Method);
+
+            CallSite v_Site = LambdaMetafactory.metafactory(v_Lookup
+                                                           ,"apply"
+                                                           ,MethodType.methodType(Function.class)
+                                                           ,MethodType.methodType(Object.class ,Object.class)
+                                                           ,v_Handle
+                                                           ,MethodType.methodType(wrap(i_Method.getReturnType()) ,i_Method.getDeclaringClass()));
+
+            return (Function<Object ,Object>)v_Site.getTarget().invoke();
+        }
+        catch (Throwable exce)
+        {
+            // 降级为MethodHandle或反射调用
+        }
+
+        if ( v_Handle != null )
+        {
+            final MethodHandle v_Generic = v_Handle.asType(MethodType.methodType(Object.class ,Object.class));
+
+            return (i_Values) ->
+            {
+                try
+                {
+                    return v_Generic.invokeExact(i_Values);
+                }
+                catch (Throwable exce)
+                {
+                    throw toRuntime(exce);
+                }
+            };
+        }
+
+        return (i_Values) ->
+        {
+            try
+            {
+                return i_Method.invoke(i_Values);
+            }
+            catch (Exception exce)
+            {
+                throw toRuntime(exce);
+            }
+        };
+    }
+
+
+
+    /**
+     * 生成setter()方法的函数。setter()方法的返回值将被忽略（支持链式的setter()方法）
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_Method
+     * @return
+     */
+    @SuppressWarnings("unchecked")
+    private static BiConsumer<Object ,Object> makeSetter(Method i_Method)
+    {
+        MethodHandle v_Handle = null;
+
+        try
+        {
+            MethodHandles.Lookup v_Lookup = MethodHandles.privateLookupIn(i_Method.getDeclaringClass() ,MethodHandles.lookup());
+            v_Handle = v_Lookup.unreflect(i_Method);
+
+            CallSite v_Site = LambdaMetafactory.metafactory(v_Lookup
+                                                           ,"accept"
+                                                           ,MethodType.methodType(BiConsumer.class)
+                                                           ,MethodType.methodType(void.class ,Object.class ,Object.class)
+                                                           ,v_Handle
+                                                           ,MethodType.methodType(void.class ,i_Method.getDeclaringClass() ,wrap(i_Method.getParameterTypes()[0])));
+
+            return (BiConsumer<Object ,Object>)v_Site.getTarget().invoke();
+        }
+        catch (Throwable exce)
+        {
+            // 降级为MethodHandle或反射调用
+        }
+
+        if ( v_Handle != null )
+        {
+            final MethodHandle v_Generic = v_Handle.asType(MethodType.methodType(void.class ,Object.class ,Object.class));
+
+            return (i_Values ,i_Value) ->
+            {
+                try
+                {
+                    v_Generic.invokeExact(i_Values ,i_Value);
+                }
+                catch (Throwable exce)
+                {
+                    throw toRuntime(exce);
+                }
+            };
+        }
+
+        return (i_Values ,i_Value) ->
+        {
+            try
+            {
+                i_Method.invoke(i_Values ,i_Value);
+            }
+            catch (Exception exce)
+            {
+                throw toRuntime(exce);
+            }
+        };
+    }
+
+
+
+    /**
+     * 基本类型转为包装类型
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_Class
+     * @return
+     */
+    private static Class<?> wrap(Class<?> i_Class)
+    {
+        return MethodType.methodType(i_Class).wrap().returnType();
+    }
+
+
+
+    /**
+     * 统一为运行时异常。反射调用时，解包出方法内部抛出的原始异常
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_Exce
+     * @return
+     */
+    private static RuntimeException toRuntime(Throwable i_Exce)
+    {
+        Throwable v_Exce = i_Exce;
+        if ( v_Exce instanceof InvocationTargetException && v_Exce.getCause() != null )
+        {
+            v_Exce = v_Exce.getCause();
+        }
+
+        if ( v_Exce instanceof RuntimeException )
+        {
+            return (RuntimeException)v_Exce;
+        }
+        else if ( v_Exce instanceof Error )
+        {
+            throw (Error)v_Exce;
+        }
+        else
+        {
+            return new RuntimeException(v_Exce);
+        }
+    }
+
+
+
+    /**
+     * 调用getter()方法，获取Java对象的属性值
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_Values  Java对象
+     * @return
+     */
+    public Object getValue(Object i_Values)
+    {
+        return this.getter.apply(i_Values);
+    }
+
+
+
+    /**
+     * 调用setter()方法，设置Java对象的属性值
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_Values  Java对象
+     * @param i_Value   属性值
+     */
+    public void setValue(Object i_Values ,Object i_Value)
+    {
+        this.setter.accept(i_Values ,i_Value);
+    }
+
+
+
+    /**
+     * 将LDAP属性转换后，设置Java对象的属性值
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_Values     Java对象
+     * @param i_Attribute  LDAP属性（不为NULL）
+     */
+    public void setAttribute(Object i_Values ,Attribute i_Attribute)
+    {
+        this.setter.accept(i_Values ,this.converter.toValue(i_Attribute));
+    }
+
+
+
+    /**
+     * 获取：LDAP中的"属性Attribute"的名称
+     */
+    public String getName()
+    {
+        return name;
+    }
+
+
+
+    /**
+     * 获取：Java对象的getter()方法的返回类型或setter()方法的入参类型的名称
+     */
+    public String getTypeName()
+    {
+        return typeName;
+    }
+
+
+
+    /**
+     * 获取：Java对象的getter()或setter()方法
+     */
+    public Method getMethod()
+    {
+        return method;
+    }
+
+
+
+    /**
+     * 获取：setter()方法的入参值的转换策略。为getter()方法时为NULL
+     */
+    public LdapAttributeConverter getConverter()
+    {
+        return converter;
+    }
+
+}
@@ -0,0 +1,124 @@
+package org.hy.common.ldap.annotation;
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+
+
+
+
+/**
+ * Java值对象在某一时刻的属性值的快照。即LDAP服务中条目的属性值在本地的副本。
+ *
+ * 修改条目时，与快照对比得出要执行的修改动作（见 LdapEntry.toModify(LdapSnapshot ,...)），不用再从LDAP服务中查询旧值。
+ *
+ * 快照中的多属性值（List、Set、Map、数组（含基本类型的数组，如 byte[]））是复制的，之后Java值对象中的集合被修改时，不影响快照。
+ * 其它类型的属性值（如，日期）不复制，修改时应整体替换（调用setter()方法），而不是就地修改其内部的值。
+ *
+ * 注：线程安全。构造后不可变。
+ *
+ * @author      ZhengWei(HY)
+ * @createDate  2026-10-16
+ * @version     v1.0
+ */
+public class LdapSnapshot
+{
+
+    /** 生成快照时，"条目翻译官"的属性访问器。与 values 一一对应 */
+    private final LdapProperty [] getters;
+
+    /** 每个属性的属性值 */
+    private final Object []       values;
+
+
+
+    /**
+     * 构造器
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_Getters  "条目翻译官"的属性访问器
+     * @param i_Values   每个属性的属性值（已复制的）
+     */
+    LdapSnapshot(LdapProperty [] i_Getters ,Object [] i_Values)
+    {
+        this.getters = i_Getters;
+        this.values  = i_Values;
+    }
+
+
+
+    /**
+     * 复制属性值。多属性值（List、Set、Map、数组（含基本类型的数组））复制为新的集合，其它的原样返回
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_Value
+     * @return
+     */
+    @SuppressWarnings("unchecked")
+    static Object copy(Object i_Value)
+    {
+        if ( i_Value instanceof List )
+        {
+            return new ArrayList<Object>((List<Object>)i_Value);
+        }
+        else if ( i_Value instanceof Set )
+        {
+            return new LinkedHashSet<Object>((Set<Object>)i_Value);
+        }
+        else if ( i_Value instanceof Map )
+        {
+            return new LinkedHashMap<Object ,Object>((Map<Object ,Object>)i_Value);
+        }
+        else if ( i_Value != null && i_Value.getClass().isArray() )
+        {
+            int    v_Length = Array.getLength(i_Value);
+            Object v_Ret    = Array.newInstance(i_Value.getClass().getComponentType() ,v_Length);
+
+            System.arraycopy(i_Value ,0 ,v_Ret ,0 ,v_Length);
+            return v_Ret;
+        }
+        else
+        {
+            return i_Value;
+        }
+    }
+
+
+
+    /**
+     * 获取某一属性的属性值
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_Index  属性访问器的下标
+     * @return
+     */
+    public Object getValue(int i_Index)
+    {
+        return this.values[i_Index];
+    }
+
+
+
+    /**
+     * 获取：生成快照时，"条目翻译官"的属性访问器。与属性值一一对应
+     */
+    LdapProperty [] getGetters()
+    {
+        return getters;
+    }
+
+}
@@ -0,0 +1,616 @@
+package org.hy.common.ldap.batch;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.directory.api.ldap.model.entry.Entry;
+import org.apache.directory.api.ldap.model.exception.LdapException;
+import org.apache.directory.api.ldap.model.message.ModifyRequest;
+import org.apache.directory.api.ldap.model.message.Response;
+import org.apache.directory.api.ldap.model.message.ResultCodeEnum;
+import org.apache.directory.api.ldap.model.message.SearchRequest;
+import org.apache.directory.api.ldap.model.message.SearchRequestImpl;
+import org.apache.directory.api.ldap.model.message.SearchResultDone;
+import org.apache.directory.api.ldap.model.message.SearchResultEntry;
+import org.apache.directory.api.ldap.model.message.SearchScope;
+import org.apache.directory.api.ldap.model.name.Dn;
+import org.apache.directory.ldap.client.api.LdapAsyncConnection;
+import org.apache.directory.ldap.client.api.LdapConnection;
+import org.apache.directory.ldap.client.api.future.SearchFuture;
+import org.hy.common.Help;
+import org.hy.common.Return;
+import org.hy.common.ldap.LDAP;
+import org.hy.common.ldap.LdapChangeTracker;
+import org.hy.common.ldap.LdapThreads;
+import org.hy.common.ldap.annotation.LdapEntry;
+import org.hy.common.ldap.annotation.LdapSnapshot;
+
+
+
+
+
+/**
+ * 多连接并行的批量修改条目。
+ *
+ * 将条目分成多份，每份由一个线程、一个连接处理：
+ *   1. 流水线式地查询旧条目。一次发送一窗口的查询请求（只查询"条目翻译官"翻译的属性），再逐个接收响应；
+ *   2. 收到旧条目后，在本线程中与Java新值对比得出修改动作（见 LdapEntry.toModify()）。多个线程并行地对比；
+ *   3. 流水线式地发送修改请求（见 LdapPipeline）。
+ *
+ * 启用变更跟踪（LDAP.isChangeTracking()）时，已被跟踪的Java值对象与其快照对比，不再查询旧条目。
+ *
+ * 执行结果：修改成功为"已修改"；旧条目不存在（查询旧条目时、或修改时LDAP服务应答 NO_SUCH_OBJECT）、或新旧值相同无须修改时，为"已跳过"。
+ * 某份条目的执行线程异常时，此份中还没有执行结果的条目均记录为"失败"，异常见 LdapBatchResult.getCause()。
+ *
+ * 注1：并行的连接均从LDAP连接池中获取，连接池的最大连接数应不小于并行的连接数量，否则将等待空闲的连接。
+ * 注2：每个连接上，在途的查询请求与在途的修改请求合计不超过窗口大小：查询请求占窗口的一半，修改请求占余下的一半。
+ * 注3：同一条目（DN相同）在一批中只修改一次，重复的为"失败"。
+ *
+ * @author      ZhengWei(HY)
+ * @createDate  2026-10-16
+ * @version     v1.0
+ *              v2.0  2026-10-16  添加：在指定的连接上修改一份条目。供 LdapUpserter 在添加条目的同一连接上修改已存在的条目
+ *              v3.0  2026-10-16  添加：LDAP.isVirtualThreads() 为真时，在虚拟线程上并行执行（JDK 21及以上版本）
+ *              v4.0  2026-10-16  修改：每个连接上，在途的查询请求与修改请求合计不超过窗口大小
+ */
+public class LdapBatchModifier
+{
+
+    /** LDAP目录服务的操作类 */
+    private final LDAP ldap;
+
+    /** 并行的连接数量 */
+    private final int  connCount;
+
+    /** 每个连接上，同时在途的请求（查询请求与修改请求合计）的最大数量 */
+    private final int  window;
+
+
+
+    /**
+     * 构造器
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_LDAP       LDAP目录服务的操作类
+     * @param i_ConnCount  并行的连接数量。小于等于0时，为1
+     * @param i_Window     每个连接上，同时在途的请求（查询请求与修改请求合计）的最大数量。小于等于0时，为默认值
+     */
+    public LdapBatchModifier(LDAP i_LDAP ,int i_ConnCount ,int i_Window)
+    {
+        this.ldap      = i_LDAP;
+        this.connCount = Math.max(i_ConnCount ,1);
+        this.window    = i_Window <= 0 ? LdapPipeline.$DefaultWindow : i_Window;
+    }
+
+
+
+    /**
+     * 批量修改条目
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_Datas     元素为 @Ldap 注解的Java值对象（新值）。每个元素的类型可以不一样
+     * @param i_IsAdd     当LDAP中没有时，是否新增LDAP属性
+     * @param i_IsUpdate  当新旧不同时，是否修改LDAP中对应的属性
+     * @param i_IsDel     当Java属性值为null时，是否删除LDAP中对应的属性
+     * @return            执行报告。LdapBatchResult.getIndex() 为元素在 i_Datas 中的下标
+     */
+    public LdapBatchReport modify(List<?> i_Datas ,boolean i_IsAdd ,boolean i_IsUpdate ,boolean i_IsDel)
+    {
+        LdapBatchReport   v_Report  = new LdapBatchReport();
+        List<Item>        v_Items   = new ArrayList<Item>();
+        Set<String>       v_DNs     = new HashSet<String>();
+        LdapChangeTracker v_Tracker = this.ldap.isChangeTracking() ? this.ldap.getChangeTracker() : null;
+
+        if ( Help.isNull(i_Datas) )
+        {
+            return v_Report.finish();
+        }
+
+        for (int x=0; x<i_Datas.size(); x++)
+        {
+            Object v_Values = i_Datas.get(x);
+            if ( v_Values == null )
+            {
+                continue;
+            }
+
+            Item v_Item = toItem(x ,v_Values ,v_Tracker ,v_Report);
+            if ( v_Item == null )
+            {
+                continue;
+            }
+            else if ( !v_DNs.add(LDAP.toLookupKey(v_Item.dn)) )
+            {
+                v_Report.add(new LdapBatchResult(x ,v_Item.dn.getName() ,LdapResultType.Failed ,null ,"DN is duplicate." ,v_Values));
+                continue;
+            }
+
+            v_Items.add(v_Item);
+        }
+
+        v_DNs.clear();
+        v_DNs = null;
+
+        if ( v_Items.isEmpty() )
+        {
+            return v_Report.finish();
+        }
+
+        int              v_Parts    = Math.max(1 ,Math.min(this.connCount ,v_Items.size() / LdapParallelLoader.$MinPerConnection));
+        int              v_Size     = (v_Items.size() + v_Parts - 1) / v_Parts;
+        List<List<Item>> v_Splits   = new ArrayList<List<Item>>(v_Parts);
+        List<Future<?>>  v_Futures  = new ArrayList<Future<?>>(v_Parts);
+        ExecutorService  v_Executor = LdapThreads.newExecutor(v_Parts ,this.ldap.isVirtualThreads());
+        try
+        {
+            for (int v_Begin=0; v_Begin<v_Items.size(); v_Begin+=v_Size)
+            {
+                List<Item> v_Part = v_Items.subList(v_Begin ,Math.min(v_Begin + v_Size ,v_Items.size()));
+                v_Splits .add(v_Part);
+                v_Futures.add(v_Executor.submit(() -> this.modifyPart(v_Part ,v_Report ,v_Tracker != null ,i_IsAdd ,i_IsUpdate ,i_IsDel)));
+            }
+
+            for (int x=0; x<v_Futures.size(); x++)
+            {
+                try
+                {
+                    v_Futures.get(x).get();
+                }
+                catch (Exception exce)
+                {
+                    Throwable v_Cause = exce instanceof ExecutionException && exce.getCause() != null ? exce.getCause() : exce;
+                    if ( exce instanceof InterruptedException )
+                    {
+                        Thread.currentThread().interrupt();
+                    }
+                    v_Cause.printStackTrace();
+
+                    fail(v_Splits.get(x) ,v_Cause ,v_Report);
+                }
+            }
+        }
+        finally
+        {
+            v_Executor.shutdown();
+        }
+
+        if ( v_Tracker != null )
+        {
+            this.track(v_Tracker ,v_Items ,v_Report ,i_IsAdd ,i_IsUpdate ,i_IsDel);
+        }
+
+        return v_Report.finish();
+    }
+
+
+
+    /**
+     * 生成待修改的条目。无"条目翻译官"或DN有误时，记录执行失败
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_Index    条目在批量数据中的下标
+     * @param i_Values   Java值对象（新值）
+     * @param i_Tracker  变更跟踪器。为NULL时，不跟踪
+     * @param io_Report  执行报告
+     * @return           失败时返回NULL
+     */
+    static Item toItem(int i_Index ,Object i_Values ,LdapChangeTracker i_Tracker ,LdapBatchReport io_Report)
+    {
+        LdapEntry v_LdapEntry = LDAP.getLdapEntry(i_Values.getClass());
+        if ( v_LdapEntry == null )
+        {
+            io_Report.add(new LdapBatchResult(i_Index ,null ,LdapResultType.Failed ,null ,"No LdapEntry of " + i_Values.getClass().getName() ,i_Values));
+            return null;
+        }
+
+        try
+        {
+            return new Item(i_Index ,new Dn(v_LdapEntry.getDNValue(i_Values)) ,v_LdapEntry ,i_Values ,i_Tracker != null ? i_Tracker.get(i_Values) : null);
+        }
+        catch (Exception exce)
+        {
+            exce.printStackTrace();
+            io_Report.add(new LdapBatchResult(i_Index ,null ,LdapResultType.Failed ,null ,exce.getMessage() ,i_Values));
+        }
+
+        return null;
+    }
+
+
+
+    /**
+     * 将一份条目中还没有执行结果的条目，均记录为"失败"
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_Part     一份条目
+     * @param i_Cause    执行线程的异常
+     * @param io_Report  执行报告
+     */
+    private static void fail(List<Item> i_Part ,Throwable i_Cause ,LdapBatchReport io_Report)
+    {
+        Set<Integer> v_Indexes = io_Report.getIndexes();
+
+        for (Item v_Item : i_Part)
+        {
+            if ( !v_Indexes.contains(v_Item.index) )
+            {
+                io_Report.add(new LdapBatchResult(v_Item.index ,v_Item.dn.getName() ,LdapResultType.Failed ,null ,i_Cause.getMessage() ,v_Item.data ,i_Cause));
+            }
+        }
+    }
+
+
+
+    /**
+     * 在一个连接上，流水线式地查询旧条目、对比、修改一份条目
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_Part        一份条目
+     * @param io_Report     执行报告
+     * @param i_IsTracking  是否跟踪Java值对象的变更
+     * @param i_IsAdd       当LDAP中没有时，是否新增LDAP属性
+     * @param i_IsUpdate    当新旧不同时，是否修改LDAP中对应的属性
+     * @param i_IsDel       当Java属性值为null时，是否删除LDAP中对应的属性
+     */
+    private void modifyPart(List<Item> i_Part ,LdapBatchReport io_Report ,boolean i_IsTracking ,boolean i_IsAdd ,boolean i_IsUpdate ,boolean i_IsDel)
+    {
+        LdapConnection v_Conn = null;
+
+        try
+        {
+            v_Conn = this.ldap.getConnection();
+        }
+        catch (Exception exce)
+        {
+            exce.printStackTrace();
+
+            for (Item v_Item : i_Part)
+            {
+                io_Report.add(new LdapBatchResult(v_Item.index ,v_Item.dn.getName() ,LdapResultType.Failed ,null ,exce.getMessage() ,v_Item.data ,exce));
+            }
+            return;
+        }
+
+        try
+        {
+            this.modifyPart(v_Conn ,i_Part ,io_Report ,i_IsTracking ,i_IsAdd ,i_IsUpdate ,i_IsDel);
+        }
+        finally
+        {
+            this.ldap.closeConnection(v_Conn);
+        }
+    }
+
+
+
+    /**
+     * 在指定的连接上，流水线式地查询旧条目、对比、修改一份条目
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_Conn        LDAP连接。本方法不负责关闭它
+     * @param i_Part        一份条目
+     * @param io_Report     执行报告
+     * @param i_IsTracking  是否跟踪Java值对象的变更
+     * @param i_IsAdd       当LDAP中没有时，是否新增LDAP属性
+     * @param i_IsUpdate    当新旧不同时，是否修改LDAP中对应的属性
+     * @param i_IsDel       当Java属性值为null时，是否删除LDAP中对应的属性
+     */
+    void modifyPart(LdapConnection i_Conn ,List<Item> i_Part ,LdapBatchReport io_Report ,boolean i_IsTracking ,boolean i_IsAdd ,boolean i_IsUpdate ,boolean i_IsDel)
+    {
+        // 查询请求与修改请求分享同一窗口，使在途的请求合计不超过窗口大小。窗口大小为1时，逐个查询、修改
+        int                 v_LookupWindow = Math.max(1 ,this.window / 2);
+        int                 v_ModifyWindow = Math.max(1 ,this.window - v_LookupWindow);
+        LdapPipeline        v_Pipeline     = new LdapPipeline(i_Conn ,v_ModifyWindow ,io_Report);
+        LdapAsyncConnection v_Async        = LdapPipeline.toAsync(i_Conn);
+        List<Item>          v_Window       = new ArrayList<Item>(v_LookupWindow);
+        List<SearchFuture>  v_Futures      = new ArrayList<SearchFuture>(v_LookupWindow);
+
+        for (int x=0; x<i_Part.size(); x+=v_LookupWindow)
+        {
+            v_Window.clear();
+            v_Futures.clear();
+
+            // 一次发送半个窗口的查询请求。已被跟踪的，与快照对比，无须查询
+            for (Item v_Item : i_Part.subList(x ,Math.min(x + v_LookupWindow ,i_Part.size())))
+            {
+                if ( v_Item.snapshot != null )
+                {
+                    Return<ModifyRequest> v_Request = v_Item.entry.toModify(v_Item.snapshot ,v_Item.data ,i_IsAdd ,i_IsUpdate ,i_IsDel);
+                    if ( v_Request != null )
+                    {
+                        this.modifyItem(v_Pipeline ,v_Item ,v_Request);
+                        continue;
+                    }
+
+                    // 快照已过期时，仍查询旧条目
+                    v_Item.snapshot = null;
+                }
+
+                v_Window.add(v_Item);
+                if ( v_Async != null )
+                {
+                    try
+                    {
+                        v_Futures.add(v_Async.searchAsync(this.newLookup(v_Item)));
+                    }
+                    catch (Exception exce)
+                    {
+                        exce.printStackTrace();
+                        v_Futures.add(null);
+                    }
+                }
+            }
+
+            // 逐个接收旧条目，对比后发送修改请求
+            for (int y=0; y<v_Window.size(); y++)
+            {
+                Item v_Item = v_Window.get(y);
+                try
+                {
+                    Entry v_Entry = null;
+                    if ( v_Async != null )
+                    {
+                        v_Entry = this.receiveLookup(v_Futures.get(y) ,v_Pipeline.getTimeout());
+                    }
+                    else
+                    {
+                        v_Entry = i_Conn.lookup(v_Item.dn ,v_Item.entry.getAttributeNames());
+                    }
+
+                    if ( v_Entry == null )
+                    {
+                        // 没有旧条目，也算是修改成功
+                        io_Report.add(new LdapBatchResult(v_Item.index ,v_Item.dn.getName() ,LdapResultType.Skipped ,ResultCodeEnum.NO_SUCH_OBJECT ,"No such entry." ,v_Item.data));
+                        continue;
+                    }
+
+                    Object v_OldValues = v_Item.entry.toObject(v_Entry);
+                    if ( i_IsTracking )
+                    {
+                        v_Item.snapshot = v_Item.entry.toSnapshot(v_OldValues);
+                    }
+
+                    this.modifyItem(v_Pipeline ,v_Item ,v_Item.entry.toModify(v_OldValues ,v_Item.data ,i_IsAdd ,i_IsUpdate ,i_IsDel));
+                }
+                catch (Exception exce)
+                {
+                    exce.printStackTrace();
+                    v_Pipeline.fail(v_Item.index ,v_Item.dn.getName() ,v_Item.data ,exce.getMessage());
+                }
+            }
+        }
+
+        v_Pipeline.flush();
+    }
+
+
+
+    /**
+     * 按对比结果发送修改请求。无须修改时，执行结果为"已跳过"
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_Pipeline  流水线
+     * @param i_Item      条目
+     * @param i_Request   对比结果（见 LdapEntry.toModify()）
+     */
+    private void modifyItem(LdapPipeline i_Pipeline ,Item i_Item ,Return<ModifyRequest> i_Request)
+    {
+        if ( i_Request.booleanValue() )
+        {
+            i_Pipeline.modify(i_Item.index ,i_Request.getParamObj() ,i_Item.data);
+        }
+        else if ( i_Request.paramInt <= 0 )
+        {
+            i_Item.unchanged = true;
+            i_Pipeline.getReport().add(new LdapBatchResult(i_Item.index ,i_Item.dn.getName() ,LdapResultType.Skipped ,null ,"No change." ,i_Item.data));
+        }
+        else
+        {
+            i_Pipeline.fail(i_Item.index ,i_Item.dn.getName() ,i_Item.data ,"Make modify request failed.");
+        }
+    }
+
+
+
+    /**
+     * 生成查询旧条目的请求。只查询"条目翻译官"翻译的属性
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_Item
+     * @return
+     * @throws LdapException
+     */
+    private SearchRequest newLookup(Item i_Item) throws LdapException
+    {
+        SearchRequest v_Request = new SearchRequestImpl();
+
+        v_Request.setBase(  i_Item.dn);
+        v_Request.setFilter("(" + LDAP.$ObjectClass + "=*)");
+        v_Request.setScope( SearchScope.OBJECT);
+        v_Request.addAttributes(i_Item.entry.getAttributeNames());
+
+        return v_Request;
+    }
+
+
+
+    /**
+     * 接收查询旧条目的响应
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_Future   查询请求的响应
+     * @param i_Timeout  等待一个响应的超时时长（毫秒）
+     * @return           旧条目不存在时，返回NULL
+     * @throws LdapException  发送失败、超时或LDAP服务返回异常时
+     */
+    private Entry receiveLookup(SearchFuture i_Future ,long i_Timeout) throws LdapException
+    {
+        if ( i_Future == null )
+        {
+            throw new LdapException("Send lookup request failed.");
+        }
+
+        Entry v_Entry = null;
+        try
+        {
+            while ( true )
+            {
+                Response v_Response = i_Future.get(i_Timeout ,TimeUnit.MILLISECONDS);
+
+                if ( v_Response == null )
+                {
+                    i_Future.cancel(true);
+                    throw new LdapException(i_Future.getCause() != null ? i_Future.getCause().getMessage() : "No response within " + i_Timeout + "ms.");
+                }
+                else if ( v_Response instanceof SearchResultEntry )
+                {
+                    v_Entry = ((SearchResultEntry)v_Response).getEntry();
+                }
+                else if ( v_Response instanceof SearchResultDone )
+                {
+                    ResultCodeEnum v_Code = ((SearchResultDone)v_Response).getLdapResult().getResultCode();
+                    if ( v_Code == ResultCodeEnum.NO_SUCH_OBJECT )
+                    {
+                        return null;
+                    }
+                    else if ( v_Code != ResultCodeEnum.SUCCESS )
+                    {
+                        throw new LdapException(v_Code + " " + ((SearchResultDone)v_Response).getLdapResult().getDiagnosticMessage());
+                    }
+                    return v_Entry;
+                }
+            }
+        }
+        catch (InterruptedException exce)
+        {
+            Thread.currentThread().interrupt();
+            throw new LdapException(exce);
+        }
+    }
+
+
+
+    /**
+     * 修改完成后，刷新Java值对象的快照。
+     *
+     * 修改成功或无须修改、且( i_IsAdd && i_IsUpdate )时，LDAP服务中的属性值与Java值对象一致（未被删除的属性除外），刷新快照。
+     * 否则不能确定LDAP服务中的属性值，不再跟踪。
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_Tracker   变更跟踪器
+     * @param i_Items     所有条目
+     * @param i_Report    执行报告
+     * @param i_IsAdd     当LDAP中没有时，是否新增LDAP属性
+     * @param i_IsUpdate  当新旧不同时，是否修改LDAP中对应的属性
+     * @param i_IsDel     当Java属性值为null时，是否删除LDAP中对应的属性
+     */
+    void track(LdapChangeTracker i_Tracker ,List<Item> i_Items ,LdapBatchReport i_Report ,boolean i_IsAdd ,boolean i_IsUpdate ,boolean i_IsDel)
+    {
+        Set<Integer> v_Modified = new HashSet<Integer>();
+        for (LdapBatchResult v_Result : i_Report.getResults(LdapResultType.Modified))
+        {
+            v_Modified.add(v_Result.getIndex());
+        }
+
+        for (Item v_Item : i_Items)
+        {
+            if ( i_IsAdd && i_IsUpdate && (v_Item.unchanged || v_Modified.contains(v_Item.index)) )
+            {
+                i_Tracker.put(v_Item.data ,v_Item.entry.toSnapshot(v_Item.data ,i_IsDel ? null : v_Item.snapshot));
+            }
+            else
+            {
+                i_Tracker.remove(v_Item.data);
+            }
+        }
+    }
+
+
+
+    /**
+     * 获取：并行的连接数量
+     */
+    public int getConnCount()
+    {
+        return connCount;
+    }
+
+
+
+    /**
+     * 获取：每个连接上，同时在途的请求（查询请求与修改请求合计）的最大数量
+     */
+    public int getWindow()
+    {
+        return window;
+    }
+
+
+
+
+
+    /** 待修改的条目 */
+    static final class Item
+    {
+        private final int       index;
+
+        private final Dn        dn;
+
+        private final LdapEntry entry;
+
+        private final Object    data;
+
+        /** 旧值的快照。已被跟踪的，或跟踪时查询旧条目后生成的 */
+        private LdapSnapshot    snapshot;
+
+        /** 新旧值相同，无须修改 */
+        private boolean         unchanged;
+
+        private Item(int i_Index ,Dn i_Dn ,LdapEntry i_Entry ,Object i_Data ,LdapSnapshot i_Snapshot)
+        {
+            this.index     = i_Index;
+            this.dn        = i_Dn;
+            this.entry     = i_Entry;
+            this.data      = i_Data;
+            this.snapshot  = i_Snapshot;
+            this.unchanged = false;
+        }
+    }
+
+}
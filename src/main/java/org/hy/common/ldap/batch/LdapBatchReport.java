@@ -0,0 +1,234 @@
+package org.hy.common.ldap.batch;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+
+
+
+
+/**
+ * 批量操作的执行报告。记录每个条目的执行结果，及各执行结果类型的数量。
+ *
+ * 注：线程安全。多个连接并行执行时，可共用一个报告。
+ *
+ * @author      ZhengWei(HY)
+ * @createDate  2026-10-16
+ * @version     v1.0
+ */
+public class LdapBatchReport
+{
+
+    /** 每个条目的执行结果 */
+    private final List<LdapBatchResult> results;
+
+    /** 各执行结果类型的数量。下标为 LdapResultType.ordinal() */
+    private final int []                counts;
+
+    /** 开始时间（毫秒） */
+    private final long                  beginTime;
+
+    /** 结束时间（毫秒）。未结束时为0 */
+    private volatile long               endTime;
+
+
+
+    public LdapBatchReport()
+    {
+        this.results   = new ArrayList<LdapBatchResult>();
+        this.counts    = new int[LdapResultType.values().length];
+        this.beginTime = System.currentTimeMillis();
+        this.endTime   = 0L;
+    }
+
+
+
+    /**
+     * 记录一个条目的执行结果
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_Result
+     */
+    public synchronized void add(LdapBatchResult i_Result)
+    {
+        this.results.add(i_Result);
+        this.counts[i_Result.getType().ordinal()]++;
+    }
+
+
+
+    /**
+     * 批量操作结束
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @return
+     */
+    public LdapBatchReport finish()
+    {
+        this.endTime = System.currentTimeMillis();
+        return this;
+    }
+
+
+
+    /**
+     * 获取某一执行结果类型的数量
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_Type
+     * @return
+     */
+    public synchronized int getCount(LdapResultType i_Type)
+    {
+        return this.counts[i_Type.ordinal()];
+    }
+
+
+
+    /**
+     * 获取所有条目的数量
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @return
+     */
+    public synchronized int getTotal()
+    {
+        return this.results.size();
+    }
+
+
+
+    /**
+     * 是否全部执行成功（没有失败的条目）
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @return
+     */
+    public boolean isSuccess()
+    {
+        return this.getCount(LdapResultType.Failed) <= 0;
+    }
+
+
+
+    /**
+     * 获取每个条目的执行结果。按条目在批量数据中的下标排序
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @return
+     */
+    public List<LdapBatchResult> getResults()
+    {
+        return this.getResults(null);
+    }
+
+
+
+    /**
+     * 获取某一执行结果类型的条目的执行结果。按条目在批量数据中的下标排序
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_Type  为NULL时，获取所有条目的执行结果
+     * @return
+     */
+    public List<LdapBatchResult> getResults(LdapResultType i_Type)
+    {
+        List<LdapBatchResult> v_Ret = new ArrayList<LdapBatchResult>();
+
+        synchronized ( this )
+        {
+            for (LdapBatchResult v_Result : this.results)
+            {
+                if ( i_Type == null || v_Result.getType() == i_Type )
+                {
+                    v_Ret.add(v_Result);
+                }
+            }
+        }
+
+        Collections.sort(v_Ret ,Comparator.comparingInt(LdapBatchResult::getIndex));
+        return v_Ret;
+    }
+
+
+
+    /**
+     * 获取已有执行结果的条目的下标
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @return
+     */
+    public synchronized Set<Integer> getIndexes()
+    {
+        Set<Integer> v_Ret = new HashSet<Integer>(this.results.size() * 2);
+
+        for (LdapBatchResult v_Result : this.results)
+        {
+            v_Ret.add(v_Result.getIndex());
+        }
+
+        return v_Ret;
+    }
+
+
+
+    /**
+     * 获取用时（毫秒）。未结束时，为至今的用时
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @return
+     */
+    public long getTimeLen()
+    {
+        return (this.endTime > 0L ? this.endTime : System.currentTimeMillis()) - this.beginTime;
+    }
+
+
+
+    @Override
+    public synchronized String toString()
+    {
+        StringBuilder v_Buffer = new StringBuilder();
+
+        v_Buffer.append("Total=").append(this.results.size());
+        for (LdapResultType v_Type : LdapResultType.values())
+        {
+            v_Buffer.append(" ,").append(v_Type.name()).append("=").append(this.counts[v_Type.ordinal()]);
+        }
+        v_Buffer.append(" ,TimeLen=").append(this.getTimeLen()).append("ms");
+
+        return v_Buffer.toString();
+    }
+
+}
@@ -0,0 +1,167 @@
+package org.hy.common.ldap.batch;
+
+import org.apache.directory.api.ldap.model.message.ResultCodeEnum;
+
+
+
+
+
+/**
+ * 批量操作中，单个条目的执行结果
+ *
+ * @author      ZhengWei(HY)
+ * @createDate  2026-10-16
+ * @version     v1.0
+ */
+public class LdapBatchResult
+{
+
+    /** 条目在批量数据中的下标。下标从0开始 */
+    private final int            index;
+
+    /** 条目标识 */
+    private final String         dn;
+
+    /** 执行结果的类型 */
+    private final LdapResultType type;
+
+    /** LDAP服务返回的结果码。未发送到LDAP服务时（如，数据本身有误）为NULL */
+    private final ResultCodeEnum resultCode;
+
+    /** LDAP服务返回的诊断信息，或异常信息 */
+    private final String         message;
+
+    /** 批量数据中的原始数据。如，@Ldap 注解的Java值对象 */
+    private final Object         data;
+
+    /** 执行失败的异常。LDAP服务返回的失败结果，或未发生异常时为NULL */
+    private final Throwable      cause;
+
+
+
+    /**
+     * 构造器
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_Index       条目在批量数据中的下标
+     * @param i_DN          条目标识
+     * @param i_Type        执行结果的类型
+     * @param i_ResultCode  LDAP服务返回的结果码
+     * @param i_Message     LDAP服务返回的诊断信息，或异常信息
+     * @param i_Data        批量数据中的原始数据
+     */
+    public LdapBatchResult(int i_Index ,String i_DN ,LdapResultType i_Type ,ResultCodeEnum i_ResultCode ,String i_Message ,Object i_Data)
+    {
+        this(i_Index ,i_DN ,i_Type ,i_ResultCode ,i_Message ,i_Data ,null);
+    }
+
+
+
+    /**
+     * 构造器
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_Index       条目在批量数据中的下标
+     * @param i_DN          条目标识
+     * @param i_Type        执行结果的类型
+     * @param i_ResultCode  LDAP服务返回的结果码
+     * @param i_Message     LDAP服务返回的诊断信息，或异常信息
+     * @param i_Data        批量数据中的原始数据
+     * @param i_Cause       执行失败的异常
+     */
+    public LdapBatchResult(int i_Index ,String i_DN ,LdapResultType i_Type ,ResultCodeEnum i_ResultCode ,String i_Message ,Object i_Data ,Throwable i_Cause)
+    {
+        this.index      = i_Index;
+        this.dn         = i_DN;
+        this.type       = i_Type;
+        this.resultCode = i_ResultCode;
+        this.message    = i_Message;
+        this.data       = i_Data;
+        this.cause      = i_Cause;
+    }
+
+
+
+    @Override
+    public String toString()
+    {
+        return "[" + this.index + "] " + this.type + " " + this.dn + (this.resultCode == null ? "" : " " + this.resultCode) + (this.message == null ? "" : " " + this.message);
+    }
+
+
+
+    /**
+     * 获取：条目在批量数据中的下标。下标从0开始
+     */
+    public int getIndex()
+    {
+        return index;
+    }
+
+
+
+    /**
+     * 获取：条目标识
+     */
+    public String getDn()
+    {
+        return dn;
+    }
+
+
+
+    /**
+     * 获取：执行结果的类型
+     */
+    public LdapResultType getType()
+    {
+        return type;
+    }
+
+
+
+    /**
+     * 获取：LDAP服务返回的结果码。未发送到LDAP服务时（如，数据本身有误）为NULL
+     */
+    public ResultCodeEnum getResultCode()
+    {
+        return resultCode;
+    }
+
+
+
+    /**
+     * 获取：LDAP服务返回的诊断信息，或异常信息
+     */
+    public String getMessage()
+    {
+        return message;
+    }
+
+
+
+    /**
+     * 获取：批量数据中的原始数据。如，@Ldap 注解的Java值对象
+     */
+    public Object getData()
+    {
+        return data;
+    }
+
+
+
+    /**
+     * 获取：执行失败的异常。LDAP服务返回的失败结果，或未发生异常时为NULL
+     */
+    public Throwable getCause()
+    {
+        return cause;
+    }
+
+}
@@ -0,0 +1,437 @@
+package org.hy.common.ldap.batch;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.apache.directory.api.ldap.model.entry.Entry;
+import org.apache.directory.api.ldap.model.name.Dn;
+import org.apache.directory.ldap.client.api.LdapConnection;
+import org.hy.common.Help;
+import org.hy.common.ldap.LDAP;
+import org.hy.common.ldap.LdapThreads;
+import org.hy.common.ldap.annotation.LdapEntry;
+
+
+
+
+
+/**
+ * 多连接并行的批量添加条目。
+ *
+ * 按条目DN的深度（RDN的个数）分层，父条目所在的层先于子条目所在的层添加。
+ * 同一层的条目间没有父子依赖，将其分成多份，由多个连接并行地、流水线式地（见 LdapPipeline）添加。
+ * 一层的所有条目都已完成（收到LDAP服务的响应）后，才开始添加下一层。
+ *
+ * 注1：并行的连接均从LDAP连接池中获取，连接池的最大连接数应不小于并行的连接数量，否则将等待空闲的连接。
+ * 注2：父条目添加失败时，其子条目也将添加失败（NO_SUCH_OBJECT）。
+ * 注3：某份条目的执行线程异常时，此份中还没有执行结果的条目均记录为"失败"，异常见 LdapBatchResult.getCause()。
+ *
+ * @author      ZhengWei(HY)
+ * @createDate  2026-10-16
+ * @version     v1.0
+ *              v2.0  2026-10-16  添加：按层并行执行的删除条目。供 LdapTreeDeleter 按DN深度由深至浅地删除条目树
+ *              v3.0  2026-10-16  添加：批量删除条目 delete() 。
+ *                                添加：LDAP.isVirtualThreads() 为真时，在虚拟线程上并行执行（JDK 21及以上版本）
+ */
+public class LdapParallelLoader
+{
+
+    /** 每个连接至少分得的条目数量。条目太少时，不值得占用更多的连接 */
+    public static final int $MinPerConnection = 16;
+
+
+
+    /** LDAP目录服务的操作类 */
+    private final LDAP ldap;
+
+    /** 并行的连接数量 */
+    private final int  connCount;
+
+    /** 每个连接上，同时在途的请求的最大数量 */
+    private final int  window;
+
+
+
+    /**
+     * 构造器
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_LDAP       LDAP目录服务的操作类
+     * @param i_ConnCount  并行的连接数量。小于等于0时，为1
+     * @param i_Window     每个连接上，同时在途的请求的最大数量
+     */
+    public LdapParallelLoader(LDAP i_LDAP ,int i_ConnCount ,int i_Window)
+    {
+        this.ldap      = i_LDAP;
+        this.connCount = Math.max(i_ConnCount ,1);
+        this.window    = i_Window;
+    }
+
+
+
+    /**
+     * 批量添加条目。条目已存在时，执行结果为"已跳过"
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_Datas  元素为 @Ldap 注解的Java值对象，或 Apache LDAP API 的条目对象 Entry
+     * @return         执行报告。LdapBatchResult.getIndex() 为元素在 i_Datas 中的下标
+     */
+    public LdapBatchReport add(List<?> i_Datas)
+    {
+        LdapBatchReport            v_Report = new LdapBatchReport();
+        Map<Integer ,List<Item>>   v_Levels = new TreeMap<Integer ,List<Item>>();
+        Set<String>                v_DNs    = new HashSet<String>();
+
+        if ( Help.isNull(i_Datas) )
+        {
+            return v_Report.finish();
+        }
+
+        // 翻译为条目，并按DN的深度分层
+        for (int x=0; x<i_Datas.size(); x++)
+        {
+            Object v_Values = i_Datas.get(x);
+            if ( v_Values == null )
+            {
+                continue;
+            }
+
+            try
+            {
+                Entry v_Entry = LDAP.toEntry(v_Values);
+                if ( v_Entry == null )
+                {
+                    v_Report.add(new LdapBatchResult(x ,null ,LdapResultType.Failed ,null ,"No LdapEntry of " + v_Values.getClass().getName() ,v_Values));
+                }
+                else if ( !v_DNs.add(LDAP.toLookupKey(v_Entry.getDn())) )
+                {
+                    v_Report.add(new LdapBatchResult(x ,v_Entry.getDn().getName() ,LdapResultType.Failed ,null ,"DN is duplicate." ,v_Values));
+                }
+                else
+                {
+                    v_Levels.computeIfAbsent(v_Entry.getDn().size() ,(i_Key) -> new ArrayList<Item>()).add(new Item(x ,v_Entry ,v_Values));
+                }
+            }
+            catch (Exception exce)
+            {
+                exce.printStackTrace();
+                v_Report.add(new LdapBatchResult(x ,null ,LdapResultType.Failed ,null ,exce.getMessage() ,v_Values));
+            }
+        }
+
+        v_DNs.clear();
+        v_DNs = null;
+
+        this.execute(v_Levels.values() ,v_Report);
+        return v_Report.finish();
+    }
+
+
+
+    /**
+     * 批量删除条目。按DN的深度由深至浅分层，子条目所在的层先于父条目所在的层删除。条目不存在时，执行结果为"已跳过"
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_Datas  元素为 @Ldap 注解的Java值对象，或条目标识DN字符串
+     * @return         执行报告。LdapBatchResult.getIndex() 为元素在 i_Datas 中的下标
+     */
+    public LdapBatchReport delete(List<?> i_Datas)
+    {
+        LdapBatchReport            v_Report = new LdapBatchReport();
+        Map<Integer ,List<Item>>   v_Levels = new TreeMap<Integer ,List<Item>>(Collections.reverseOrder());
+        Set<String>                v_DNs    = new HashSet<String>();
+
+        if ( Help.isNull(i_Datas) )
+        {
+            return v_Report.finish();
+        }
+
+        // 按DN的深度分层
+        for (int x=0; x<i_Datas.size(); x++)
+        {
+            Object v_Values = i_Datas.get(x);
+            if ( v_Values == null )
+            {
+                continue;
+            }
+
+            try
+            {
+                Dn v_Dn = null;
+                if ( v_Values instanceof String )
+                {
+                    v_Dn = new Dn(v_Values.toString());
+                }
+                else
+                {
+                    LdapEntry v_LdapEntry = LDAP.getLdapEntry(v_Values.getClass());
+                    if ( v_LdapEntry == null )
+                    {
+                        v_Report.add(new LdapBatchResult(x ,null ,LdapResultType.Failed ,null ,"No LdapEntry of " + v_Values.getClass().getName() ,v_Values));
+                        continue;
+                    }
+                    v_Dn = new Dn(v_LdapEntry.getDNValue(v_Values));
+                }
+
+                if ( !v_DNs.add(LDAP.toLookupKey(v_Dn)) )
+                {
+                    v_Report.add(new LdapBatchResult(x ,v_Dn.getName() ,LdapResultType.Failed ,null ,"DN is duplicate." ,v_Values));
+                }
+                else
+                {
+                    v_Levels.computeIfAbsent(v_Dn.size() ,(i_Key) -> new ArrayList<Item>()).add(new Item(x ,v_Dn ,false ,v_Values));
+                }
+            }
+            catch (Exception exce)
+            {
+                exce.printStackTrace();
+                v_Report.add(new LdapBatchResult(x ,null ,LdapResultType.Failed ,null ,exce.getMessage() ,v_Values));
+            }
+        }
+
+        v_DNs.clear();
+        v_DNs = null;
+
+        this.execute(v_Levels.values() ,v_Report);
+        return v_Report.finish();
+    }
+
+
+
+    /**
+     * 逐层执行。一层的所有条目都已完成后，才开始执行下一层
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_Levels   按执行顺序排列的各层条目
+     * @param io_Report  执行报告
+     */
+    void execute(Collection<List<Item>> i_Levels ,LdapBatchReport io_Report)
+    {
+        if ( Help.isNull(i_Levels) )
+        {
+            return;
+        }
+
+        ExecutorService v_Executor = LdapThreads.newExecutor(this.connCount ,this.ldap.isVirtualThreads());
+        try
+        {
+            for (List<Item> v_Level : i_Levels)
+            {
+                this.executeLevel(v_Executor ,v_Level ,io_Report);
+            }
+        }
+        finally
+        {
+            v_Executor.shutdown();
+        }
+    }
+
+
+
+    /**
+     * 多连接并行地执行一层的条目。此层的所有条目都已完成后才返回。
+     * 某份条目的执行线程异常时，此份中还没有执行结果的条目均记录为"失败"
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_Executor
+     * @param i_Level     同一层的条目
+     * @param io_Report   执行报告
+     */
+    private void executeLevel(ExecutorService i_Executor ,List<Item> i_Level ,LdapBatchReport io_Report)
+    {
+        int               v_Parts   = Math.max(1 ,Math.min(this.connCount ,i_Level.size() / $MinPerConnection));
+        int               v_Size    = (i_Level.size() + v_Parts - 1) / v_Parts;
+        List<List<Item>>  v_Splits  = new ArrayList<List<Item>>(v_Parts);
+        List<Future<?>>   v_Futures = new ArrayList<Future<?>>(v_Parts);
+
+        for (int v_Begin=0; v_Begin<i_Level.size(); v_Begin+=v_Size)
+        {
+            List<Item> v_Part = i_Level.subList(v_Begin ,Math.min(v_Begin + v_Size ,i_Level.size()));
+            v_Splits .add(v_Part);
+            v_Futures.add(i_Executor.submit(() -> this.executePart(v_Part ,io_Report)));
+        }
+
+        for (int x=0; x<v_Futures.size(); x++)
+        {
+            try
+            {
+                v_Futures.get(x).get();
+            }
+            catch (Exception exce)
+            {
+                Throwable v_Cause = exce instanceof ExecutionException && exce.getCause() != null ? exce.getCause() : exce;
+                if ( exce instanceof InterruptedException )
+                {
+                    Thread.currentThread().interrupt();
+                }
+                v_Cause.printStackTrace();
+
+                fail(v_Splits.get(x) ,v_Cause ,io_Report);
+            }
+        }
+    }
+
+
+
+    /**
+     * 将一份条目中还没有执行结果的条目，均记录为"失败"
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_Part     一份条目
+     * @param i_Cause    执行线程的异常
+     * @param io_Report  执行报告
+     */
+    private static void fail(List<Item> i_Part ,Throwable i_Cause ,LdapBatchReport io_Report)
+    {
+        Set<Integer> v_Indexes = io_Report.getIndexes();
+
+        for (Item v_Item : i_Part)
+        {
+            if ( !v_Indexes.contains(v_Item.index) )
+            {
+                io_Report.add(new LdapBatchResult(v_Item.index ,v_Item.dn.getName() ,LdapResultType.Failed ,null ,i_Cause.getMessage() ,v_Item.data ,i_Cause));
+            }
+        }
+    }
+
+
+
+    /**
+     * 在一个连接上，流水线式地执行一份条目
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_Part     一份条目
+     * @param io_Report  执行报告
+     */
+    private void executePart(List<Item> i_Part ,LdapBatchReport io_Report)
+    {
+        LdapConnection v_Conn = null;
+
+        try
+        {
+            v_Conn = this.ldap.getConnection();
+        }
+        catch (Exception exce)
+        {
+            exce.printStackTrace();
+
+            for (Item v_Item : i_Part)
+            {
+                io_Report.add(new LdapBatchResult(v_Item.index ,v_Item.dn.getName() ,LdapResultType.Failed ,null ,exce.getMessage() ,v_Item.data ,exce));
+            }
+            return;
+        }
+
+        try
+        {
+            LdapPipeline v_Pipeline = new LdapPipeline(v_Conn ,this.window ,io_Report);
+            for (Item v_Item : i_Part)
+            {
+                if ( v_Item.entry != null )
+                {
+                    v_Pipeline.add(v_Item.index ,v_Item.entry ,v_Item.data);
+                }
+                else
+                {
+                    v_Pipeline.delete(v_Item.index ,v_Item.dn ,v_Item.data ,v_Item.isTree);
+                }
+            }
+            v_Pipeline.flush();
+        }
+        finally
+        {
+            this.ldap.closeConnection(v_Conn);
+        }
+    }
+
+
+
+    /**
+     * 获取：并行的连接数量
+     */
+    public int getConnCount()
+    {
+        return connCount;
+    }
+
+
+
+    /**
+     * 获取：每个连接上，同时在途的请求的最大数量
+     */
+    public int getWindow()
+    {
+        return window;
+    }
+
+
+
+
+
+    /** 待执行的条目 */
+    static final class Item
+    {
+        private final int     index;
+
+        private final Dn      dn;
+
+        /** 待添加的条目。为NULL时，表示删除条目 */
+        private final Entry   entry;
+
+        /** 删除时，是否携带树删除控制（Tree Delete） */
+        private final boolean isTree;
+
+        private final Object  data;
+
+        /** 待添加的条目 */
+        Item(int i_Index ,Entry i_Entry ,Object i_Data)
+        {
+            this.index  = i_Index;
+            this.dn     = i_Entry.getDn();
+            this.entry  = i_Entry;
+            this.isTree = false;
+            this.data   = i_Data;
+        }
+
+        /** 待删除的条目 */
+        Item(int i_Index ,Dn i_Dn ,boolean i_IsTree ,Object i_Data)
+        {
+            this.index  = i_Index;
+            this.dn     = i_Dn;
+            this.entry  = null;
+            this.isTree = i_IsTree;
+            this.data   = i_Data;
+        }
+    }
+
+}
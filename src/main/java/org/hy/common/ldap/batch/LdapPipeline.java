@@ -0,0 +1,550 @@
+package org.hy.common.ldap.batch;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.directory.api.ldap.model.entry.Entry;
+import org.apache.directory.api.ldap.model.message.AddRequest;
+import org.apache.directory.api.ldap.model.message.AddRequestImpl;
+import org.apache.directory.api.ldap.model.message.DeleteRequest;
+import org.apache.directory.api.ldap.model.message.DeleteRequestImpl;
+import org.apache.directory.api.ldap.model.message.ModifyRequest;
+import org.apache.directory.api.ldap.model.message.ResultCodeEnum;
+import org.apache.directory.api.ldap.model.message.ResultResponse;
+import org.apache.directory.api.ldap.model.message.controls.ManageDsaITImpl;
+import org.apache.directory.api.ldap.model.message.controls.OpaqueControl;
+import org.apache.directory.api.ldap.model.name.Dn;
+import org.apache.directory.ldap.client.api.LdapAsyncConnection;
+import org.apache.directory.ldap.client.api.LdapConnection;
+import org.apache.directory.ldap.client.api.LdapConnectionConfig;
+import org.apache.directory.ldap.client.api.LdapConnectionWrapper;
+import org.apache.directory.ldap.client.api.future.UniqueResponseFuture;
+import org.hy.common.ldap.LDAP;
+
+
+
+
+
+/**
+ * 在一个连接上，流水线式地批量执行LDAP操作。
+ *
+ * 不等待上一个请求的响应，就发送下一个请求。同时在途（已发送、未收到响应）的请求数量不超过窗口大小，
+ * 达到窗口大小时，先等待最早发送的请求的响应。这样往返的网络延时只在窗口满时才等待，大幅减少批量操作的用时。
+ *
+ * 父条目的请求还在途时，先等待其完成，再发送子条目的添加请求（LDAP服务可能并发处理同一连接上的多个请求）。
+ * 同理，子条目的请求还在途时，先等待其完成，再发送父条目的删除请求。
+ *
+ * 连接不支持异步操作时，降级为逐个同步执行。
+ *
+ * 注：非线程安全。一个流水线只用于一个线程、一个连接。执行结束后须调用 flush() 等待所有在途的请求。
+ *
+ * @author      ZhengWei(HY)
+ * @createDate  2026-10-16
+ * @version     v1.0
+ *              v2.0  2026-10-16  添加：删除条目，及携带树删除控制（Tree Delete）的删除条目树
+ *              v3.0  2026-10-16  添加：修改条目
+ */
+public class LdapPipeline
+{
+
+    /** 默认的窗口大小。即同时在途的请求的最大数量 */
+    public static final int $DefaultWindow = 64;
+
+
+
+    /** 异步操作的连接。为NULL时，逐个同步执行 */
+    private final LdapAsyncConnection          asyncConnection;
+
+    /** 原始的连接 */
+    private final LdapConnection               connection;
+
+    /** 窗口大小。即同时在途的请求的最大数量 */
+    private final int                          window;
+
+    /** 等待一个响应的超时时长（毫秒） */
+    private final long                         timeout;
+
+    /** 执行报告 */
+    private final LdapBatchReport              report;
+
+    /** 在途的请求。按发送的先后顺序 */
+    private final ArrayDeque<Pending>          pendings;
+
+    /** 在途的请求的条目标识（规范化的）及数量。用于判定父条目的请求是否还在途 */
+    private final Map<String ,Integer>         pendingDNs;
+
+    /** 是否有执行失败的条目 */
+    private boolean                            failed;
+
+
+
+    /**
+     * 构造器
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_Conn    LDAP连接。流水线不负责关闭它
+     * @param i_Window  窗口大小。即同时在途的请求的最大数量。小于等于0时，为默认值
+     * @param i_Report  执行报告
+     */
+    public LdapPipeline(LdapConnection i_Conn ,int i_Window ,LdapBatchReport i_Report)
+    {
+        this.connection      = i_Conn;
+        this.asyncConnection = toAsync(i_Conn);
+        this.window          = i_Window <= 0 ? $DefaultWindow : i_Window;
+        this.timeout         = this.asyncConnection == null || this.asyncConnection.getConfig().getTimeout() <= 0L ? LdapConnectionConfig.DEFAULT_TIMEOUT : this.asyncConnection.getConfig().getTimeout();
+        this.report          = i_Report;
+        this.pendings        = new ArrayDeque<Pending>(this.window);
+        this.pendingDNs      = new HashMap<String ,Integer>();
+        this.failed          = false;
+    }
+
+
+
+    /**
+     * 获取连接的异步操作接口。连接池中的连接是包装过的，须解包后才能使用异步操作
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_Conn
+     * @return  不支持异步操作时，返回NULL
+     */
+    public static LdapAsyncConnection toAsync(LdapConnection i_Conn)
+    {
+        LdapConnection v_Conn = i_Conn;
+
+        while ( v_Conn instanceof LdapConnectionWrapper )
+        {
+            v_Conn = ((LdapConnectionWrapper)v_Conn).wrapped();
+        }
+
+        if ( v_Conn instanceof LdapAsyncConnection )
+        {
+            return (LdapAsyncConnection)v_Conn;
+        }
+
+        return null;
+    }
+
+
+
+    /**
+     * 添加条目。条目已存在时，执行结果为"已跳过"
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_Index  条目在批量数据中的下标
+     * @param i_Entry  条目
+     * @param i_Data   批量数据中的原始数据
+     */
+    public void add(int i_Index ,Entry i_Entry ,Object i_Data)
+    {
+        Dn     v_Dn = i_Entry.getDn();
+        String v_DN = v_Dn.getName();
+
+        try
+        {
+            AddRequest v_AddRequest = new AddRequestImpl();
+            v_AddRequest.setEntry(  i_Entry);
+            v_AddRequest.addControl(new ManageDsaITImpl());
+
+            this.waitParent(v_Dn);
+
+            if ( this.asyncConnection != null )
+            {
+                this.send(new Pending(i_Index ,v_Dn ,i_Data ,LdapResultType.Added ,this.asyncConnection.addAsync(v_AddRequest)));
+            }
+            else
+            {
+                this.complete(i_Index ,v_DN ,i_Data ,LdapResultType.Added ,this.connection.add(v_AddRequest));
+            }
+        }
+        catch (Exception exce)
+        {
+            exce.printStackTrace();
+            this.fail(i_Index ,v_DN ,i_Data ,exce.getMessage());
+        }
+    }
+
+
+
+    /**
+     * 删除条目。条目不存在时，执行结果为"已跳过"
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_Index   条目在批量数据中的下标
+     * @param i_Dn      条目标识
+     * @param i_Data    批量数据中的原始数据
+     * @param i_IsTree  是否携带树删除控制（Tree Delete），由LDAP服务删除条目及其所有的子子条目。须LDAP服务支持此控制
+     */
+    public void delete(int i_Index ,Dn i_Dn ,Object i_Data ,boolean i_IsTree)
+    {
+        String v_DN = i_Dn.getName();
+
+        try
+        {
+            DeleteRequest v_DelRequest = new DeleteRequestImpl();
+            v_DelRequest.setName(i_Dn);
+
+            if ( i_IsTree )
+            {
+                v_DelRequest.addControl(new OpaqueControl(LDAP.$ControlOID ,true));
+            }
+
+            this.waitChildren(i_Dn);
+
+            if ( this.asyncConnection != null )
+            {
+                this.send(new Pending(i_Index ,i_Dn ,i_Data ,LdapResultType.Deleted ,this.asyncConnection.deleteAsync(v_DelRequest)));
+            }
+            else
+            {
+                this.complete(i_Index ,v_DN ,i_Data ,LdapResultType.Deleted ,this.connection.delete(v_DelRequest));
+            }
+        }
+        catch (Exception exce)
+        {
+            exce.printStackTrace();
+            this.fail(i_Index ,v_DN ,i_Data ,exce.getMessage());
+        }
+    }
+
+
+
+    /**
+     * 修改条目。条目不存在时，执行结果为"已跳过"
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_Index    条目在批量数据中的下标
+     * @param i_Request  修改请求（见 LdapEntry.toModify()）
+     * @param i_Data     批量数据中的原始数据
+     */
+    public void modify(int i_Index ,ModifyRequest i_Request ,Object i_Data)
+    {
+        Dn     v_Dn = i_Request.getName();
+        String v_DN = v_Dn.getName();
+
+        try
+        {
+            if ( this.asyncConnection != null )
+            {
+                this.send(new Pending(i_Index ,v_Dn ,i_Data ,LdapResultType.Modified ,this.asyncConnection.modifyAsync(i_Request)));
+            }
+            else
+            {
+                this.complete(i_Index ,v_DN ,i_Data ,LdapResultType.Modified ,this.connection.modify(i_Request));
+            }
+        }
+        catch (Exception exce)
+        {
+            exce.printStackTrace();
+            this.fail(i_Index ,v_DN ,i_Data ,exce.getMessage());
+        }
+    }
+
+
+
+    /**
+     * 等待所有在途的请求完成
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @return  执行报告
+     */
+    public LdapBatchReport flush()
+    {
+        while ( !this.pendings.isEmpty() )
+        {
+            this.receive(this.pendings.poll());
+        }
+
+        return this.report;
+    }
+
+
+
+    /**
+     * 父条目的请求还在途时，等待其完成
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_Dn
+     */
+    private void waitParent(Dn i_Dn)
+    {
+        if ( this.pendingDNs.isEmpty() )
+        {
+            return;
+        }
+
+        Dn v_Parent = i_Dn.getParent();
+        if ( v_Parent == null || v_Parent.isEmpty() )
+        {
+            return;
+        }
+
+        String v_ParentKey = LDAP.toLookupKey(v_Parent);
+        while ( this.pendingDNs.containsKey(v_ParentKey) && !this.pendings.isEmpty() )
+        {
+            this.receive(this.pendings.poll());
+        }
+    }
+
+
+
+    /**
+     * 子子条目的请求还在途时，等待其完成
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_Dn
+     */
+    private void waitChildren(Dn i_Dn)
+    {
+        if ( this.pendingDNs.isEmpty() )
+        {
+            return;
+        }
+
+        String  v_Suffix = "," + LDAP.toLookupKey(i_Dn);
+        Pending v_Last   = null;
+        for (Pending v_Pending : this.pendings)
+        {
+            if ( v_Pending.key.endsWith(v_Suffix) )
+            {
+                v_Last = v_Pending;
+            }
+        }
+
+        if ( v_Last == null )
+        {
+            return;
+        }
+
+        // 按发送的先后顺序接收响应，直到最后发送的子子条目的请求完成为止
+        Pending v_Pending = null;
+        do
+        {
+            v_Pending = this.pendings.poll();
+            this.receive(v_Pending);
+        }
+        while ( v_Pending != v_Last );
+    }
+
+
+
+    /**
+     * 发送请求后，登记为在途的请求。窗口已满时，先等待最早发送的请求的响应
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_Pending
+     */
+    private void send(Pending i_Pending)
+    {
+        this.pendings.add(i_Pending);
+        this.pendingDNs.merge(i_Pending.key ,1 ,Integer::sum);
+
+        while ( this.pendings.size() >= this.window )
+        {
+            this.receive(this.pendings.poll());
+        }
+    }
+
+
+
+    /**
+     * 等待并接收一个在途请求的响应
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_Pending
+     */
+    private void receive(Pending i_Pending)
+    {
+        this.pendingDNs.computeIfPresent(i_Pending.key ,(i_Key ,i_Count) -> i_Count <= 1 ? null : i_Count - 1);
+
+        ResultResponse v_Response = null;
+        try
+        {
+            v_Response = i_Pending.future.get(this.timeout ,TimeUnit.MILLISECONDS);
+        }
+        catch (InterruptedException exce)
+        {
+            Thread.currentThread().interrupt();
+        }
+
+        if ( v_Response == null )
+        {
+            // 超时时，放弃此请求
+            i_Pending.future.cancel(true);
+
+            Throwable v_Cause = i_Pending.future.getCause();
+            this.fail(i_Pending.index ,i_Pending.dn.getName() ,i_Pending.data ,v_Cause != null ? v_Cause.getMessage() : "No response within " + this.timeout + "ms.");
+        }
+        else
+        {
+            this.complete(i_Pending.index ,i_Pending.dn.getName() ,i_Pending.data ,i_Pending.type ,v_Response);
+        }
+    }
+
+
+
+    /**
+     * 按LDAP服务的响应，记录执行结果
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_Index     条目在批量数据中的下标
+     * @param i_DN        条目标识
+     * @param i_Data      批量数据中的原始数据
+     * @param i_Type      执行成功时的执行结果类型
+     * @param i_Response  LDAP服务的响应
+     */
+    private void complete(int i_Index ,String i_DN ,Object i_Data ,LdapResultType i_Type ,ResultResponse i_Response)
+    {
+        ResultCodeEnum v_Code    = i_Response.getLdapResult().getResultCode();
+        String         v_Message = i_Response.getLdapResult().getDiagnosticMessage();
+
+        if ( v_Code == ResultCodeEnum.SUCCESS )
+        {
+            this.report.add(new LdapBatchResult(i_Index ,i_DN ,i_Type ,v_Code ,v_Message ,i_Data));
+        }
+        else if ( v_Code == ResultCodeEnum.ENTRY_ALREADY_EXISTS && i_Type == LdapResultType.Added )
+        {
+            this.report.add(new LdapBatchResult(i_Index ,i_DN ,LdapResultType.Skipped ,v_Code ,v_Message ,i_Data));
+        }
+        else if ( v_Code == ResultCodeEnum.NO_SUCH_OBJECT && (i_Type == LdapResultType.Deleted || i_Type == LdapResultType.Modified) )
+        {
+            this.report.add(new LdapBatchResult(i_Index ,i_DN ,LdapResultType.Skipped ,v_Code ,v_Message ,i_Data));
+        }
+        else
+        {
+            this.failed = true;
+            this.report.add(new LdapBatchResult(i_Index ,i_DN ,LdapResultType.Failed ,v_Code ,v_Message ,i_Data));
+        }
+    }
+
+
+
+    /**
+     * 记录执行失败（未收到LDAP服务的响应）
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_Index    条目在批量数据中的下标
+     * @param i_DN       条目标识
+     * @param i_Data     批量数据中的原始数据
+     * @param i_Message  异常信息
+     */
+    public void fail(int i_Index ,String i_DN ,Object i_Data ,String i_Message)
+    {
+        this.failed = true;
+        this.report.add(new LdapBatchResult(i_Index ,i_DN ,LdapResultType.Failed ,null ,i_Message ,i_Data));
+    }
+
+
+
+    /**
+     * 是否有执行失败的条目
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @return
+     */
+    public boolean isFailed()
+    {
+        return this.failed;
+    }
+
+
+
+    /**
+     * 获取：执行报告
+     */
+    public LdapBatchReport getReport()
+    {
+        return report;
+    }
+
+
+
+    /**
+     * 获取：窗口大小。即同时在途的请求的最大数量
+     */
+    public int getWindow()
+    {
+        return window;
+    }
+
+
+
+    /**
+     * 获取：等待一个响应的超时时长（毫秒）
+     */
+    public long getTimeout()
+    {
+        return timeout;
+    }
+
+
+
+
+
+    /** 在途的请求 */
+    private static final class Pending
+    {
+        private final int                                          index;
+
+        private final Dn                                           dn;
+
+        private final String                                       key;
+
+        private final Object                                       data;
+
+        private final LdapResultType                               type;
+
+        private final UniqueResponseFuture<? extends ResultResponse> future;
+
+        private Pending(int i_Index ,Dn i_Dn ,Object i_Data ,LdapResultType i_Type ,UniqueResponseFuture<? extends ResultResponse> i_Future)
+        {
+            this.index  = i_Index;
+            this.dn     = i_Dn;
+            this.key    = LDAP.toLookupKey(i_Dn);
+            this.data   = i_Data;
+            this.type   = i_Type;
+            this.future = i_Future;
+        }
+    }
+
+}
@@ -0,0 +1,32 @@
+package org.hy.common.ldap.batch;
+
+
+
+
+
+/**
+ * 批量操作中，单个条目的执行结果的类型
+ * 
+ * @author      ZhengWei(HY)
+ * @createDate  2026-10-16
+ * @version     v1.0
+ */
+public enum LdapResultType 
+{
+    
+    /** 已添加 */
+    Added,
+    
+    /** 已修改 */
+    Modified,
+    
+    /** 已删除 */
+    Deleted,
+    
+    /** 已跳过。如，添加时条目已存在，删除时条目不存在 */
+    Skipped,
+    
+    /** 执行失败 */
+    Failed
+    
+}
@@ -0,0 +1,223 @@
+package org.hy.common.ldap.batch;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.apache.directory.api.ldap.model.message.SearchScope;
+import org.apache.directory.api.ldap.model.name.Dn;
+import org.hy.common.Help;
+import org.hy.common.ldap.LDAP;
+
+
+
+
+
+/**
+ * 多连接并行的删除条目树。
+ *
+ * LDAP服务支持树删除控制（Tree Delete，OID为 LDAP.$ControlOID）时，携带此控制发送删除请求，由LDAP服务删除整棵条目树。
+ *
+ * 不支持时，只查询条目树中所有条目的DN（不返回任何属性，也不翻译为Java值对象），
+ * 再按DN的深度（RDN的个数）分层，由深至浅地逐层删除。同一层的条目分给多个连接并行地、流水线式地删除（见 LdapParallelLoader）。
+ *
+ * 条目不存在（如，已被他人删除）时，执行结果为"已跳过"。
+ *
+ * 注1：并行的连接均从LDAP连接池中获取，连接池的最大连接数应不小于并行的连接数量，否则将等待空闲的连接。
+ * 注2：携带树删除控制时，由LDAP服务一次删除整棵条目树，执行报告中只有条目树的根条目。
+ *
+ * @author      ZhengWei(HY)
+ * @createDate  2026-10-16
+ * @version     v1.0
+ */
+public class LdapTreeDeleter
+{
+
+    /** LDAP目录服务的操作类 */
+    private final LDAP ldap;
+
+    /** 并行的连接数量 */
+    private final int  connCount;
+
+    /** 每个连接上，同时在途的请求的最大数量 */
+    private final int  window;
+
+
+
+    /**
+     * 构造器
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_LDAP       LDAP目录服务的操作类
+     * @param i_ConnCount  并行的连接数量。小于等于0时，为1
+     * @param i_Window     每个连接上，同时在途的请求的最大数量
+     */
+    public LdapTreeDeleter(LDAP i_LDAP ,int i_ConnCount ,int i_Window)
+    {
+        this.ldap      = i_LDAP;
+        this.connCount = Math.max(i_ConnCount ,1);
+        this.window    = i_Window;
+    }
+
+
+
+    /**
+     * 删除条目树
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_DN         条目树的根条目的标识
+     * @param i_IsDelSelf  是否删除根条目自己。为false时，只删除所有的子及子子条目
+     * @return             执行报告。LdapBatchResult.getIndex() 为条目的删除顺序
+     */
+    public LdapBatchReport delete(String i_DN ,boolean i_IsDelSelf)
+    {
+        LdapBatchReport                     v_Report = new LdapBatchReport();
+        List<List<LdapParallelLoader.Item>> v_Levels = null;
+
+        if ( Help.isNull(i_DN) )
+        {
+            return v_Report.finish();
+        }
+
+        try
+        {
+            if ( this.ldap.isTreeDeleteSupported() )
+            {
+                v_Levels = this.treeLevels(new Dn(i_DN) ,i_IsDelSelf);
+            }
+            else
+            {
+                v_Levels = this.depthLevels(new Dn(i_DN) ,i_IsDelSelf);
+            }
+        }
+        catch (Exception exce)
+        {
+            exce.printStackTrace();
+        }
+
+        if ( v_Levels == null )
+        {
+            v_Report.add(new LdapBatchResult(0 ,i_DN ,LdapResultType.Failed ,null ,"Search DNs of " + i_DN + " failed." ,null));
+            return v_Report.finish();
+        }
+
+        new LdapParallelLoader(this.ldap ,this.connCount ,this.window).execute(v_Levels ,v_Report);
+        return v_Report.finish();
+    }
+
+
+
+    /**
+     * LDAP服务支持树删除控制时：删除自己时，只须删除根条目；不删除自己时，删除每个子条目（一层，可并行）
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_Dn         条目树的根条目的标识
+     * @param i_IsDelSelf  是否删除根条目自己
+     * @return             查询子条目异常时，返回NULL
+     */
+    private List<List<LdapParallelLoader.Item>> treeLevels(Dn i_Dn ,boolean i_IsDelSelf)
+    {
+        List<LdapParallelLoader.Item> v_Level = new ArrayList<LdapParallelLoader.Item>();
+
+        if ( i_IsDelSelf )
+        {
+            v_Level.add(new LdapParallelLoader.Item(0 ,i_Dn ,true ,null));
+        }
+        else
+        {
+            List<Dn> v_DNs = this.ldap.queryDNs(i_Dn.getName() ,SearchScope.ONELEVEL);
+            if ( v_DNs == null )
+            {
+                return null;
+            }
+
+            for (int x=0; x<v_DNs.size(); x++)
+            {
+                v_Level.add(new LdapParallelLoader.Item(x ,v_DNs.get(x) ,true ,null));
+            }
+        }
+
+        return Collections.singletonList(v_Level);
+    }
+
+
+
+    /**
+     * LDAP服务不支持树删除控制时：只查询条目树中所有条目的DN，按DN的深度分层，由深至浅地排列各层
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_Dn         条目树的根条目的标识
+     * @param i_IsDelSelf  是否删除根条目自己
+     * @return             查询异常时，返回NULL
+     */
+    private List<List<LdapParallelLoader.Item>> depthLevels(Dn i_Dn ,boolean i_IsDelSelf)
+    {
+        List<Dn> v_DNs = this.ldap.queryDNs(i_Dn.getName() ,SearchScope.SUBTREE);
+        if ( v_DNs == null )
+        {
+            return null;
+        }
+
+        Map<Integer ,List<Dn>> v_Depths = new TreeMap<Integer ,List<Dn>>(Collections.reverseOrder());
+        int                    v_Root   = i_Dn.size();
+        for (Dn v_Dn : v_DNs)
+        {
+            if ( !i_IsDelSelf && v_Dn.size() <= v_Root )
+            {
+                continue;
+            }
+
+            v_Depths.computeIfAbsent(v_Dn.size() ,(i_Key) -> new ArrayList<Dn>()).add(v_Dn);
+        }
+        v_DNs.clear();
+
+        List<List<LdapParallelLoader.Item>> v_Levels = new ArrayList<List<LdapParallelLoader.Item>>(v_Depths.size());
+        int                                 v_Index  = 0;
+        for (List<Dn> v_Depth : v_Depths.values())
+        {
+            List<LdapParallelLoader.Item> v_Level = new ArrayList<LdapParallelLoader.Item>(v_Depth.size());
+            for (Dn v_Dn : v_Depth)
+            {
+                v_Level.add(new LdapParallelLoader.Item(v_Index++ ,v_Dn ,false ,null));
+            }
+            v_Levels.add(v_Level);
+        }
+
+        return v_Levels;
+    }
+
+
+
+    /**
+     * 获取：并行的连接数量
+     */
+    public int getConnCount()
+    {
+        return connCount;
+    }
+
+
+
+    /**
+     * 获取：每个连接上，同时在途的请求的最大数量
+     */
+    public int getWindow()
+    {
+        return window;
+    }
+
+}
@@ -0,0 +1,209 @@
+package org.hy.common.ldap.batch;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.directory.api.ldap.model.entry.Entry;
+import org.apache.directory.ldap.client.api.LdapConnection;
+import org.hy.common.Help;
+import org.hy.common.ldap.LDAP;
+import org.hy.common.ldap.LdapChangeTracker;
+
+
+
+
+
+/**
+ * 批量添加或修改条目（Upsert）。
+ *
+ * 先添加条目，只有LDAP服务返回条目已存在（ENTRY_ALREADY_EXISTS）时，才查询旧条目并与Java新值对比，
+ * 只修改有差异的属性（见 LdapEntry.toModify()）。
+ *
+ * 新条目只须一次往返；已存在的条目无差异时不修改。不再"先删除、再添加"，也不会在复制的LDAP服务上产生删除、添加的变更。
+ *
+ * 添加、查询、修改都在同一个连接上流水线式地执行（见 LdapPipeline、LdapBatchModifier）。
+ *
+ * 执行结果：添加成功为"已添加"；修改成功为"已修改"；已存在且无须修改时为"已跳过"。
+ *
+ * @author      ZhengWei(HY)
+ * @createDate  2026-10-16
+ * @version     v1.0
+ */
+public class LdapUpserter
+{
+
+    /** LDAP目录服务的操作类 */
+    private final LDAP ldap;
+
+    /** 同时在途的请求的最大数量 */
+    private final int  window;
+
+
+
+    /**
+     * 构造器
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_LDAP    LDAP目录服务的操作类
+     * @param i_Window  同时在途的请求的最大数量。小于等于0时，为默认值
+     */
+    public LdapUpserter(LDAP i_LDAP ,int i_Window)
+    {
+        this.ldap   = i_LDAP;
+        this.window = i_Window <= 0 ? LdapPipeline.$DefaultWindow : i_Window;
+    }
+
+
+
+    /**
+     * 批量添加或修改条目
+     *
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     *
+     * @param i_Datas  元素为 @Ldap 注解的Java值对象。每个元素的类型可以不一样
+     * @param i_IsDel  条目已存在时，Java属性值为null的，是否删除LDAP中对应的属性
+     * @return         执行报告。LdapBatchResult.getIndex() 为元素在 i_Datas 中的下标
+     */
+    public LdapBatchReport upsert(List<?> i_Datas ,boolean i_IsDel)
+    {
+        LdapBatchReport                      v_Report  = new LdapBatchReport();
+        LdapChangeTracker                    v_Tracker = this.ldap.isChangeTracking() ? this.ldap.getChangeTracker() : null;
+        Map<Integer ,LdapBatchModifier.Item> v_Items   = new HashMap<Integer ,LdapBatchModifier.Item>();
+        List<Integer>                        v_Indexes = new ArrayList<Integer>();
+        List<Entry>                          v_Entrys  = new ArrayList<Entry>();
+        Set<String>                          v_DNs     = new HashSet<String>();
+
+        if ( Help.isNull(i_Datas) )
+        {
+            return v_Report.finish();
+        }
+
+        for (int x=0; x<i_Datas.size(); x++)
+        {
+            Object v_Values = i_Datas.get(x);
+            if ( v_Values == null )
+            {
+                continue;
+            }
+
+            LdapBatchModifier.Item v_Item = LdapBatchModifier.toItem(x ,v_Values ,v_Tracker ,v_Report);
+            if ( v_Item == null )
+            {
+                continue;
+            }
+
+            try
+            {
+                Entry v_Entry = LDAP.toEntry(v_Values);
+                if ( !v_DNs.add(LDAP.toLookupKey(v_Entry.getDn())) )
+                {
+                    v_Report.add(new LdapBatchResult(x ,v_Entry.getDn().getName() ,LdapResultType.Failed ,null ,"DN is duplicate." ,v_Values));
+                    continue;
+                }
+
+                v_Items.put(x ,v_Item);
+                v_Indexes.add(x);
+                v_Entrys.add(v_Entry);
+            }
+            catch (Exception exce)
+            {
+                exce.printStackTrace();
+                v_Report.add(new LdapBatchResult(x ,null ,LdapResultType.Failed ,null ,exce.getMessage() ,v_Values));
+            }
+        }
+
+        v_DNs.clear();
+        v_DNs = null;
+
+        if ( v_Entrys.isEmpty() )
+        {
+            return v_Report.finish();
+        }
+
+        LdapConnection v_Conn = null;
+        try
+        {
+            v_Conn = this.ldap.getConnection();
+        }
+        catch (Exception exce)
+        {
+            exce.printStackTrace();
+
+            for (int x=0; x<v_Entrys.size(); x++)
+            {
+                v_Report.add(new LdapBatchResult(v_Indexes.get(x) ,v_Entrys.get(x).getDn().getName() ,LdapResultType.Failed ,null ,exce.getMessage() ,i_Datas.get(v_Indexes.get(x))));
+            }
+            return v_Report.finish();
+        }
+
+        try
+        {
+            // 先添加。条目已存在时，添加的执行结果为"已跳过"
+            LdapBatchReport v_AddReport = new LdapBatchReport();
+            LdapPipeline    v_Pipeline  = new LdapPipeline(v_Conn ,this.window ,v_AddReport);
+            for (int x=0; x<v_Entrys.size(); x++)
+            {
+                v_Pipeline.add(v_Indexes.get(x) ,v_Entrys.get(x) ,i_Datas.get(v_Indexes.get(x)));
+            }
+            v_Pipeline.flush();
+
+            v_Indexes.clear();
+            v_Entrys .clear();
+
+            List<LdapBatchModifier.Item> v_Exists = new ArrayList<LdapBatchModifier.Item>();
+            for (LdapBatchResult v_Result : v_AddReport.getResults())
+            {
+                if ( v_Result.getType() == LdapResultType.Skipped )
+                {
+                    v_Exists.add(v_Items.get(v_Result.getIndex()));
+                    continue;
+                }
+
+                v_Report.add(v_Result);
+                if ( v_Tracker != null && v_Result.getType() == LdapResultType.Added )
+                {
+                    // 添加后，LDAP服务中的属性值与Java值对象一致
+                    v_Tracker.put(v_Result.getData() ,LDAP.getLdapEntry(v_Result.getData().getClass()).toSnapshot(v_Result.getData()));
+                }
+            }
+
+            // 再在同一连接上，修改已存在的条目
+            if ( !v_Exists.isEmpty() )
+            {
+                LdapBatchModifier v_Modifier = new LdapBatchModifier(this.ldap ,1 ,this.window);
+                v_Modifier.modifyPart(v_Conn ,v_Exists ,v_Report ,v_Tracker != null ,true ,true ,i_IsDel);
+
+                if ( v_Tracker != null )
+                {
+                    v_Modifier.track(v_Tracker ,v_Exists ,v_Report ,true ,true ,i_IsDel);
+                }
+            }
+        }
+        finally
+        {
+            this.ldap.closeConnection(v_Conn);
+        }
+
+        return v_Report.finish();
+    }
+
+
+
+    /**
+     * 获取：同时在途的请求的最大数量
+     */
+    public int getWindow()
+    {
+        return window;
+    }
+
+}
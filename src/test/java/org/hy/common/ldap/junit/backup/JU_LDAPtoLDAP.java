@@ -2,10 +2,15 @@ package org.hy.common.ldap.junit.backup;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 import org.hy.common.Help;
 import org.hy.common.StringHelp;
 import org.hy.common.ldap.LDAP;
+import org.hy.common.ldap.LdapEntryIterator;
+import org.hy.common.ldap.batch.LdapBatchReport;
+import org.hy.common.ldap.batch.LdapBatchResult;
+import org.hy.common.ldap.batch.LdapResultType;
 import org.hy.common.ldap.junit.dbtoldap.DSLdapUser;
 import org.hy.common.ldap.junit.dbtoldap.UserInfo;
 import org.hy.common.xml.XJava;
@@ -132,6 +137,68 @@ public class JU_LDAPtoLDAP extends AppInitConfig
     
     
     
+    /**
+     * 备份数据。同 test_Backup2023() ，但用 queryEntrys() 批量查询
+     */
+    @Test
+    public void test_Backup2023ByQueryEntrys()
+    {
+        LDAP v_LDAP01 = (LDAP)XJava.getObject("LDAP01");
+        LDAP v_LDAP02 = (LDAP)XJava.getObject("LDAP02");
+        
+        List<DSLdapUser> v_Datas = new ArrayList<DSLdapUser>();
+        
+        String    v_UIDs   = StringHelp.replaceAll(StringHelp.replaceAll(XJava.getParam("UIDs").getValue() ,"\n" ,"") ,"\r" ,"");
+        String [] v_UIDArr = v_UIDs.split(",");
+        
+        List<String> v_DNs = new ArrayList<String>(v_UIDArr.length);
+        
+        for (String v_UID : v_UIDArr)
+        {
+            v_DNs.add("uid=" + v_UID + ",ou=users,dc=wwww,dc=com");
+        }
+        
+        // 批量查询。同一父节点下的DN合并为'或'关系的过滤条件，不再每个DN一次往返
+        Map<String ,Object> v_Users = v_LDAP01.queryEntrys(v_DNs);
+        
+        if ( v_Users != null )
+        {
+            for (Object v_Item : v_Users.values())
+            {
+                if ( v_Item instanceof DSLdapUser )
+                {
+                    v_Datas.add((DSLdapUser)v_Item);
+                }
+            }
+        }
+        
+        int              v_Count = 0;
+        
+        if ( !Help.isNull(v_Datas) )
+        {
+            for (Object v_DataItem : v_Datas)
+            {
+                if ( v_DataItem instanceof DSLdapUser )
+                {
+                    v_LDAP02.delEntry(v_DataItem);
+                    if ( v_LDAP02.addEntry(v_DataItem) )
+                    {
+                        v_Count++;
+                    }
+                }
+                else
+                {
+                    $Logger.info(v_DataItem);
+                }
+            }
+            
+        }
+        
+        System.out.println("应备份 " + v_Datas.size() + " 条数据，实际成功备份 " + v_Count + " 条数据。");
+    }
+    
+    
+    
     /**
      * 备份数据
      */
@@ -177,6 +244,72 @@ public class JU_LDAPtoLDAP extends AppInitConfig
     
     
     
+    /**
+     * 备份数据。不再先删除、再添加：新条目直接添加，已存在的条目只修改有差异的属性
+     */
+    @Test
+    public void test_BackupByUpsert()
+    {
+        LDAP       v_LDAP01 = (LDAP)XJava.getObject("LDAP01");
+        LDAP       v_LDAP02 = (LDAP)XJava.getObject("LDAP02");
+        DSLdapUser v_User   = new DSLdapUser();
+        
+        v_User.setUserID("ou=users,dc=wwww,dc=com");
+        
+        List<?>         v_Datas  = v_LDAP01.searchEntrys(v_User);
+        LdapBatchReport v_Report = v_LDAP02.upsertEntrys(v_Datas);
+        
+        for (LdapBatchResult v_Result : v_Report.getResults(LdapResultType.Failed))
+        {
+            $Logger.info(v_Result);
+        }
+        
+        System.out.println("应备份 " + v_Datas.size() + " 条数据，" + v_Report);
+    }
+    
+    
+    
+    /**
+     * 备份数据。边查询、边写入，内存中不保存所有的用户信息
+     */
+    @Test
+    public void test_BackupByIterator()
+    {
+        LDAP       v_LDAP01 = (LDAP)XJava.getObject("LDAP01");
+        LDAP       v_LDAP02 = (LDAP)XJava.getObject("LDAP02");
+        DSLdapUser v_User   = new DSLdapUser();
+        int        v_Size   = 0;
+        int        v_Count  = 0;
+        
+        v_User.setUserID("ou=users,dc=wwww,dc=com");
+        v_LDAP02.delEntryChildTree(v_User.getUserID());
+        
+        try (LdapEntryIterator<Object> v_Datas = v_LDAP01.iterateEntrys(v_User))
+        {
+            while ( v_Datas.hasNext() )
+            {
+                Object v_DataItem = v_Datas.next();
+                v_Size++;
+                
+                if ( v_DataItem instanceof DSLdapUser )
+                {
+                    if ( v_LDAP02.addEntry(v_DataItem) )
+                    {
+                        v_Count++;
+                    }
+                }
+                else
+                {
+                    $Logger.info(v_DataItem);
+                }
+            }
+        }
+        
+        System.out.println("应备份 " + v_Size + " 条数据，实际成功备份 " + v_Count + " 条数据。");
+    }
+    
+    
+    
     /**
      * 备份数据
      */
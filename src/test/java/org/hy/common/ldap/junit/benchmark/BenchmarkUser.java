@@ -0,0 +1,139 @@
+package org.hy.common.ldap.junit.benchmark;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.hy.common.ldap.annotation.Ldap;
+import org.hy.common.ldap.annotation.LdapType;
+
+
+
+
+
+/**
+ * 性能测试用的用户信息。覆盖简单类型、List、Set、数组、Map等各种成员类型。
+ *
+ * @author      ZhengWei(HY)
+ * @createDate  2026-10-16
+ * @version     v1.0
+ */
+@Ldap("inetOrgPerson ,organizationalPerson ,person ,top")
+public class BenchmarkUser
+{
+    
+    /** 用户ID */
+    @Ldap(type=LdapType.DN)
+    private String              userID;
+    
+    /** 用户编号 */
+    @Ldap("uid")
+    private String              userNo;
+    
+    /** 用户姓氏 */
+    @Ldap("sn")
+    private String              surname;
+    
+    /** 用户名称 */
+    @Ldap("cn")
+    private List<String>        userNames;
+    
+    /** 邮箱 */
+    @Ldap("mail")
+    private Set<String>         emails;
+    
+    /** 手机号 */
+    @Ldap("mobile")
+    private String []           mobiles;
+    
+    /** 电话 */
+    @Ldap("telephoneNumber")
+    private Map<String ,String> tels;
+    
+    /** 员工号 */
+    @Ldap("employeeNumber")
+    private Integer             employeeNo;
+    
+    
+    
+    public String getUserID()
+    {
+        return userID;
+    }
+    
+    public void setUserID(String userID)
+    {
+        this.userID = userID;
+    }
+    
+    public String getUserNo()
+    {
+        return userNo;
+    }
+    
+    public void setUserNo(String userNo)
+    {
+        this.userNo = userNo;
+    }
+    
+    public String getSurname()
+    {
+        return surname;
+    }
+    
+    public void setSurname(String surname)
+    {
+        this.surname = surname;
+    }
+    
+    public List<String> getUserNames()
+    {
+        return userNames;
+    }
+    
+    public void setUserNames(List<String> userNames)
+    {
+        this.userNames = userNames;
+    }
+    
+    public Set<String> getEmails()
+    {
+        return emails;
+    }
+    
+    public void setEmails(Set<String> emails)
+    {
+        this.emails = emails;
+    }
+    
+    public String [] getMobiles()
+    {
+        return mobiles;
+    }
+    
+    public void setMobiles(String [] mobiles)
+    {
+        this.mobiles = mobiles;
+    }
+    
+    public Map<String ,String> getTels()
+    {
+        return tels;
+    }
+    
+    public void setTels(Map<String ,String> tels)
+    {
+        this.tels = tels;
+    }
+    
+    public Integer getEmployeeNo()
+    {
+        return employeeNo;
+    }
+    
+    public void setEmployeeNo(Integer employeeNo)
+    {
+        this.employeeNo = employeeNo;
+    }
+    
+}
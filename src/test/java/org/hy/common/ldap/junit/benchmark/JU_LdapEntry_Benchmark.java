@@ -0,0 +1,263 @@
+package org.hy.common.ldap.junit.benchmark;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.directory.api.ldap.model.entry.Attribute;
+import org.apache.directory.api.ldap.model.entry.DefaultEntry;
+import org.apache.directory.api.ldap.model.entry.Entry;
+import org.apache.directory.api.ldap.model.entry.Value;
+import org.hy.common.Help;
+import org.hy.common.MethodReflect;
+import org.hy.common.ldap.annotation.Ldap;
+import org.hy.common.ldap.annotation.LdapEntry;
+import org.hy.common.ldap.annotation.LdapType;
+import org.junit.Assert;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+
+
+
+
+
+/**
+ * 性能测试："条目翻译官"将LDAP条目翻译为Java值对象（toObject）的单条耗时。
+ *
+ * 对比：
+ *   1. 优化前：每个条目的每个属性，都反射判定类型、解析泛型，并用 Method.invoke() 赋值。
+ *   2. 优化后：LdapEntry.toObject()。使用解释注解时预先生成的转换策略及LambdaMetafactory函数。
+ *
+ * 无须LDAP服务，直接构造条目对象测试。并断言两者对每个条目的翻译结果均相同。
+ *
+ * @author      ZhengWei(HY)
+ * @createDate  2026-10-16
+ * @version     v1.0
+ */
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class JU_LdapEntry_Benchmark
+{
+
+    private static final int $EntryCount = 10000;
+
+    private static final int $Rounds     = 20;
+
+
+
+    @Test
+    public void test_ToObject() throws Exception
+    {
+        LdapEntry   v_LdapEntry = makeLdapEntry(BenchmarkUser.class);
+        List<Entry> v_Entrys    = makeEntrys($EntryCount);
+
+        // 预热
+        for (int v_Round=0; v_Round<$Rounds / 2; v_Round++)
+        {
+            toObjectsByReflect(v_LdapEntry ,v_Entrys);
+            toObjects(         v_LdapEntry ,v_Entrys);
+        }
+
+        long v_ReflectTime = 0;
+        long v_NowTime     = 0;
+        for (int v_Round=0; v_Round<$Rounds; v_Round++)
+        {
+            long v_Start = System.nanoTime();
+            toObjectsByReflect(v_LdapEntry ,v_Entrys);
+            v_ReflectTime += System.nanoTime() - v_Start;
+
+            v_Start = System.nanoTime();
+            toObjects(v_LdapEntry ,v_Entrys);
+            v_NowTime += System.nanoTime() - v_Start;
+        }
+
+        long v_Total = (long)$EntryCount * $Rounds;
+        System.out.println("优化前（反射）  ：" + (v_ReflectTime / v_Total) + " ns/条目");
+        System.out.println("优化后（预编译）：" + (v_NowTime     / v_Total) + " ns/条目");
+
+        // 翻译结果应一致
+        for (Entry v_Entry : v_Entrys)
+        {
+            assertEqualUser((BenchmarkUser)toObjectByReflect(v_LdapEntry ,v_Entry) ,(BenchmarkUser)v_LdapEntry.toObject(v_Entry));
+        }
+    }
+
+
+
+    /**
+     * 优化后的翻译结果，与优化前（反射）的翻译结果的每个属性值均相同
+     */
+    private static void assertEqualUser(BenchmarkUser i_Old ,BenchmarkUser i_New)
+    {
+        Assert.assertEquals(     i_Old.getUserID()     ,i_New.getUserID());
+        Assert.assertEquals(     i_Old.getUserNo()     ,i_New.getUserNo());
+        Assert.assertEquals(     i_Old.getSurname()    ,i_New.getSurname());
+        Assert.assertEquals(     i_Old.getUserNames()  ,i_New.getUserNames());
+        Assert.assertEquals(     i_Old.getEmails()     ,i_New.getEmails());
+        Assert.assertArrayEquals(i_Old.getMobiles()    ,i_New.getMobiles());
+        Assert.assertEquals(     i_Old.getTels()       ,i_New.getTels());
+        Assert.assertEquals(     i_Old.getEmployeeNo() ,i_New.getEmployeeNo());
+    }
+
+
+
+    private static void toObjects(LdapEntry i_LdapEntry ,List<Entry> i_Entrys)
+    {
+        for (Entry v_Entry : i_Entrys)
+        {
+            i_LdapEntry.toObject(v_Entry);
+        }
+    }
+
+
+
+    private static void toObjectsByReflect(LdapEntry i_LdapEntry ,List<Entry> i_Entrys) throws Exception
+    {
+        for (Entry v_Entry : i_Entrys)
+        {
+            toObjectByReflect(i_LdapEntry ,v_Entry);
+        }
+    }
+
+
+
+    /**
+     * 优化前的翻译方法（基准）
+     */
+    private static Object toObjectByReflect(LdapEntry i_LdapEntry ,Entry i_Entry) throws Exception
+    {
+        Object v_Ret = i_LdapEntry.getMetaClass().getDeclaredConstructor().newInstance();
+
+        i_LdapEntry.getDnSetMethod().invoke(v_Ret ,Help.toObject(i_LdapEntry.getDnSetMethod().getParameterTypes()[0] ,i_Entry.getDn().toString()));
+
+        for (Map.Entry<String ,Map<String ,Method>> v_Item : i_LdapEntry.getElementsToObject().entrySet())
+        {
+            for (Method v_Method : v_Item.getValue().values())
+            {
+                Attribute v_Attribute = i_Entry.get(v_Item.getKey());
+                if ( v_Attribute == null )
+                {
+                    continue;
+                }
+
+                Object v_MPValue = null;
+                if ( MethodReflect.isExtendImplement(v_Method.getParameterTypes()[0] ,List.class) )
+                {
+                    Class<?>     v_ItemClass = Help.NVL(MethodReflect.getGenerics(v_Method ,0 ,0) ,String.class);
+                    List<Object> v_Values    = new ArrayList<Object>();
+                    for (Value v_Value : v_Attribute)
+                    {
+                        v_Values.add(Help.toObject(v_ItemClass ,v_Value.getString()));
+                    }
+                    v_MPValue = v_Values;
+                }
+                else if ( MethodReflect.isExtendImplement(v_Method.getParameterTypes()[0] ,Set.class) )
+                {
+                    Class<?>    v_ItemClass = Help.NVL(MethodReflect.getGenerics(v_Method ,0 ,0) ,String.class);
+                    Set<Object> v_Values    = new HashSet<Object>();
+                    for (Value v_Value : v_Attribute)
+                    {
+                        v_Values.add(Help.toObject(v_ItemClass ,v_Value.getString()));
+                    }
+                    v_MPValue = v_Values;
+                }
+                else if ( v_Method.getParameterTypes()[0].isArray() )
+                {
+                    Class<?> v_ItemClass = v_Method.getParameterTypes()[0].getComponentType();
+                    int      v_Index     = 0;
+                    v_MPValue = Array.newInstance(v_ItemClass ,v_Attribute.size());
+                    for (Value v_Value : v_Attribute)
+                    {
+                        Array.set(v_MPValue ,v_Index++ ,Help.toObject(v_ItemClass ,v_Value.getString()));
+                    }
+                }
+                else if ( MethodReflect.isExtendImplement(v_Method.getParameterTypes()[0] ,Map.class) )
+                {
+                    Class<?>            v_ItemClass = Help.NVL(MethodReflect.getGenerics(v_Method ,0 ,0) ,String.class);
+                    Map<Object ,Object> v_Values    = new HashMap<Object ,Object>();
+                    for (Value v_Value : v_Attribute)
+                    {
+                        Object v_AttrValue = Help.toObject(v_ItemClass ,v_Value.getString());
+                        v_Values.put(v_AttrValue ,v_AttrValue);
+                    }
+                    v_MPValue = v_Values;
+                }
+                else
+                {
+                    v_MPValue = Help.toObject(v_Method.getParameterTypes()[0] ,v_Attribute.get().getString());
+                }
+
+                v_Method.invoke(v_Ret ,v_MPValue);
+            }
+        }
+
+        return v_Ret;
+    }
+
+
+
+    /**
+     * 按Java类的 @Ldap 注解生成"条目翻译官"。与 LdapAnnotation.parser() 的规则相同，但无须XJava。
+     */
+    private static LdapEntry makeLdapEntry(Class<?> i_Class) throws Exception
+    {
+        LdapEntry v_LdapEntry = new LdapEntry(i_Class ,i_Class.getAnnotation(Ldap.class).value());
+
+        for (Field v_Field : i_Class.getDeclaredFields())
+        {
+            Ldap v_Anno = v_Field.getAnnotation(Ldap.class);
+            if ( v_Anno == null )
+            {
+                continue;
+            }
+
+            String v_Name      = v_Field.getName().substring(0 ,1).toUpperCase() + v_Field.getName().substring(1);
+            Method v_GetMethod = i_Class.getMethod("get" + v_Name);
+            Method v_SetMethod = i_Class.getMethod("set" + v_Name ,v_Field.getType());
+
+            if ( v_Anno.type() == LdapType.DN )
+            {
+                v_LdapEntry.setDnGetMethod(v_GetMethod);
+                v_LdapEntry.setDnSetMethod(v_SetMethod);
+            }
+            else
+            {
+                v_LdapEntry.putElement(Help.NVL(v_Anno.name() ,v_Anno.value()) ,v_GetMethod ,v_SetMethod);
+            }
+        }
+
+        return v_LdapEntry;
+    }
+
+
+
+    private static List<Entry> makeEntrys(int i_Count) throws Exception
+    {
+        List<Entry> v_Entrys = new ArrayList<Entry>(i_Count);
+
+        for (int i=0; i<i_Count; i++)
+        {
+            Entry v_Entry = new DefaultEntry("uid=U" + i + ",ou=users,dc=maxcrc,dc=com");
+
+            v_Entry.add("objectClass"     ,"inetOrgPerson" ,"organizationalPerson" ,"person" ,"top");
+            v_Entry.add("uid"             ,"U" + i);
+            v_Entry.add("sn"              ,"Zheng");
+            v_Entry.add("cn"              ,"ZhengWei" + i ,"HY" + i);
+            v_Entry.add("mail"            ,"u" + i + "@hy.org" ,"u" + i + "@maxcrc.com");
+            v_Entry.add("mobile"          ,"1380000" + i ,"1390000" + i);
+            v_Entry.add("telephoneNumber" ,"029-" + i);
+            v_Entry.add("employeeNumber"  ,String.valueOf(i));
+
+            v_Entrys.add(v_Entry);
+        }
+
+        return v_Entrys;
+    }
+
+}
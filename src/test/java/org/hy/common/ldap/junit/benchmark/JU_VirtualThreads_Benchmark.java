@@ -0,0 +1,261 @@
+package org.hy.common.ldap.junit.benchmark;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.pool2.BasePooledObjectFactory;
+import org.apache.commons.pool2.PooledObject;
+import org.apache.commons.pool2.impl.DefaultPooledObject;
+import org.apache.commons.pool2.impl.GenericObjectPoolConfig;
+import org.apache.directory.ldap.client.api.LdapConnection;
+import org.apache.directory.ldap.client.api.LdapConnectionPool;
+import org.hy.common.ldap.LDAP;
+import org.hy.common.ldap.LdapThreads;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+
+
+
+
+
+/**
+ * 性能测试：平台线程与虚拟线程（虚拟线程友好的执行模式）下，LDAP操作的吞吐量。
+ *
+ * 对比：
+ *   1. 平台线程：固定数量的平台线程，直接从连接池中获取连接。
+ *   2. 虚拟线程：每个操作一个虚拟线程，按信号量获取连接（LDAP.setVirtualThreads(true)）。
+ *   3. 许可多于线程：信号量的许可数量（连接池的最大连接数）多于平台线程的数量时，信号量不应限制并发。
+ *
+ * 每个场景均断言：同时使用的连接数量不超过许可数量、线程数量，且能达到两者中的较小值附近（即没有被额外地串行化）。
+ * 吞吐量只输出、不断言（受计时及运行环境的影响）。
+ *
+ * 无须LDAP服务。连接池中的连接为模拟的连接，每个请求阻塞 $Latency 毫秒，模拟网络往返的时延。
+ *
+ * 注：虚拟线程须JDK 21及以上版本，低于时跳过虚拟线程的测试。
+ *
+ * @author      ZhengWei(HY)
+ * @createDate  2026-10-16
+ * @version     v1.0
+ */
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class JU_VirtualThreads_Benchmark
+{
+
+    /** 每轮的操作数量 */
+    private static final int  $Operations      = 20000;
+
+    /** 连接池的最大连接数 */
+    private static final int  $MaxConnections  = 32;
+
+    /** 平台线程的数量 */
+    private static final int  $PlatformThreads = 256;
+
+    /** 模拟的网络往返时延（毫秒） */
+    private static final long $Latency         = 2L;
+
+    /** 许可多于线程的场景中，连接池的最大连接数（即信号量的许可数量） */
+    private static final int  $MorePermits     = 128;
+
+    /** 许可多于线程的场景中，平台线程的数量 */
+    private static final int  $FewerThreads    = 64;
+
+
+
+    @Test
+    public void test_01_PlatformThreads() throws Exception
+    {
+        MockConnectionFactory v_Factory = new MockConnectionFactory();
+        LDAP                  v_LDAP    = makeLDAP(v_Factory ,$MaxConnections ,false);
+
+        run(v_LDAP ,Executors.newFixedThreadPool($PlatformThreads) ,$Operations / 10);  // 预热
+        v_Factory.reset();
+        long v_OPS = toOPS(run(v_LDAP ,Executors.newFixedThreadPool($PlatformThreads) ,$Operations));
+
+        System.out.println("平台线程（" + $PlatformThreads + "个）：" + v_OPS + " 次/秒，同时使用的连接：" + v_Factory.getPeak());
+        assertPeak(v_Factory ,$MaxConnections);
+    }
+
+
+
+    @Test
+    public void test_02_VirtualThreads() throws Exception
+    {
+        Assume.assumeTrue("虚拟线程须JDK 21及以上版本" ,LdapThreads.isVirtualSupported());
+
+        MockConnectionFactory v_Factory = new MockConnectionFactory();
+        LDAP                  v_LDAP    = makeLDAP(v_Factory ,$MaxConnections ,true);
+
+        run(v_LDAP ,LdapThreads.newExecutor(0 ,true) ,$Operations / 10);  // 预热
+        v_Factory.reset();
+        long v_OPS = toOPS(run(v_LDAP ,LdapThreads.newExecutor(0 ,true) ,$Operations));
+
+        System.out.println("虚拟线程（每操作一个）：" + v_OPS + " 次/秒，同时使用的连接：" + v_Factory.getPeak());
+        assertPeak(v_Factory ,$MaxConnections);
+    }
+
+
+
+    @Test
+    public void test_03_MorePermitsThanThreads() throws Exception
+    {
+        MockConnectionFactory v_NoPermitFactory = new MockConnectionFactory();
+        LDAP                  v_NoPermitLDAP    = makeLDAP(v_NoPermitFactory ,$MorePermits ,false);
+        MockConnectionFactory v_PermitFactory   = new MockConnectionFactory();
+        LDAP                  v_PermitLDAP      = makeLDAP(v_PermitFactory   ,$MorePermits ,true);
+
+        run(v_NoPermitLDAP ,Executors.newFixedThreadPool($FewerThreads) ,$Operations / 10);  // 预热
+        run(v_PermitLDAP   ,Executors.newFixedThreadPool($FewerThreads) ,$Operations / 10);
+        v_NoPermitFactory.reset();
+        v_PermitFactory  .reset();
+
+        long v_NoPermitOPS = toOPS(run(v_NoPermitLDAP ,Executors.newFixedThreadPool($FewerThreads) ,$Operations));
+        long v_PermitOPS   = toOPS(run(v_PermitLDAP   ,Executors.newFixedThreadPool($FewerThreads) ,$Operations));
+
+        System.out.println("许可（" + $MorePermits + "个）多于平台线程（" + $FewerThreads + "个）：无信号量 " + v_NoPermitOPS + " 次/秒，有信号量 " + v_PermitOPS + " 次/秒，同时使用的连接：" + v_PermitFactory.getPeak());
+
+        // 并发只受限于线程数量，信号量不应额外地限制
+        assertPeak(v_NoPermitFactory ,$FewerThreads);
+        assertPeak(v_PermitFactory   ,$FewerThreads);
+    }
+
+
+
+    /**
+     * 断言同时使用的连接数量：不超过上限，且能达到上限的四分之三以上
+     */
+    private static void assertPeak(MockConnectionFactory i_Factory ,int i_Limit)
+    {
+        Assert.assertTrue("同时使用的连接 " + i_Factory.getPeak() + " 超过了上限 " + i_Limit ,i_Factory.getPeak() <= i_Limit);
+        Assert.assertTrue("同时使用的连接 " + i_Factory.getPeak() + " 远低于上限 " + i_Limit ,i_Factory.getPeak() * 4 >= i_Limit * 3);
+    }
+
+
+
+    /**
+     * 按用时计算每秒的操作数量
+     */
+    private static long toOPS(long i_Time)
+    {
+        return $Operations * 1000L / Math.max(i_Time ,1);
+    }
+
+
+
+    /**
+     * 并发地执行操作
+     *
+     * @return  用时（毫秒）
+     */
+    private static long run(LDAP i_LDAP ,ExecutorService i_Executor ,int i_Operations) throws Exception
+    {
+        List<Future<Boolean>> v_Futures = new ArrayList<Future<Boolean>>(i_Operations);
+        long                  v_Start   = System.currentTimeMillis();
+
+        try
+        {
+            for (int x=0; x<i_Operations; x++)
+            {
+                String v_DN = "uid=" + x + ",ou=users,dc=wwww,dc=com";
+                v_Futures.add(i_Executor.submit(() -> i_LDAP.isExists(v_DN)));
+            }
+
+            for (Future<Boolean> v_Future : v_Futures)
+            {
+                v_Future.get();
+            }
+        }
+        finally
+        {
+            i_Executor.shutdown();
+            i_Executor.awaitTermination(1 ,TimeUnit.MINUTES);
+        }
+
+        return System.currentTimeMillis() - v_Start;
+    }
+
+
+
+    /**
+     * 生成连接池为模拟连接的LDAP操作类
+     */
+    private static LDAP makeLDAP(MockConnectionFactory i_Factory ,int i_MaxConnections ,boolean i_IsVirtual)
+    {
+        GenericObjectPoolConfig<LdapConnection> v_PoolConfig = new GenericObjectPoolConfig<LdapConnection>();
+        v_PoolConfig.setMaxTotal(i_MaxConnections);
+        v_PoolConfig.setMaxIdle( i_MaxConnections);
+
+        LDAP v_LDAP = new LDAP(new LdapConnectionPool(i_Factory ,v_PoolConfig) ,"org.hy.common.ldap.junit.benchmark");
+        v_LDAP.setVirtualThreads(i_IsVirtual);
+        return v_LDAP;
+    }
+
+
+
+
+
+    /** 模拟连接的工厂。每个请求阻塞 $Latency 毫秒，并统计同时执行请求的连接数量 */
+    private static final class MockConnectionFactory extends BasePooledObjectFactory<LdapConnection>
+    {
+        /** 正在执行请求的连接数量 */
+        private final AtomicInteger active = new AtomicInteger(0);
+
+        /** 同时执行请求的连接数量的最大值 */
+        private final AtomicInteger peak   = new AtomicInteger(0);
+
+        public void reset()
+        {
+            this.peak.set(0);
+        }
+
+        public int getPeak()
+        {
+            return this.peak.get();
+        }
+
+        @Override
+        public LdapConnection create()
+        {
+            return (LdapConnection)Proxy.newProxyInstance(LdapConnection.class.getClassLoader() ,new Class<?>[] {LdapConnection.class} ,(i_Proxy ,i_Method ,i_Args) ->
+            {
+                switch ( i_Method.getName() )
+                {
+                    case "hashCode":
+                        return System.identityHashCode(i_Proxy);
+                    case "equals":
+                        return i_Proxy == i_Args[0];
+                    case "isConnected":
+                        return Boolean.TRUE;
+                    case "exists":
+                        this.peak.accumulateAndGet(this.active.incrementAndGet() ,Math::max);
+                        try
+                        {
+                            Thread.sleep($Latency);
+                        }
+                        finally
+                        {
+                            this.active.decrementAndGet();
+                        }
+                        return Boolean.TRUE;
+                    default:
+                        return null;
+                }
+            });
+        }
+
+        @Override
+        public PooledObject<LdapConnection> wrap(LdapConnection i_Conn)
+        {
+            return new DefaultPooledObject<LdapConnection>(i_Conn);
+        }
+    }
+
+}
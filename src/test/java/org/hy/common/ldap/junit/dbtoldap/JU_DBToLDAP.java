@@ -4,14 +4,28 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
 
+import org.apache.directory.api.ldap.model.message.controls.ChangeType;
 import org.hy.common.Date;
 import org.hy.common.Help;
 import org.hy.common.StringHelp;
 import org.hy.common.ldap.LDAP;
+import org.hy.common.ldap.LdapAsyncFuture;
+import org.hy.common.ldap.LdapChangeListener;
+import org.hy.common.ldap.LdapChangeMonitor;
+import org.hy.common.ldap.LdapEntryCache;
+import org.hy.common.ldap.LdapReplica;
+import org.hy.common.ldap.LdapSearchCache;
+import org.hy.common.ldap.LdapSession;
+import org.hy.common.ldap.batch.LdapBatchReport;
+import org.hy.common.ldap.batch.LdapResultType;
 import org.hy.common.ldap.objectclasses.LDAPNode;
 import org.hy.common.xml.XJava;
 import org.hy.common.xml.plugins.AppInitConfig;
+import org.junit.Assert;
 import org.junit.Test;
 
 
@@ -119,6 +133,92 @@ public class JU_DBToLDAP extends AppInitConfig
     
     
     
+    /**
+     * 从关系型数据库中拉取数据，并流水线式地推入到LDAP中。已存在的用户将被跳过。
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     */
+    @Test
+    public void test_DBToLDAP_Pipeline()
+    {
+        IUserDAO       v_UserDAO = (IUserDAO)XJava.getObject("UserDAO");
+        List<UserInfo> v_Users   = v_UserDAO.queryAll();
+        
+        if ( Help.isNull(v_Users) )
+        {
+            System.err.println("未从关系型数据库中查询到用户");
+            return;
+        }
+        System.out.println(Date.getNowTime().getFullMilli() + "  从关系型数据库中查询到 " + v_Users.size() + " 位用户信息。");
+        
+        LDAP            v_LDAP   = (LDAP)XJava.getObject("LDAP");
+        LdapBatchReport v_Report = v_LDAP.addEntrysPipeline(v_Users);
+        
+        System.out.println(Date.getNowTime().getFullMilli() + "  " + v_Report.toString());
+        Help.print(v_Report.getResults(LdapResultType.Failed));
+    }
+    
+    
+    
+    /**
+     * 从关系型数据库中拉取数据，按DN深度分层后，多连接并行地推入到LDAP中（含父节点）。
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     */
+    @Test
+    public void test_DBToLDAP_Parallel()
+    {
+        IUserDAO       v_UserDAO = (IUserDAO)XJava.getObject("UserDAO");
+        List<Object>   v_Datas   = new ArrayList<Object>();
+        List<UserInfo> v_Users   = v_UserDAO.queryAll();
+        
+        if ( Help.isNull(v_Users) )
+        {
+            System.err.println("未从关系型数据库中查询到用户");
+            return;
+        }
+        System.out.println(Date.getNowTime().getFullMilli() + "  从关系型数据库中查询到 " + v_Users.size() + " 位用户信息。");
+        
+        // 子条目在前、父条目在后，也能按DN深度先添加父条目
+        v_Datas.addAll(v_Users);
+        
+        LDAPNode v_UsersLDAPNode = new LDAPNode();
+        v_UsersLDAPNode.setId("ou=users,dc=wwww,dc=com");
+        v_UsersLDAPNode.setDescription("用户信息分类");
+        v_Datas.add(v_UsersLDAPNode);
+        
+        LDAP            v_LDAP   = (LDAP)XJava.getObject("LDAP");
+        LdapBatchReport v_Report = v_LDAP.addEntrysParallel(v_Datas ,4);
+        
+        System.out.println(Date.getNowTime().getFullMilli() + "  " + v_Report.toString());
+        Help.print(v_Report.getResults(LdapResultType.Failed));
+    }
+    
+    
+    
+    /**
+     * 还原前清空用户信息分类下的所有用户。只查询DN，由深至浅、多连接并行地删除（或由LDAP服务按树删除控制删除）。
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     */
+    @Test
+    public void test_DelEntryTreeParallel()
+    {
+        LDAP            v_LDAP   = (LDAP)XJava.getObject("LDAP");
+        LdapBatchReport v_Report = v_LDAP.delEntryTreeParallel("ou=users,dc=wwww,dc=com" ,false);
+        
+        System.out.println(Date.getNowTime().getFullMilli() + "  TreeDelete=" + v_LDAP.isTreeDeleteSupported() + "  " + v_Report.toString());
+        Help.print(v_Report.getResults(LdapResultType.Failed));
+    }
+    
+    
+    
     /**
      * 用另外多个数据库中的同步更新用户信息
      * 
@@ -210,6 +310,48 @@ public class JU_DBToLDAP extends AppInitConfig
     
     
     
+    /**
+     * 多连接并行、流水线式的批量合并用户信息（只添加属性，不删除属性）。
+     * 
+     * 再次合并相同的用户信息时，所有条目均已包含这些属性值，应无条目被修改。
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     */
+    @Test
+    public void test_UnionToLDAP_Parallel()
+    {
+        IUserDAO       v_UserDAO = (IUserDAO)XJava.getObject("UserDAO");
+        List<UserInfo> v_Users   = v_UserDAO.queryUnionA();
+        
+        if ( Help.isNull(v_Users) )
+        {
+            System.err.println("未从关系型数据库中查询到用户");
+            return;
+        }
+        System.out.println(Date.getNowTime().getFullMilli() + "  从关系型数据库中查询到 " + v_Users.size() + " 位用户信息。");
+        // 添加不存的用户，已存在的不添加
+        create(v_Users);
+        
+        LDAP            v_LDAP      = (LDAP)XJava.getObject("LDAP");
+        Date            v_BeginTime = new Date();
+        LdapBatchReport v_Report    = v_LDAP.modifyEntrysParallel(v_Users ,true ,false ,false);
+        Date            v_EndTime   = new Date();
+        
+        System.out.println(Date.getNowTime().getFullMilli() + "  " + v_Report.toString());
+        System.out.println(Date.getNowTime().getFullMilli() + "  共用时 " + Date.toTimeLen(v_EndTime.differ(v_BeginTime)));
+        Help.print(v_Report.getResults(LdapResultType.Failed));
+        Assert.assertTrue(v_Report.isSuccess());
+        
+        v_Report = v_LDAP.modifyEntrysParallel(v_Users ,true ,false ,false);
+        System.out.println(Date.getNowTime().getFullMilli() + "  再次合并：" + v_Report.toString());
+        Assert.assertTrue(v_Report.isSuccess());
+        Assert.assertEquals(0 ,v_Report.getCount(LdapResultType.Modified));
+    }
+    
+    
+    
     /**
      * 添加条目
      * 
@@ -338,6 +480,140 @@ public class JU_DBToLDAP extends AppInitConfig
     
     
     
+    /**
+     * 本地副本模式下的用户登陆。一次性加载所有用户后，按账号、工号或手机号登陆均由本地副本的索引应答
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     */
+    @SuppressWarnings("unchecked")
+    @Test
+    public void test_UserLogin_Replica()
+    {
+        LDAP        v_LDAP    = (LDAP)XJava.getObject("LDAP");
+        LdapReplica v_Replica = new LdapReplica(v_LDAP ,"ou=users,dc=wwww,dc=com" ,"givenName" ,"employeeNumber" ,"mobile");
+        
+        System.out.println("加载了 " + v_Replica.load() + " 个用户：" + v_Replica);
+        v_LDAP.setReplica(v_Replica);
+        
+        try
+        {
+            for (String v_LoginName : new String[] {"admin-xcx" ,"51442" ,"13600000000"})
+            {
+                UserInfo v_User = new UserInfo();
+                v_User.setUserID("ou=users,dc=wwww,dc=com");
+                v_User.setLoginName(v_LoginName);
+                v_User.setLoginPwd("E10ADC3949BA59ABBE56E057F20F883E");
+                
+                long           v_BeginTime = System.nanoTime();
+                List<UserInfo> v_Users     = (List<UserInfo>)v_LDAP.searchEntrys(v_User);
+                long           v_EndTime   = System.nanoTime();
+                
+                System.out.println("按" + v_LoginName + "登陆，用时：" + ((v_EndTime - v_BeginTime) / 1000L) + " 微秒");
+                Help.print(v_Users);
+            }
+        }
+        finally
+        {
+            v_LDAP.setReplica(null);
+        }
+    }
+    
+    
+    
+    /**
+     * 本地副本与LDAP服务的查询结果应一致。
+     * 登陆名、密码的大小写、首尾的空格，手机号中的空格、连字符，均按LDAP服务的匹配规则比较
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     */
+    @Test
+    public void test_UserLogin_ReplicaVsServer()
+    {
+        LDAP        v_LDAP    = (LDAP)XJava.getObject("LDAP");
+        LdapReplica v_Replica = new LdapReplica(v_LDAP ,"ou=users,dc=wwww,dc=com" ,"givenName" ,"employeeNumber" ,"mobile");
+        
+        v_Replica.load();
+        
+        for (String v_LoginName : new String[] {"admin-xcx" ,"ADMIN-XCX" ," admin-xcx " ,"51442" ,"13600000000" ,"136-0000-0000" ,"136 0000 0000"})
+        {
+            for (String v_LoginPwd : new String[] {"E10ADC3949BA59ABBE56E057F20F883E" ,"e10adc3949ba59abbe56e057f20f883e"})
+            {
+                UserInfo v_User = new UserInfo();
+                v_User.setUserID("ou=users,dc=wwww,dc=com");
+                v_User.setLoginName(v_LoginName);
+                v_User.setLoginPwd(v_LoginPwd);
+                
+                // 未设置为 LDAP 对象的本地副本，所以由LDAP服务应答
+                Set<String> v_FromServer  = toUserIDs(v_LDAP.searchEntrys(v_User));
+                Set<String> v_FromReplica = toUserIDs(v_Replica.search(v_User));
+                
+                System.out.println("按[" + v_LoginName + "]登陆：" + v_FromServer);
+                Assert.assertEquals(v_LoginName + "/" + v_LoginPwd ,v_FromServer ,v_FromReplica);
+            }
+        }
+    }
+    
+    
+    
+    /**
+     * 获取用户的标识（小写）
+     */
+    private static Set<String> toUserIDs(List<?> i_Users)
+    {
+        Set<String> v_Ret = new TreeSet<String>();
+        
+        for (Object v_User : i_Users)
+        {
+            v_Ret.add(((UserInfo)v_User).getUserID().toLowerCase());
+        }
+        
+        return v_Ret;
+    }
+    
+    
+    
+    /**
+     * 异步地同时登陆三个用户。三个查询请求同时在途，不再逐个等待响应
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     */
+    @Test
+    public void test_UserLoginAsync() throws Exception
+    {
+        LDAP      v_LDAP       = (LDAP)XJava.getObject("LDAP");
+        String [] v_LoginNames = {"admin-xcx" ,"51442" ,"13600000000"};
+        
+        List<LdapAsyncFuture<List<?>>> v_Futures   = new ArrayList<LdapAsyncFuture<List<?>>>();
+        Date                           v_BeginTime = new Date();
+        
+        for (String v_LoginName : v_LoginNames)
+        {
+            UserInfo v_User = new UserInfo();
+            
+            v_User.setUserID("ou=users,dc=wwww,dc=com");
+            v_User.setLoginName(v_LoginName);
+            v_User.setLoginPwd("E10ADC3949BA59ABBE56E057F20F883E");
+            
+            v_Futures.add(v_LDAP.searchEntrysAsync(v_User));
+        }
+        
+        CompletableFuture.allOf(v_Futures.toArray(new CompletableFuture<?>[0])).get();
+        System.out.println("查询用时：" + Date.toTimeLen(new Date().differ(v_BeginTime)));
+        
+        for (LdapAsyncFuture<List<?>> v_Future : v_Futures)
+        {
+            Help.print(v_Future.get());
+        }
+    }
+    
+    
+    
     /**
      * 某一用户添加多个联系方式
      * 
@@ -373,6 +649,251 @@ public class JU_DBToLDAP extends AppInitConfig
     
     
     
+    /**
+     * 启用变更跟踪后，修改查询出的用户信息。与查询时的快照对比得出修改动作，不再查询旧值
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     */
+    @Test
+    public void test_ModUser_ChangeTracking()
+    {
+        LDAP v_LDAP = (LDAP)XJava.getObject("LDAP");
+        v_LDAP.setChangeTracking(true);
+        
+        UserInfo v_UserInfo = (UserInfo)v_LDAP.queryEntry("uid=52140,ou=users,dc=wwww,dc=com");
+        if ( v_UserInfo == null )
+        {
+            System.err.println("未从LDAP中查询到用户");
+            return;
+        }
+        
+        v_UserInfo.setLastTime(new Date());
+        
+        int v_ModAttrCount = v_LDAP.modifyEntry(v_UserInfo);
+        System.out.println(Date.getNowTime().getFullMilli() + "  修改了 " + v_ModAttrCount + " 个属性，跟踪的对象数量：" + v_LDAP.getChangeTracker().size());
+        
+        // 未再修改时，与刷新后的快照对比，不发送任何请求
+        System.out.println(Date.getNowTime().getFullMilli() + "  再次修改了 " + v_LDAP.modifyEntry(v_UserInfo) + " 个属性");
+    }
+    
+    
+    
+    /**
+     * 在一个会话中查询、修改多个用户。所有的操作复用会话独占的一个连接，不再逐步地从连接池中获取、释放连接
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     */
+    @Test
+    public void test_ModUser_Session() throws Exception
+    {
+        LDAP        v_LDAP         = (LDAP)XJava.getObject("LDAP");
+        LdapSession v_Opened       = null;
+        int         v_ModAttrCount = 0;
+        
+        try (LdapSession v_Session = v_LDAP.openSession())
+        {
+            Assert.assertNotNull("打开会话异常" ,v_Session);
+            Assert.assertSame(v_Session ,v_LDAP.getSession());
+            v_Opened = v_Session;
+            
+            for (int x=52140; x<=52149; x++)
+            {
+                UserInfo v_UserInfo = new UserInfo();
+                
+                v_UserInfo.setUserID("uid=" + x + ",ou=users,dc=wwww,dc=com");
+                v_UserInfo.setLastTime(new Date());
+                
+                if ( v_LDAP.queryEntry(v_UserInfo.getUserID()) != null )
+                {
+                    v_ModAttrCount += Math.max(v_LDAP.modifyEntry(v_UserInfo) ,0);
+                }
+                
+                // 会话期间，所有操作均复用会话独占的连接
+                Assert.assertSame(v_Session.getConnection() ,v_LDAP.getConnection());
+            }
+        }
+        
+        Assert.assertTrue(v_Opened.isClosed());
+        Assert.assertNull(v_LDAP.getSession());
+        System.out.println(Date.getNowTime().getFullMilli() + "  修改了 " + v_ModAttrCount + " 个属性.");
+    }
+    
+    
+    
+    /**
+     * 启用条目缓存后，多次查询同一用户。只有首次查询、及修改后的首次查询才访问LDAP服务
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     */
+    @Test
+    public void test_QueryUser_EntryCache()
+    {
+        LDAP           v_LDAP  = (LDAP)XJava.getObject("LDAP");
+        LdapEntryCache v_Cache = new LdapEntryCache(1000 ,5L * 60L * 1000L);
+        String         v_DN    = "uid=52140,ou=users,dc=wwww,dc=com";
+        
+        v_LDAP.setEntryCache(v_Cache);
+        
+        try
+        {
+            for (int x=1; x<=10; x++)
+            {
+                v_LDAP.queryEntry(v_DN);
+            }
+            System.out.println("用户是否存在：" + v_LDAP.isExists(v_DN) + "，" + v_Cache);
+            
+            // 修改后，缓存中的条目被移除，再次查询时从LDAP服务中获取
+            v_LDAP.modifyAttribute(v_DN ,"description" ,"EntryCache");
+            UserInfo v_UserInfo = (UserInfo)v_LDAP.queryEntry(v_DN);
+            
+            System.out.println(v_UserInfo == null ? "未从LDAP中查询到用户" : "修改后：" + v_Cache);
+        }
+        finally
+        {
+            v_LDAP.setEntryCache(null);
+        }
+    }
+    
+    
+    
+    /**
+     * 启用条目缓存后，反复判断不存在的用户。只有首次判断访问LDAP服务，添加后不再被认为不存在
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     */
+    @Test
+    public void test_IsExists_NegativeCache()
+    {
+        LDAP           v_LDAP  = (LDAP)XJava.getObject("LDAP");
+        LdapEntryCache v_Cache = new LdapEntryCache();
+        UserInfo       v_User  = new UserInfo();
+        
+        v_Cache.setMissingTimeToLive(10L * 1000L);
+        v_LDAP.setEntryCache(v_Cache);
+        v_User.setUserID("uid=NegativeCache,ou=users,dc=wwww,dc=com");
+        v_User.setUserName("NegativeCache");
+        v_User.setSurname("NegativeCache");
+        
+        try
+        {
+            for (int x=1; x<=10; x++)
+            {
+                v_LDAP.isExists(v_User.getUserID());
+            }
+            System.out.println("添加前：" + v_Cache);
+            
+            v_LDAP.addEntry(v_User);
+            System.out.println("添加后是否存在：" + v_LDAP.isExists(v_User.getUserID()) + "，" + v_Cache);
+            
+            v_LDAP.delEntry(v_User);
+        }
+        finally
+        {
+            v_LDAP.setEntryCache(null);
+        }
+    }
+    
+    
+    
+    /**
+     * 启用查询结果缓存后，多次查询所有用户。只有首次查询、及修改某一用户后的首次查询才访问LDAP服务
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     */
+    @Test
+    public void test_QueryUsers_SearchCache()
+    {
+        LDAP            v_LDAP  = (LDAP)XJava.getObject("LDAP");
+        LdapSearchCache v_Cache = new LdapSearchCache(100 ,100000 ,60L * 1000L);
+        
+        v_Cache.setStaleTimeToLive(5L * 60L * 1000L);
+        v_LDAP.setSearchCache(v_Cache);
+        
+        try
+        {
+            for (int x=1; x<=10; x++)
+            {
+                v_LDAP.queryEntryChilds("ou=users,dc=wwww,dc=com");
+            }
+            System.out.println("修改前：" + v_Cache);
+            
+            // 修改后，受影响的查询结果被移除，再次查询时从LDAP服务中获取
+            v_LDAP.modifyAttribute("uid=52140,ou=users,dc=wwww,dc=com" ,"description" ,"SearchCache");
+            List<?> v_Users = v_LDAP.queryEntryChilds("ou=users,dc=wwww,dc=com");
+            
+            System.out.println("修改后：共 " + v_Users.size() + " 个用户，" + v_Cache);
+        }
+        finally
+        {
+            v_LDAP.setSearchCache(null);
+        }
+    }
+    
+    
+    
+    /**
+     * 变更监视器。修改用户后，LDAP服务推送变更通知，移除查询结果缓存中的相关数据，并通知监听器
+     * 
+     * @author      ZhengWei(HY)
+     * @createDate  2026-10-16
+     * @version     v1.0
+     */
+    @Test
+    public void test_ChangeMonitor() throws InterruptedException
+    {
+        LDAP              v_LDAP    = (LDAP)XJava.getObject("LDAP");
+        LdapSearchCache   v_Cache   = new LdapSearchCache();
+        LdapChangeMonitor v_Monitor = new LdapChangeMonitor(v_LDAP ,"dc=wwww,dc=com");
+        
+        v_LDAP.setSearchCache(v_Cache);
+        v_Monitor.addListener("ou=users,dc=wwww,dc=com" ,new LdapChangeListener()
+        {
+            @Override
+            public void onChange(ChangeType i_ChangeType ,String i_DN ,String i_PreviousDN ,Object i_Data)
+            {
+                System.out.println("变更通知：" + i_ChangeType + " " + i_DN + " " + i_Data);
+            }
+            
+            @Override
+            public void onReset()
+            {
+                System.out.println("重新建立了持久查询");
+            }
+        });
+        v_Monitor.start();
+        
+        try
+        {
+            Thread.sleep(1000);
+            v_LDAP.queryEntryChilds("ou=users,dc=wwww,dc=com");
+            System.out.println("修改前：" + v_Cache);
+            
+            v_LDAP.setSearchCache(null);   // 不通过本对象移除，只由变更通知移除
+            v_LDAP.modifyAttribute("uid=52140,ou=users,dc=wwww,dc=com" ,"description" ,"ChangeMonitor");
+            v_LDAP.setSearchCache(v_Cache);
+            
+            Thread.sleep(1000);
+            System.out.println("修改后：共收到 " + v_Monitor.getChangeCount() + " 个变更通知，" + v_Cache);
+        }
+        finally
+        {
+            v_Monitor.close();
+            v_LDAP.setSearchCache(null);
+        }
+    }
+    
+    
+    
     /**
      * 某一用户的联系方式修改，并且之前的联系方式均删除
      * 
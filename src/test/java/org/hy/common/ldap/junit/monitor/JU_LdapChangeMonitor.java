@@ -0,0 +1,236 @@
+package org.hy.common.ldap.junit.monitor;
+
+import java.lang.reflect.Proxy;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.pool2.BasePooledObjectFactory;
+import org.apache.commons.pool2.PooledObject;
+import org.apache.commons.pool2.impl.DefaultPooledObject;
+import org.apache.commons.pool2.impl.GenericObjectPoolConfig;
+import org.apache.directory.api.ldap.model.entry.DefaultEntry;
+import org.apache.directory.api.ldap.model.entry.Entry;
+import org.apache.directory.api.ldap.model.message.ResultCodeEnum;
+import org.apache.directory.api.ldap.model.message.SearchResultDoneImpl;
+import org.apache.directory.api.ldap.model.message.SearchResultEntryImpl;
+import org.apache.directory.api.ldap.model.message.controls.ChangeType;
+import org.apache.directory.api.ldap.model.message.controls.EntryChangeImpl;
+import org.apache.directory.api.ldap.model.name.Dn;
+import org.apache.directory.ldap.client.api.LdapAsyncConnection;
+import org.apache.directory.ldap.client.api.LdapConnection;
+import org.apache.directory.ldap.client.api.LdapConnectionConfig;
+import org.apache.directory.ldap.client.api.LdapConnectionPool;
+import org.apache.directory.ldap.client.api.LdapConnectionWrapper;
+import org.apache.directory.ldap.client.api.future.SearchFuture;
+import org.hy.common.ldap.LDAP;
+import org.hy.common.ldap.LdapChangeListener;
+import org.hy.common.ldap.LdapChangeMonitor;
+import org.hy.common.ldap.LdapEntryCache;
+import org.hy.common.ldap.junit.benchmark.BenchmarkUser;
+import org.junit.Assert;
+import org.junit.Test;
+
+
+
+
+
+/**
+ * 测试单元：变更监视器按变更通知移除缓存、触发监听器，以及持久查询被LDAP服务结束后的重新建立。
+ *
+ * 无须LDAP服务。连接池中的连接为包装后的（与 DefaultPoolableLdapConnectionFactory 一样）模拟的异步连接，
+ * 由本测试向持久查询推送合成的、带 Entry Change Notification 控制的变更通知。
+ *
+ * @author      ZhengWei(HY)
+ * @createDate  2026-10-16
+ * @version     v1.0
+ */
+public class JU_LdapChangeMonitor
+{
+
+    private static final String $BaseDN  = "dc=wwww,dc=com";
+
+    private static final String $UsersDN = "ou=users,dc=wwww,dc=com";
+
+    /** 等待监视线程处理的最长时长（毫秒） */
+    private static final long   $Timeout = 5000L;
+
+
+
+    /** 模拟连接收到的持久查询 */
+    private final BlockingQueue<SearchFuture> searchs = new LinkedBlockingQueue<SearchFuture>();
+
+    /** 监听器收到的变更通知 */
+    private final BlockingQueue<String>       changes = new LinkedBlockingQueue<String>();
+
+    /** 消息ID */
+    private final AtomicInteger               ids     = new AtomicInteger(0);
+
+
+
+    @Test
+    public void test_ChangeMonitor() throws Exception
+    {
+        LDAP              v_LDAP    = this.makeLDAP();
+        LdapEntryCache    v_Cache   = new LdapEntryCache();
+        LdapChangeMonitor v_Monitor = new LdapChangeMonitor(v_LDAP ,$BaseDN);
+        Object []         v_Data    = new Object[1];
+
+        v_LDAP.setEntryCache(v_Cache);
+        v_Cache.put(newEntry("uid=1," + $UsersDN ,"Old") ,v_Cache.getVersion());
+        v_Cache.put(newEntry("uid=2," + $UsersDN ,"Old") ,v_Cache.getVersion());
+        v_Cache.put(newEntry("uid=3," + $UsersDN ,"Old") ,v_Cache.getVersion());
+
+        v_Monitor.setRetryInterval(10L);
+        v_Monitor.addListener($UsersDN ,new LdapChangeListener()
+        {
+            @Override
+            public void onChange(ChangeType i_ChangeType ,String i_DN ,String i_PreviousDN ,Object i_Data)
+            {
+                v_Data[0] = i_Data;
+                changes.add(i_ChangeType + " " + i_DN + " " + i_PreviousDN);
+            }
+
+            @Override
+            public void onReset()
+            {
+                changes.add("RESET");
+            }
+        });
+        v_Monitor.start();
+
+        try
+        {
+            SearchFuture v_Search = this.searchs.poll($Timeout ,TimeUnit.MILLISECONDS);
+            Assert.assertNotNull("包装后的连接应被解包，并发送持久查询" ,v_Search);
+
+            // 修改
+            v_Search.set(this.newChange(newEntry("uid=1," + $UsersDN ,"New") ,ChangeType.MODIFY ,null));
+            Assert.assertEquals("MODIFY uid=1," + $UsersDN + " null" ,this.changes.poll($Timeout ,TimeUnit.MILLISECONDS));
+            Assert.assertEquals("New" ,((BenchmarkUser)v_Data[0]).getSurname());
+            Assert.assertNull(v_Cache.get("uid=1," + $UsersDN));
+            Assert.assertNotNull(v_Cache.get("uid=3," + $UsersDN));
+
+            // 重命名：按原DN移除
+            v_Search.set(this.newChange(newEntry("uid=9," + $UsersDN ,"Old") ,ChangeType.MODDN ,"uid=2," + $UsersDN));
+            Assert.assertEquals("MODDN uid=9," + $UsersDN + " uid=2," + $UsersDN ,this.changes.poll($Timeout ,TimeUnit.MILLISECONDS));
+            Assert.assertNull(v_Cache.get("uid=2," + $UsersDN));
+            Assert.assertNotNull(v_Cache.get("uid=3," + $UsersDN));
+            Assert.assertEquals(2L ,v_Monitor.getChangeCount());
+
+            // LDAP服务以错误结束持久查询：重新建立，清空缓存，并通知监听器
+            SearchResultDoneImpl v_Done = new SearchResultDoneImpl(this.ids.get());
+            v_Done.getLdapResult().setResultCode(ResultCodeEnum.UNWILLING_TO_PERFORM);
+            v_Search.set(v_Done);
+
+            Assert.assertNotNull("持久查询应被重新建立" ,this.searchs.poll($Timeout ,TimeUnit.MILLISECONDS));
+            Assert.assertEquals("RESET" ,this.changes.poll($Timeout ,TimeUnit.MILLISECONDS));
+            Assert.assertEquals(1L ,v_Monitor.getResetCount());
+            Assert.assertEquals(0  ,v_Cache.size());
+        }
+        finally
+        {
+            v_Monitor.close();
+        }
+
+        Assert.assertFalse(v_Monitor.isRunning());
+    }
+
+
+
+    /**
+     * 生成变更通知
+     */
+    private SearchResultEntryImpl newChange(Entry i_Entry ,ChangeType i_ChangeType ,String i_PreviousDN) throws Exception
+    {
+        SearchResultEntryImpl v_Response = new SearchResultEntryImpl(this.ids.get());
+        EntryChangeImpl       v_Change   = new EntryChangeImpl();
+
+        v_Change.setChangeType(i_ChangeType);
+        if ( i_PreviousDN != null )
+        {
+            v_Change.setPreviousDn(new Dn(i_PreviousDN));
+        }
+
+        v_Response.setEntry(i_Entry);
+        v_Response.addControl(v_Change);
+        return v_Response;
+    }
+
+
+
+    /**
+     * 生成用户条目
+     */
+    private static Entry newEntry(String i_DN ,String i_Surname) throws Exception
+    {
+        return new DefaultEntry(i_DN
+                               ,"objectClass: inetOrgPerson"
+                               ,"objectClass: organizationalPerson"
+                               ,"objectClass: person"
+                               ,"objectClass: top"
+                               ,"cn: " + i_Surname
+                               ,"sn: " + i_Surname);
+    }
+
+
+
+    /**
+     * 生成连接池为模拟连接的LDAP操作类
+     */
+    private LDAP makeLDAP()
+    {
+        GenericObjectPoolConfig<LdapConnection> v_PoolConfig = new GenericObjectPoolConfig<LdapConnection>();
+        v_PoolConfig.setMaxTotal(1);
+
+        return new LDAP(new LdapConnectionPool(new MockConnectionFactory() ,v_PoolConfig) ,"org.hy.common.ldap.junit.benchmark");
+    }
+
+
+
+
+
+    /** 模拟连接的工厂。异步查询时，返回由本测试推送响应的持久查询 */
+    private final class MockConnectionFactory extends BasePooledObjectFactory<LdapConnection>
+    {
+        @Override
+        public LdapConnection create()
+        {
+            LdapConnectionConfig  v_Config = new LdapConnectionConfig();
+            LdapAsyncConnection[] v_Conn   = new LdapAsyncConnection[1];
+
+            v_Conn[0] = (LdapAsyncConnection)Proxy.newProxyInstance(LdapAsyncConnection.class.getClassLoader() ,new Class<?>[] {LdapAsyncConnection.class} ,(i_Proxy ,i_Method ,i_Args) ->
+            {
+                switch ( i_Method.getName() )
+                {
+                    case "hashCode":
+                        return System.identityHashCode(i_Proxy);
+                    case "equals":
+                        return i_Proxy == i_Args[0];
+                    case "isConnected":
+                        return Boolean.TRUE;
+                    case "isRequestCompleted":
+                        return Boolean.FALSE;
+                    case "getConfig":
+                        return v_Config;
+                    case "searchAsync":
+                        SearchFuture v_Search = new SearchFuture(v_Conn[0] ,ids.incrementAndGet());
+                        searchs.add(v_Search);
+                        return v_Search;
+                    default:
+                        return null;
+                }
+            });
+
+            return new LdapConnectionWrapper(v_Conn[0]) {};
+        }
+
+        @Override
+        public PooledObject<LdapConnection> wrap(LdapConnection i_Conn)
+        {
+            return new DefaultPooledObject<LdapConnection>(i_Conn);
+        }
+    }
+
+}
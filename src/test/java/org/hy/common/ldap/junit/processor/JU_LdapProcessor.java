@@ -0,0 +1,258 @@
+package org.hy.common.ldap.junit.processor;
+
+import java.io.File;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.TreeMap;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import org.apache.directory.api.ldap.model.entry.DefaultEntry;
+import org.apache.directory.api.ldap.model.entry.Entry;
+import org.hy.common.Help;
+import org.hy.common.TablePartitionRID;
+import org.hy.common.ldap.annotation.LdapAnnotation;
+import org.hy.common.ldap.annotation.LdapEntry;
+import org.hy.common.ldap.annotation.LdapEntryProvider;
+import org.hy.common.ldap.annotation.LdapProcessor;
+import org.junit.Assert;
+import org.junit.Test;
+
+
+
+
+
+/**
+ * 测试单元：@Ldap 注解处理器（LdapProcessor）编译时生成的"条目翻译官"，与运行时 LdapAnnotation 解释的"条目翻译官"完全相同。
+ *
+ * 本包自身编译时不执行注解处理器（见 pom.xml 中的 <proc>none</proc>），所以本测试用 JavaCompiler 编译样例Java类时执行它。
+ *
+ * @author      ZhengWei(HY)
+ * @createDate  2026-10-16
+ * @version     v1.0
+ */
+public class JU_LdapProcessor
+{
+
+    private static final String $Package = "org.hy.common.ldap.junit.processor.sample";
+
+    /** 样例Java类。覆盖DN、简单类型、基本类型、集合、数组、方法上的注解，以及注解处理器无法生成的私有内部类 */
+    private static final String $Source  = String.join("\n"
+        ,"package " + $Package + ";"
+        ,""
+        ,"import java.util.List;"
+        ,"import java.util.Set;"
+        ,""
+        ,"import org.hy.common.ldap.annotation.Ldap;"
+        ,"import org.hy.common.ldap.annotation.LdapType;"
+        ,""
+        ,"@Ldap(\"inetOrgPerson ,organizationalPerson ,person ,top\")"
+        ,"public class SampleUser"
+        ,"{"
+        ,"    @Ldap(type=LdapType.DN)"
+        ,"    private String       userID;"
+        ,"    @Ldap(\"uid\")"
+        ,"    private String       userNo;"
+        ,"    @Ldap(\"cn\")"
+        ,"    private List<String> userNames;"
+        ,"    @Ldap(\"mail\")"
+        ,"    private Set<String>  emails;"
+        ,"    @Ldap(\"mobile\")"
+        ,"    private String []    mobiles;"
+        ,"    @Ldap(\"employeeNumber\")"
+        ,"    private int          employeeNo;"
+        ,"    private String       sn;"
+        ,""
+        ,"    public String       getUserID()                     { return userID; }"
+        ,"    public void         setUserID(String i_Value)       { userID = i_Value; }"
+        ,"    public String       getUserNo()                     { return userNo; }"
+        ,"    public void         setUserNo(String i_Value)       { userNo = i_Value; }"
+        ,"    public List<String> getUserNames()                  { return userNames; }"
+        ,"    public void         setUserNames(List<String> i_Value) { userNames = i_Value; }"
+        ,"    public Set<String>  getEmails()                     { return emails; }"
+        ,"    public void         setEmails(Set<String> i_Value)  { emails = i_Value; }"
+        ,"    public String []    getMobiles()                    { return mobiles; }"
+        ,"    public void         setMobiles(String [] i_Value)   { mobiles = i_Value; }"
+        ,"    public int          getEmployeeNo()                 { return employeeNo; }"
+        ,"    public void         setEmployeeNo(int i_Value)      { employeeNo = i_Value; }"
+        ,"    @Ldap"
+        ,"    public String       getSn()                         { return sn; }"
+        ,"    public void         setSn(String i_Value)           { sn = i_Value; }"
+        ,""
+        ,"    @Ldap(\"account ,top\")"
+        ,"    private static class Hidden"
+        ,"    {"
+        ,"        @Ldap(\"uid\")"
+        ,"        private String       userNo;"
+        ,"        public String getUserNo()                       { return userNo; }"
+        ,"        public void   setUserNo(String i_Value)         { userNo = i_Value; }"
+        ,"    }"
+        ,"}"
+        ,"");
+
+
+
+    @Test
+    public void test_SameAsRuntime() throws Exception
+    {
+        Path                                  v_Dir         = Files.createTempDirectory("JU_LdapProcessor");
+        DiagnosticCollector<JavaFileObject>   v_Diagnostics = new DiagnosticCollector<JavaFileObject>();
+
+        Assert.assertTrue(compile(v_Dir ,v_Diagnostics));
+
+        // 无法生成的私有内部类，编译时给出警告
+        boolean v_IsWarned = false;
+        for (Diagnostic<? extends JavaFileObject> v_Diagnostic : v_Diagnostics.getDiagnostics())
+        {
+            v_IsWarned |= v_Diagnostic.getKind() == Diagnostic.Kind.WARNING && v_Diagnostic.getMessage(null).contains("parsed at runtime");
+        }
+        Assert.assertTrue("私有内部类应给出警告" ,v_IsWarned);
+        Assert.assertTrue(Files.exists(v_Dir.resolve(LdapProcessor.$ServiceFile)));
+
+        try (URLClassLoader v_ClassLoader = new URLClassLoader(new URL[] {v_Dir.toUri().toURL()} ,JU_LdapProcessor.class.getClassLoader()))
+        {
+            Class<?>        v_Class   = v_ClassLoader.loadClass($Package + ".SampleUser");
+            List<LdapEntry> v_Provide = new ArrayList<LdapEntry>();
+
+            for (LdapEntryProvider v_Provider : ServiceLoader.load(LdapEntryProvider.class ,v_ClassLoader))
+            {
+                if ( v_Provider.getClass().getClassLoader() == v_ClassLoader )
+                {
+                    v_Provide.addAll(v_Provider.getLdapEntrys());
+                }
+            }
+
+            // 按Java类登记：只有可生成的Java类，私有内部类留给运行时解释
+            Assert.assertEquals(1 ,v_Provide.size());
+            Assert.assertSame(v_Class ,v_Provide.get(0).getMetaClass());
+            Assert.assertNotNull(v_Provide.get(0).getNewInstance());
+
+            Class<?>        v_Hidden  = v_ClassLoader.loadClass($Package + ".SampleUser$Hidden");
+            List<LdapEntry> v_Runtime = parser(v_Class ,v_Hidden);
+            Assert.assertEquals(2 ,v_Runtime.size());
+
+            LdapEntry v_Generated = v_Provide.get(0);
+            LdapEntry v_Parsed    = v_Runtime.get(0).getMetaClass() == v_Class ? v_Runtime.get(0) : v_Runtime.get(1);
+
+            Assert.assertEquals(v_Parsed.getObjectClassesID()                   ,v_Generated.getObjectClassesID());
+            Assert.assertEquals(v_Parsed.getRdn()                               ,v_Generated.getRdn());
+            Assert.assertEquals(v_Parsed.getDnGetMethod()                       ,v_Generated.getDnGetMethod());
+            Assert.assertEquals(v_Parsed.getDnSetMethod()                       ,v_Generated.getDnSetMethod());
+            Assert.assertEquals(toString(v_Parsed.getElementsToLDAP())          ,toString(v_Generated.getElementsToLDAP()));
+            Assert.assertEquals(toString(v_Parsed.getElementsToObject())        ,toString(v_Generated.getElementsToObject()));
+            Assert.assertEquals(Arrays.asList(v_Parsed.getAttributeNames())     ,Arrays.asList(v_Generated.getAttributeNames()));
+
+            // 翻译的结果也相同
+            Entry v_Entry = new DefaultEntry("uid=1,ou=users,dc=wwww,dc=com"
+                                            ,"objectClass: inetOrgPerson"
+                                            ,"objectClass: organizationalPerson"
+                                            ,"objectClass: person"
+                                            ,"objectClass: top"
+                                            ,"uid: 1"
+                                            ,"cn: John Smith"
+                                            ,"cn: J. Smith"
+                                            ,"mail: smith@wwww.com"
+                                            ,"mobile: 13600000001"
+                                            ,"employeeNumber: 1001"
+                                            ,"Sn: Smith");
+
+            Object v_GeneratedData = v_Generated.toObject(v_Entry);
+            Object v_ParsedData    = v_Parsed   .toObject(v_Entry);
+
+            Assert.assertSame(v_Class ,v_GeneratedData.getClass());
+            Assert.assertEquals(v_Entry                       ,v_Generated.toEntry(v_GeneratedData));
+            Assert.assertEquals(v_Parsed.toEntry(v_ParsedData) ,v_Generated.toEntry(v_GeneratedData));
+        }
+    }
+
+
+
+    /**
+     * 执行注解处理器，编译样例Java类
+     */
+    private static boolean compile(Path i_Dir ,DiagnosticCollector<JavaFileObject> io_Diagnostics) throws Exception
+    {
+        JavaCompiler v_Compiler = ToolProvider.getSystemJavaCompiler();
+        Assert.assertNotNull("须在JDK中运行" ,v_Compiler);
+
+        Path v_Source = i_Dir.resolve($Package.replace('.' ,File.separatorChar)).resolve("SampleUser.java");
+        Files.createDirectories(v_Source.getParent());
+        Files.write(v_Source ,$Source.getBytes(StandardCharsets.UTF_8));
+
+        try (StandardJavaFileManager v_FileManager = v_Compiler.getStandardFileManager(io_Diagnostics ,null ,StandardCharsets.UTF_8))
+        {
+            List<String> v_Options = Arrays.asList("-d" ,i_Dir.toString() ,"-classpath" ,toClassPath(LdapEntry.class ,Help.class ,Entry.class));
+
+            JavaCompiler.CompilationTask v_Task = v_Compiler.getTask(null ,v_FileManager ,io_Diagnostics ,v_Options ,null ,v_FileManager.getJavaFileObjects(v_Source.toFile()));
+            v_Task.setProcessors(Collections.singletonList(new LdapProcessor()));
+
+            return v_Task.call();
+        }
+    }
+
+
+
+    /**
+     * 运行时解释 @Ldap 注解（与 LdapAnnotation.parser(包路径) 扫描包路径后的解释相同）
+     */
+    @SuppressWarnings("unchecked")
+    private static List<LdapEntry> parser(Class<?> ... i_Classes) throws Exception
+    {
+        Method          v_Parser = LdapAnnotation.class.getDeclaredMethod("parser" ,List.class ,List.class);
+        List<LdapEntry> v_Ret    = new ArrayList<LdapEntry>();
+
+        v_Parser.setAccessible(true);
+        v_Parser.invoke(null ,new ArrayList<Class<?>>(Arrays.asList(i_Classes)) ,v_Ret);
+        return v_Ret;
+    }
+
+
+
+    /**
+     * 编译时的类路径：测试时的类路径，及所需Java类的所在位置（类路径为清单文件时，也能编译）
+     */
+    private static String toClassPath(Class<?> ... i_Classes) throws Exception
+    {
+        StringBuilder v_Buffer = new StringBuilder(System.getProperty("java.class.path"));
+
+        for (Class<?> v_Class : i_Classes)
+        {
+            v_Buffer.append(File.pathSeparator).append(Path.of(v_Class.getProtectionDomain().getCodeSource().getLocation().toURI()));
+        }
+
+        return v_Buffer.toString();
+    }
+
+
+
+    /**
+     * 将属性名称与方法的对应关系，转为排序的字符串，以便比较
+     */
+    private static String toString(TablePartitionRID<String ,Method> i_Elements)
+    {
+        Map<String ,String> v_Ret = new TreeMap<String ,String>();
+
+        for (Map.Entry<String ,Map<String ,Method>> v_Item : i_Elements.entrySet())
+        {
+            v_Ret.put(v_Item.getKey() ,new TreeMap<String ,Method>(v_Item.getValue()).toString());
+        }
+
+        return v_Ret.toString();
+    }
+
+}
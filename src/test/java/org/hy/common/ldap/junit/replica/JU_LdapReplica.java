@@ -0,0 +1,308 @@
+package org.hy.common.ldap.junit.replica;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.directory.api.ldap.model.entry.Entry;
+import org.apache.directory.api.ldap.model.message.AddRequest;
+import org.apache.directory.api.ldap.model.message.AddResponseImpl;
+import org.apache.directory.api.ldap.model.message.DeleteRequest;
+import org.apache.directory.api.ldap.model.message.DeleteResponseImpl;
+import org.apache.directory.api.ldap.model.message.ResultCodeEnum;
+import org.apache.directory.api.ldap.model.name.Dn;
+import org.apache.directory.ldap.client.api.LdapConnection;
+import org.hy.common.ldap.LDAP;
+import org.hy.common.ldap.LdapPageListener;
+import org.hy.common.ldap.LdapReplica;
+import org.hy.common.ldap.junit.benchmark.BenchmarkUser;
+import org.junit.Assert;
+import org.junit.Test;
+
+
+
+
+
+/**
+ * 测试单元：本地副本（LdapReplica）返回新的Java值对象、按LDAP服务的匹配规则比较属性值，以及通过 LDAP 对象的写操作后的同步。
+ *
+ * 无须LDAP服务。用内存中的条目模拟LDAP服务的子树查询、按DN查询、添加和删除。
+ * 与真实LDAP服务的查询结果的对比，见 JU_DBToLDAP.test_UserLogin_ReplicaVsServer 。
+ *
+ * @author      ZhengWei(HY)
+ * @createDate  2026-10-16
+ * @version     v1.0
+ */
+public class JU_LdapReplica
+{
+
+    private static final String $UsersDN = "ou=users,dc=wwww,dc=com";
+
+
+
+    /** 模拟的LDAP服务中的条目。Map.key为小写的DN */
+    private final Map<String ,Entry> server  = new LinkedHashMap<String ,Entry>();
+
+    /** 向模拟的LDAP服务查询的次数 */
+    private final AtomicInteger      queries = new AtomicInteger();
+
+
+
+    @Test
+    public void test_FreshObjects() throws Exception
+    {
+        LDAP        v_LDAP    = this.makeLDAP();
+        LdapReplica v_Replica = new LdapReplica(v_LDAP ,$UsersDN ,"uid");
+
+        this.putServer(newUser("1" ,"Smith"));
+        Assert.assertEquals(1 ,v_Replica.load());
+
+        BenchmarkUser v_User01 = (BenchmarkUser)v_Replica.get("uid=1," + $UsersDN);
+        BenchmarkUser v_User02 = (BenchmarkUser)v_Replica.find("uid" ,"1").get(0);
+        Assert.assertNotSame(v_User01 ,v_User02);
+
+        // 修改返回的Java值对象，不影响本地副本
+        v_User01.setSurname("Changed");
+        v_User01.getUserNames().add("Changed");
+
+        BenchmarkUser v_User03 = (BenchmarkUser)v_Replica.get("uid=1," + $UsersDN);
+        Assert.assertEquals("Smith" ,v_User03.getSurname());
+        Assert.assertEquals(1       ,v_User03.getUserNames().size());
+        Assert.assertEquals(1       ,v_Replica.find("sn" ,"Smith").size());
+        Assert.assertEquals(0       ,v_Replica.find("sn" ,"Changed").size());
+    }
+
+
+
+    @Test
+    public void test_MatchingRules() throws Exception
+    {
+        LDAP        v_LDAP    = this.makeLDAP();
+        LdapReplica v_Replica = new LdapReplica(v_LDAP ,$UsersDN ,"mobile");
+
+        this.putServer(newUser("1" ,"Smith"));
+        this.putServer(newUser("2" ,"Jones"));
+        v_Replica.load();
+
+        // caseIgnoreMatch：不区分大小写，忽略首尾的空格、合并连续的空格。有无索引均相同
+        Assert.assertEquals(1 ,v_Replica.find("sn" ,"SMITH").size());
+        Assert.assertEquals(1 ,v_Replica.find("cn" ,"  john   SMITH ").size());
+        Assert.assertEquals(0 ,v_Replica.find("cn" ,"johnsmith").size());
+        Assert.assertEquals(1 ,v_Replica.find("mail" ,"SMITH@WWWW.COM").size());
+
+        // telephoneNumberMatch：忽略空格和连字符。有索引
+        Assert.assertEquals(1 ,v_Replica.find("mobile" ,"136-0000 0001").size());
+        Assert.assertEquals(0 ,v_Replica.find("mobile" ,"136-0000 0003").size());
+
+        // 不同属性间为'与'关系
+        BenchmarkUser v_Query = new BenchmarkUser();
+        v_Query.setUserID($UsersDN);
+        v_Query.setSurname("jones");
+        v_Query.setMobiles(new String [] {"13600000001"});
+        Assert.assertEquals(0 ,v_Replica.search(v_Query).size());
+        v_Query.setMobiles(new String [] {"13600000001" ,"136 0000 0002"});
+        Assert.assertEquals(1 ,v_Replica.search(v_Query).size());
+    }
+
+
+
+    @Test
+    public void test_LocalWrites() throws Exception
+    {
+        LDAP        v_LDAP    = this.makeLDAP();
+        LdapReplica v_Replica = new LdapReplica(v_LDAP ,$UsersDN ,"uid");
+
+        this.putServer(newUser("1" ,"Smith"));
+        v_Replica.load();
+        v_LDAP.setReplica(v_Replica);
+
+        Assert.assertEquals(1 ,this.queries.get());
+
+        // 添加后，无须变更通知或轮询，本地副本即可查到
+        Assert.assertTrue(v_LDAP.addEntry(newUser("2" ,"Jones")));
+        Assert.assertEquals(2 ,v_Replica.size());
+        Assert.assertEquals("Jones" ,((BenchmarkUser)v_Replica.find("uid" ,"2").get(0)).getSurname());
+        Assert.assertEquals(1 ,v_LDAP.searchEntrys(newQuery("JONES")).size());
+
+        // 删除后，本地副本即时移除
+        Assert.assertTrue(v_LDAP.delEntry("uid=1," + $UsersDN));
+        Assert.assertEquals(1 ,v_Replica.size());
+        Assert.assertNull(v_Replica.get("uid=1," + $UsersDN));
+        Assert.assertEquals(0 ,v_LDAP.searchEntrys(newQuery("Smith")).size());
+
+        // 写后的条目已知，不再向LDAP服务查询
+        Assert.assertEquals(1 ,this.queries.get());
+    }
+
+
+
+    @Test
+    public void test_ReloadLater() throws Exception
+    {
+        LDAP        v_LDAP    = this.makeLDAP();
+        LdapReplica v_Replica = new LdapReplica(v_LDAP ,$UsersDN ,"uid");
+
+        this.putServer(newUser("1" ,"Smith"));
+        v_Replica.load();
+
+        // 不能确定写后的属性值时，在后台线程上重新查询，多个条目合并为一次查询
+        this.putServer(newUser("1" ,"Jones"));
+        this.putServer(newUser("2" ,"Brown"));
+        v_Replica.reloadLater(Arrays.asList("uid=1," + $UsersDN ,"uid=2," + $UsersDN ,"uid=3,ou=others,dc=wwww,dc=com"));
+
+        long v_Deadline = System.currentTimeMillis() + 10000L;
+        while ( v_Replica.size() < 2 && System.currentTimeMillis() < v_Deadline )
+        {
+            Thread.sleep(10L);
+        }
+
+        Assert.assertEquals(2       ,v_Replica.size());
+        Assert.assertEquals("Jones" ,((BenchmarkUser)v_Replica.get("uid=1," + $UsersDN)).getSurname());
+        Assert.assertEquals(2       ,this.queries.get());
+    }
+
+
+
+    /**
+     * 生成按姓氏查询的条件
+     */
+    private static BenchmarkUser newQuery(String i_Surname)
+    {
+        BenchmarkUser v_Query = new BenchmarkUser();
+        v_Query.setUserID($UsersDN);
+        v_Query.setSurname(i_Surname);
+        return v_Query;
+    }
+
+
+
+    /**
+     * 生成用户
+     */
+    private static BenchmarkUser newUser(String i_UserNo ,String i_Surname)
+    {
+        BenchmarkUser v_User = new BenchmarkUser();
+
+        v_User.setUserID("uid=" + i_UserNo + "," + $UsersDN);
+        v_User.setUserNo(i_UserNo);
+        v_User.setSurname(i_Surname);
+        v_User.setUserNames(new ArrayList<String>(Arrays.asList("John " + i_Surname)));
+        v_User.setEmails(new HashSet<String>(Arrays.asList(i_Surname.toLowerCase() + "@wwww.com")));
+        v_User.setMobiles(new String [] {"1360000000" + i_UserNo});
+        return v_User;
+    }
+
+
+
+    /**
+     * 放入模拟的LDAP服务中
+     */
+    private void putServer(BenchmarkUser i_User) throws Exception
+    {
+        Entry v_Entry = LDAP.toEntry(i_User);
+        this.server.put(v_Entry.getDn().getName().toLowerCase() ,v_Entry);
+    }
+
+
+
+    /**
+     * 从模拟的LDAP服务中获取Java值对象
+     */
+    private Object getServer(String i_DN)
+    {
+        Entry v_Entry = this.server.get(i_DN.toLowerCase());
+        return v_Entry == null ? null : LDAP.getLdapEntry(v_Entry).toObject(v_Entry);
+    }
+
+
+
+    /**
+     * 生成以内存中的条目模拟LDAP服务的LDAP操作类
+     */
+    private LDAP makeLDAP()
+    {
+        LdapConnection v_Conn = (LdapConnection)Proxy.newProxyInstance(LdapConnection.class.getClassLoader() ,new Class<?>[] {LdapConnection.class} ,(i_Proxy ,i_Method ,i_Args) ->
+        {
+            switch ( i_Method.getName() )
+            {
+                case "hashCode":
+                    return System.identityHashCode(i_Proxy);
+                case "equals":
+                    return i_Proxy == i_Args[0];
+                case "add":
+                    Entry v_Entry = ((AddRequest)i_Args[0]).getEntry();
+                    this.server.put(v_Entry.getDn().getName().toLowerCase() ,v_Entry);
+
+                    AddResponseImpl v_AddResponse = new AddResponseImpl();
+                    v_AddResponse.getLdapResult().setResultCode(ResultCodeEnum.SUCCESS);
+                    return v_AddResponse;
+                case "delete":
+                    Dn v_Dn = ((DeleteRequest)i_Args[0]).getName();
+                    this.server.remove(v_Dn.getName().toLowerCase());
+
+                    DeleteResponseImpl v_DelResponse = new DeleteResponseImpl();
+                    v_DelResponse.getLdapResult().setResultCode(ResultCodeEnum.SUCCESS);
+                    return v_DelResponse;
+                default:
+                    return null;
+            }
+        });
+
+        return new LDAP(null ,"org.hy.common.ldap.junit.benchmark")
+        {
+            @Override
+            public LdapConnection getConnection()
+            {
+                return v_Conn;
+            }
+
+            @Override
+            public void closeConnection(LdapConnection i_Conn)
+            {
+                // 模拟的连接无须释放
+            }
+
+            @Override
+            public int queryEntryTrees(String i_DN ,LdapPageListener i_Listener)
+            {
+                queries.incrementAndGet();
+
+                List<Object> v_Datas = new ArrayList<Object>();
+                for (String v_DN : server.keySet())
+                {
+                    if ( v_DN.endsWith("," + i_DN.toLowerCase()) )
+                    {
+                        v_Datas.add(getServer(v_DN));
+                    }
+                }
+
+                i_Listener.onPage(1 ,v_Datas);
+                return v_Datas.size();
+            }
+
+            @Override
+            public Map<String ,Object> queryEntrys(Collection<String> i_DNs)
+            {
+                queries.incrementAndGet();
+
+                Map<String ,Object> v_Ret = new LinkedHashMap<String ,Object>();
+                for (String v_DN : i_DNs)
+                {
+                    Object v_Data = getServer(v_DN);
+                    if ( v_Data != null )
+                    {
+                        v_Ret.put(v_DN ,v_Data);
+                    }
+                }
+                return v_Ret;
+            }
+        };
+    }
+
+}